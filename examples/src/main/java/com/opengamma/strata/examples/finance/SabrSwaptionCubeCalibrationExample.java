@@ -16,11 +16,13 @@ import static com.opengamma.strata.market.ValueType.SIMPLE_MONEYNESS;
 import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.LINEAR;
 import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.EUR_FIXED_1Y_EURIBOR_6M;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Map;
+import java.util.Optional;
 import java.util.TreeMap;
 
 import com.google.common.collect.ImmutableList;
@@ -49,6 +51,7 @@ import com.opengamma.strata.pricer.option.TenorRawOptionData;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
 import com.opengamma.strata.pricer.swaption.SabrParametersSwaptionVolatilities;
+import com.opengamma.strata.pricer.swaption.SabrSwaptionCalibrationResult;
 import com.opengamma.strata.pricer.swaption.SabrSwaptionCalibrator;
 import com.opengamma.strata.pricer.swaption.SabrSwaptionDefinition;
 import com.opengamma.strata.pricer.swaption.SwaptionVolatilitiesName;
@@ -65,7 +68,7 @@ public class SabrSwaptionCubeCalibrationExample {
   private static final LocalDate CALIBRATION_DATE = LocalDate.of(2016, 2, 29);
   private static final ZonedDateTime CALIBRATION_TIME = CALIBRATION_DATE.atTime(10, 0).atZone(ZoneId.of("Europe/Berlin"));
 
-  private static final SabrSwaptionCalibrator SABR_CALIBRATION = SabrSwaptionCalibrator.DEFAULT;
+  private static final SabrSwaptionCalibrator SABR_CALIBRATION = SabrSwaptionCalibrator.DEFAULT.parallel();
 
   private static final String BASE_DIR = "src/main/resources/";
   private static final String GROUPS_FILE = "example-calibration/curves/EUR-DSCONOIS-E3BS-E6IRS-group.csv";
@@ -122,9 +125,12 @@ public class SabrSwaptionCubeCalibrationExample {
     Surface betaSurface = ConstantSurface.of(betaMetadata, beta);
     double shift = 0.0300;
     Surface shiftSurface = ConstantSurface.of("Shift", shift);
-    SabrParametersSwaptionVolatilities calibrated = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
-        DEFINITION, CALIBRATION_TIME, data, MULTICURVE, betaSurface, shiftSurface);
-    System.out.println("End calibration");
+    long start = System.nanoTime();
+    SabrSwaptionCalibrationResult result = SABR_CALIBRATION.calibrateWithMetrics(
+        DEFINITION, CALIBRATION_TIME, data, MULTICURVE, betaSurface, shiftSurface, true, Optional.empty());
+    SabrParametersSwaptionVolatilities calibrated = result.getVolatilities();
+    System.out.println("End calibration: " + Duration.ofNanos(System.nanoTime() - start) + " elapsed, " +
+        result.getTotalNodeCalibrationTime() + " calibrating " + result.getNodeMetrics().size() + " smiles");
     /* Graph calibration */
     int nbStrikesGraph = 50;
     double moneyMin = -0.0250;
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.EUR_FIXED_1Y_EURIBOR_3M;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.ImmutableMarketDataBuilder;
+import com.opengamma.strata.loader.csv.FxRatesCsvLoader;
+import com.opengamma.strata.loader.csv.QuotesCsvLoader;
+import com.opengamma.strata.loader.csv.RatesCalibrationCsvLoader;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveDefinition;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.pricer.curve.CurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.SwapTrade;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConvention;
+
+/**
+ * Data shared by the benchmarks.
+ * <p>
+ * The market data is a standard USD/EUR curve group, consisting of OIS discounting and
+ * LIBOR 3M forward curves in USD, with EUR discounting derived from FX swaps and cross-currency swaps.
+ * The curve definitions and quotes are loaded from CSV files on the classpath.
+ */
+public final class BenchmarkData {
+
+  /**
+   * The reference data.
+   */
+  public static final ReferenceData REF_DATA = ReferenceData.standard();
+  /**
+   * The valuation date of the market data.
+   */
+  public static final LocalDate VALUATION_DATE = LocalDate.of(2015, 11, 20);
+  /**
+   * The name of the curve group.
+   */
+  public static final CurveGroupName GROUP_NAME = CurveGroupName.of("USD-EUR-DSCONOIS-L3IRS-DSCFXXCCY33-E3IRS");
+
+  /** The conventions used to create swap trades. */
+  private static final FixedIborSwapConvention[] CONVENTIONS = {USD_FIXED_6M_LIBOR_3M, EUR_FIXED_1Y_EURIBOR_3M};
+  /** The maximum tenor of the swap trades, in years. */
+  private static final int MAX_TENOR_YEARS = 30;
+
+  /**
+   * Restricted constructor.
+   */
+  private BenchmarkData() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads the definition of the USD/EUR curve group.
+   *
+   * @return the curve group definition
+   */
+  public static CurveGroupDefinition curveGroupDefinition() {
+    String prefix = GROUP_NAME.getName();
+    return RatesCalibrationCsvLoader.load(
+        resource(prefix + "-group.csv"),
+        resource(prefix + "-settings.csv"),
+        resource(prefix + "-nodes.csv"))
+        .get(GROUP_NAME);
+  }
+
+  /**
+   * Loads the quotes and FX rates needed to calibrate the curve group.
+   *
+   * @return the market data
+   */
+  public static ImmutableMarketData marketQuotes() {
+    return ImmutableMarketData.builder(VALUATION_DATE)
+        .addValueMap(QuotesCsvLoader.load(VALUATION_DATE, resource("MARKET_QUOTES_EUR_USD_20151120.csv")))
+        .addValueMap(FxRatesCsvLoader.load(VALUATION_DATE, resource("MARKET-QUOTES-FX-20151120.csv")))
+        .build();
+  }
+
+  /**
+   * Calibrates the curve group using the standard calibrator.
+   *
+   * @return the calibrated rates provider
+   */
+  public static ImmutableRatesProvider ratesProvider() {
+    return CurveCalibrator.standard().calibrate(curveGroupDefinition(), marketQuotes(), REF_DATA);
+  }
+
+  /**
+   * Creates market data containing the calibrated curves, keyed by {@link CurveId}.
+   * <p>
+   * This is suitable for use with the calculation runner.
+   *
+   * @param curveGroupDefn  the curve group definition
+   * @param ratesProvider  the rates provider containing the calibrated curves
+   * @return the market data
+   */
+  public static ImmutableMarketData calculationMarketData(
+      CurveGroupDefinition curveGroupDefn,
+      ImmutableRatesProvider ratesProvider) {
+
+    ImmutableMarketDataBuilder builder = ImmutableMarketData.builder(VALUATION_DATE);
+    for (CurveDefinition curveDefn : curveGroupDefn.getCurveDefinitions()) {
+      Curve curve = ratesProvider.findData(curveDefn.getName())
+          .orElseThrow(() -> new IllegalStateException("Curve not calibrated: " + curveDefn.getName()));
+      builder.addValue(CurveId.of(curveGroupDefn.getName(), curveDefn.getName()), curve);
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a list of vanilla fixed versus LIBOR/EURIBOR 3M swap trades.
+   * <p>
+   * The trades alternate between USD and EUR, have tenors between 1 and 30 years,
+   * and have a range of fixed rates. The same count always produces the same trades.
+   *
+   * @param count  the number of trades
+   * @return the trades
+   */
+  public static List<SwapTrade> swapTrades(int count) {
+    List<SwapTrade> trades = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      FixedIborSwapConvention convention = CONVENTIONS[i % CONVENTIONS.length];
+      Tenor tenor = Tenor.ofYears(1 + (i / CONVENTIONS.length) % MAX_TENOR_YEARS);
+      BuySell buySell = (i / 2) % 2 == 0 ? BuySell.BUY : BuySell.SELL;
+      double fixedRate = 0.0050 + (i % 100) * 0.0002;
+      trades.add(convention.createTrade(VALUATION_DATE, tenor, buySell, 1_000_000d, fixedRate, REF_DATA));
+    }
+    return trades;
+  }
+
+  //-------------------------------------------------------------------------
+  // locates a resource in the same package as this class
+  private static ResourceLocator resource(String fileName) {
+    return ResourceLocator.ofClasspath(BenchmarkData.class, fileName);
+  }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks.
+ * <p>
+ * This is the main class of the benchmarks jar file.
+ * It accepts the standard JMH command line arguments, but changes the defaults so that
+ * the results can be reproduced from a single command:
+ * <ul>
+ *   <li>the GC profiler is enabled, reporting the allocation rate of each benchmark,
+ *       unless other profilers are specified
+ *   <li>the results are written in JSON format to {@code jmh-result.json},
+ *       unless another result file is specified
+ * </ul>
+ */
+public final class BenchmarkRunner {
+
+  /**
+   * The default file that the results are written to.
+   */
+  private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+  /**
+   * Restricted constructor.
+   */
+  private BenchmarkRunner() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args  the JMH command line arguments
+   * @throws Exception if an error occurs
+   */
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions cmdOptions = new CommandLineOptions(args);
+    if (cmdOptions.shouldHelp()) {
+      cmdOptions.showHelp();
+      return;
+    }
+    OptionsBuilder options = new OptionsBuilder();
+    options.parent(cmdOptions);
+    if (cmdOptions.getProfilers().isEmpty()) {
+      options.addProfiler(GCProfiler.class);
+    }
+    if (!cmdOptions.getResult().hasValue()) {
+      options.result(DEFAULT_RESULT_FILE);
+    }
+    if (!cmdOptions.getResultFormat().hasValue()) {
+      options.resultFormat(ResultFormatType.JSON);
+    }
+    Runner runner = new Runner(options.build());
+    if (cmdOptions.shouldList()) {
+      runner.list();
+      return;
+    }
+    runner.run();
+  }
+
+}
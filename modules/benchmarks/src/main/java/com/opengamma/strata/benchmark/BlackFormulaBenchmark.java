@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+import com.opengamma.strata.pricer.impl.option.ImpliedVolatilityFormulaRepository;
+
+/**
+ * Benchmarks {@link BlackFormulaRepository}.
+ * <p>
+ * The implied volatility is also benchmarked using {@link ImpliedVolatilityFormulaRepository}.
+ * <p>
+ * Each invocation evaluates a grid of strikes and expiries, from deep in-the-money
+ * to deep out-of-the-money, and from one week to thirty years.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlackFormulaBenchmark {
+
+  /** The forward. */
+  private static final double FORWARD = 0.02;
+  /** The volatility. */
+  private static final double VOLATILITY = 0.3;
+  /** The strikes, as a multiple of the forward. */
+  private static final double[] MONEYNESS = {0.5, 0.75, 0.9, 1d, 1.1, 1.25, 1.5, 2d};
+  /** The expiries. */
+  private static final double[] EXPIRIES = {0.02, 0.25, 1d, 5d, 10d, 30d};
+  /** The number of options in the grid. */
+  private static final int OPTION_COUNT = 48;
+
+  /** The strikes of the options. */
+  private double[] strikes;
+  /** The expiries of the options. */
+  private double[] expiries;
+  /** Whether the options are calls, the out-of-the-money option is used. */
+  private boolean[] isCall;
+  /** The prices of the options. */
+  private double[] prices;
+  /** The forwards of the options, for batch evaluation. */
+  private double[] forwards;
+  /** The volatilities of the options, for batch evaluation. */
+  private double[] volatilities;
+  /** The results of batch evaluation. */
+  private double[] results;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the option grid.
+   */
+  @Setup
+  public void setUp() {
+    strikes = new double[OPTION_COUNT];
+    expiries = new double[OPTION_COUNT];
+    isCall = new boolean[OPTION_COUNT];
+    prices = new double[OPTION_COUNT];
+    forwards = new double[OPTION_COUNT];
+    volatilities = new double[OPTION_COUNT];
+    results = new double[OPTION_COUNT];
+    int i = 0;
+    for (double expiry : EXPIRIES) {
+      for (double moneyness : MONEYNESS) {
+        strikes[i] = FORWARD * moneyness;
+        expiries[i] = expiry;
+        isCall[i] = moneyness >= 1d;
+        prices[i] = BlackFormulaRepository.price(FORWARD, strikes[i], expiry, VOLATILITY, isCall[i]);
+        forwards[i] = FORWARD;
+        volatilities[i] = VOLATILITY;
+        i++;
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks the price.
+   *
+   * @param bh  the black hole
+   */
+  @Benchmark
+  @OperationsPerInvocation(OPTION_COUNT)
+  public void price(Blackhole bh) {
+    for (int i = 0; i < OPTION_COUNT; i++) {
+      bh.consume(BlackFormulaRepository.price(FORWARD, strikes[i], expiries[i], VOLATILITY, isCall[i]));
+    }
+  }
+
+  /**
+   * Benchmarks the price, evaluating all the options in a single call.
+   *
+   * @return the prices
+   */
+  @Benchmark
+  @OperationsPerInvocation(OPTION_COUNT)
+  public double[] priceBatch() {
+    BlackFormulaRepository.price(forwards, strikes, expiries, volatilities, isCall, results);
+    return results;
+  }
+
+  /**
+   * Benchmarks the price with the first order adjoint derivatives.
+   *
+   * @param bh  the black hole
+   */
+  @Benchmark
+  @OperationsPerInvocation(OPTION_COUNT)
+  public void priceAdjoint(Blackhole bh) {
+    for (int i = 0; i < OPTION_COUNT; i++) {
+      bh.consume(BlackFormulaRepository.priceAdjoint(FORWARD, strikes[i], expiries[i], VOLATILITY, isCall[i]));
+    }
+  }
+
+  /**
+   * Benchmarks the delta.
+   *
+   * @param bh  the black hole
+   */
+  @Benchmark
+  @OperationsPerInvocation(OPTION_COUNT)
+  public void delta(Blackhole bh) {
+    for (int i = 0; i < OPTION_COUNT; i++) {
+      bh.consume(BlackFormulaRepository.delta(FORWARD, strikes[i], expiries[i], VOLATILITY, isCall[i]));
+    }
+  }
+
+  /**
+   * Benchmarks the vega.
+   *
+   * @param bh  the black hole
+   */
+  @Benchmark
+  @OperationsPerInvocation(OPTION_COUNT)
+  public void vega(Blackhole bh) {
+    for (int i = 0; i < OPTION_COUNT; i++) {
+      bh.consume(BlackFormulaRepository.vega(FORWARD, strikes[i], expiries[i], VOLATILITY));
+    }
+  }
+
+  /**
+   * Benchmarks the implied volatility.
+   *
+   * @param bh  the black hole
+   */
+  @Benchmark
+  @OperationsPerInvocation(OPTION_COUNT)
+  public void impliedVolatility(Blackhole bh) {
+    for (int i = 0; i < OPTION_COUNT; i++) {
+      bh.consume(BlackFormulaRepository.impliedVolatility(prices[i], FORWARD, strikes[i], expiries[i], isCall[i]));
+    }
+  }
+
+  /**
+   * Benchmarks the implied volatility using the fixed-iteration formula.
+   *
+   * @param bh  the black hole
+   */
+  @Benchmark
+  @OperationsPerInvocation(OPTION_COUNT)
+  public void impliedVolatilityFormula(Blackhole bh) {
+    for (int i = 0; i < OPTION_COUNT; i++) {
+      bh.consume(ImpliedVolatilityFormulaRepository.blackImpliedVolatility(
+          prices[i], FORWARD, strikes[i], expiries[i], isCall[i]));
+    }
+  }
+
+  /**
+   * Benchmarks the implied volatility using the fixed-iteration formula, evaluating all the options in a single call.
+   *
+   * @return the implied volatilities
+   */
+  @Benchmark
+  @OperationsPerInvocation(OPTION_COUNT)
+  public double[] impliedVolatilityFormulaBatch() {
+    ImpliedVolatilityFormulaRepository.blackImpliedVolatility(prices, forwards, strikes, expiries, isCall, results);
+    return results;
+  }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.CalculationRunner;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.product.swap.SwapTrade;
+
+/**
+ * Benchmarks the end-to-end calculation of a portfolio of trades using {@link CalculationRunner}.
+ * <p>
+ * The portfolio contains 10,000 USD and EUR swaps. The present value, par rate and PV01 are
+ * calculated for each trade using calibrated curves. This covers the resolution of the trades,
+ * the building of the rates provider, the pricing and the collection of the results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CalculationRunnerBenchmark {
+
+  /** The number of trades. */
+  private static final int TRADE_COUNT = 10_000;
+  /** The columns. */
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measures.PRESENT_VALUE),
+      Column.of(Measures.PAR_RATE),
+      Column.of(Measures.PV01_CALIBRATED_SUM));
+
+  /**
+   * The type of runner.
+   * <p>
+   * 'multiThreaded' uses a fixed thread pool with a task per trade and column group.
+   * 'forkJoin' uses a fork-join pool with batches of tasks.
+   */
+  @Param({"multiThreaded", "forkJoin"})
+  public String runnerType;
+
+  /** The runner. */
+  private CalculationRunner runner;
+  /** The calculation rules. */
+  private CalculationRules rules;
+  /** The trades. */
+  private List<SwapTrade> trades;
+  /** The market data. */
+  private ImmutableMarketData marketData;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrates the curves, creates the trades and starts the runner.
+   */
+  @Setup
+  public void setUp() {
+    CurveGroupDefinition curveGroupDefn = BenchmarkData.curveGroupDefinition();
+    marketData = BenchmarkData.calculationMarketData(curveGroupDefn, BenchmarkData.ratesProvider());
+    rules = CalculationRules.of(StandardComponents.calculationFunctions(), RatesMarketDataLookup.of(curveGroupDefn));
+    trades = BenchmarkData.swapTrades(TRADE_COUNT);
+    switch (runnerType) {
+      case "multiThreaded":
+        runner = CalculationRunner.ofMultiThreaded();
+        break;
+      case "forkJoin":
+        runner = CalculationRunner.ofForkJoin();
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown runner type: " + runnerType);
+    }
+  }
+
+  /**
+   * Closes the runner.
+   */
+  @TearDown
+  public void tearDown() {
+    runner.close();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks the calculation of the portfolio.
+   *
+   * @return the results
+   */
+  @Benchmark
+  public Results calculate() {
+    return runner.calculate(rules, trades, COLUMNS, marketData, REF_DATA);
+  }
+
+}
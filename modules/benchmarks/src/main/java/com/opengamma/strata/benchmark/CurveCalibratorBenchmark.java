@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.pricer.curve.CurveCalibrator;
+import com.opengamma.strata.pricer.curve.IncrementalCurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Benchmarks the calibration of a standard USD/EUR curve group.
+ * <p>
+ * The group contains four curves, USD OIS discounting, USD LIBOR 3M forward,
+ * EUR discounting implied from FX and cross-currency swaps, and EURIBOR 3M forward.
+ * The incremental benchmark recalibrates after a one basis point change to a single quote.
+ * <p>
+ * The sequential benchmarks calibrate the same curves as two groups, the USD curves and then the EUR curves,
+ * which depend on the USD curves through the cross-currency swaps. They compare the Jacobian matrices
+ * computed from the curve matrices with those computed in the block-triangular workspace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CurveCalibratorBenchmark {
+
+  /** The calibrator. */
+  private static final CurveCalibrator CALIBRATOR = CurveCalibrator.standard();
+  /** The calibrator, using the Jacobian workspace. */
+  private static final CurveCalibrator CALIBRATOR_WORKSPACE = CALIBRATOR.withJacobianWorkspace();
+
+  /** The curve group definition. */
+  private CurveGroupDefinition curveGroupDefn;
+  /** The curve group definitions, USD and then EUR. */
+  private List<CurveGroupDefinition> sequentialGroupDefns;
+  /** The market quotes. */
+  private ImmutableMarketData marketQuotes;
+  /** The market quotes, with one quote changed. */
+  private ImmutableMarketData marketQuotesChanged;
+  /** The incremental calibrator. */
+  private IncrementalCurveCalibrator incrementalCalibrator;
+  /** Whether the next incremental calibration uses the changed quotes. */
+  private boolean changed;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads the curve group definition and quotes.
+   */
+  @Setup
+  public void setUp() {
+    curveGroupDefn = BenchmarkData.curveGroupDefinition();
+    sequentialGroupDefns = ImmutableList.of(subGroup(curveGroupDefn, "USD"), subGroup(curveGroupDefn, "EUR"));
+    marketQuotes = BenchmarkData.marketQuotes();
+    Map<MarketDataId<?>, Object> values = new HashMap<>(marketQuotes.getValues());
+    QuoteId quoteId = values.keySet().stream()
+        .filter(QuoteId.class::isInstance)
+        .map(QuoteId.class::cast)
+        .sorted((id1, id2) -> id1.toString().compareTo(id2.toString()))
+        .findFirst()
+        .get();
+    values.put(quoteId, (Double) values.get(quoteId) + 1.0E-4);
+    marketQuotesChanged = ImmutableMarketData.of(marketQuotes.getValuationDate(), values);
+    incrementalCalibrator = CALIBRATOR.incremental(curveGroupDefn, REF_DATA);
+    incrementalCalibrator.calibrate(marketQuotes);
+  }
+
+  // the curves of the group whose name starts with the prefix
+  private static CurveGroupDefinition subGroup(CurveGroupDefinition groupDefn, String prefix) {
+    return CurveGroupDefinition.of(
+        CurveGroupName.of(groupDefn.getName().getName() + "-" + prefix),
+        groupDefn.getEntries().stream()
+            .filter(entry -> entry.getCurveName().getName().startsWith(prefix + "-"))
+            .collect(Collectors.toList()),
+        groupDefn.getCurveDefinitions().stream()
+            .filter(defn -> defn.getName().getName().startsWith(prefix + "-"))
+            .collect(Collectors.toList()));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks the calibration, including the Jacobian matrices.
+   *
+   * @return the calibrated curves
+   */
+  @Benchmark
+  public ImmutableRatesProvider calibrate() {
+    return CALIBRATOR.calibrate(curveGroupDefn, marketQuotes, REF_DATA);
+  }
+
+  /**
+   * Benchmarks the calibration, including the Jacobian matrices computed in the workspace.
+   *
+   * @return the calibrated curves
+   */
+  @Benchmark
+  public ImmutableRatesProvider calibrateWorkspace() {
+    return CALIBRATOR_WORKSPACE.calibrate(curveGroupDefn, marketQuotes, REF_DATA);
+  }
+
+  /**
+   * Benchmarks the calibration of the USD group and then the EUR group.
+   *
+   * @return the calibrated curves
+   */
+  @Benchmark
+  public ImmutableRatesProvider calibrateSequential() {
+    return CALIBRATOR.calibrate(sequentialGroupDefns, marketQuotes, REF_DATA);
+  }
+
+  /**
+   * Benchmarks the calibration of the USD group and then the EUR group, using the Jacobian workspace.
+   *
+   * @return the calibrated curves
+   */
+  @Benchmark
+  public ImmutableRatesProvider calibrateSequentialWorkspace() {
+    return CALIBRATOR_WORKSPACE.calibrate(sequentialGroupDefns, marketQuotes, REF_DATA);
+  }
+
+  /**
+   * Benchmarks the incremental recalibration, alternating between the original and the changed quotes.
+   *
+   * @return the calibrated curves
+   */
+  @Benchmark
+  public ImmutableRatesProvider calibrateIncremental() {
+    changed = !changed;
+    return incrementalCalibrator.calibrate(changed ? marketQuotesChanged : marketQuotes);
+  }
+
+}
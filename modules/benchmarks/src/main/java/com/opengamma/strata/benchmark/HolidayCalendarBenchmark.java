@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.basics.date.ImmutableHolidayCalendar;
+
+/**
+ * Benchmarks the queries on {@link ImmutableHolidayCalendar}.
+ * <p>
+ * Each invocation queries a block of consecutive dates, so that the results are
+ * not dominated by the behavior of a single date.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HolidayCalendarBenchmark {
+
+  /** The number of dates queried in each invocation. */
+  private static final int DATE_COUNT = 1000;
+  /** The first date queried. */
+  private static final LocalDate START_DATE = LocalDate.of(2017, 1, 1);
+
+  /**
+   * The holiday calendar, where 'GBLO+USNY' is combined using {@link ImmutableHolidayCalendar#combined}.
+   */
+  @Param({"GBLO", "USNY", "GBLO+USNY"})
+  public String calendarId;
+
+  /** The holiday calendar. */
+  private ImmutableHolidayCalendar calendar;
+  /** The dates to query. */
+  private LocalDate[] dates;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the calendar and the dates.
+   */
+  @Setup
+  public void setUp() {
+    ImmutableHolidayCalendar combined = null;
+    for (String name : calendarId.split("\\+")) {
+      ImmutableHolidayCalendar cal = (ImmutableHolidayCalendar) HolidayCalendarId.of(name).resolve(REF_DATA);
+      combined = (combined == null ? cal : ImmutableHolidayCalendar.combined(combined, cal));
+    }
+    calendar = combined;
+    dates = new LocalDate[DATE_COUNT];
+    for (int i = 0; i < DATE_COUNT; i++) {
+      dates[i] = START_DATE.plusDays(i);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks {@code isHoliday}.
+   *
+   * @param bh  the black hole
+   */
+  @Benchmark
+  @OperationsPerInvocation(DATE_COUNT)
+  public void isHoliday(Blackhole bh) {
+    for (LocalDate date : dates) {
+      bh.consume(calendar.isHoliday(date));
+    }
+  }
+
+  /**
+   * Benchmarks {@code shift} by a small number of business days.
+   *
+   * @param bh  the black hole
+   */
+  @Benchmark
+  @OperationsPerInvocation(DATE_COUNT)
+  public void shift(Blackhole bh) {
+    for (LocalDate date : dates) {
+      bh.consume(calendar.shift(date, 2));
+    }
+  }
+
+  /**
+   * Benchmarks {@code shift} by approximately one year of business days.
+   *
+   * @param bh  the black hole
+   */
+  @Benchmark
+  @OperationsPerInvocation(DATE_COUNT)
+  public void shiftYear(Blackhole bh) {
+    for (LocalDate date : dates) {
+      bh.consume(calendar.shift(date, 250));
+    }
+  }
+
+  /**
+   * Benchmarks {@code next}.
+   *
+   * @param bh  the black hole
+   */
+  @Benchmark
+  @OperationsPerInvocation(DATE_COUNT)
+  public void next(Blackhole bh) {
+    for (LocalDate date : dates) {
+      bh.consume(calendar.next(date));
+    }
+  }
+
+  /**
+   * Benchmarks {@code daysBetween}.
+   *
+   * @param bh  the black hole
+   */
+  @Benchmark
+  @OperationsPerInvocation(DATE_COUNT)
+  public void daysBetween(Blackhole bh) {
+    LocalDate end = dates[DATE_COUNT - 1];
+    for (LocalDate date : dates) {
+      bh.consume(calendar.daysBetween(date, end));
+    }
+  }
+
+}
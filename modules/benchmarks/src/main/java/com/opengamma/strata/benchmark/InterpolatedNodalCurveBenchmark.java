@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
+
+/**
+ * Benchmarks {@link InterpolatedNodalCurve} for each interpolator.
+ * <p>
+ * The curve has nodes typical of a calibrated zero rate curve.
+ * Each invocation queries a block of x-values spread over the curve.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterpolatedNodalCurveBenchmark {
+
+  /** The x-values of the curve nodes. */
+  private static final DoubleArray X_VALUES =
+      DoubleArray.of(0.25, 0.5, 1d, 2d, 3d, 4d, 5d, 7d, 10d, 15d, 20d, 30d);
+  /** The y-values of the curve nodes. */
+  private static final DoubleArray Y_VALUES =
+      DoubleArray.of(0.0030, 0.0035, 0.0048, 0.0075, 0.0099, 0.0118, 0.0134, 0.0159, 0.0184, 0.0200, 0.0205, 0.0210);
+  /** The number of x-values queried in each invocation. */
+  private static final int QUERY_COUNT = 100;
+
+  /**
+   * The name of the interpolator.
+   */
+  @Param({
+      "Linear",
+      "LogLinear",
+      "SquareLinear",
+      "DoubleQuadratic",
+      "TimeSquare",
+      "LogNaturalSplineMonotoneCubic",
+      "LogNaturalSplineDiscountFactor",
+      "NaturalCubicSpline",
+      "NaturalSpline",
+      "NaturalSplineNonnegativityCubic",
+      "ProductNaturalSpline",
+      "ProductLinear",
+      "StepUpper",
+      "PiecewiseCubicHermiteMonotonicity"})
+  public String interpolator;
+
+  /** The curve. */
+  private InterpolatedNodalCurve curve;
+  /** The x-values to query. */
+  private double[] queries;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the curve and the x-values to query.
+   */
+  @Setup
+  public void setUp() {
+    curve = InterpolatedNodalCurve.of(
+        Curves.zeroRates("Benchmark", ACT_365F),
+        X_VALUES,
+        Y_VALUES,
+        CurveInterpolator.of(interpolator),
+        CurveExtrapolators.FLAT,
+        CurveExtrapolators.FLAT);
+    queries = new double[QUERY_COUNT];
+    double last = X_VALUES.get(X_VALUES.size() - 1);
+    for (int i = 0; i < QUERY_COUNT; i++) {
+      queries[i] = 0.3 + i * (last - 0.3) / QUERY_COUNT;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks the creation of the curve, which initializes the interpolator.
+   *
+   * @return the curve
+   */
+  @Benchmark
+  public InterpolatedNodalCurve create() {
+    return curve.withYValues(Y_VALUES);
+  }
+
+  /**
+   * Benchmarks {@code yValue}.
+   *
+   * @param bh  the black hole
+   */
+  @Benchmark
+  @OperationsPerInvocation(QUERY_COUNT)
+  public void yValue(Blackhole bh) {
+    for (double x : queries) {
+      bh.consume(curve.yValue(x));
+    }
+  }
+
+  /**
+   * Benchmarks {@code firstDerivative}.
+   *
+   * @param bh  the black hole
+   */
+  @Benchmark
+  @OperationsPerInvocation(QUERY_COUNT)
+  public void firstDerivative(Blackhole bh) {
+    for (double x : queries) {
+      bh.consume(curve.firstDerivative(x));
+    }
+  }
+
+  /**
+   * Benchmarks {@code yValueParameterSensitivity}.
+   *
+   * @param bh  the black hole
+   */
+  @Benchmark
+  @OperationsPerInvocation(QUERY_COUNT)
+  public void yValueParameterSensitivity(Blackhole bh) {
+    for (double x : queries) {
+      bh.consume(curve.yValueParameterSensitivity(x));
+    }
+  }
+
+}
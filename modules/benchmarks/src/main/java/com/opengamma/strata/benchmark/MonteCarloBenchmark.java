@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.random.NormalVectorGeneratorFactory;
+import com.opengamma.strata.pricer.impl.montecarlo.BlackFxPathGenerator;
+import com.opengamma.strata.pricer.impl.montecarlo.MonteCarloEngine;
+import com.opengamma.strata.pricer.impl.montecarlo.MonteCarloEstimate;
+
+/**
+ * Benchmarks {@link MonteCarloEngine}.
+ * <p>
+ * Each invocation prices an arithmetic average FX option observed monthly for a year.
+ * The results are the time per path, thus the sequential and parallel results can be compared
+ * to see how the simulation scales with the number of cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MonteCarloBenchmark {
+
+  /** The number of paths. */
+  private static final int PATH_COUNT = 65536;
+  /** The number of observations. */
+  private static final int OBSERVATION_COUNT = 12;
+  /** The strike. */
+  private static final double STRIKE = 1.2;
+
+  /** The path generator. */
+  private BlackFxPathGenerator generator;
+  /** The engine using pseudo-random numbers. */
+  private MonteCarloEngine pseudoRandom;
+  /** The engine using Sobol numbers. */
+  private MonteCarloEngine sobol;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the path generator and the engines.
+   */
+  @Setup
+  public void setUp() {
+    double[] times = new double[OBSERVATION_COUNT];
+    double[] forwards = new double[OBSERVATION_COUNT];
+    double[] volatilities = new double[OBSERVATION_COUNT];
+    for (int i = 0; i < OBSERVATION_COUNT; i++) {
+      times[i] = (i + 1) / 12d;
+      forwards[i] = 1.2 + 0.001 * i;
+      volatilities[i] = 0.1 + 0.002 * i;
+    }
+    generator = BlackFxPathGenerator.of(
+        DoubleArray.ofUnsafe(times), DoubleArray.ofUnsafe(forwards), DoubleArray.ofUnsafe(volatilities));
+    pseudoRandom = MonteCarloEngine.of(NormalVectorGeneratorFactory.pseudoRandom(1L), PATH_COUNT);
+    sobol = MonteCarloEngine.of(NormalVectorGeneratorFactory.sobol(), PATH_COUNT);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks a single-threaded simulation using pseudo-random numbers.
+   *
+   * @return the estimate
+   */
+  @Benchmark
+  @OperationsPerInvocation(PATH_COUNT)
+  public MonteCarloEstimate pseudoRandomSequential() {
+    return pseudoRandom.withParallel(false).simulate(generator, MonteCarloBenchmark::payoff);
+  }
+
+  /**
+   * Benchmarks a parallel simulation using pseudo-random numbers.
+   *
+   * @return the estimate
+   */
+  @Benchmark
+  @OperationsPerInvocation(PATH_COUNT)
+  public MonteCarloEstimate pseudoRandomParallel() {
+    return pseudoRandom.simulate(generator, MonteCarloBenchmark::payoff);
+  }
+
+  /**
+   * Benchmarks a parallel simulation using pseudo-random numbers and antithetic variates.
+   *
+   * @return the estimate
+   */
+  @Benchmark
+  @OperationsPerInvocation(PATH_COUNT)
+  public MonteCarloEstimate pseudoRandomAntithetic() {
+    return pseudoRandom.withAntithetic(true).simulate(generator, MonteCarloBenchmark::payoff);
+  }
+
+  /**
+   * Benchmarks a single-threaded simulation using Sobol numbers.
+   *
+   * @return the estimate
+   */
+  @Benchmark
+  @OperationsPerInvocation(PATH_COUNT)
+  public MonteCarloEstimate sobolSequential() {
+    return sobol.withParallel(false).simulate(generator, MonteCarloBenchmark::payoff);
+  }
+
+  /**
+   * Benchmarks a parallel simulation using Sobol numbers.
+   *
+   * @return the estimate
+   */
+  @Benchmark
+  @OperationsPerInvocation(PATH_COUNT)
+  public MonteCarloEstimate sobolParallel() {
+    return sobol.simulate(generator, MonteCarloBenchmark::payoff);
+  }
+
+  //-------------------------------------------------------------------------
+  // the payoff of an average rate call
+  private static double payoff(double[] path) {
+    double sum = 0d;
+    for (double rate : path) {
+      sum += rate;
+    }
+    return Math.max(sum / path.length - STRIKE, 0d);
+  }
+
+}
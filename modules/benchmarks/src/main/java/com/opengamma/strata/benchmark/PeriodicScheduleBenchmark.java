@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.BusinessDayConventions;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.schedule.RollConventions;
+import com.opengamma.strata.basics.schedule.Schedule;
+import com.opengamma.strata.basics.schedule.StubConvention;
+
+/**
+ * Benchmarks {@link PeriodicSchedule#createSchedule}.
+ * <p>
+ * The schedules are adjusted using the combined London and New York holiday calendars.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PeriodicScheduleBenchmark {
+
+  /** The start date of the schedules. */
+  private static final LocalDate START_DATE = LocalDate.of(2017, 1, 31);
+  /** The business day adjustment. */
+  private static final BusinessDayAdjustment BDA = BusinessDayAdjustment.of(
+      BusinessDayConventions.MODIFIED_FOLLOWING, HolidayCalendarIds.GBLO.combinedWith(HolidayCalendarIds.USNY));
+
+  /**
+   * The length of the schedule, in years.
+   */
+  @Param({"1", "10", "30"})
+  public int years;
+  /**
+   * The frequency of the schedule.
+   */
+  @Param({"P1M", "P3M", "P12M"})
+  public String frequency;
+
+  /** The schedule with a regular end date. */
+  private PeriodicSchedule regular;
+  /** The schedule with an irregular end date, requiring a stub. */
+  private PeriodicSchedule stub;
+  /** The schedule rolling on the end of the month. */
+  private PeriodicSchedule endOfMonth;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the schedule definitions.
+   */
+  @Setup
+  public void setUp() {
+    Frequency freq = Frequency.parse(frequency);
+    LocalDate endDate = START_DATE.plusYears(years);
+    regular = PeriodicSchedule.builder()
+        .startDate(START_DATE.minusDays(10))
+        .endDate(endDate.minusDays(10))
+        .frequency(freq)
+        .businessDayAdjustment(BDA)
+        .stubConvention(StubConvention.SHORT_INITIAL)
+        .build();
+    stub = PeriodicSchedule.builder()
+        .startDate(START_DATE)
+        .endDate(endDate.plusDays(17))
+        .frequency(freq)
+        .businessDayAdjustment(BDA)
+        .stubConvention(StubConvention.SHORT_INITIAL)
+        .build();
+    endOfMonth = PeriodicSchedule.builder()
+        .startDate(START_DATE)
+        .endDate(endDate)
+        .frequency(freq)
+        .businessDayAdjustment(BDA)
+        .stubConvention(StubConvention.SHORT_INITIAL)
+        .rollConvention(RollConventions.EOM)
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks the creation of a schedule without stubs.
+   *
+   * @return the schedule
+   */
+  @Benchmark
+  public Schedule createScheduleRegular() {
+    return regular.createSchedule(REF_DATA);
+  }
+
+  /**
+   * Benchmarks the creation of a schedule with an initial stub.
+   *
+   * @return the schedule
+   */
+  @Benchmark
+  public Schedule createScheduleStub() {
+    return stub.createSchedule(REF_DATA);
+  }
+
+  /**
+   * Benchmarks the creation of a schedule rolling on the end of the month.
+   *
+   * @return the schedule
+   */
+  @Benchmark
+  public Schedule createScheduleEndOfMonth() {
+    return endOfMonth.createSchedule(REF_DATA);
+  }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+import static com.opengamma.strata.benchmark.BenchmarkData.VALUATION_DATE;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConvention;
+
+/**
+ * Benchmarks the pricing of a vanilla swap using the rates provider of the measure functions.
+ * <p>
+ * The measure functions obtain the rates provider from {@link RatesMarketDataLookup}, once for each scenario.
+ * The provider binds the discount factors and index rates to the curves in the market data on first use.
+ * <p>
+ * 'immutable' prices using {@link ImmutableRatesProvider}, as a reference.
+ * 'lookup' prices using a single lookup rates provider, as for the trades of a scenario after the first.
+ * 'lookupFirstUse' creates a new lookup rates provider for each pricing, thus binding the curves every time.
+ * The allocation rate reported by the GC profiler shows the allocations per swap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RatesLookupBenchmark {
+
+  /** The pricer. */
+  private static final DiscountingSwapProductPricer PRICER = DiscountingSwapProductPricer.DEFAULT;
+
+  /**
+   * The type of rates provider.
+   */
+  @Param({"immutable", "lookup", "lookupFirstUse"})
+  public String providerType;
+  /**
+   * The swap tenor.
+   */
+  @Param({"2Y", "30Y"})
+  public String tenor;
+
+  /** The resolved swap. */
+  private ResolvedSwap swap;
+  /** The lookup. */
+  private RatesMarketDataLookup lookup;
+  /** The market data containing the calibrated curves. */
+  private ImmutableMarketData marketData;
+  /** The rates provider, null if created for each pricing. */
+  private RatesProvider provider;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrates the curves, creates the rates provider and creates the swap.
+   */
+  @Setup
+  public void setUp() {
+    CurveGroupDefinition curveGroupDefn = BenchmarkData.curveGroupDefinition();
+    ImmutableRatesProvider immutableProvider = BenchmarkData.ratesProvider();
+    lookup = RatesMarketDataLookup.of(curveGroupDefn);
+    marketData = BenchmarkData.calculationMarketData(curveGroupDefn, immutableProvider);
+    switch (providerType) {
+      case "immutable":
+        provider = immutableProvider;
+        break;
+      case "lookup":
+        provider = lookup.ratesProvider(marketData);
+        break;
+      case "lookupFirstUse":
+        provider = null;
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown provider type: " + providerType);
+    }
+    swap = FixedIborSwapConvention.of("USD-FIXED-6M-LIBOR-3M")
+        .createTrade(VALUATION_DATE, Tenor.parse(tenor), BuySell.BUY, 1_000_000d, 0.01, REF_DATA)
+        .getProduct()
+        .resolve(REF_DATA);
+  }
+
+  // obtains the rates provider
+  private RatesProvider provider() {
+    return provider != null ? provider : lookup.ratesProvider(marketData);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks the present value.
+   *
+   * @return the present value
+   */
+  @Benchmark
+  public MultiCurrencyAmount presentValue() {
+    return PRICER.presentValue(swap, provider());
+  }
+
+  /**
+   * Benchmarks the present value point sensitivity.
+   *
+   * @return the point sensitivities
+   */
+  @Benchmark
+  public PointSensitivities presentValueSensitivity() {
+    return PRICER.presentValueSensitivity(swap, provider()).build();
+  }
+
+}
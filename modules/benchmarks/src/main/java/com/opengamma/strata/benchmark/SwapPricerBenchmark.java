@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+import static com.opengamma.strata.benchmark.BenchmarkData.VALUATION_DATE;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConvention;
+
+/**
+ * Benchmarks the present value and present value sensitivity of a vanilla swap.
+ * <p>
+ * This uses {@link DiscountingSwapProductPricer} with calibrated USD/EUR curves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SwapPricerBenchmark {
+
+  /** The pricer. */
+  private static final DiscountingSwapProductPricer PRICER = DiscountingSwapProductPricer.DEFAULT;
+
+  /**
+   * The swap convention.
+   */
+  @Param({"USD-FIXED-6M-LIBOR-3M", "EUR-FIXED-1Y-EURIBOR-3M"})
+  public String convention;
+  /**
+   * The swap tenor.
+   */
+  @Param({"2Y", "10Y", "30Y"})
+  public String tenor;
+
+  /** The resolved swap. */
+  private ResolvedSwap swap;
+  /** The calibrated curves. */
+  private ImmutableRatesProvider provider;
+  /** The point sensitivities of the swap. */
+  private PointSensitivities pointSensitivities;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrates the curves and creates the swap.
+   */
+  @Setup
+  public void setUp() {
+    provider = BenchmarkData.ratesProvider();
+    swap = FixedIborSwapConvention.of(convention)
+        .createTrade(VALUATION_DATE, Tenor.parse(tenor), BuySell.BUY, 1_000_000d, 0.01, REF_DATA)
+        .getProduct()
+        .resolve(REF_DATA);
+    pointSensitivities = PRICER.presentValueSensitivity(swap, provider).build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks the present value.
+   *
+   * @return the present value
+   */
+  @Benchmark
+  public MultiCurrencyAmount presentValue() {
+    return PRICER.presentValue(swap, provider);
+  }
+
+  /**
+   * Benchmarks the present value point sensitivity.
+   *
+   * @return the point sensitivities
+   */
+  @Benchmark
+  public PointSensitivities presentValueSensitivity() {
+    return PRICER.presentValueSensitivity(swap, provider).build();
+  }
+
+  /**
+   * Benchmarks the conversion of the point sensitivity to the parameter sensitivity.
+   *
+   * @return the parameter sensitivities
+   */
+  @Benchmark
+  public CurrencyParameterSensitivities parameterSensitivity() {
+    return provider.parameterSensitivity(pointSensitivities);
+  }
+
+  /**
+   * Benchmarks the present value parameter sensitivity, from the swap to the curve parameters.
+   *
+   * @return the parameter sensitivities
+   */
+  @Benchmark
+  public CurrencyParameterSensitivities presentValueParameterSensitivity() {
+    return provider.parameterSensitivity(PRICER.presentValueSensitivity(swap, provider).build());
+  }
+
+}
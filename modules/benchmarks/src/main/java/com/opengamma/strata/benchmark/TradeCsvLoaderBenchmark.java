@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.CharSource;
+import com.opengamma.strata.collect.io.CharSources;
+import com.opengamma.strata.collect.result.ValueWithFailures;
+import com.opengamma.strata.loader.csv.TradeCsvLoader;
+import com.opengamma.strata.product.Trade;
+
+/**
+ * Benchmarks the loading of trades from CSV using {@link TradeCsvLoader}.
+ * <p>
+ * The CSV content is created in memory before the benchmark, so that the results measure
+ * the parsing of the CSV and the creation of the trades rather than the file system.
+ * The file contains swaps defined by convention, alternating between USD and EUR.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TradeCsvLoaderBenchmark {
+
+  /** The header of the CSV file. */
+  private static final String HEADER =
+      "Strata Trade Type,Id Scheme,Id,Trade Date,Convention,Buy Sell,Tenor,Fixed Rate,Notional\n";
+  /** The conventions used to create swap trades. */
+  private static final String[] CONVENTIONS = {"USD-FIXED-6M-LIBOR-3M", "EUR-FIXED-1Y-EURIBOR-3M"};
+  /** The trade date. */
+  private static final LocalDate TRADE_DATE = LocalDate.of(2017, 6, 1);
+
+  /**
+   * The number of trades in the CSV file.
+   */
+  @Param({"1000", "10000"})
+  public int tradeCount;
+
+  /** The loader. */
+  private TradeCsvLoader loader;
+  /** The CSV content. */
+  private List<CharSource> csv;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the CSV content.
+   */
+  @Setup
+  public void setUp() {
+    loader = TradeCsvLoader.of(BenchmarkData.REF_DATA);
+    StringBuilder buf = new StringBuilder(HEADER.length() * (tradeCount + 1));
+    buf.append(HEADER);
+    for (int i = 0; i < tradeCount; i++) {
+      buf.append("Swap,OG,")
+          .append(i).append(',')
+          .append(TRADE_DATE).append(',')
+          .append(CONVENTIONS[i % CONVENTIONS.length]).append(',')
+          .append((i / 2) % 2 == 0 ? "Buy" : "Sell").append(',')
+          .append('P').append(1 + (i / 2) % 30).append("Y,")
+          .append(String.format(Locale.ENGLISH, "%.2f", 0.5 + (i % 100) * 0.02)).append(',')
+          .append(1_000_000).append('\n');
+    }
+    csv = ImmutableList.of(CharSources.ofContent(buf.toString()));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks the loading of the trades.
+   *
+   * @return the trades
+   */
+  @Benchmark
+  public ValueWithFailures<List<Trade>> parse() {
+    ValueWithFailures<List<Trade>> result = loader.parse(csv);
+    if (result.hasFailures()) {
+      throw new IllegalStateException(result.getFailures().toString());
+    }
+    return result;
+  }
+
+}
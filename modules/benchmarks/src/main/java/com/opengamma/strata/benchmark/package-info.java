@@ -0,0 +1,12 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * JMH benchmarks for the performance sensitive parts of Strata.
+ * <p>
+ * The benchmarks are run using {@link com.opengamma.strata.benchmark.BenchmarkRunner BenchmarkRunner}.
+ */
+package com.opengamma.strata.benchmark;
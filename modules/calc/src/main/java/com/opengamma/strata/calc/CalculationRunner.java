@@ -66,6 +66,20 @@ public interface CalculationRunner extends AutoCloseable {
     return DefaultCalculationRunner.of(executor);
   }
 
+  /**
+   * Creates a multi-threaded calculation runner that executes tasks in batches using work-stealing.
+   * <p>
+   * This factory creates a fork-join pool basing the parallelism on the number of available processors.
+   * The tasks are grouped by function and split into batches, which is more efficient than
+   * {@link #ofMultiThreaded()} when there are a large number of inexpensive calculations.
+   * It is recommended to use try-with-resources to manage the runner.
+   * 
+   * @return the calculation runner
+   */
+  public static CalculationRunner ofForkJoin() {
+    return DefaultCalculationRunner.ofForkJoin();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
@@ -59,6 +59,17 @@ class DefaultCalculationRunner implements CalculationRunner {
     return new DefaultCalculationRunner(CalculationTaskRunner.of(executor));
   }
 
+  /**
+   * Creates a multi-threaded calculation runner that executes tasks in batches using work-stealing.
+   * <p>
+   * This factory creates a fork-join pool basing the parallelism on the number of available processors.
+   * 
+   * @return the calculation runner
+   */
+  static DefaultCalculationRunner ofForkJoin() {
+    return new DefaultCalculationRunner(CalculationTaskRunner.ofForkJoin());
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the underlying task runner to use.
@@ -10,10 +10,15 @@ import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
@@ -30,6 +35,11 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default market data factory.
  * <p>
  * This uses two providers, one for observable data and one for time-series.
+ * <p>
+ * If an executor is specified, the non-observable market data is built concurrently using the executor.
+ * Each item of market data is built as soon as the market data it depends on is available, allowing
+ * independent items, such as the curve groups for different currencies, to be built at the same time.
+ * Otherwise, the market data is built serially, one level of the dependency tree at a time.
  */
 final class DefaultMarketDataFactory implements MarketDataFactory {
 
@@ -42,6 +52,9 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
   /** Market data functions, keyed by the type of the market data ID they can handle. */
   private final Map<Class<? extends MarketDataId<?>>, MarketDataFunction<?, ?>> functions;
 
+  /** Executor used to build non-observable market data concurrently, null if the data is built serially. */
+  private final Executor executor;
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance of the factory based on providers of market data and time-series.
@@ -52,14 +65,36 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param timeSeriesProvider  the provider time-series
    * @param functions  the functions that create the market data
    */
+  DefaultMarketDataFactory(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    this(observableDataProvider, timeSeriesProvider, null, functions);
+  }
+
+  /**
+   * Creates an instance of the factory based on providers of market data and time-series
+   * that builds non-observable market data concurrently.
+   * <p>
+   * The market data functions are used to build the market data.
+   * Market data functions whose inputs are available are invoked concurrently using the executor.
+   *
+   * @param observableDataProvider  the provider observable market data
+   * @param timeSeriesProvider  the provider time-series
+   * @param executor  the executor used to build market data concurrently, null to build serially
+   * @param functions  the functions that create the market data
+   */
   @SuppressWarnings("unchecked")
   DefaultMarketDataFactory(
       ObservableDataProvider observableDataProvider,
       TimeSeriesProvider timeSeriesProvider,
+      Executor executor,
       List<MarketDataFunction<?, ?>> functions) {
 
     this.observableDataProvider = observableDataProvider;
     this.timeSeriesProvider = timeSeriesProvider;
+    this.executor = executor;
 
     // Use a HashMap instead of an ImmutableMap.Builder so values can be overwritten.
     // If the functions argument includes a missing mapping builder it can overwrite the one inserted below
@@ -102,14 +137,30 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       ReferenceData refData,
       ScenarioDefinition scenarioDefinition) {
 
-    BuiltScenarioMarketDataBuilder dataBuilder = BuiltScenarioMarketData.builder(suppliedData.getValuationDate());
-    BuiltScenarioMarketData builtData = dataBuilder.build();
-
     // Build a tree of the market data dependencies. The root of the tree represents the calculations.
     // The children of the root represent the market data directly used in the calculations. The children
     // of those nodes represent the market data required to build that data, and so on
     MarketDataNode root = MarketDataNode.buildDependencyTree(requirements, suppliedData, marketDataConfig, functions);
 
+    if (executor != null) {
+      return buildConcurrently(root, marketDataConfig, suppliedData, refData, scenarioDefinition);
+    }
+    return buildByLevel(root, marketDataConfig, suppliedData, refData, scenarioDefinition);
+  }
+
+  //-------------------------------------------------------------------------
+  // builds the market data serially, one level of the dependency tree at a time
+  private BuiltScenarioMarketData buildByLevel(
+      MarketDataNode dependencyTree,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition) {
+
+    BuiltScenarioMarketDataBuilder dataBuilder = BuiltScenarioMarketData.builder(suppliedData.getValuationDate());
+    BuiltScenarioMarketData builtData = dataBuilder.build();
+    MarketDataNode root = dependencyTree;
+
     // The leaf nodes of the dependency tree represent market data with no missing requirements for market data.
     // This includes:
     //   * Market data that is already available
@@ -138,38 +189,8 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       // The requirements contained in the leaf nodes
       MarketDataRequirements leafRequirements = pair.getSecond();
 
-      // Time series of observable data ------------------------------------------------------------
-
-      // Build any time series that are required but not available
-      leafRequirements.getTimeSeries().stream()
-          .filter(id -> marketData.getTimeSeries(id).isEmpty())
-          .filter(id -> suppliedData.getTimeSeries(id).isEmpty())
-          .forEach(id -> dataBuilder.addTimeSeriesResult(id, timeSeriesProvider.provideTimeSeries(id)));
-
-      // Copy supplied time series to the scenario data
-      leafRequirements.getTimeSeries().stream()
-          .filter(id -> !suppliedData.getTimeSeries(id).isEmpty())
-          .forEach(id -> dataBuilder.addTimeSeries(id, suppliedData.getTimeSeries(id)));
-
-      // Single values of observable data -----------------------------------------------------------
-
-      // Filter out IDs for the data that is already available
-      Set<ObservableId> observableIds = leafRequirements.getObservables().stream()
-          .filter(not(marketData::containsValue))
-          .filter(not(suppliedData::containsValue))
-          .collect(toImmutableSet());
-
-      // Observable data is built in bulk so it can be efficiently requested from data provider in one operation
-      if (!observableIds.isEmpty()) {
-        Map<ObservableId, Result<Double>> observableResults = observableDataProvider.provideObservableData(observableIds);
-        MapStream.of(observableResults)
-            .forEach((id, res) -> addObservableResult(id, res, refData, scenarioDefinition, dataBuilder));
-      }
-
-      // Copy observable data from the supplied data to the builder, applying any matching perturbations
-      leafRequirements.getObservables().stream()
-          .filter(suppliedData::containsValue)
-          .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+      // Time series and single values of observable data
+      addObservableData(leafRequirements, marketData, suppliedData, refData, scenarioDefinition, dataBuilder);
 
       // Non-observable data -----------------------------------------------------------------------
 
@@ -201,6 +222,148 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     return builtData;
   }
 
+  // builds the market data concurrently, building each item as soon as its dependencies are available
+  private BuiltScenarioMarketData buildConcurrently(
+      MarketDataNode dependencyTree,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition) {
+
+    BuiltScenarioMarketDataBuilder dataBuilder = BuiltScenarioMarketData.builder(suppliedData.getValuationDate());
+
+    // Observable data and time series are always leaves of the dependency tree.
+    // They are obtained first, in bulk, so they can be efficiently requested from the data provider.
+    // The non-observable data forms a graph, where each item depends on the items below it in the tree
+    MarketDataRequirementsBuilder observableRequirements = MarketDataRequirements.builder();
+    Map<MarketDataId<?>, MarketDataNode> nonObservableNodes = new LinkedHashMap<>();
+    collectNodes(dependencyTree, observableRequirements, nonObservableNodes);
+    BuiltScenarioMarketData noData = dataBuilder.build();
+    addObservableData(observableRequirements.build(), noData, suppliedData, refData, scenarioDefinition, dataBuilder);
+
+    // Copy supplied data to the scenario data after applying perturbations
+    nonObservableNodes.keySet().stream()
+        .filter(suppliedData::containsValue)
+        .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+
+    // Schedule the building of each item of non-observable data once the data it depends on has been built.
+    // The futures are created on this thread, building starts as soon as an item has no outstanding dependencies
+    ConcurrentDataBuilder concurrentBuilder = new ConcurrentDataBuilder(dataBuilder);
+    Map<MarketDataId<?>, CompletableFuture<Void>> futures = new HashMap<>();
+    for (MarketDataNode node : nonObservableNodes.values()) {
+      scheduleBuild(node, futures, concurrentBuilder, marketDataConfig, suppliedData, refData, scenarioDefinition);
+    }
+    try {
+      CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[futures.size()])).join();
+    } catch (CompletionException ex) {
+      // rethrow the underlying exception, matching the behavior of serial building
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+    return concurrentBuilder.snapshot();
+  }
+
+  // collects the observable requirements and the non-observable nodes from the tree, removing duplicates
+  private static void collectNodes(
+      MarketDataNode node,
+      MarketDataRequirementsBuilder observableRequirements,
+      Map<MarketDataId<?>, MarketDataNode> nonObservableNodes) {
+
+    for (MarketDataNode child : node.getDependencies()) {
+      MarketDataId<?> id = child.getId();
+      if (child.getDataType() == MarketDataNode.DataType.TIME_SERIES) {
+        observableRequirements.addTimeSeries((ObservableId) id);
+      } else if (id instanceof ObservableId) {
+        observableRequirements.addValues(id);
+      } else if (!nonObservableNodes.containsKey(id)) {
+        nonObservableNodes.put(id, child);
+        collectNodes(child, observableRequirements, nonObservableNodes);
+      }
+    }
+  }
+
+  // schedules the building of an item of non-observable data, returning a future that completes when it is built
+  private CompletableFuture<Void> scheduleBuild(
+      MarketDataNode node,
+      Map<MarketDataId<?>, CompletableFuture<Void>> futures,
+      ConcurrentDataBuilder concurrentBuilder,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition) {
+
+    MarketDataId<?> id = node.getId();
+    CompletableFuture<Void> existing = futures.get(id);
+    if (existing != null) {
+      return existing;
+    }
+    if (suppliedData.containsValue(id)) {
+      return CompletableFuture.completedFuture(null);
+    }
+    CompletableFuture<?>[] dependencyFutures = node.getDependencies().stream()
+        .filter(child -> child.getDataType() == MarketDataNode.DataType.SINGLE_VALUE)
+        .filter(child -> !(child.getId() instanceof ObservableId))
+        .map(child -> scheduleBuild(
+            child, futures, concurrentBuilder, marketDataConfig, suppliedData, refData, scenarioDefinition))
+        .toArray(CompletableFuture<?>[]::new);
+
+    CompletableFuture<Void> future = CompletableFuture.allOf(dependencyFutures).thenRunAsync(
+        () -> {
+          // the snapshot contains all the dependencies as their futures have completed
+          BuiltScenarioMarketData marketData = concurrentBuilder.snapshot();
+          Result<MarketDataBox<?>> result = buildNonObservableData(id, marketDataConfig, marketData, refData);
+          concurrentBuilder.update(builder -> addResult(id, result, refData, scenarioDefinition, builder));
+        },
+        executor);
+    futures.put(id, future);
+    return future;
+  }
+
+  // adds time series and single values of observable data to the builder
+  private void addObservableData(
+      MarketDataRequirements leafRequirements,
+      BuiltScenarioMarketData marketData,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      BuiltScenarioMarketDataBuilder dataBuilder) {
+
+    // Time series of observable data ------------------------------------------------------------
+
+    // Build any time series that are required but not available
+    leafRequirements.getTimeSeries().stream()
+        .filter(id -> marketData.getTimeSeries(id).isEmpty())
+        .filter(id -> suppliedData.getTimeSeries(id).isEmpty())
+        .forEach(id -> dataBuilder.addTimeSeriesResult(id, timeSeriesProvider.provideTimeSeries(id)));
+
+    // Copy supplied time series to the scenario data
+    leafRequirements.getTimeSeries().stream()
+        .filter(id -> !suppliedData.getTimeSeries(id).isEmpty())
+        .forEach(id -> dataBuilder.addTimeSeries(id, suppliedData.getTimeSeries(id)));
+
+    // Single values of observable data -----------------------------------------------------------
+
+    // Filter out IDs for the data that is already available
+    Set<ObservableId> observableIds = leafRequirements.getObservables().stream()
+        .filter(not(marketData::containsValue))
+        .filter(not(suppliedData::containsValue))
+        .collect(toImmutableSet());
+
+    // Observable data is built in bulk so it can be efficiently requested from data provider in one operation
+    if (!observableIds.isEmpty()) {
+      Map<ObservableId, Result<Double>> observableResults = observableDataProvider.provideObservableData(observableIds);
+      MapStream.of(observableResults)
+          .forEach((id, res) -> addObservableResult(id, res, refData, scenarioDefinition, dataBuilder));
+    }
+
+    // Copy observable data from the supplied data to the builder, applying any matching perturbations
+    leafRequirements.getObservables().stream()
+        .filter(suppliedData::containsValue)
+        .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds items of non-observable market data using a market data function.
@@ -335,4 +498,37 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Wraps a builder, allowing market data to be added and read by multiple threads.
+   * <p>
+   * A snapshot of the data is only built when the data has changed since the last snapshot,
+   * so tasks that start between updates share the same snapshot.
+   */
+  private static final class ConcurrentDataBuilder {
+
+    /** The underlying builder, only accessed while holding the lock on this object. */
+    private final BuiltScenarioMarketDataBuilder builder;
+    /** The data built so far, null if the builder has been updated since it was created. */
+    private BuiltScenarioMarketData snapshot;
+
+    private ConcurrentDataBuilder(BuiltScenarioMarketDataBuilder builder) {
+      this.builder = builder;
+    }
+
+    // applies an update to the builder
+    private synchronized void update(Consumer<BuiltScenarioMarketDataBuilder> updateFn) {
+      snapshot = null;
+      updateFn.accept(builder);
+    }
+
+    // returns the data built so far
+    private synchronized BuiltScenarioMarketData snapshot() {
+      if (snapshot == null) {
+        snapshot = builder.build();
+      }
+      return snapshot;
+    }
+  }
+
 }
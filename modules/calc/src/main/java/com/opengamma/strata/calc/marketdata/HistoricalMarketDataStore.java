@@ -0,0 +1,439 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.Unchecked;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.data.FieldName;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.ObservableSource;
+
+/**
+ * A store of historical observable market data, held in a memory-mapped file.
+ * <p>
+ * Historical workflows, such as the generation of historical scenarios, need the values of
+ * many observables on many dates. Holding these as a map of maps is expensive in memory and slow to build.
+ * Instead, this store holds the data in a binary file containing a dictionary of observables,
+ * followed by a bit-set for each date indicating which observables have a value, and then a column
+ * of values for each date. The file is written once, using
+ * {@link #write(Path, Map)}, and then read using {@link #of(Path)}.
+ * <p>
+ * The file is memory-mapped when read, thus the values are not copied onto the heap.
+ * Only the dictionary of observables and the dates are held in memory.
+ * <p>
+ * The store provides the market data to {@link MarketDataFactory} in two ways.
+ * The time-series of each observable is available via the {@link TimeSeriesProvider} interface.
+ * The values on a single date are available via {@link #observableDataProvider(LocalDate)}.
+ * For example:
+ * <pre>
+ *  Map&lt;LocalDate, ImmutableMap&lt;QuoteId, Double&gt;&gt; quotes = QuotesCsvLoader.loadAllDates(resources);
+ *  HistoricalMarketDataStore.write(file, quotes);
+ *  HistoricalMarketDataStore store = HistoricalMarketDataStore.of(file);
+ *  MarketDataFactory factory = MarketDataFactory.of(store.observableDataProvider(date), store, functions);
+ * </pre>
+ * <p>
+ * Observables are matched using the standard identifier, field name and source of the {@link ObservableId}.
+ * Thus, a value written using one type of identifier can be read using another type of identifier.
+ * <p>
+ * A value of {@link Double#NaN} can be stored and is returned by {@link #findValue(LocalDate, ObservableId)}.
+ * Such values are omitted from the time-series, as a time-series cannot contain NaN.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class HistoricalMarketDataStore
+    implements TimeSeriesProvider {
+
+  /**
+   * The magic number at the start of the file.
+   */
+  private static final int MAGIC = 0x4F474844;
+  /**
+   * The version of the file format.
+   */
+  private static final int VERSION = 2;
+
+  /**
+   * The file.
+   */
+  private final Path file;
+  /**
+   * The position of each observable in a column of values, keyed by observable.
+   */
+  private final ImmutableMap<ObservableKey, Integer> keys;
+  /**
+   * The dates, as epoch-days, in ascending order.
+   */
+  private final int[] dates;
+  /**
+   * The number of words in the bit-set for each date.
+   */
+  private final int wordCount;
+  /**
+   * The bit-sets indicating which observables have a value, one bit-set for each date.
+   */
+  private final LongBuffer present;
+  /**
+   * The values, one column for each date, with zero where there is no value.
+   */
+  private final DoubleBuffer values;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes historical market data to a file in the format of this store.
+   * <p>
+   * Any existing file is replaced.
+   * The map of values for each date does not need to contain the same observables.
+   * The values may include {@link Double#NaN}, which is stored as a value.
+   *
+   * @param file  the file to write
+   * @param data  the values of the observables, keyed by date
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the data contains a null
+   */
+  public static void write(Path file, Map<LocalDate, ? extends Map<? extends ObservableId, Double>> data) {
+    ArgChecker.notNull(file, "file");
+    ArgChecker.noNulls(data, "data");
+    data.forEach((date, values) -> ArgChecker.noNulls(values, "data values"));
+    SortedMap<LocalDate, ? extends Map<? extends ObservableId, Double>> sorted = new TreeMap<>(data);
+    // the position of each observable in a column is the order in which it is first seen
+    Map<ObservableKey, Integer> keys = new LinkedHashMap<>();
+    for (Map<? extends ObservableId, Double> values : sorted.values()) {
+      for (ObservableId id : values.keySet()) {
+        keys.putIfAbsent(ObservableKey.of(id), keys.size());
+      }
+    }
+    Unchecked.wrap(() -> {
+      try (OutputStream out = Files.newOutputStream(file)) {
+        write(new DataOutputStream(new BufferedOutputStream(out)), keys, sorted);
+      }
+    });
+  }
+
+  // writes the header, the dictionary, the dates, the bit-sets of values present and the columns of values
+  private static void write(
+      DataOutputStream out,
+      Map<ObservableKey, Integer> keys,
+      SortedMap<LocalDate, ? extends Map<? extends ObservableId, Double>> data) throws IOException {
+
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeInt(keys.size());
+    out.writeInt(data.size());
+    for (ObservableKey key : keys.keySet()) {
+      writeString(out, key.standardId.toString());
+      writeString(out, key.fieldName.getName());
+      writeString(out, key.source.getName());
+    }
+    for (LocalDate date : data.keySet()) {
+      out.writeInt(Math.toIntExact(date.toEpochDay()));
+    }
+    // align the bit-sets and values, allowing each to be read in a single operation
+    while (out.size() % Long.BYTES != 0) {
+      out.writeByte(0);
+    }
+    // presence is held separately from the values, allowing NaN to be stored as a value
+    long[] present = new long[wordCount(keys.size())];
+    for (Map<? extends ObservableId, Double> values : data.values()) {
+      Arrays.fill(present, 0L);
+      for (ObservableId id : values.keySet()) {
+        int keyIndex = keys.get(ObservableKey.of(id));
+        present[keyIndex / Long.SIZE] |= 1L << (keyIndex % Long.SIZE);
+      }
+      for (long word : present) {
+        out.writeLong(word);
+      }
+    }
+    double[] column = new double[keys.size()];
+    for (Map<? extends ObservableId, Double> values : data.values()) {
+      Arrays.fill(column, 0d);
+      for (Entry<? extends ObservableId, Double> entry : values.entrySet()) {
+        column[keys.get(ObservableKey.of(entry.getKey()))] = entry.getValue();
+      }
+      for (double value : column) {
+        out.writeDouble(value);
+      }
+    }
+    out.flush();
+  }
+
+  // the number of words in the bit-set of a date
+  private static int wordCount(int keyCount) {
+    return (keyCount + Long.SIZE - 1) / Long.SIZE;
+  }
+
+  // writes a string as a length and UTF-8 bytes
+  private static void writeString(DataOutputStream out, String str) throws IOException {
+    byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance by memory-mapping a file written by {@link #write(Path, Map)}.
+   * <p>
+   * The file must not be changed while the store is in use.
+   *
+   * @param file  the file to read
+   * @return the store
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file is not in the format of this store
+   */
+  public static HistoricalMarketDataStore of(Path file) {
+    ArgChecker.notNull(file, "file");
+    ByteBuffer buffer = Unchecked.wrap(() -> {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        ArgChecker.isTrue(channel.size() <= Integer.MAX_VALUE, "File is too large to be mapped: {}", file);
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      }
+    });
+    try {
+      return read(file, buffer);
+    } catch (RuntimeException ex) {
+      throw new IllegalArgumentException(Messages.format("Invalid historical market data file: {}", file), ex);
+    }
+  }
+
+  // reads the header, the dictionary and the dates, leaving the bit-sets and values in the mapped buffer
+  private static HistoricalMarketDataStore read(Path file, ByteBuffer buffer) {
+    ArgChecker.isTrue(buffer.getInt() == MAGIC, "File does not start with the expected magic number");
+    int version = buffer.getInt();
+    ArgChecker.isTrue(version == VERSION, "File version is not supported: {}", version);
+    int keyCount = buffer.getInt();
+    int dateCount = buffer.getInt();
+    ImmutableMap.Builder<ObservableKey, Integer> keys = ImmutableMap.builder();
+    for (int i = 0; i < keyCount; i++) {
+      StandardId standardId = StandardId.parse(readString(buffer));
+      FieldName fieldName = FieldName.of(readString(buffer));
+      ObservableSource source = ObservableSource.of(readString(buffer));
+      keys.put(new ObservableKey(standardId, fieldName, source), i);
+    }
+    int[] dates = new int[dateCount];
+    for (int i = 0; i < dateCount; i++) {
+      dates[i] = buffer.getInt();
+    }
+    while (buffer.position() % Long.BYTES != 0) {
+      buffer.get();
+    }
+    int wordCount = wordCount(keyCount);
+    long presentBytes = (long) wordCount * dateCount * Long.BYTES;
+    long valueBytes = (long) keyCount * dateCount * Double.BYTES;
+    ArgChecker.isTrue(buffer.remaining() == presentBytes + valueBytes, "File is truncated");
+    ByteBuffer presentBuffer = buffer.slice();
+    presentBuffer.limit((int) presentBytes);
+    LongBuffer present = presentBuffer.asLongBuffer();
+    buffer.position(buffer.position() + (int) presentBytes);
+    DoubleBuffer values = buffer.slice().asDoubleBuffer();
+    return new HistoricalMarketDataStore(file, keys.build(), dates, wordCount, present, values);
+  }
+
+  // reads a string written as a length and UTF-8 bytes
+  private static String readString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  // restricted constructor
+  private HistoricalMarketDataStore(
+      Path file,
+      ImmutableMap<ObservableKey, Integer> keys,
+      int[] dates,
+      int wordCount,
+      LongBuffer present,
+      DoubleBuffer values) {
+
+    this.file = file;
+    this.keys = keys;
+    this.dates = dates;
+    this.wordCount = wordCount;
+    this.present = present;
+    this.values = values;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the dates in the store, in ascending order.
+   *
+   * @return the dates
+   */
+  public ImmutableList<LocalDate> getDates() {
+    return Arrays.stream(dates)
+        .mapToObj(LocalDate::ofEpochDay)
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Checks if the store contains values for the specified date.
+   *
+   * @param date  the date
+   * @return true if the store contains values for the date
+   */
+  public boolean containsDate(LocalDate date) {
+    ArgChecker.notNull(date, "date");
+    return findDateIndex(date) >= 0;
+  }
+
+  /**
+   * Finds the value of an observable on the specified date.
+   *
+   * @param date  the date
+   * @param id  the identifier of the observable
+   * @return the value, empty if the store does not contain a value for the observable on the date
+   */
+  public OptionalDouble findValue(LocalDate date, ObservableId id) {
+    ArgChecker.notNull(date, "date");
+    ArgChecker.notNull(id, "id");
+    int dateIndex = findDateIndex(date);
+    Integer keyIndex = keys.get(ObservableKey.of(id));
+    if (dateIndex < 0 || keyIndex == null || !isPresent(dateIndex, keyIndex)) {
+      return OptionalDouble.empty();
+    }
+    return OptionalDouble.of(values.get(dateIndex * keys.size() + keyIndex));
+  }
+
+  // checks if the store contains a value for the observable on the date
+  private boolean isPresent(int dateIndex, int keyIndex) {
+    long word = present.get(dateIndex * wordCount + keyIndex / Long.SIZE);
+    return (word & (1L << (keyIndex % Long.SIZE))) != 0;
+  }
+
+  // finds the index of the date, negative if not found
+  private int findDateIndex(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    if (epochDay < Integer.MIN_VALUE || epochDay > Integer.MAX_VALUE) {
+      return -1;
+    }
+    return Arrays.binarySearch(dates, (int) epochDay);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a provider of the observable market data on the specified date.
+   * <p>
+   * The provider returns a failure for any observable that does not have a value on the date.
+   *
+   * @param date  the date
+   * @return the provider of the observable market data on the date
+   * @throws IllegalArgumentException if the store does not contain the date
+   */
+  public ObservableDataProvider observableDataProvider(LocalDate date) {
+    ArgChecker.notNull(date, "date");
+    ArgChecker.isTrue(containsDate(date), "Historical market data not available for date: {}", date);
+    return identifiers -> identifiers.stream()
+        .collect(toImmutableMap(id -> id, id -> provideValue(date, id)));
+  }
+
+  // provides a single value
+  private Result<Double> provideValue(LocalDate date, ObservableId id) {
+    OptionalDouble value = findValue(date, id);
+    if (value.isPresent()) {
+      return Result.success(value.getAsDouble());
+    }
+    return Result.failure(
+        FailureReason.MISSING_DATA, "No historical market data available for '{}' on {}", id, date);
+  }
+
+  @Override
+  public Result<LocalDateDoubleTimeSeries> provideTimeSeries(ObservableId identifier) {
+    ArgChecker.notNull(identifier, "identifier");
+    Integer keyIndex = keys.get(ObservableKey.of(identifier));
+    if (keyIndex == null) {
+      return Result.failure(
+          FailureReason.MISSING_DATA, "No historical market data available for '{}'", identifier);
+    }
+    // the dates are in order, allowing the builder to append each point
+    // a time-series cannot contain NaN, so stored NaN values are omitted
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int dateIndex = 0; dateIndex < dates.length; dateIndex++) {
+      if (isPresent(dateIndex, keyIndex)) {
+        double value = values.get(dateIndex * keys.size() + keyIndex);
+        if (!Double.isNaN(value)) {
+          builder.put(LocalDate.ofEpochDay(dates[dateIndex]), value);
+        }
+      }
+    }
+    return Result.success(builder.build());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format(
+        "HistoricalMarketDataStore[file={}, observables={}, dates={}]", file, keys.size(), dates.length);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The key of an observable in the store.
+   */
+  private static final class ObservableKey {
+    private final StandardId standardId;
+    private final FieldName fieldName;
+    private final ObservableSource source;
+
+    private static ObservableKey of(ObservableId id) {
+      return new ObservableKey(id.getStandardId(), id.getFieldName(), id.getObservableSource());
+    }
+
+    private ObservableKey(StandardId standardId, FieldName fieldName, ObservableSource source) {
+      this.standardId = standardId;
+      this.fieldName = fieldName;
+      this.source = source;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj instanceof ObservableKey) {
+        ObservableKey other = (ObservableKey) obj;
+        return standardId.equals(other.standardId) &&
+            fieldName.equals(other.fieldName) &&
+            source.equals(other.source);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(standardId, fieldName, source);
+    }
+  }
+
+}
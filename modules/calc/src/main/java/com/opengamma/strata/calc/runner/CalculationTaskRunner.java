@@ -7,6 +7,7 @@ package com.opengamma.strata.calc.runner;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.CalculationRules;
@@ -79,6 +80,36 @@ public interface CalculationTaskRunner extends AutoCloseable {
     return DefaultCalculationTaskRunner.of(executor);
   }
 
+  /**
+   * Creates a multi-threaded calculation task runner that executes tasks in batches using work-stealing.
+   * <p>
+   * This factory creates a fork-join pool basing the parallelism on the number of available processors.
+   * The tasks are grouped by function and split into batches, with the results of each batch
+   * delivered to the listener together. This is more efficient than {@link #ofMultiThreaded()}
+   * when there are a large number of inexpensive tasks.
+   * It is recommended to use try-with-resources to manage the runner.
+   * 
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofForkJoin() {
+    return DefaultCalculationTaskRunner.ofForkJoin();
+  }
+
+  /**
+   * Creates a calculation task runner that executes tasks in batches using work-stealing, specifying the pool.
+   * <p>
+   * The tasks are grouped by function and split into batches based on the parallelism of the pool,
+   * with the results of each batch delivered to the listener together.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the pool.
+   * 
+   * @param pool  the fork-join pool to use
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofForkJoin(ForkJoinPool pool) {
+    return DefaultCalculationTaskRunner.ofForkJoin(pool);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
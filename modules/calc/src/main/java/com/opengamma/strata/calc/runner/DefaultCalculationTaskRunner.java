@@ -7,10 +7,15 @@ package com.opengamma.strata.calc.runner;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -30,14 +35,36 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default calculation task runner.
  * <p>
  * This uses a single instance of {@link ExecutorService}.
+ * <p>
+ * By default, each task is submitted to the executor individually.
+ * If the runner is created using a {@link ForkJoinPool} via {@link #ofForkJoin(ForkJoinPool)},
+ * the tasks are instead grouped by function and split into batches that are executed
+ * using work-stealing, with the results of each batch delivered to the listener together.
+ * This reduces the scheduling and synchronization overhead when there are many small tasks.
  */
 final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
 
+  /**
+   * The number of batches created per thread in the fork-join pool.
+   * More batches than threads are created to allow work-stealing to balance the load.
+   */
+  private static final int BATCHES_PER_THREAD = 8;
+  /**
+   * The maximum number of tasks in a batch.
+   * This limits the delay before the first results are delivered to the listener.
+   */
+  private static final int MAX_BATCH_SIZE = 256;
+
   /**
    * Executes the tasks that perform the individual calculations.
    * This will typically be multi-threaded, but single or direct executors also work.
    */
   private final ExecutorService executor;
+  /**
+   * Whether the tasks are executed in batches on a fork-join pool.
+   * If true, the executor is an instance of {@link ForkJoinPool}.
+   */
+  private final boolean batched;
 
   //-------------------------------------------------------------------------
   /**
@@ -54,7 +81,7 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner ofMultiThreaded() {
-    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()));
+    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()), false);
   }
 
   /**
@@ -66,7 +93,33 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner of(ExecutorService executor) {
-    return new DefaultCalculationTaskRunner(executor);
+    return new DefaultCalculationTaskRunner(executor, false);
+  }
+
+  /**
+   * Creates a multi-threaded calculation task runner that executes tasks in batches using work-stealing.
+   * <p>
+   * This factory creates a fork-join pool basing the parallelism on the number of available processors.
+   *
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofForkJoin() {
+    return ofForkJoin(new ForkJoinPool(Runtime.getRuntime().availableProcessors()));
+  }
+
+  /**
+   * Creates a calculation task runner that executes tasks in batches using work-stealing.
+   * <p>
+   * The tasks are grouped by function and split into batches sized using the parallelism of the pool.
+   * The results of each batch are delivered to the listener together.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the pool.
+   *
+   * @param pool  the fork-join pool to use
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofForkJoin(ForkJoinPool pool) {
+    return new DefaultCalculationTaskRunner(pool, true);
   }
 
   // create an executor with daemon threads
@@ -86,9 +139,11 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * Creates an instance specifying the executor to use.
    *
    * @param executor  the executor that is used to perform the calculations
+   * @param batched  whether to execute the tasks in batches, the executor must be a fork-join pool
    */
-  private DefaultCalculationTaskRunner(ExecutorService executor) {
+  private DefaultCalculationTaskRunner(ExecutorService executor, boolean batched) {
     this.executor = ArgChecker.notNull(executor, "executor");
+    this.batched = batched;
   }
 
   //-------------------------------------------------------------------------
@@ -160,9 +215,11 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
       ScenarioMarketData marketData,
       ReferenceData refData) {
 
-    ResultsListener listener = new ResultsListener();
-    calculateMultiScenarioAsync(tasks, marketData, refData, listener);
-    return listener.result();
+    // the results are written directly into the grid, avoiding the need to queue and sort them
+    List<CalculationTask> taskList = tasks.getTasks();
+    ResultsCollector collector = new ResultsCollector(taskList.size(), tasks.getTargets().size(), tasks.getColumns());
+    runTasks(taskList, marketData, refData, collector, collector::acceptAll);
+    return collector.result();
   }
 
   @Override
@@ -176,11 +233,25 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     // the listener is invoked via this wrapper
     // the wrapper ensures thread-safety for the listener
     // it also calls the listener with single CalculationResult cells, not CalculationResults
-    Consumer<CalculationResults> consumer =
-        new ListenerWrapper(listener, taskList.size(), tasks.getTargets(), tasks.getColumns());
+    ListenerWrapper consumer = new ListenerWrapper(listener, taskList.size(), tasks.getTargets(), tasks.getColumns());
+    runTasks(taskList, marketData, refData, consumer, consumer::acceptAll);
+  }
 
-    // run each task using the executor
-    taskList.forEach(task -> runTask(task, marketData, refData, consumer));
+  // runs the tasks, passing the results of individual tasks or batches of tasks to the consumers
+  private void runTasks(
+      List<CalculationTask> taskList,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      Consumer<CalculationResults> consumer,
+      Consumer<List<CalculationResults>> batchConsumer) {
+
+    if (batched) {
+      // run the tasks in batches using the fork-join pool
+      runBatched(taskList, marketData, refData, batchConsumer);
+    } else {
+      // run each task using the executor
+      taskList.forEach(task -> runTask(task, marketData, refData, consumer));
+    }
   }
 
   // submits a task to the executor to be run
@@ -196,6 +267,43 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
   }
 
+  // submits the tasks to the fork-join pool to be run in batches
+  private void runBatched(
+      List<CalculationTask> taskList,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      Consumer<List<CalculationResults>> consumer) {
+
+    if (taskList.isEmpty()) {
+      return;
+    }
+    ForkJoinPool pool = (ForkJoinPool) executor;
+    List<CalculationTask> groupedTasks = groupByFunction(taskList);
+    int batchSize = batchSize(groupedTasks.size(), pool.getParallelism());
+    pool.execute(new BatchAction(groupedTasks, 0, groupedTasks.size(), batchSize, marketData, refData, consumer));
+  }
+
+  // orders the tasks so that tasks using the same function are adjacent, and therefore likely in the same batch
+  private static List<CalculationTask> groupByFunction(List<CalculationTask> taskList) {
+    Map<CalculationFunction<?>, List<CalculationTask>> tasksByFunction = new LinkedHashMap<>();
+    for (CalculationTask task : taskList) {
+      tasksByFunction.computeIfAbsent(task.getFunction(), fn -> new ArrayList<>()).add(task);
+    }
+    if (tasksByFunction.size() == 1) {
+      return taskList;
+    }
+    List<CalculationTask> grouped = new ArrayList<>(taskList.size());
+    tasksByFunction.values().forEach(grouped::addAll);
+    return grouped;
+  }
+
+  // the batch size is based on the number of tasks and threads, allowing for work-stealing
+  static int batchSize(int taskCount, int parallelism) {
+    int batches = Math.max(parallelism, 1) * BATCHES_PER_THREAD;
+    int batchSize = (taskCount + batches - 1) / batches;
+    return Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public void close() {
@@ -203,6 +311,60 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
   }
 
   //-------------------------------------------------------------------------
+  /**
+   * Fork-join action that executes a range of tasks.
+   * <p>
+   * The range is split in half until it is no larger than the batch size.
+   * Each batch is executed by a single thread, with the results delivered to the listener together.
+   * Idle threads steal the unexecuted halves from the queues of busy threads.
+   */
+  private static final class BatchAction extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<CalculationTask> tasks;
+    private final int startIndex;
+    private final int endIndex;
+    private final int batchSize;
+    private final transient ScenarioMarketData marketData;
+    private final transient ReferenceData refData;
+    private final transient Consumer<List<CalculationResults>> consumer;
+
+    private BatchAction(
+        List<CalculationTask> tasks,
+        int startIndex,
+        int endIndex,
+        int batchSize,
+        ScenarioMarketData marketData,
+        ReferenceData refData,
+        Consumer<List<CalculationResults>> consumer) {
+
+      this.tasks = tasks;
+      this.startIndex = startIndex;
+      this.endIndex = endIndex;
+      this.batchSize = batchSize;
+      this.marketData = marketData;
+      this.refData = refData;
+      this.consumer = consumer;
+    }
+
+    @Override
+    protected void compute() {
+      int size = endIndex - startIndex;
+      if (size > batchSize) {
+        int midIndex = startIndex + size / 2;
+        invokeAll(
+            new BatchAction(tasks, startIndex, midIndex, batchSize, marketData, refData, consumer),
+            new BatchAction(tasks, midIndex, endIndex, batchSize, marketData, refData, consumer));
+      } else {
+        List<CalculationResults> results = new ArrayList<>(size);
+        for (int i = startIndex; i < endIndex; i++) {
+          results.add(tasks.get(i).execute(marketData, refData));
+        }
+        consumer.accept(results);
+      }
+    }
+  }
 
   //-------------------------------------------------------------------------
   /**
@@ -5,11 +5,11 @@
  */
 package com.opengamma.strata.calc.runner;
 
-import java.util.LinkedList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
@@ -29,6 +29,13 @@ import com.opengamma.strata.collect.ArgChecker;
  * Calculations may be performed in bulk for a given target.
  * The logic in this class unwraps the {@link CalculationResults}, calling the
  * listener with each individual {@link CalculationResult}.
+ * <p>
+ * Results may also be delivered in batches using {@link #acceptAll(List)}.
+ * <p>
+ * No locks are used. Results are added to a lock-free queue and a counter of undelivered
+ * results is incremented. The thread that increments the counter from zero becomes responsible
+ * for delivering results to the listener until the counter returns to zero. Other threads
+ * return immediately after adding their results.
  */
 final class ListenerWrapper implements Consumer<CalculationResults> {
 
@@ -37,29 +44,24 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
   /** The wrapped listener. */
   private final CalculationListener listener;
 
-  /** Queue of actions to perform on the delegate. */
-  private final Queue<CalculationResults> queue = new LinkedList<>();
+  /** Queue of results to deliver to the listener, which is safe for multiple producers. */
+  private final Queue<CalculationResults> queue = new ConcurrentLinkedQueue<>();
 
-  /** Protects the queue and the executing flag. */
-  private final Lock lock = new ReentrantLock();
-
-  /** This lock is never contended; it is used to guarantee the listener state is visible to all threads. */
-  private final Lock listenerLock = new ReentrantLock();
+  /**
+   * The number of results that have been added to the queue but not yet delivered.
+   * <p>
+   * The thread that increments this from zero delivers results until it returns to zero.
+   * The atomic updates also ensure that changes to the state of the listener made by one
+   * delivering thread are visible to the next delivering thread.
+   */
+  private final AtomicInteger undelivered = new AtomicInteger();
 
   /** The total number of tasks to be executed. */
   private final int tasksExpected;
 
   // Mutable state -----------------------------------------------------
 
-  /**
-   * Flags whether a call to the underlying listener is executing.
-   * If this flag is set when {@link #accept} is called, the result is added to
-   * the queue and the calling thread returns. The executing thread will ensure
-   * all queued results are delivered.
-   */
-  private boolean executing;
-
-  /** The number of task results that have been received. */
+  /** The number of task results that have been delivered, only accessed by the delivering thread. */
   private int tasksReceived;
 
   //-------------------------------------------------------------------------
@@ -73,15 +75,9 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
     this.listener = ArgChecker.notNull(listener, "listener");
     this.tasksExpected = ArgChecker.notNegative(tasksExpected, "tasksExpected");
 
-    listenerLock.lock();
-    try {
-      listener.calculationsStarted(targets, columns);
-
-      if (tasksExpected == 0) {
-        listener.calculationsComplete();
-      }
-    } finally {
-      listenerLock.unlock();
+    listener.calculationsStarted(targets, columns);
+    if (tasksExpected == 0) {
+      listener.calculationsComplete();
     }
   }
 
@@ -101,85 +97,66 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
    */
   @Override
   public void accept(CalculationResults result) {
-    CalculationResults nextResult;
-
-    // Multiple calculation threads can try to acquire this lock at the same time.
-    // The thread which acquires the lock will set the executing flag and proceed into
-    // the body of the method.
-    // If another thread acquires the lock while the first thread is executing it will
-    // add an item to the queue and return.
-    // The lock also ensures the state of the executing flag and the queue are visible
-    // to any thread acquiring the lock.
-    lock.lock();
-    try {
-      if (executing) {
-        // Another thread is already invoking the listener. Add the result to
-        // the queue and return. The other thread will ensure the queued results
-        // are delivered.
-        queue.add(result);
-        return;
-      } else {
-        // There is no thread invoking the listener. Set the executing flag to
-        // ensure no other thread passes this point and invoke the listener.
-        executing = true;
-        nextResult = result;
-      }
-    } finally {
-      lock.unlock();
+    acceptAll(Collections.singletonList(result));
+  }
+
+  /**
+   * Accepts a batch of calculation results and delivers them to the listener.
+   * <p>
+   * This method can be invoked concurrently by multiple threads, and with the same
+   * guarantees as {@link #accept(CalculationResults)}. Each element of the list
+   * counts as the result of one task.
+   *
+   * @param results the results of a batch of calculations
+   */
+  void acceptAll(List<CalculationResults> results) {
+    if (results.isEmpty()) {
+      return;
+    }
+    // The results must be on the queue before the counter is incremented.
+    // This guarantees that the delivering thread finds a result on the queue for every increment it observes
+    queue.addAll(results);
+    int count = results.size();
+    if (undelivered.getAndAdd(count) != 0) {
+      // Another thread is delivering results and will deliver the results added by this thread
+      return;
     }
 
-    // The logic in the block above guarantees that there will never be more than one thread in the
+    // The logic above guarantees that there will never be more than one thread in the
     // rest of the method below this point.
 
-    // Loop until the nextResult and all the results from the queue have been delivered
+    // Loop until the counter returns to zero, delivering the number of results observed each time
+    int toDeliver = count;
     for (;;) {
-      // The logic above means this lock is never contended; the executing flag means
-      // only one thread will ever be in this loop at any given time.
-      // This lock is required to ensure any state changes in the listener are visible to all threads
-      listenerLock.lock();
-      try {
-        // Invoke the listener while not protected by lock. This allows other threads
-        // to queue results while this thread is delivering them to the listener.
-        for (CalculationResult cell : nextResult.getCells()) {
-          listener.resultReceived(nextResult.getTarget(), cell);
+      for (int i = 0; i < toDeliver; i++) {
+        deliver(queue.poll());
+      }
+      tasksReceived += toDeliver;
+      if (tasksReceived == tasksExpected) {
+        // The expected number of results have been received, inform the listener
+        try {
+          listener.calculationsComplete();
+        } catch (RuntimeException e) {
+          log.warn("Exception invoking listener.calculationsComplete", e);
         }
-      } catch (RuntimeException e) {
-        log.warn("Exception invoking listener.resultReceived", e);
-      } finally {
-        listenerLock.unlock();
       }
+      // If other threads added results while this thread was delivering, the counter is still positive
+      // and this thread must deliver them. Otherwise the next calling thread will deliver results
+      toDeliver = undelivered.addAndGet(-toDeliver);
+      if (toDeliver == 0) {
+        return;
+      }
+    }
+  }
 
-      // The following code must be executed whilst holding the lock to guarantee any changes
-      // to the executing flag and to the state of the queue are visible to all threads
-      lock.lock();
-      try {
-        if (++tasksReceived == tasksExpected) {
-          // The expected number of results have been received, inform the listener.
-          // The listener lock must be acquired to ensure any state changes in the listener are
-          // visible to all threads
-          listenerLock.lock();
-          try {
-            listener.calculationsComplete();
-          } catch (RuntimeException e) {
-            log.warn("Exception invoking listener.calculationsComplete", e);
-          } finally {
-            listenerLock.unlock();
-          }
-          return;
-        } else if (queue.isEmpty()) {
-          // There are no more results to deliver. Unset the executing flag and return.
-          // This allows the next calling thread to deliver results.
-          executing = false;
-          return;
-        } else {
-          // There are results on the queue. This means another thread called accept(),
-          // added a result to the queue and returned while this thread was invoking the listener.
-          // This thread must deliver the results from the queue.
-          nextResult = queue.remove();
-        }
-      } finally {
-        lock.unlock();
+  // delivers the cells of a single task to the listener
+  private void deliver(CalculationResults result) {
+    try {
+      for (CalculationResult cell : result.getCells()) {
+        listener.resultReceived(result.getTarget(), cell);
       }
+    } catch (RuntimeException e) {
+      log.warn("Exception invoking listener.resultReceived", e);
     }
   }
 }
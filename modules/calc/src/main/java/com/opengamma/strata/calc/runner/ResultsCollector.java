@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Collects the results of calculation tasks directly into a grid of {@link Results}.
+ * <p>
+ * This is used in place of a {@link ResultsListener} when the caller only needs the complete grid.
+ * Each cell is written directly into a pre-sized array at the index defined by its row and column.
+ * As the cells of different tasks never overlap, multiple threads can write results without locking
+ * or queueing. The thread that delivers the results of the last task creates the {@code Results}.
+ */
+final class ResultsCollector implements Consumer<CalculationResults> {
+
+  /** The column headers of the results. */
+  private final List<ColumnHeader> headers;
+  /** The number of columns. */
+  private final int columnCount;
+  /** The cells of the grid, in row-major order. */
+  private final Result<?>[] cells;
+  /**
+   * The number of tasks whose results have not yet been received.
+   * The atomic update also guarantees the writes to the array by all threads are visible
+   * to the thread that receives the last result.
+   */
+  private final AtomicInteger tasksRemaining;
+  /** The future holding the complete results. */
+  private final CompletableFuture<Results> future = new CompletableFuture<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   *
+   * @param tasksExpected  the number of tasks to be executed
+   * @param rowCount  the number of rows in the grid
+   * @param columns  the columns for which values are being calculated
+   */
+  ResultsCollector(int tasksExpected, int rowCount, List<Column> columns) {
+    ArgChecker.notNegative(tasksExpected, "tasksExpected");
+    ArgChecker.notNegative(rowCount, "rowCount");
+    this.headers = columns.stream()
+        .map(Column::toHeader)
+        .collect(toImmutableList());
+    this.columnCount = columns.size();
+    this.cells = new Result<?>[rowCount * columnCount];
+    this.tasksRemaining = new AtomicInteger(tasksExpected);
+    if (tasksExpected == 0) {
+      complete();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Accepts the results of a calculation task.
+   * <p>
+   * This method can be invoked concurrently by multiple threads.
+   *
+   * @param result  the results of a calculation task
+   */
+  @Override
+  public void accept(CalculationResults result) {
+    store(result);
+    if (tasksRemaining.decrementAndGet() == 0) {
+      complete();
+    }
+  }
+
+  /**
+   * Accepts the results of a batch of calculation tasks.
+   * <p>
+   * This method can be invoked concurrently by multiple threads.
+   *
+   * @param results  the results of a batch of calculation tasks
+   */
+  void acceptAll(List<CalculationResults> results) {
+    if (results.isEmpty()) {
+      return;
+    }
+    for (CalculationResults result : results) {
+      store(result);
+    }
+    if (tasksRemaining.addAndGet(-results.size()) == 0) {
+      complete();
+    }
+  }
+
+  /**
+   * Returns the results of the calculations, blocking until they are available.
+   *
+   * @return the results of the calculations
+   */
+  Results result() {
+    try {
+      return future.get();
+    } catch (InterruptedException | ExecutionException e) {
+      throw new RuntimeException("Exception getting result", e);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // writes the cells of the task into the array
+  private void store(CalculationResults result) {
+    for (CalculationResult cell : result.getCells()) {
+      cells[cell.getRowIndex() * columnCount + cell.getColumnIndex()] = cell.getResult();
+    }
+  }
+
+  // creates the results once all the tasks have completed
+  private void complete() {
+    try {
+      future.complete(Results.of(headers, Arrays.asList(cells)));
+    } catch (RuntimeException ex) {
+      future.completeExceptionally(ex);
+    }
+  }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.ObservableSource;
+
+/**
+ * Test {@link HistoricalMarketDataStore}.
+ */
+@Test
+public class HistoricalMarketDataStoreTest {
+
+  private static final LocalDate DATE1 = date(2017, 6, 1);
+  private static final LocalDate DATE2 = date(2017, 6, 2);
+  private static final LocalDate DATE3 = date(2017, 6, 5);
+  private static final TestObservableId ID1 = TestObservableId.of("1");
+  private static final TestObservableId ID2 = TestObservableId.of("2");
+  private static final TestObservableId ID3 = TestObservableId.of("3", ObservableSource.of("Vendor"));
+  private static final TestObservableId ID4 = TestObservableId.of("4");
+  private static final Map<LocalDate, Map<ObservableId, Double>> DATA = ImmutableMap.of(
+      DATE3, ImmutableMap.of(ID1, 1.3d, ID2, 2.3d, ID3, 3.3d),
+      DATE1, ImmutableMap.of(ID1, 1.1d, ID2, 2.1d),
+      DATE2, ImmutableMap.of(ID2, 2.2d, ID3, 3.2d));
+
+  //-------------------------------------------------------------------------
+  public void test_writeRead() throws Exception {
+    HistoricalMarketDataStore test = HistoricalMarketDataStore.of(write(DATA));
+    assertThat(test.getDates()).containsExactly(DATE1, DATE2, DATE3);
+    assertThat(test.containsDate(DATE2)).isTrue();
+    assertThat(test.containsDate(date(2017, 6, 3))).isFalse();
+    assertThat(test.containsDate(LocalDate.MAX)).isFalse();
+    DATA.forEach((date, values) -> values.forEach(
+        (id, value) -> assertThat(test.findValue(date, id)).isEqualTo(OptionalDouble.of(value))));
+    assertThat(test.findValue(DATE2, ID1)).isEqualTo(OptionalDouble.empty());
+    assertThat(test.findValue(DATE2, ID4)).isEqualTo(OptionalDouble.empty());
+    assertThat(test.findValue(date(2017, 6, 3), ID1)).isEqualTo(OptionalDouble.empty());
+    // the source is part of the key
+    assertThat(test.findValue(DATE2, TestObservableId.of("3"))).isEqualTo(OptionalDouble.empty());
+    assertThat(test.toString()).contains("observables=3, dates=3");
+  }
+
+  public void test_observableDataProvider() throws Exception {
+    HistoricalMarketDataStore test = HistoricalMarketDataStore.of(write(DATA));
+    ObservableDataProvider provider = test.observableDataProvider(DATE2);
+    Map<ObservableId, Result<Double>> result = provider.provideObservableData(ImmutableSet.of(ID1, ID2, ID3));
+    assertThat(result).hasSize(3);
+    assertThat(result.get(ID1)).isFailure();
+    assertThat(result.get(ID2)).hasValue(2.2d);
+    assertThat(result.get(ID3)).hasValue(3.2d);
+    assertThrowsIllegalArg(() -> test.observableDataProvider(date(2017, 6, 3)));
+  }
+
+  public void test_provideTimeSeries() throws Exception {
+    HistoricalMarketDataStore test = HistoricalMarketDataStore.of(write(DATA));
+    LocalDateDoubleTimeSeries expected = LocalDateDoubleTimeSeries.builder()
+        .put(DATE1, 1.1d)
+        .put(DATE3, 1.3d)
+        .build();
+    assertThat(test.provideTimeSeries(ID1)).hasValue(expected);
+    assertThat(test.provideTimeSeries(ID4)).isFailure();
+  }
+
+  public void test_nan() throws Exception {
+    Map<LocalDate, Map<ObservableId, Double>> data = ImmutableMap.of(
+        DATE1, ImmutableMap.of(ID1, Double.NaN, ID2, 2.1d),
+        DATE2, ImmutableMap.of(ID1, 1.2d));
+    HistoricalMarketDataStore test = HistoricalMarketDataStore.of(write(data));
+    assertThat(test.findValue(DATE1, ID1)).isEqualTo(OptionalDouble.of(Double.NaN));
+    assertThat(test.findValue(DATE2, ID2)).isEqualTo(OptionalDouble.empty());
+    assertThat(test.observableDataProvider(DATE1).provideObservableData(ImmutableSet.of(ID1)).get(ID1))
+        .hasValue(Double.NaN);
+    // a time-series cannot contain NaN
+    LocalDateDoubleTimeSeries expected = LocalDateDoubleTimeSeries.builder()
+        .put(DATE2, 1.2d)
+        .build();
+    assertThat(test.provideTimeSeries(ID1)).hasValue(expected);
+  }
+
+  public void test_manyObservables() throws Exception {
+    // more observables than fit in a single word of the bit-set
+    Map<ObservableId, Double> values1 = new HashMap<>();
+    Map<ObservableId, Double> values2 = new HashMap<>();
+    for (int i = 0; i < 150; i++) {
+      values1.put(TestObservableId.of("A" + i), (double) i);
+      if (i % 3 == 0) {
+        values2.put(TestObservableId.of("A" + i), i + 0.5d);
+      }
+    }
+    Path file = write(ImmutableMap.of(DATE1, values1, DATE2, values2));
+    HistoricalMarketDataStore test = HistoricalMarketDataStore.of(file);
+    for (int i = 0; i < 150; i++) {
+      TestObservableId id = TestObservableId.of("A" + i);
+      assertThat(test.findValue(DATE1, id)).isEqualTo(OptionalDouble.of(i));
+      assertThat(test.findValue(DATE2, id))
+          .isEqualTo(i % 3 == 0 ? OptionalDouble.of(i + 0.5d) : OptionalDouble.empty());
+    }
+  }
+
+  public void test_write_nullValue() throws Exception {
+    Map<ObservableId, Double> values = new HashMap<>();
+    values.put(ID1, null);
+    assertThrowsIllegalArg(() -> write(ImmutableMap.of(DATE1, values)));
+  }
+
+  public void test_empty() throws Exception {
+    HistoricalMarketDataStore test = HistoricalMarketDataStore.of(write(ImmutableMap.of()));
+    assertThat(test.getDates()).isEmpty();
+    assertThat(test.provideTimeSeries(ID1)).isFailure();
+  }
+
+  public void test_of_invalidFile() throws Exception {
+    Path file = Files.createTempFile("HistoricalMarketDataStoreTest", ".bin");
+    file.toFile().deleteOnExit();
+    Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+    assertThrowsIllegalArg(() -> HistoricalMarketDataStore.of(file));
+  }
+
+  //-------------------------------------------------------------------------
+  private static Path write(Map<LocalDate, ? extends Map<? extends ObservableId, Double>> data) throws Exception {
+    Path file = Files.createTempFile("HistoricalMarketDataStoreTest", ".bin");
+    file.toFile().deleteOnExit();
+    HistoricalMarketDataStore.write(file, data);
+    return file;
+  }
+
+}
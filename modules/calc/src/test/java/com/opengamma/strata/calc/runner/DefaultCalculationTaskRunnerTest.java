@@ -8,14 +8,18 @@ package com.opengamma.strata.calc.runner;
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
 import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import org.testng.annotations.Test;
 
@@ -195,6 +199,49 @@ public class DefaultCalculationTaskRunnerTest {
     assertThat(results.getColumns().get(0).getMeasure()).isEqualTo(TestingMeasures.PRESENT_VALUE);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Tests that the fork-join runner calculates every cell when tasks are split into batches.
+   */
+  public void forkJoinBatches() {
+    ScenarioResultFunction fn1 = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, ScenarioArray.of("foo"));
+    ScenarioResultFunction fn2 = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, ScenarioArray.of("bar"));
+    int taskCount = 1000;
+    List<CalculationTask> taskList = IntStream.range(0, taskCount)
+        .mapToObj(i -> CalculationTask.of(
+            TARGET, i % 2 == 0 ? fn1 : fn2, CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL)))
+        .collect(toImmutableList());
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskList, ImmutableList.of(column));
+
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofForkJoin(new ForkJoinPool(4))) {
+      MarketData marketData = MarketData.empty(VAL_DATE);
+      Results results = test.calculate(tasks, marketData, REF_DATA);
+      assertThat(results.getRowCount()).isEqualTo(taskCount);
+      for (int i = 0; i < taskCount; i++) {
+        assertThat(results.get(i, 0)).hasValue(i % 2 == 0 ? "foo" : "bar");
+      }
+    }
+  }
+
+  public void forkJoinNoTasks() {
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(ImmutableList.of(), ImmutableList.of(column));
+
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofForkJoin()) {
+      MarketData marketData = MarketData.empty(VAL_DATE);
+      Results results = test.calculate(tasks, marketData, REF_DATA);
+      assertThat(results.getRowCount()).isEqualTo(0);
+    }
+  }
+
+  public void batchSize() {
+    assertThat(DefaultCalculationTaskRunner.batchSize(0, 4)).isEqualTo(1);
+    assertThat(DefaultCalculationTaskRunner.batchSize(10, 4)).isEqualTo(1);
+    assertThat(DefaultCalculationTaskRunner.batchSize(1000, 4)).isEqualTo(32);
+    assertThat(DefaultCalculationTaskRunner.batchSize(1_000_000, 4)).isEqualTo(256);
+  }
+
   //-------------------------------------------------------------------------
   private static final class ScenarioResultFunction implements CalculationFunction<TestTarget> {
 
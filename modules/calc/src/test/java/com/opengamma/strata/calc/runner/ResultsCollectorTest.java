@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Test {@link ResultsCollector}.
+ */
+@Test
+public class ResultsCollectorTest {
+
+  private static final CalculationTarget TARGET = new CalculationTarget() {};
+  private static final ImmutableList<Column> COLUMNS =
+      ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE), Column.of(TestingMeasures.PAR_RATE));
+
+  public void noTasks() {
+    ResultsCollector test = new ResultsCollector(0, 0, COLUMNS);
+    Results results = test.result();
+    assertThat(results.getRowCount()).isEqualTo(0);
+    assertThat(results.getColumnCount()).isEqualTo(2);
+  }
+
+  // Tests that results delivered concurrently, individually and in batches, are all placed in the correct cell
+  public void concurrentExecution() {
+    int rowCount = 1000;
+    ResultsCollector test = new ResultsCollector(rowCount, rowCount, COLUMNS);
+    ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    try {
+      IntStream.range(0, rowCount / 2).forEach(i -> executor.submit(() -> test.accept(results(i))));
+      IntStream.range(rowCount / 4, rowCount / 2)
+          .forEach(i -> executor.submit(() -> test.acceptAll(ImmutableList.of(results(i * 2), results(i * 2 + 1)))));
+      Results results = test.result();
+      assertThat(results.getRowCount()).isEqualTo(rowCount);
+      for (int i = 0; i < rowCount; i++) {
+        assertThat(results.get(i, 0).getValue()).isEqualTo("PV" + i);
+        assertThat(results.get(i, 1).getValue()).isEqualTo("Par" + i);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static CalculationResults results(int row) {
+    return CalculationResults.of(
+        TARGET,
+        ImmutableList.of(
+            CalculationResult.of(row, 0, Result.success("PV" + row)),
+            CalculationResult.of(row, 1, Result.success("Par" + row))));
+  }
+
+}
@@ -9,15 +9,14 @@ import static com.opengamma.strata.collect.timeseries.DenseLocalDateDoubleTimeSe
 import static com.opengamma.strata.collect.timeseries.DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation.SKIP_WEEKENDS;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoField;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.OptionalDouble;
-import java.util.SortedMap;
-import java.util.TreeMap;
 import java.util.function.DoubleBinaryOperator;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -29,6 +28,9 @@ import com.opengamma.strata.collect.ArgChecker;
  * Entries can be added to the builder in any order.
  * If a date is duplicated it will overwrite an earlier entry.
  * <p>
+ * The entries are held in sorted primitive arrays, with the dates stored as epoch-days.
+ * Adding entries in date order is the most efficient approach.
+ * <p>
  * Use {@link LocalDateDoubleTimeSeries#builder()} to create an instance.
  */
 public final class LocalDateDoubleTimeSeriesBuilder {
@@ -37,11 +39,25 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * Threshold for deciding whether we use the dense or sparse time-series implementation.
    */
   private static final double DENSITY_THRESHOLD = 0.7;
+  /**
+   * The initial capacity of the arrays.
+   */
+  private static final int INITIAL_CAPACITY = 16;
 
   /**
-   * The entries for the time-series.
+   * The dates of the entries, as epoch-days, in ascending order.
+   * Only the first {@code size} elements are used.
+   */
+  private int[] dates;
+  /**
+   * The values of the entries, matching the dates.
+   * Only the first {@code size} elements are used.
+   */
+  private double[] values;
+  /**
+   * The number of entries.
    */
-  private final SortedMap<LocalDate, Double> entries = new TreeMap<>();
+  private int size;
 
   /**
    * Keep track of whether we have weekends in the data.
@@ -55,19 +71,27 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * Use {@link LocalDateDoubleTimeSeries#builder()}.
    */
   LocalDateDoubleTimeSeriesBuilder() {
+    this.dates = new int[INITIAL_CAPACITY];
+    this.values = new double[INITIAL_CAPACITY];
   }
 
   /**
    * Creates an instance.
    * <p>
    * Use {@link LocalDateDoubleTimeSeries#toBuilder()}.
+   * The arrays are copied, and the epoch-days must be in ascending order.
    * 
-   * @param dates  the dates to initialize with
+   * @param epochDays  the dates to initialize with, as epoch-days
    * @param values  the values to initialize with
+   * @param size  the number of entries to initialize with
    */
-  LocalDateDoubleTimeSeriesBuilder(LocalDate[] dates, double[] values) {
-    for (int i = 0; i < dates.length; i++) {
-      put(dates[i], values[i]);
+  LocalDateDoubleTimeSeriesBuilder(int[] epochDays, double[] values, int size) {
+    int capacity = Math.max(size, INITIAL_CAPACITY);
+    this.dates = Arrays.copyOf(epochDays, capacity);
+    this.values = Arrays.copyOf(values, capacity);
+    this.size = size;
+    for (int i = 0; i < size && !containsWeekends; i++) {
+      containsWeekends = isWeekend(epochDays[i]);
     }
   }
 
@@ -79,6 +103,7 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * @param points  the stream of points to initialize with
    */
   LocalDateDoubleTimeSeriesBuilder(Stream<LocalDateDoublePoint> points) {
+    this();
     points.forEach(pt -> put(pt.getDate(), pt.getValue()));
   }
 
@@ -94,24 +119,32 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * @return the value associated with the date, optional empty if the date is not present
    */
   public OptionalDouble get(LocalDate date) {
-    Double value = entries.get(date);
-    return (value != null ? OptionalDouble.of(value) : OptionalDouble.empty());
+    ArgChecker.notNull(date, "date");
+    int position = SparseLocalDateDoubleTimeSeries.findPosition(dates, size, date);
+    return (position >= 0 ? OptionalDouble.of(values[position]) : OptionalDouble.empty());
   }
 
   //-------------------------------------------------------------------------
   /**
    * Puts the specified date/value point into this builder.
+   * <p>
+   * The date must be within about 5.8 million years of 1970, as the dates are held as epoch-days.
+   * As such, {@link LocalDate#MIN} and {@link LocalDate#MAX} are not supported.
    *
    * @param date  the date to be added
    * @param value  the value associated with the date
    * @return this builder
+   * @throws IllegalArgumentException if the date is not supported
    */
   public LocalDateDoubleTimeSeriesBuilder put(LocalDate date, double value) {
     ArgChecker.notNull(date, "date");
     ArgChecker.isFalse(Double.isNaN(value), "NaN is not allowed as a value");
-    entries.put(date, value);
-    if (!containsWeekends && date.get(ChronoField.DAY_OF_WEEK) > 5) {
-      containsWeekends = true;
+    int epochDay = SparseLocalDateDoubleTimeSeries.toEpochDay(date);
+    int position = findPosition(epochDay);
+    if (position >= 0) {
+      values[position] = value;
+    } else {
+      insert(-position - 1, epochDay, value);
     }
     return this;
   }
@@ -121,6 +154,7 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    *
    * @param point  the point to be added
    * @return this builder
+   * @throws IllegalArgumentException if the date is not supported, see {@link #put(LocalDate, double)}
    */
   public LocalDateDoubleTimeSeriesBuilder put(LocalDateDoublePoint point) {
     ArgChecker.notNull(point, "point");
@@ -133,16 +167,26 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * Merges the specified date/value point into this builder.
    * <p>
    * The operator is invoked if the date already exists.
+   * <p>
+   * The date must be within about 5.8 million years of 1970, as the dates are held as epoch-days.
+   * As such, {@link LocalDate#MIN} and {@link LocalDate#MAX} are not supported.
    *
    * @param date  the date to be added
    * @param value  the value associated with the date
    * @param operator  the operator to use for merging
    * @return this builder
+   * @throws IllegalArgumentException if the date is not supported
    */
   public LocalDateDoubleTimeSeriesBuilder merge(LocalDate date, double value, DoubleBinaryOperator operator) {
     ArgChecker.notNull(date, "date");
     ArgChecker.notNull(operator, "operator");
-    entries.merge(date, value, (a, b) -> operator.applyAsDouble(a, b));
+    int epochDay = SparseLocalDateDoubleTimeSeries.toEpochDay(date);
+    int position = findPosition(epochDay);
+    if (position >= 0) {
+      values[position] = operator.applyAsDouble(values[position], value);
+    } else {
+      insert(-position - 1, epochDay, value);
+    }
     return this;
   }
 
@@ -157,8 +201,7 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    */
   public LocalDateDoubleTimeSeriesBuilder merge(LocalDateDoublePoint point, DoubleBinaryOperator operator) {
     ArgChecker.notNull(point, "point");
-    entries.merge(point.getDate(), point.getValue(), (a, b) -> operator.applyAsDouble(a, b));
-    return this;
+    return merge(point.getDate(), point.getValue(), operator);
   }
 
   //-------------------------------------------------------------------------
@@ -243,7 +286,6 @@ public final class LocalDateDoubleTimeSeriesBuilder {
   /**
    * Puts the contents of the specified builder into this builder.
    * <p>
-   * The points are added one by one.
    * If a date is duplicated it will overwrite an earlier entry.
    *
    * @param other  the other builder
@@ -251,7 +293,30 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    */
   public LocalDateDoubleTimeSeriesBuilder putAll(LocalDateDoubleTimeSeriesBuilder other) {
     ArgChecker.notNull(other, "other");
-    entries.putAll(other.entries);
+    // merge the two sorted arrays in a single pass, the other builder taking precedence
+    int[] mergedDates = new int[Math.max(size + other.size, INITIAL_CAPACITY)];
+    double[] mergedValues = new double[mergedDates.length];
+    int mergedSize = 0;
+    int i = 0;
+    int j = 0;
+    while (i < size || j < other.size) {
+      if (j == other.size || (i < size && dates[i] < other.dates[j])) {
+        mergedDates[mergedSize] = dates[i];
+        mergedValues[mergedSize] = values[i];
+        i++;
+      } else {
+        if (i < size && dates[i] == other.dates[j]) {
+          i++;
+        }
+        mergedDates[mergedSize] = other.dates[j];
+        mergedValues[mergedSize] = other.values[j];
+        j++;
+      }
+      mergedSize++;
+    }
+    dates = mergedDates;
+    values = mergedValues;
+    size = mergedSize;
     containsWeekends = containsWeekends || other.containsWeekends;
     return this;
   }
@@ -278,7 +343,7 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    */
   public LocalDateDoubleTimeSeries build() {
 
-    if (entries.isEmpty()) {
+    if (size == 0) {
       return LocalDateDoubleTimeSeries.empty();
     }
 
@@ -291,20 +356,19 @@ public final class LocalDateDoubleTimeSeriesBuilder {
 
   private LocalDateDoubleTimeSeries createDenseSeries() {
     return DenseLocalDateDoubleTimeSeries.of(
-        entries.firstKey(),
-        entries.lastKey(),
+        LocalDate.ofEpochDay(dates[0]),
+        LocalDate.ofEpochDay(dates[size - 1]),
         streamEntries(),
         determineCalculation());
   }
 
   private SparseLocalDateDoubleTimeSeries createSparseSeries() {
-    return SparseLocalDateDoubleTimeSeries.of(entries.keySet(), entries.values());
+    return SparseLocalDateDoubleTimeSeries.createUnsafe(Arrays.copyOf(dates, size), Arrays.copyOf(values, size));
   }
 
   private Stream<LocalDateDoublePoint> streamEntries() {
-    return entries.entrySet()
-        .stream()
-        .map(e -> LocalDateDoublePoint.of(e.getKey(), e.getValue()));
+    return IntStream.range(0, size)
+        .mapToObj(i -> LocalDateDoublePoint.of(LocalDate.ofEpochDay(dates[i]), values[i]));
   }
 
   private DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation determineCalculation() {
@@ -313,8 +377,42 @@ public final class LocalDateDoubleTimeSeriesBuilder {
 
   private double density() {
     // We can use the calculators to work out range size
-    double rangeSize = determineCalculation().calculatePosition(entries.firstKey(), entries.lastKey()) + 1;
-    return entries.size() / rangeSize;
+    double rangeSize = determineCalculation().calculatePosition(
+        LocalDate.ofEpochDay(dates[0]), LocalDate.ofEpochDay(dates[size - 1])) + 1;
+    return size / rangeSize;
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the position of the epoch-day, optimized for adding entries in date order
+  private int findPosition(int epochDay) {
+    if (size == 0 || epochDay > dates[size - 1]) {
+      return -size - 1;
+    }
+    return Arrays.binarySearch(dates, 0, size, epochDay);
+  }
+
+  // inserts an entry at the position, growing the arrays if necessary
+  private void insert(int position, int epochDay, double value) {
+    if (size == dates.length) {
+      int capacity = Math.max(dates.length * 2, INITIAL_CAPACITY);
+      dates = Arrays.copyOf(dates, capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+    if (position < size) {
+      System.arraycopy(dates, position, dates, position + 1, size - position);
+      System.arraycopy(values, position, values, position + 1, size - position);
+    }
+    dates[position] = epochDay;
+    values[position] = value;
+    size++;
+    if (!containsWeekends && isWeekend(epochDay)) {
+      containsWeekends = true;
+    }
+  }
+
+  // checks if the epoch-day is a Saturday or Sunday, 1970-01-01 being a Thursday
+  private static boolean isWeekend(int epochDay) {
+    return Math.floorMod(epochDay + 3, 7) >= 5;
   }
 
 }
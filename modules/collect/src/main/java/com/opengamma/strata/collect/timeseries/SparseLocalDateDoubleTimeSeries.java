@@ -5,6 +5,10 @@
  */
 package com.opengamma.strata.collect.timeseries;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -12,6 +16,7 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.OptionalDouble;
+import java.util.function.DoubleBinaryOperator;
 import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 import java.util.function.ObjDoubleConsumer;
@@ -26,9 +31,6 @@ import org.joda.beans.ImmutableBean;
 import org.joda.beans.JodaBeanUtils;
 import org.joda.beans.MetaBean;
 import org.joda.beans.MetaProperty;
-import org.joda.beans.gen.BeanDefinition;
-import org.joda.beans.gen.ImmutableConstructor;
-import org.joda.beans.gen.PropertyDefinition;
 import org.joda.beans.impl.direct.DirectMetaBean;
 import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
@@ -49,29 +51,48 @@ import com.opengamma.strata.collect.function.ObjDoublePredicate;
  * is likely to be a better choice for the data.
  * <p>
  * This implementation uses arrays internally.
+ * The dates are stored as epoch-days, see {@link LocalDate#toEpochDay()}, avoiding the need
+ * to hold a {@code LocalDate} instance for each point and allowing dates to be found
+ * using primitive comparisons. The dates are exposed as {@code LocalDate[]} by the meta-bean.
  */
-@BeanDefinition(builderScope = "private", metaScope = "package")
 final class SparseLocalDateDoubleTimeSeries
     implements ImmutableBean, Serializable, LocalDateDoubleTimeSeries {
 
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+  /**
+   * The serialized form, with the dates as {@code LocalDate[]}.
+   * This is the form used before the dates were stored as epoch-days.
+   */
+  private static final ObjectStreamField[] serialPersistentFields = {
+      new ObjectStreamField("dates", LocalDate[].class),
+      new ObjectStreamField("values", double[].class)};
   /**
    * An empty time-series.
    */
   static final LocalDateDoubleTimeSeries EMPTY =
-      new SparseLocalDateDoubleTimeSeries(new LocalDate[0], new double[0]);
+      new SparseLocalDateDoubleTimeSeries(new int[0], new double[0]);
+
+  static {
+    MetaBean.register(SparseLocalDateDoubleTimeSeries.Meta.INSTANCE);
+  }
 
   /**
-   * The dates in the series.
+   * The dates in the series, as epoch-days.
    * The dates are ordered from earliest to latest.
    */
-  @PropertyDefinition(get = "manual", validate = "notNull")
-  private final LocalDate[] dates;
+  private final int[] epochDays;
   /**
    * The values in the series.
    * The date for each value is at the matching array index.
    */
-  @PropertyDefinition(get = "manual", validate = "notNull")
   private final double[] values;
+  /**
+   * The validated time-series, only set during deserialization.
+   */
+  private transient SparseLocalDateDoubleTimeSeries deserialized;
 
   //-------------------------------------------------------------------------
   /**
@@ -88,14 +109,13 @@ final class SparseLocalDateDoubleTimeSeries
     ArgChecker.noNulls(values, "values");
     LocalDate[] datesArray = dates.toArray(new LocalDate[dates.size()]);
     double[] valuesArray = Doubles.toArray(values);
-    validate(datesArray, valuesArray);
-    return createUnsafe(datesArray, valuesArray);
+    return new SparseLocalDateDoubleTimeSeries(datesArray, valuesArray);
   }
 
   // creates time-series by directly assigning the input arrays
-  // must only be called when safe to do so
-  private static SparseLocalDateDoubleTimeSeries createUnsafe(LocalDate[] dates, double[] values) {
-    return new SparseLocalDateDoubleTimeSeries(dates, values, true);
+  // must only be called when safe to do so, when the epoch-days are in ascending order
+  static SparseLocalDateDoubleTimeSeries createUnsafe(int[] epochDays, double[] values) {
+    return new SparseLocalDateDoubleTimeSeries(epochDays, values);
   }
 
   // validates the arrays are same length and in order
@@ -110,36 +130,74 @@ final class SparseLocalDateDoubleTimeSeries
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Converts a date to an epoch-day.
+   *
+   * @param date  the date
+   * @return the epoch-day
+   * @throws IllegalArgumentException if the date is too far from 1970 to be held as an epoch-day
+   */
+  static int toEpochDay(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    ArgChecker.isTrue(
+        epochDay > Integer.MIN_VALUE && epochDay < Integer.MAX_VALUE, "Date is not supported: {}", date);
+    return (int) epochDay;
+  }
+
+  /**
+   * Finds the position of a date in an array of epoch-days.
+   * <p>
+   * The result is as per {@link Arrays#binarySearch(int[], int, int, int)}.
+   * Dates that are too far from 1970 to be held as an epoch-day are never found.
+   *
+   * @param epochDays  the epoch-days, in ascending order
+   * @param size  the number of epoch-days in the array to search
+   * @param date  the date to find
+   * @return the position of the date, or {@code (-(insertion point) - 1)} if not found
+   */
+  static int findPosition(int[] epochDays, int size, LocalDate date) {
+    long epochDay = date.toEpochDay();
+    if (epochDay <= Integer.MIN_VALUE) {
+      return -1;
+    }
+    if (epochDay >= Integer.MAX_VALUE) {
+      return -size - 1;
+    }
+    return Arrays.binarySearch(epochDays, 0, size, (int) epochDay);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance, validating the supplied arrays.
    * <p>
-   * The arrays are cloned as this constructor is called from Joda-Beans.
+   * The values array is cloned as this constructor is called from Joda-Beans.
    *
    * @param dates  the dates
    * @param values  the values
    */
-  @ImmutableConstructor
   private SparseLocalDateDoubleTimeSeries(LocalDate[] dates, double[] values) {
     ArgChecker.noNulls(dates, "dates");
     ArgChecker.notNull(values, "values");
     validate(dates, values);
-    this.dates = dates.clone();
+    int[] epochDays = new int[dates.length];
+    for (int i = 0; i < dates.length; i++) {
+      epochDays[i] = toEpochDay(dates[i]);
+    }
+    this.epochDays = epochDays;
     this.values = values.clone();
   }
 
   /**
    * Creates an instance without validating the supplied arrays.
+   * <p>
+   * Use {@link #createUnsafe(int[], double[])} instead of calling this directly.
    *
-   * @param dates  the dates
+   * @param epochDays  the dates, as epoch-days
    * @param values  the values
-   * @param trusted  flag to distinguish constructor
    */
-  private SparseLocalDateDoubleTimeSeries(LocalDate[] dates, double[] values, boolean trusted) {
-    // constructor exists to avoid clones where possible
-    // because Joda-Beans owns the main constructor, this one has a weird flag
-    // use createUnsafe() instead of calling this directly
-    this.dates = dates;
+  private SparseLocalDateDoubleTimeSeries(int[] epochDays, double[] values) {
+    this.epochDays = epochDays;
     this.values = values;
   }
 
@@ -150,7 +208,11 @@ final class SparseLocalDateDoubleTimeSeries
    * @return the value of the property, not null
    */
   private LocalDate[] getDates() {
-    return dates.clone();
+    LocalDate[] dates = new LocalDate[epochDays.length];
+    for (int i = 0; i < epochDays.length; i++) {
+      dates[i] = LocalDate.ofEpochDay(epochDays[i]);
+    }
+    return dates;
   }
 
   /**
@@ -162,15 +224,37 @@ final class SparseLocalDateDoubleTimeSeries
     return values.clone();
   }
 
+  //-------------------------------------------------------------------------
+  // writes the dates as LocalDate[], keeping the serialized form compatible with earlier versions
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("dates", getDates());
+    fields.put("values", values);
+    out.writeFields();
+  }
+
+  // reads the dates as LocalDate[], validating them using the standard constructor
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    ObjectInputStream.GetField fields = in.readFields();
+    LocalDate[] dates = (LocalDate[]) fields.get("dates", null);
+    double[] values = (double[]) fields.get("values", null);
+    deserialized = new SparseLocalDateDoubleTimeSeries(dates, values);
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return deserialized;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public int size() {
-    return dates.length;
+    return epochDays.length;
   }
 
   @Override
   public boolean isEmpty() {
-    return dates.length == 0;
+    return epochDays.length == 0;
   }
 
   @Override
@@ -185,16 +269,32 @@ final class SparseLocalDateDoubleTimeSeries
   }
 
   private int findDatePosition(LocalDate date) {
-    return Arrays.binarySearch(dates, date);
+    return findPosition(epochDays, epochDays.length, date);
   }
 
   //-------------------------------------------------------------------------
+  @Override
+  public LocalDate getEarliestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return earliest date, time-series is empty");
+    }
+    return LocalDate.ofEpochDay(epochDays[0]);
+  }
+
+  @Override
+  public double getEarliestValue() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return earliest value, time-series is empty");
+    }
+    return values[0];
+  }
+
   @Override
   public LocalDate getLatestDate() {
     if (isEmpty()) {
       throw new NoSuchElementException("Unable to return latest, time-series is empty");
     }
-    return dates[dates.length - 1];
+    return LocalDate.ofEpochDay(epochDays[epochDays.length - 1]);
   }
 
   @Override
@@ -219,14 +319,14 @@ final class SparseLocalDateDoubleTimeSeries
       return EMPTY;
     }
     // where in the array would start/end be (whether or not it's actually in the series)
-    int startPos = Arrays.binarySearch(dates, startInclusive);
+    int startPos = findDatePosition(startInclusive);
     startPos = startPos >= 0 ? startPos : -startPos - 1;
-    int endPos = Arrays.binarySearch(dates, endExclusive);
+    int endPos = findDatePosition(endExclusive);
     endPos = endPos >= 0 ? endPos : -endPos - 1;
     // create sub-series
-    LocalDate[] timesArray = Arrays.copyOfRange(dates, startPos, endPos);
+    int[] epochDaysArray = Arrays.copyOfRange(epochDays, startPos, endPos);
     double[] valuesArray = Arrays.copyOfRange(values, startPos, endPos);
-    return createUnsafe(timesArray, valuesArray);
+    return createUnsafe(epochDaysArray, valuesArray);
   }
 
   @Override
@@ -237,9 +337,9 @@ final class SparseLocalDateDoubleTimeSeries
     } else if (numPoints >= size()) {
       return this;
     }
-    LocalDate[] datesArray = Arrays.copyOfRange(dates, 0, numPoints);
+    int[] epochDaysArray = Arrays.copyOfRange(epochDays, 0, numPoints);
     double[] valuesArray = Arrays.copyOfRange(values, 0, numPoints);
-    return createUnsafe(datesArray, valuesArray);
+    return createUnsafe(epochDaysArray, valuesArray);
   }
 
   @Override
@@ -250,20 +350,21 @@ final class SparseLocalDateDoubleTimeSeries
     } else if (numPoints >= size()) {
       return this;
     }
-    LocalDate[] datesArray = Arrays.copyOfRange(dates, size() - numPoints, size());
+    int[] epochDaysArray = Arrays.copyOfRange(epochDays, size() - numPoints, size());
     double[] valuesArray = Arrays.copyOfRange(values, size() - numPoints, size());
-    return createUnsafe(datesArray, valuesArray);
+    return createUnsafe(epochDaysArray, valuesArray);
   }
 
   //-------------------------------------------------------------------------
   @Override
   public Stream<LocalDateDoublePoint> stream() {
-    return IntStream.range(0, size()).mapToObj(i -> LocalDateDoublePoint.of(dates[i], values[i]));
+    return IntStream.range(0, size())
+        .mapToObj(i -> LocalDateDoublePoint.of(LocalDate.ofEpochDay(epochDays[i]), values[i]));
   }
 
   @Override
   public Stream<LocalDate> dates() {
-    return Stream.of(dates);
+    return IntStream.of(epochDays).mapToObj(LocalDate::ofEpochDay);
   }
 
   @Override
@@ -276,46 +377,82 @@ final class SparseLocalDateDoubleTimeSeries
   public void forEach(ObjDoubleConsumer<LocalDate> action) {
     ArgChecker.notNull(action, "action");
     for (int i = 0; i < size(); i++) {
-      action.accept(dates[i], values[i]);
+      action.accept(LocalDate.ofEpochDay(epochDays[i]), values[i]);
     }
   }
 
   @Override
   public LocalDateDoubleTimeSeries mapDates(Function<? super LocalDate, ? extends LocalDate> mapper) {
     ArgChecker.notNull(mapper, "mapper");
-    LocalDate[] dates = Arrays.stream(this.dates).map(mapper).toArray(size -> new LocalDate[size]);
+    LocalDate[] dates = dates().map(mapper).toArray(size -> new LocalDate[size]);
     // Check the dates are still in ascending order after the mapping
     Arrays.stream(dates).reduce(this::checkAscending);
-    return createUnsafe(dates, values);
+    int[] mappedEpochDays = new int[dates.length];
+    for (int i = 0; i < dates.length; i++) {
+      mappedEpochDays[i] = toEpochDay(dates[i]);
+    }
+    return createUnsafe(mappedEpochDays, values);
   }
 
   @Override
   public LocalDateDoubleTimeSeries mapValues(DoubleUnaryOperator mapper) {
     ArgChecker.notNull(mapper, "mapper");
-    return createUnsafe(dates, DoubleStream.of(values).map(mapper).toArray());
+    return createUnsafe(epochDays, DoubleStream.of(values).map(mapper).toArray());
   }
 
   @Override
   public LocalDateDoubleTimeSeries filter(ObjDoublePredicate<LocalDate> predicate) {
     ArgChecker.notNull(predicate, "predicate");
     // build up result in arrays keeping track of count of retained dates
-    LocalDate[] resDates = new LocalDate[size()];
+    int[] resEpochDays = new int[size()];
     double[] resValues = new double[size()];
     int resCount = 0;
     for (int i = 0; i < size(); i++) {
-      if (predicate.test(dates[i], values[i])) {
-        resDates[resCount] = dates[i];
+      if (predicate.test(LocalDate.ofEpochDay(epochDays[i]), values[i])) {
+        resEpochDays[resCount] = epochDays[i];
         resValues[resCount] = values[i];
         resCount++;
       }
     }
-    return createUnsafe(Arrays.copyOf(resDates, resCount), Arrays.copyOf(resValues, resCount));
+    return createUnsafe(Arrays.copyOf(resEpochDays, resCount), Arrays.copyOf(resValues, resCount));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeries intersection(LocalDateDoubleTimeSeries other, DoubleBinaryOperator mapper) {
+    if (!(other instanceof SparseLocalDateDoubleTimeSeries)) {
+      return LocalDateDoubleTimeSeries.super.intersection(other, mapper);
+    }
+    ArgChecker.notNull(mapper, "mapper");
+    // both series are sorted, so the intersection is found by walking the two arrays
+    SparseLocalDateDoubleTimeSeries otherSeries = (SparseLocalDateDoubleTimeSeries) other;
+    int[] otherEpochDays = otherSeries.epochDays;
+    int maxSize = Math.min(epochDays.length, otherEpochDays.length);
+    int[] resEpochDays = new int[maxSize];
+    double[] resValues = new double[maxSize];
+    int resCount = 0;
+    int i = 0;
+    int j = 0;
+    while (i < epochDays.length && j < otherEpochDays.length) {
+      if (epochDays[i] < otherEpochDays[j]) {
+        i++;
+      } else if (epochDays[i] > otherEpochDays[j]) {
+        j++;
+      } else {
+        resEpochDays[resCount] = epochDays[i];
+        resValues[resCount] = mapper.applyAsDouble(values[i], otherSeries.values[j]);
+        resCount++;
+        i++;
+        j++;
+      }
+    }
+    return new LocalDateDoubleTimeSeriesBuilder(resEpochDays, resValues, resCount).build();
   }
 
   //-------------------------------------------------------------------------
   @Override
   public LocalDateDoubleTimeSeriesBuilder toBuilder() {
-    return new LocalDateDoubleTimeSeriesBuilder(dates, values);
+    return new LocalDateDoubleTimeSeriesBuilder(epochDays, values, epochDays.length);
   }
 
   //-------------------------------------------------------------------------
@@ -335,7 +472,7 @@ final class SparseLocalDateDoubleTimeSeries
     }
     if (obj instanceof SparseLocalDateDoubleTimeSeries) {
       SparseLocalDateDoubleTimeSeries other = (SparseLocalDateDoubleTimeSeries) obj;
-      return Arrays.equals(dates, other.dates) && Arrays.equals(values, other.values);
+      return Arrays.equals(epochDays, other.epochDays) && Arrays.equals(values, other.values);
     }
     return false;
   }
@@ -347,7 +484,7 @@ final class SparseLocalDateDoubleTimeSeries
    */
   @Override
   public int hashCode() {
-    return 31 * Arrays.hashCode(dates) + Arrays.hashCode(values);
+    return 31 * Arrays.hashCode(epochDays) + Arrays.hashCode(values);
   }
 
   /**
@@ -383,7 +520,7 @@ final class SparseLocalDateDoubleTimeSeries
             later));
   }
 
-  //------------------------- AUTOGENERATED START -------------------------
+  //-------------------------------------------------------------------------
   /**
    * The meta-bean for {@code SparseLocalDateDoubleTimeSeries}.
    * @return the meta-bean, not null
@@ -392,15 +529,6 @@ final class SparseLocalDateDoubleTimeSeries
     return SparseLocalDateDoubleTimeSeries.Meta.INSTANCE;
   }
 
-  static {
-    MetaBean.register(SparseLocalDateDoubleTimeSeries.Meta.INSTANCE);
-  }
-
-  /**
-   * The serialization version id.
-   */
-  private static final long serialVersionUID = 1L;
-
   @Override
   public SparseLocalDateDoubleTimeSeries.Meta metaBean() {
     return SparseLocalDateDoubleTimeSeries.Meta.INSTANCE;
@@ -409,6 +537,8 @@ final class SparseLocalDateDoubleTimeSeries
   //-----------------------------------------------------------------------
   /**
    * The meta-bean for {@code SparseLocalDateDoubleTimeSeries}.
+   * <p>
+   * This is written by hand, as the dates are exposed as {@code LocalDate[]} but stored as epoch-days.
    */
   static final class Meta extends DirectMetaBean {
     /**
@@ -569,5 +699,4 @@ final class SparseLocalDateDoubleTimeSeries
 
   }
 
-  //-------------------------- AUTOGENERATED END --------------------------
 }
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.collect.timeseries;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.Assert.assertEquals;
 
 import java.time.LocalDate;
@@ -49,6 +50,15 @@ public class LocalDateDoubleTimeSeriesBuilderTest {
     assertEquals(test.get(date(2013, 1, 1)), OptionalDouble.of(5d));
   }
 
+  public void test_merge_newDate() {
+    LocalDateDoubleTimeSeriesBuilder test = LocalDateDoubleTimeSeries.builder();
+    test.put(date(2013, 1, 1), 2d);
+    test.merge(date(2012, 1, 1), 3d, Double::sum);
+
+    assertEquals(test.get(date(2012, 1, 1)), OptionalDouble.of(3d));
+    assertEquals(test.get(date(2013, 1, 1)), OptionalDouble.of(2d));
+  }
+
   public void test_merge_point() {
     LocalDateDoubleTimeSeriesBuilder test = LocalDateDoubleTimeSeries.builder();
     test.put(date(2013, 1, 1), 2d);
@@ -131,6 +141,46 @@ public class LocalDateDoubleTimeSeriesBuilderTest {
     assertEquals(test.get(date(2014, 1, 1)), OptionalDouble.of(14d));
   }
 
+  public void test_seriesGetsSorted_large() {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    LocalDate start = date(2000, 1, 1);
+    for (int i = 999; i >= 0; i -= 2) {
+      builder.put(start.plusDays(i), i);
+    }
+    for (int i = 0; i < 1000; i += 2) {
+      builder.put(start.plusDays(i), i);
+    }
+    LocalDateDoubleTimeSeries test = builder.build();
+
+    assertEquals(test.size(), 1000);
+    assertEquals(test.getEarliestDate(), start);
+    assertEquals(test.getLatestDate(), start.plusDays(999));
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(test.get(start.plusDays(i)), OptionalDouble.of(i));
+    }
+  }
+
+  public void test_dateNotSupported() {
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeries.builder().put(LocalDate.MAX, 1d));
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeries.builder().put(LocalDate.MIN, 1d));
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeries.builder().put(LocalDateDoublePoint.of(LocalDate.MAX, 1d)));
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeries.builder().merge(LocalDate.MAX, 1d, Double::sum));
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeries.builder().merge(LocalDate.MIN, 1d, Double::sum));
+  }
+
+  public void test_dateSupported_farFromEpoch() {
+    LocalDate early = LocalDate.of(-999_999, 1, 1);
+    LocalDate late = LocalDate.of(999_999, 12, 31);
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.builder()
+        .put(late, 2d)
+        .put(early, 1d)
+        .build();
+
+    assertEquals(test.size(), 2);
+    assertEquals(test.getEarliestDate(), early);
+    assertEquals(test.getLatestDate(), late);
+  }
+
   public void test_duplicatesGetOverwritten() {
     LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.builder()
         .put(date(2014, 1, 1), 12)
@@ -206,6 +256,41 @@ public class LocalDateDoubleTimeSeriesBuilderTest {
     assertEquals(series5.getClass(), DenseLocalDateDoubleTimeSeries.class);
   }
 
+  public void densityChoosesImplementation_mergeWeekend() {
+    LocalDateDoubleTimeSeries series1 = LocalDateDoubleTimeSeries.builder()
+        .put(date(2015, 1, 5), 14) // Monday
+        .put(date(2015, 1, 6), 14)
+        .put(date(2015, 1, 7), 13)
+        .put(date(2015, 1, 8), 12)
+        .put(date(2015, 1, 9), 13)
+        .put(date(2015, 1, 12), 12)
+        .put(date(2015, 1, 13), 11)
+        .put(date(2015, 1, 19), 13)
+        .build();
+
+    // 8/11 populated
+    assertEquals(series1.getClass(), DenseLocalDateDoubleTimeSeries.class);
+
+    // Merging in a new weekend date means we have 9/15
+    LocalDateDoubleTimeSeries series2 = series1.toBuilder()
+        .merge(date(2015, 1, 11), 12, Double::sum) // Sunday
+        .build();
+
+    assertEquals(series2.getClass(), SparseLocalDateDoubleTimeSeries.class);
+    assertEquals(series2.size(), 9);
+    assertEquals(series2.get(date(2015, 1, 11)), OptionalDouble.of(12d));
+
+    // Add in 2 new dates giving 11/15, including weekends
+    LocalDateDoubleTimeSeries series3 = series2.toBuilder()
+        .merge(date(2015, 1, 14), 11, Double::sum)
+        .merge(LocalDateDoublePoint.of(date(2015, 1, 15), 10), Double::sum)
+        .build();
+
+    assertEquals(series3.getClass(), DenseLocalDateDoubleTimeSeries.class);
+    assertEquals(series3.size(), 11);
+    assertEquals(series3.get(date(2015, 1, 11)), OptionalDouble.of(12d));
+  }
+
   //-------------------------------------------------------------------------
   private static LocalDate date(int year, int month, int day) {
     return LocalDate.of(year, month, day);
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.collect.timeseries;
 
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
@@ -13,6 +14,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotEquals;
 
+import java.io.ObjectStreamClass;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collection;
@@ -306,6 +308,15 @@ public class SparseLocalDateDoubleTimeSeriesTest {
     assertEquals(test.size(), 0);
   }
 
+  public void test_subSeries_extremeDates() {
+    LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
+    assertEquals(base.subSeries(LocalDate.MIN, LocalDate.MAX), base);
+    assertEquals(base.subSeries(LocalDate.MIN, DATE_2011_01_01).size(), 1);
+    assertEquals(base.subSeries(DATE_2013_01_01, LocalDate.MAX).size(), 2);
+    assertEquals(base.get(LocalDate.MIN), OptionalDouble.empty());
+    assertEquals(base.get(LocalDate.MAX), OptionalDouble.empty());
+  }
+
   public void test_subSeries_startAfterEnd() {
     LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
     assertThrowsIllegalArg(() -> base.subSeries(date(2011, 1, 2), DATE_2011_01_01));
@@ -491,6 +502,21 @@ public class SparseLocalDateDoubleTimeSeriesTest {
     assertEquals(combined.get(DATE_2014_01_01), OptionalDouble.of(15.4));
   }
 
+  public void test_combineWith_intersectionWithDenseSeries() {
+    LocalDateDoubleTimeSeries series1 = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
+    LocalDateDoubleTimeSeries series2 = LocalDateDoubleTimeSeries.builder()
+        .put(date(2012, 1, 1), 1.2)
+        .put(date(2012, 1, 2), 1.3)
+        .put(date(2012, 1, 3), 1.4)
+        .build();
+    assertEquals(series2.getClass(), DenseLocalDateDoubleTimeSeries.class);
+
+    LocalDateDoubleTimeSeries test = series1.intersection(series2, Double::sum);
+    assertEquals(test.size(), 1);
+    assertEquals(test.get(DATE_2012_01_01), OptionalDouble.of(13.2));
+    assertEquals(series2.intersection(series1, Double::sum), test);
+  }
+
   //-------------------------------------------------------------------------
   public void test_mapValues_addConstantToSeries() {
     LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
@@ -639,6 +665,27 @@ public class SparseLocalDateDoubleTimeSeriesTest {
     coverBeanEquals(test, test2);
   }
 
+  public void test_serialization() {
+    SparseLocalDateDoubleTimeSeries test = SparseLocalDateDoubleTimeSeries.of(DATES_2010_14, VALUES_10_14);
+    assertSerialization(test);
+    assertSerialization(LocalDateDoubleTimeSeries.empty());
+  }
+
+  public void test_serialization_formCompatible() {
+    // the serialized form is the one used when the dates were held as LocalDate[]
+    ObjectStreamClass form = ObjectStreamClass.lookup(SparseLocalDateDoubleTimeSeries.class);
+    assertEquals(form.getSerialVersionUID(), 1L);
+    assertEquals(form.getFields().length, 2);
+    assertEquals(form.getField("dates").getType(), LocalDate[].class);
+    assertEquals(form.getField("values").getType(), double[].class);
+  }
+
+  public void test_of_dateNotSupported() {
+    List<LocalDate> dates = ImmutableList.of(DATE_2011_01_01, LocalDate.MAX);
+    List<Double> values = ImmutableList.of(1d, 2d);
+    assertThrowsIllegalArg(() -> SparseLocalDateDoubleTimeSeries.of(dates, values));
+  }
+
   //-------------------------------------------------------------------------
   private static LocalDate date(int year, int month, int day) {
     return LocalDate.of(year, month, day);
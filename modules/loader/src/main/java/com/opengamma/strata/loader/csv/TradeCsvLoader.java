@@ -13,6 +13,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.CharSource;
@@ -24,8 +26,10 @@ import com.opengamma.strata.collect.io.CsvIterator;
 import com.opengamma.strata.collect.io.CsvRow;
 import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.collect.io.UnicodeBom;
+import com.opengamma.strata.collect.result.Failure;
 import com.opengamma.strata.collect.result.FailureItem;
 import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.result.ValueWithFailures;
 import com.opengamma.strata.loader.LoaderUtils;
 import com.opengamma.strata.product.SecurityTrade;
@@ -314,6 +318,103 @@ public final class TradeCsvLoader {
     }
   }
 
+  /**
+   * Parses one or more CSV format trade files, parsing the files in parallel.
+   * <p>
+   * A type is specified to filter the trades.
+   * The result is the same as {@link #parse(Collection, Class)}, with the trades in the same order.
+   * Each file is parsed by a single thread, using the common fork-join pool,
+   * so this is only beneficial when there is more than one file.
+   * <p>
+   * CSV files sometimes contain a Unicode Byte Order Mark.
+   * Callers are responsible for handling this, such as by using {@link UnicodeBom}.
+   * 
+   * @param <T>  the trade type
+   * @param charSources  the CSV character sources
+   * @param tradeType  the trade type to return
+   * @return the loaded trades, all errors are captured in the result
+   */
+  public <T extends Trade> ValueWithFailures<List<T>> parseInParallel(
+      Collection<CharSource> charSources,
+      Class<T> tradeType) {
+
+    try {
+      return ImmutableList.copyOf(charSources).parallelStream()
+          .map(charSource -> parseFile(charSource, tradeType))
+          .reduce(ValueWithFailures.of(ImmutableList.of()), (a, b) -> a.combinedWith(b, Guavate::concatToList));
+
+    } catch (RuntimeException ex) {
+      return ValueWithFailures.of(ImmutableList.of(), FailureItem.of(FailureReason.ERROR, ex));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Parses one or more CSV format trade files as a stream.
+   * <p>
+   * This is equivalent to {@link #parseAsStream(Collection, Class)} with a type of {@code Trade}.
+   * 
+   * @param charSources  the CSV character sources
+   * @return the stream of results, one for each row, which must be closed
+   */
+  public Stream<Result<Trade>> parseAsStream(Collection<CharSource> charSources) {
+    return parseAsStream(charSources, Trade.class);
+  }
+
+  /**
+   * Parses one or more CSV format trade files as a stream.
+   * <p>
+   * A type is specified to filter the trades.
+   * <p>
+   * Unlike {@link #parse(Collection, Class)}, the files are read lazily, row-by-row, as the stream is consumed.
+   * Only the rows that are being processed are held in memory, allowing large files to be loaded
+   * provided that the caller does not retain all the trades.
+   * <p>
+   * The stream contains one result for each row that matches the trade type, in the order of the files and rows.
+   * A row that cannot be parsed results in a failure, and a file without the 'Strata Trade Type' header
+   * results in a single failure. Rows of other trade types are not included.
+   * An exception is thrown by the stream if a file cannot be read once parsing has started.
+   * <p>
+   * The files are processed by a single thread unless {@link Stream#parallel()} is called on the result,
+   * in which case the files are parsed in parallel, with the rows of each file parsed by a single thread.
+   * <p>
+   * The stream must be closed after use to ensure that the files are closed, such as by using try-with-resources.
+   * The files are also closed when the stream is fully consumed.
+   * <p>
+   * CSV files sometimes contain a Unicode Byte Order Mark.
+   * Callers are responsible for handling this, such as by using {@link UnicodeBom}.
+   * 
+   * @param <T>  the trade type
+   * @param charSources  the CSV character sources
+   * @param tradeType  the trade type to return
+   * @return the stream of results, one for each row, which must be closed
+   */
+  public <T extends Trade> Stream<Result<T>> parseAsStream(Collection<CharSource> charSources, Class<T> tradeType) {
+    return ImmutableList.copyOf(charSources).stream()
+        .flatMap(charSource -> parseFileAsStream(charSource, tradeType));
+  }
+
+  // streams a single CSV file, filtering by trade type
+  private <T extends Trade> Stream<Result<T>> parseFileAsStream(CharSource charSource, Class<T> tradeType) {
+    CsvIterator csv;
+    try {
+      csv = CsvIterator.of(charSource, true);
+    } catch (RuntimeException ex) {
+      return Stream.of(Result.failure(Failure.of(
+          FailureItem.of(FailureReason.PARSING, ex, "CSV file could not be parsed: {}", charSource))));
+    }
+    if (!csv.headers().contains(TYPE_FIELD)) {
+      csv.close();
+      return Stream.of(Result.failure(Failure.of(
+          FailureItem.of(FailureReason.PARSING, "CSV file does not contain '{}' header: {}", TYPE_FIELD, charSource))));
+    }
+    return csv.asStream()
+        .map(row -> parseRow(row, tradeType))
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .onClose(csv::close);
+  }
+
   // loads a single CSV file, filtering by trade type
   private <T extends Trade> ValueWithFailures<List<T>> parseFile(CharSource charSource, Class<T> tradeType) {
     try (CsvIterator csv = CsvIterator.of(charSource, true)) {
@@ -334,45 +435,58 @@ public final class TradeCsvLoader {
     List<T> trades = new ArrayList<>();
     List<FailureItem> failures = new ArrayList<>();
     for (CsvRow row : (Iterable<CsvRow>) () -> csv) {
-      try {
-        String typeRaw = row.getField(TYPE_FIELD);
-        String type = typeRaw.toUpperCase(Locale.ENGLISH);
-        TradeInfo info = parseTradeInfo(row);
-        switch (type.toUpperCase(Locale.ENGLISH)) {
-          case "FRA":
-            if (tradeType == FraTrade.class || tradeType == Trade.class) {
-              trades.add(tradeType.cast(FraTradeCsvLoader.parse(row, info, resolver)));
-            }
-            break;
-          case "SECURITY":
-            if (tradeType == SecurityTrade.class || tradeType == Trade.class) {
-              trades.add(tradeType.cast(SecurityCsvLoader.parseTrade(row, info, resolver)));
-            }
-            break;
-          case "SWAP":
-            if (tradeType == SwapTrade.class || tradeType == Trade.class) {
-              trades.add(tradeType.cast(SwapTradeCsvLoader.parse(row, info, resolver)));
-            }
-            break;
-          case "TERMDEPOSIT":
-          case "TERM DEPOSIT":
-            if (tradeType == TermDepositTrade.class || tradeType == Trade.class) {
-              trades.add(tradeType.cast(TermDepositTradeCsvLoader.parse(row, info, resolver)));
-            }
-            break;
-          default:
-            failures.add(FailureItem.of(
-                FailureReason.PARSING, "CSV file trade type '{}' is not known at line {}", typeRaw, row.lineNumber()));
-            break;
+      parseRow(row, tradeType).ifPresent(result -> {
+        if (result.isSuccess()) {
+          trades.add(result.getValue());
+        } else {
+          failures.addAll(result.getFailure().getItems());
         }
-      } catch (RuntimeException ex) {
-        failures.add(FailureItem.of(
-            FailureReason.PARSING, ex, "CSV file trade could not be parsed at line {}: " + ex.getMessage(), row.lineNumber()));
-      }
+      });
     }
     return ValueWithFailures.of(trades, failures);
   }
 
+  // parses a single row, empty if the row is not of the trade type
+  private <T extends Trade> Optional<Result<T>> parseRow(CsvRow row, Class<T> tradeType) {
+    try {
+      String typeRaw = row.getField(TYPE_FIELD);
+      String type = typeRaw.toUpperCase(Locale.ENGLISH);
+      TradeInfo info = parseTradeInfo(row);
+      switch (type.toUpperCase(Locale.ENGLISH)) {
+        case "FRA":
+          if (tradeType == FraTrade.class || tradeType == Trade.class) {
+            return Optional.of(Result.success(tradeType.cast(FraTradeCsvLoader.parse(row, info, resolver))));
+          }
+          return Optional.empty();
+        case "SECURITY":
+          if (tradeType == SecurityTrade.class || tradeType == Trade.class) {
+            return Optional.of(Result.success(tradeType.cast(SecurityCsvLoader.parseTrade(row, info, resolver))));
+          }
+          return Optional.empty();
+        case "SWAP":
+          if (tradeType == SwapTrade.class || tradeType == Trade.class) {
+            return Optional.of(Result.success(tradeType.cast(SwapTradeCsvLoader.parse(row, info, resolver))));
+          }
+          return Optional.empty();
+        case "TERMDEPOSIT":
+        case "TERM DEPOSIT":
+          if (tradeType == TermDepositTrade.class || tradeType == Trade.class) {
+            return Optional.of(Result.success(tradeType.cast(TermDepositTradeCsvLoader.parse(row, info, resolver))));
+          }
+          return Optional.empty();
+        default:
+          return Optional.of(Result.failure(Failure.of(FailureItem.of(
+              FailureReason.PARSING, "CSV file trade type '{}' is not known at line {}", typeRaw, row.lineNumber()))));
+      }
+    } catch (RuntimeException ex) {
+      return Optional.of(Result.failure(Failure.of(FailureItem.of(
+          FailureReason.PARSING,
+          ex,
+          "CSV file trade could not be parsed at line {}: " + ex.getMessage(),
+          row.lineNumber()))));
+    }
+  }
+
   // parse the trade info
   private TradeInfo parseTradeInfo(CsvRow row) {
     TradeInfoBuilder infoBuilder = TradeInfo.builder();
@@ -27,6 +27,7 @@ import java.time.LocalTime;
 import java.time.Period;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.testng.annotations.Test;
 
@@ -54,6 +55,7 @@ import com.opengamma.strata.basics.value.ValueSchedule;
 import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.collect.result.FailureItem;
 import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.result.ValueWithFailures;
 import com.opengamma.strata.product.SecurityId;
 import com.opengamma.strata.product.SecurityTrade;
@@ -990,6 +992,65 @@ public class TradeCsvLoaderTest {
     assertEquals(failure.getMessage(), "CSV file trade could not be parsed at line 2: Header not found: 'Notional'");
   }
 
+  //-------------------------------------------------------------------------
+  public void test_parseAsStream() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<Trade> expected = test.load(FILE).getValue();
+    try (Stream<Result<Trade>> stream = test.parseAsStream(ImmutableList.of(FILE.getCharSource()))) {
+      List<Result<Trade>> results = stream.collect(toImmutableList());
+      assertEquals(results.stream().allMatch(Result::isSuccess), true);
+      assertEquals(results.stream().map(Result::getValue).collect(toImmutableList()), expected);
+    }
+  }
+
+  public void test_parseAsStream_filtered() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<CharSource> charSources = ImmutableList.of(FILE.getCharSource());
+    List<SwapTrade> expected = test.parse(charSources, SwapTrade.class).getValue();
+    try (Stream<Result<SwapTrade>> stream = test.parseAsStream(charSources, SwapTrade.class)) {
+      assertEquals(stream.map(Result::getValue).collect(toImmutableList()), expected);
+    }
+  }
+
+  public void test_parseAsStream_parallel() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<CharSource> charSources = ImmutableList.of(FILE.getCharSource(), FILE.getCharSource(), FILE.getCharSource());
+    List<Trade> expected = test.parse(charSources).getValue();
+    try (Stream<Result<Trade>> stream = test.parseAsStream(charSources).parallel()) {
+      assertEquals(stream.map(Result::getValue).collect(toImmutableList()), expected);
+    }
+  }
+
+  public void test_parseAsStream_failures() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<CharSource> charSources = ImmutableList.of(
+        CharSource.wrap(""),
+        CharSource.wrap("Id"),
+        CharSource.wrap("Strata Trade Type,Buy Sell\nFoo,Buy\nFra,Buy"));
+    try (Stream<Result<Trade>> stream = test.parseAsStream(charSources)) {
+      List<Result<Trade>> results = stream.collect(toImmutableList());
+      assertEquals(results.size(), 4);
+      assertEquals(results.stream().allMatch(Result::isFailure), true);
+      assertEquals(results.get(0).getFailure().getMessage().contains("CSV file could not be parsed"), true);
+      assertEquals(results.get(1).getFailure().getMessage().contains("CSV file does not contain"), true);
+      assertEquals(results.get(2).getFailure().getMessage(), "CSV file trade type 'Foo' is not known at line 2");
+      assertEquals(
+          results.get(3).getFailure().getMessage(),
+          "CSV file trade could not be parsed at line 3: Header not found: 'Notional'");
+    }
+  }
+
+  public void test_parseInParallel() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<CharSource> charSources = ImmutableList.of(
+        FILE.getCharSource(), CharSource.wrap("Strata Trade Type\nFoo"), FILE.getCharSource());
+    ValueWithFailures<List<Trade>> expected = test.parse(charSources, Trade.class);
+    ValueWithFailures<List<Trade>> computed = test.parseInParallel(charSources, Trade.class);
+    assertEquals(computed.getValue(), expected.getValue());
+    assertEquals(computed.getFailures(), expected.getFailures());
+    assertEquals(computed.getFailures().size(), 1);
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     coverPrivateConstructor(FraTradeCsvLoader.class);
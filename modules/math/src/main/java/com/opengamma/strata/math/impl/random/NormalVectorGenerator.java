@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+/**
+ * Generator of vectors of standard normal random numbers.
+ * <p>
+ * The generator fills an array supplied by the caller, allowing a loop of simulations
+ * to run without allocating an array for each vector.
+ * <p>
+ * Instances are not thread-safe, see {@link NormalVectorGeneratorFactory} for the
+ * creation of independent generators for use in parallel.
+ */
+public interface NormalVectorGenerator {
+
+  /**
+   * Gets the dimension of the vectors.
+   * 
+   * @return the dimension
+   */
+  public abstract int getDimension();
+
+  /**
+   * Fills the array with the next vector of standard normal random numbers.
+   * 
+   * @param result  the array to fill, of length at least the dimension
+   */
+  public abstract void nextVector(double[] result);
+
+}
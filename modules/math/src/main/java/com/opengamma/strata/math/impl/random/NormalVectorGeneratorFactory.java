@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+/**
+ * Factory for generators of vectors of standard normal random numbers.
+ * <p>
+ * A simulation that runs in parallel divides its vectors into blocks, using a separate
+ * generator for each block. The generator for a block is created from the index of the first
+ * vector of the block, thus the vectors of each block, and the result of the simulation,
+ * do not depend on the order in which the blocks are run.
+ * <p>
+ * Two implementations are provided, pseudo-random numbers, where each block uses an independent
+ * stream of numbers, and quasi-random Sobol numbers, where each block skips ahead in the sequence.
+ */
+public interface NormalVectorGeneratorFactory {
+
+  /**
+   * Obtains a factory of pseudo-random normal vectors.
+   * <p>
+   * The random numbers are derived from {@link java.util.SplittableRandom}.
+   * The start index selects an independent stream of numbers, such that the same seed and
+   * start index always produce the same vectors.
+   * 
+   * @param seed  the seed
+   * @return the factory
+   */
+  public static NormalVectorGeneratorFactory pseudoRandom(long seed) {
+    return (dimension, startIndex) -> PseudoRandomNormalVectorGenerator.of(dimension, seed, startIndex);
+  }
+
+  /**
+   * Obtains a factory of quasi-random normal vectors based on the Sobol sequence.
+   * <p>
+   * The start index is the position in the Sobol sequence, excluding the initial point of zeroes.
+   * The normal random numbers are obtained from the sequence by the inverse cumulative normal distribution.
+   * 
+   * @return the factory
+   */
+  public static NormalVectorGeneratorFactory sobol() {
+    return SobolNormalVectorGenerator::of;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a generator positioned at the specified vector.
+   * 
+   * @param dimension  the dimension of the vectors
+   * @param startIndex  the index of the first vector to generate
+   * @return the generator
+   * @throws IllegalArgumentException if the dimension or index is not supported
+   */
+  public abstract NormalVectorGenerator create(int dimension, long startIndex);
+
+}
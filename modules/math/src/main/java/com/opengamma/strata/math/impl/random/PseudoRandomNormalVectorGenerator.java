@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import java.util.SplittableRandom;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.cern.Probability;
+
+/**
+ * Generator of pseudo-random normal vectors based on {@link SplittableRandom}.
+ * <p>
+ * The stream of numbers is selected by the seed and start index.
+ * The two are combined asymmetrically and mixed to seed a {@link SplittableRandom}, which is then split to obtain
+ * a generator with an independent increment, thus streams with nearby start indices do not overlap.
+ * <p>
+ * The normal random numbers are obtained by the inverse cumulative normal distribution,
+ * from uniform random numbers in the open interval (0, 1).
+ */
+final class PseudoRandomNormalVectorGenerator
+    implements NormalVectorGenerator {
+
+  /**
+   * The scale converting 53 random bits to a double.
+   */
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+  /**
+   * The dimension.
+   */
+  private final int dimension;
+  /**
+   * The underlying random number generator.
+   */
+  private final SplittableRandom random;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * 
+   * @param dimension  the dimension
+   * @param seed  the seed
+   * @param startIndex  the index selecting the stream
+   * @return the generator
+   */
+  static PseudoRandomNormalVectorGenerator of(int dimension, long seed, long startIndex) {
+    ArgChecker.notNegativeOrZero(dimension, "dimension");
+    ArgChecker.notNegative(startIndex, "startIndex");
+    // the combination is not symmetric, so swapping the seed and start index selects a different stream
+    SplittableRandom random = new SplittableRandom(mix(seed * 0x9E3779B97F4A7C15L + startIndex)).split();
+    return new PseudoRandomNormalVectorGenerator(dimension, random);
+  }
+
+  // the finalizer of the 64-bit MurmurHash3, spreading the bits of the input
+  private static long mix(long value) {
+    long z = value;
+    z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+    z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+    return z ^ (z >>> 33);
+  }
+
+  // restricted constructor
+  private PseudoRandomNormalVectorGenerator(int dimension, SplittableRandom random) {
+    this.dimension = dimension;
+    this.random = random;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getDimension() {
+    return dimension;
+  }
+
+  @Override
+  public void nextVector(double[] result) {
+    for (int i = 0; i < dimension; i++) {
+      // uniform in the open interval (0, 1), avoiding infinite normal numbers
+      double uniform = ((random.nextLong() >>> 11) + 0.5d) * DOUBLE_UNIT;
+      result[i] = Probability.normalInverse(uniform);
+    }
+  }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import org.apache.commons.math3.random.SobolSequenceGenerator;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.cern.Probability;
+
+/**
+ * Generator of quasi-random normal vectors based on the Sobol sequence.
+ * <p>
+ * The Sobol sequence is provided by Apache Commons Math, which supports dimensions up to 1000.
+ * The initial point of the sequence, which is all zeroes, is skipped.
+ * <p>
+ * The normal random numbers are obtained by the inverse cumulative normal distribution.
+ */
+final class SobolNormalVectorGenerator
+    implements NormalVectorGenerator {
+
+  /**
+   * The maximum dimension supported.
+   */
+  private static final int MAX_DIMENSION = 1000;
+
+  /**
+   * The dimension.
+   */
+  private final int dimension;
+  /**
+   * The underlying Sobol sequence.
+   */
+  private final SobolSequenceGenerator sequence;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * 
+   * @param dimension  the dimension
+   * @param startIndex  the index of the first vector, excluding the initial point of zeroes
+   * @return the generator
+   */
+  static SobolNormalVectorGenerator of(int dimension, long startIndex) {
+    ArgChecker.inRangeInclusive(dimension, 1, MAX_DIMENSION, "dimension");
+    ArgChecker.isTrue(
+        startIndex >= 0 && startIndex < Integer.MAX_VALUE, "Start index must be between 0 and 2^31-2: {}", startIndex);
+    SobolSequenceGenerator sequence = new SobolSequenceGenerator(dimension);
+    // the point at the start index is returned and discarded, leaving the sequence on the next point
+    // as the initial point of zeroes is excluded, the first vector is the point after the start index
+    sequence.skipTo((int) startIndex);
+    return new SobolNormalVectorGenerator(dimension, sequence);
+  }
+
+  // restricted constructor
+  private SobolNormalVectorGenerator(int dimension, SobolSequenceGenerator sequence) {
+    this.dimension = dimension;
+    this.sequence = sequence;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getDimension() {
+    return dimension;
+  }
+
+  @Override
+  public void nextVector(double[] result) {
+    // the underlying sequence allocates an array for each point
+    double[] uniform = sequence.nextVector();
+    for (int i = 0; i < dimension; i++) {
+      result[i] = Probability.normalInverse(uniform[i]);
+    }
+  }
+
+}
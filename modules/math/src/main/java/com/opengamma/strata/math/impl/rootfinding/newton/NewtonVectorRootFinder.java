@@ -70,17 +70,53 @@ public class NewtonVectorRootFinder extends VectorRootFinder {
   * @return the vector root of the collection of functions 
    */
 
-  @SuppressWarnings("synthetic-access")
   public DoubleArray getRoot(Function<DoubleArray, DoubleArray> function,
       Function<DoubleArray, DoubleMatrix> jacobianFunction, DoubleArray startPosition) {
     checkInputs(function, startPosition);
+    DoubleMatrix estimate = _initializationFunction.getInitializedMatrix(jacobianFunction, startPosition);
+    return findRoot(function, jacobianFunction, startPosition, estimate);
+  }
+
+  /**
+   * Finds the root, starting from an existing estimate of the Jacobian.
+   * <p>
+   * This allows the root finder to be warm-started, for example using the Jacobian of a previous root
+   * when the function has only changed slightly. The estimate only avoids the initial calculation of the Jacobian,
+   * the Jacobian function is still used whenever the estimate is recalculated.
+   * The estimate must be of the form produced by the initialization function,
+   * which is the inverse of the Jacobian for the inverse update functions.
+   * 
+   *@param function a vector function (i.e. vector to vector) 
+   *@param jacobianFunction calculates the Jacobian
+   *@param startPosition where to start the root finder for
+   *@param startJacobianEstimate the estimate of the Jacobian at the start position
+   *@return the vector root of the collection of functions 
+   */
+  public DoubleArray getRoot(
+      Function<DoubleArray, DoubleArray> function,
+      Function<DoubleArray, DoubleMatrix> jacobianFunction,
+      DoubleArray startPosition,
+      DoubleMatrix startJacobianEstimate) {
+
+    checkInputs(function, startPosition);
+    ArgChecker.notNull(startJacobianEstimate, "startJacobianEstimate");
+    ArgChecker.isTrue(
+        startJacobianEstimate.columnCount() == startPosition.size(),
+        "Jacobian estimate must have one column for each element of the start position");
+    return findRoot(function, jacobianFunction, startPosition, startJacobianEstimate);
+  }
+
+  // finds the root from the start position and initial Jacobian estimate
+  @SuppressWarnings("synthetic-access")
+  private DoubleArray findRoot(Function<DoubleArray, DoubleArray> function,
+      Function<DoubleArray, DoubleMatrix> jacobianFunction, DoubleArray startPosition, DoubleMatrix startEstimate) {
 
     DataBundle data = new DataBundle();
     DoubleArray y = function.apply(startPosition);
     data.setX(startPosition);
     data.setY(y);
     data.setG0(_algebra.getInnerProduct(y, y));
-    DoubleMatrix estimate = _initializationFunction.getInitializedMatrix(jacobianFunction, startPosition);
+    DoubleMatrix estimate = startEstimate;
 
     if (!getNextPosition(function, estimate, data)) {
       if (isConverged(data)) {
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.random.SobolSequenceGenerator;
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.math.impl.cern.Probability;
+
+/**
+ * Test {@link NormalVectorGeneratorFactory}.
+ */
+@Test
+public class NormalVectorGeneratorFactoryTest {
+
+  private static final int DIMENSION = 3;
+  private static final int COUNT = 20000;
+
+  //-------------------------------------------------------------------------
+  public void test_pseudoRandom_reproducible() {
+    NormalVectorGeneratorFactory factory = NormalVectorGeneratorFactory.pseudoRandom(123L);
+    NormalVectorGenerator first = factory.create(DIMENSION, 1000);
+    NormalVectorGenerator second = factory.create(DIMENSION, 1000);
+    assertEquals(first.getDimension(), DIMENSION);
+    double[] firstVector = new double[DIMENSION];
+    double[] secondVector = new double[DIMENSION];
+    for (int i = 0; i < 10; i++) {
+      first.nextVector(firstVector);
+      second.nextVector(secondVector);
+      assertTrue(Arrays.equals(firstVector, secondVector));
+    }
+  }
+
+  public void test_pseudoRandom_independentStreams() {
+    double[] vector1 = nextVector(NormalVectorGeneratorFactory.pseudoRandom(123L).create(DIMENSION, 0));
+    double[] vector2 = nextVector(NormalVectorGeneratorFactory.pseudoRandom(123L).create(DIMENSION, 1));
+    double[] vector3 = nextVector(NormalVectorGeneratorFactory.pseudoRandom(124L).create(DIMENSION, 0));
+    assertFalse(Arrays.equals(vector1, vector2));
+    assertFalse(Arrays.equals(vector1, vector3));
+  }
+
+  public void test_pseudoRandom_seedAndStartIndexNotSymmetric() {
+    double[] vector1 = nextVector(NormalVectorGeneratorFactory.pseudoRandom(123L).create(DIMENSION, 4));
+    double[] vector2 = nextVector(NormalVectorGeneratorFactory.pseudoRandom(5L).create(DIMENSION, 122));
+    assertFalse(Arrays.equals(vector1, vector2));
+  }
+
+  public void test_pseudoRandom_moments() {
+    assertMoments(NormalVectorGeneratorFactory.pseudoRandom(1L).create(DIMENSION, 0), 0.05);
+  }
+
+  public void test_sobol_sequence() {
+    // the initial point of zeroes is excluded, the first vector is the first point after it
+    SobolSequenceGenerator sequence = new SobolSequenceGenerator(DIMENSION);
+    assertTrue(Arrays.equals(sequence.nextVector(), new double[DIMENSION]));
+    NormalVectorGenerator test = NormalVectorGeneratorFactory.sobol().create(DIMENSION, 0);
+    for (int i = 0; i < 8; i++) {
+      double[] uniform = sequence.nextVector();
+      double[] expected = new double[DIMENSION];
+      for (int j = 0; j < DIMENSION; j++) {
+        expected[j] = Probability.normalInverse(uniform[j]);
+      }
+      assertTrue(Arrays.equals(nextVector(test), expected));
+    }
+  }
+
+  public void test_sobol_startIndex() {
+    SobolSequenceGenerator sequence = new SobolSequenceGenerator(DIMENSION);
+    double[] uniform = sequence.skipTo(6);
+    double[] expected = new double[DIMENSION];
+    for (int j = 0; j < DIMENSION; j++) {
+      expected[j] = Probability.normalInverse(uniform[j]);
+    }
+    // start index 5 is the sixth point after the initial point of zeroes
+    assertTrue(Arrays.equals(nextVector(NormalVectorGeneratorFactory.sobol().create(DIMENSION, 5)), expected));
+  }
+
+  public void test_sobol_balancedPrefix() {
+    // the first 2^k - 1 points, with the point of zeroes, form a balanced set
+    // in one dimension, the 7 points are symmetric around the median of 1/2 and have a zero normal sum
+    NormalVectorGenerator test = NormalVectorGeneratorFactory.sobol().create(1, 0);
+    double sum = 0d;
+    for (int i = 0; i < 7; i++) {
+      sum += nextVector(test)[0];
+    }
+    assertEquals(sum, 0d, 1e-10);
+  }
+
+  public void test_sobol_skipAhead() {
+    NormalVectorGenerator fromStart = NormalVectorGeneratorFactory.sobol().create(DIMENSION, 0);
+    for (int i = 0; i < 5; i++) {
+      nextVector(fromStart);
+    }
+    NormalVectorGenerator skipped = NormalVectorGeneratorFactory.sobol().create(DIMENSION, 5);
+    assertTrue(Arrays.equals(nextVector(skipped), nextVector(fromStart)));
+  }
+
+  public void test_sobol_moments() {
+    assertMoments(NormalVectorGeneratorFactory.sobol().create(DIMENSION, 0), 0.01);
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> NormalVectorGeneratorFactory.pseudoRandom(1L).create(0, 0));
+    assertThrowsIllegalArg(() -> NormalVectorGeneratorFactory.pseudoRandom(1L).create(1, -1));
+    assertThrowsIllegalArg(() -> NormalVectorGeneratorFactory.sobol().create(0, 0));
+    assertThrowsIllegalArg(() -> NormalVectorGeneratorFactory.sobol().create(1001, 0));
+    assertThrowsIllegalArg(() -> NormalVectorGeneratorFactory.sobol().create(1, -1));
+  }
+
+  //-------------------------------------------------------------------------
+  private static double[] nextVector(NormalVectorGenerator generator) {
+    double[] vector = new double[generator.getDimension()];
+    generator.nextVector(vector);
+    return vector;
+  }
+
+  // checks the mean and variance of each dimension
+  private static void assertMoments(NormalVectorGenerator generator, double tolerance) {
+    double[] sums = new double[DIMENSION];
+    double[] sumSquares = new double[DIMENSION];
+    double[] vector = new double[DIMENSION];
+    for (int i = 0; i < COUNT; i++) {
+      generator.nextVector(vector);
+      for (int j = 0; j < DIMENSION; j++) {
+        assertTrue(Double.isFinite(vector[j]));
+        sums[j] += vector[j];
+        sumSquares[j] += vector[j] * vector[j];
+      }
+    }
+    for (int j = 0; j < DIMENSION; j++) {
+      assertEquals(sums[j] / COUNT, 0d, tolerance);
+      assertEquals(sumSquares[j] / COUNT, 1d, 2 * tolerance);
+    }
+  }
+
+}
@@ -5,8 +5,12 @@
  */
 package com.opengamma.strata.math.impl.rootfinding.newton;
 
+import static org.testng.Assert.assertEquals;
+
 import org.testng.annotations.Test;
 
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.math.impl.linearalgebra.SVDecompositionCommons;
 
 /**
@@ -43,4 +47,25 @@ public class BroydenVectorRootFinderTest extends VectorRootFinderTest {
     assertFunction3D(SV_JACOBIAN_3D, EPS);
     assertYieldCurveBootstrap(DEFAULT, EPS);
   }
+
+  @Test
+  public void testWarmStart() {
+    DoubleArray x0 = DoubleArray.of(0.8, 0.2, -0.7);
+    DoubleMatrix jacobian = JACOBIAN3D.apply(x0);
+    DoubleArray x1 = SV.getRoot(FUNCTION3D, JACOBIAN3D, x0, jacobian);
+    assertEquals(1.0, x1.get(0), EPS);
+    assertEquals(0.0, x1.get(1), EPS);
+    assertEquals(-1.0, x1.get(2), EPS);
+    // starting at the root with the Jacobian of the root
+    DoubleArray x2 = SV.getRoot(FUNCTION3D, JACOBIAN3D, x1, JACOBIAN3D.apply(x1));
+    assertEquals(x2.get(0), x1.get(0), EPS);
+    assertEquals(x2.get(1), x1.get(1), EPS);
+    assertEquals(x2.get(2), x1.get(2), EPS);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testWarmStartWrongSize() {
+    SV.getRoot(FUNCTION3D, JACOBIAN3D, DoubleArray.of(0.8, 0.2, -0.7), DoubleMatrix.identity(2));
+  }
+
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.calc;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.runner.CalculationParameter;
+import com.opengamma.strata.calc.runner.CalculationParameters;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.product.ResolvableTrade;
+import com.opengamma.strata.product.ResolvedTrade;
+import com.opengamma.strata.product.ResolvedTradeCache;
+
+/**
+ * A calculation parameter that provides a cache of resolved trades.
+ * <p>
+ * If this parameter is specified, in {@link com.opengamma.strata.calc.CalculationRules CalculationRules},
+ * then the standard trade calculation functions resolve trades using the cache.
+ * This avoids resolving the same trade again each time the calculations are run,
+ * provided that the same instance of reference data is used.
+ * <p>
+ * The cache is shared, not copied, so a single cache can be used across many calculation runs.
+ * Unlike most parameters, this parameter is not serializable.
+ */
+public final class ResolvedTradeCacheParameter implements CalculationParameter {
+
+  /**
+   * The cache of resolved trades.
+   */
+  private final ResolvedTradeCache cache;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the cache.
+   *
+   * @param cache  the cache of resolved trades
+   * @return the parameter
+   */
+  public static ResolvedTradeCacheParameter of(ResolvedTradeCache cache) {
+    return new ResolvedTradeCacheParameter(cache);
+  }
+
+  // restricted constructor
+  private ResolvedTradeCacheParameter(ResolvedTradeCache cache) {
+    this.cache = ArgChecker.notNull(cache, "cache");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Resolves the trade, using the cache from the parameters if available.
+   * <p>
+   * If the parameters do not contain this parameter, the trade is resolved directly.
+   *
+   * @param <T>  the type of the resolved trade
+   * @param trade  the trade to resolve
+   * @param parameters  the calculation parameters
+   * @param refData  the reference data to use when resolving
+   * @return the resolved trade
+   */
+  public static <T extends ResolvedTrade> T resolve(
+      ResolvableTrade<T> trade,
+      CalculationParameters parameters,
+      ReferenceData refData) {
+
+    return parameters.findParameter(ResolvedTradeCacheParameter.class)
+        .map(parameter -> parameter.cache.resolve(trade, refData))
+        .orElseGet(() -> trade.resolve(refData));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the cache of resolved trades.
+   *
+   * @return the cache
+   */
+  public ResolvedTradeCache getCache() {
+    return cache;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof ResolvedTradeCacheParameter) {
+      return cache == ((ResolvedTradeCacheParameter) obj).cache;
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return System.identityHashCode(cache);
+  }
+
+  @Override
+  public String toString() {
+    return Messages.format("ResolvedTradeCacheParameter[{}]", cache);
+  }
+
+}
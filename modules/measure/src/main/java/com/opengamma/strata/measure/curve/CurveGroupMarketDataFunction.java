@@ -11,6 +11,9 @@ import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
@@ -56,7 +59,7 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
    * <p>
    * This will use the standard {@linkplain CalibrationMeasures#PAR_SPREAD par spread} measures
    * for calibration. The {@link MarketDataConfig} may contain a {@link RootFinderConfig}
-   * to define the tolerances.
+   * to define the tolerances and a {@link ScenarioCalibrationConfig} to calibrate scenarios concurrently.
    */
   public CurveGroupMarketDataFunction() {
     this(CalibrationMeasures.PAR_SPREAD);
@@ -102,10 +105,12 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
     CurveCalibrator calibrator = CurveCalibrator.of(
         rfc.getAbsoluteTolerance(), rfc.getRelativeTolerance(), rfc.getMaximumSteps(), calibrationMeasures);
 
-    // calibrate
+    // calibrate, using the configured ScenarioCalibrationConfig if found
+    ScenarioCalibrationConfig scenarioConfig =
+        marketDataConfig.find(ScenarioCalibrationConfig.class).orElse(ScenarioCalibrationConfig.serial());
     CurveGroupName groupName = id.getCurveGroupName();
     CurveGroupDefinition configuredDefn = marketDataConfig.get(CurveGroupDefinition.class, groupName);
-    return buildCurveGroup(configuredDefn, calibrator, marketData, refData, id.getObservableSource());
+    return buildCurveGroup(configuredDefn, calibrator, scenarioConfig, marketData, refData, id.getObservableSource());
   }
 
   @Override
@@ -131,6 +136,32 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
       ReferenceData refData,
       ObservableSource obsSource) {
 
+    return buildCurveGroup(
+        configuredGroup, calibrator, ScenarioCalibrationConfig.serial(), marketData, refData, obsSource);
+  }
+
+  /**
+   * Builds a curve group given the configuration for the group and a set of market data.
+   * <p>
+   * If the market data contains multiple scenarios, the scenarios are calibrated as specified
+   * by the scenario configuration. The result is in scenario order regardless of the parallelism.
+   *
+   * @param configuredGroup  the definition of the curve group
+   * @param calibrator  the calibrator
+   * @param scenarioConfig  the configuration controlling concurrent calibration of scenarios
+   * @param marketData  the market data containing any values required to build the curve group
+   * @param refData  the reference data, used for resolving trades
+   * @param obsSource  the source of observable market data
+   * @return a result containing the curve group or details of why it couldn't be built
+   */
+  MarketDataBox<CurveGroup> buildCurveGroup(
+      CurveGroupDefinition configuredGroup,
+      CurveCalibrator calibrator,
+      ScenarioCalibrationConfig scenarioConfig,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      ObservableSource obsSource) {
+
     // find and combine all the input data
     CurveGroupName groupName = configuredGroup.getName();
 
@@ -145,7 +176,8 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
     Map<ObservableId, LocalDateDoubleTimeSeries> fixings = extractFixings(marketData);
 
     return multipleValues || multipleValuationDates ?
-        buildMultipleCurveGroups(configuredGroup, calibrator, valuationDates, inputBoxes, fixings, refData) :
+        buildMultipleCurveGroups(
+            configuredGroup, calibrator, scenarioConfig, valuationDates, inputBoxes, fixings, refData) :
         buildSingleCurveGroup(configuredGroup, calibrator, valuationDates.getSingleValue(), inputBoxes, fixings, refData);
   }
 
@@ -162,25 +194,53 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
   private MarketDataBox<CurveGroup> buildMultipleCurveGroups(
       CurveGroupDefinition configuredGroup,
       CurveCalibrator calibrator,
+      ScenarioCalibrationConfig scenarioConfig,
       MarketDataBox<LocalDate> valuationDateBox,
       List<MarketDataBox<CurveInputs>> inputBoxes,
       Map<ObservableId, LocalDateDoubleTimeSeries> fixings,
       ReferenceData refData) {
 
     int scenarioCount = scenarioCount(valuationDateBox, inputBoxes);
-    ImmutableList.Builder<CurveGroup> builder = ImmutableList.builder();
-
-    for (int i = 0; i < scenarioCount; i++) {
-      LocalDate valuationDate = valuationDateBox.getValue(scenarioCount);
+    IntFunction<CurveGroup> scenarioFn = i -> {
+      LocalDate valuationDate = valuationDateBox.getValue(i);
       CurveGroupDefinition filteredGroup = configuredGroup.filtered(valuationDate, refData);
       List<CurveInputs> curveInputsList = inputsForScenario(inputBoxes, i);
       MarketData inputs = inputsByKey(valuationDate, curveInputsList, fixings);
-      builder.add(buildGroup(filteredGroup, calibrator, inputs, refData));
-    }
-    ImmutableList<CurveGroup> curveGroups = builder.build();
+      return buildGroup(filteredGroup, calibrator, inputs, refData);
+    };
+    ImmutableList<CurveGroup> curveGroups = scenarioConfig.isParallel() && scenarioCount > 1 ?
+        buildScenariosParallel(scenarioCount, scenarioConfig.getParallelism(), scenarioFn) :
+        buildScenariosSerial(scenarioCount, scenarioFn);
     return MarketDataBox.ofScenarioValues(curveGroups);
   }
 
+  // calibrates each scenario in turn on the calling thread
+  private static ImmutableList<CurveGroup> buildScenariosSerial(int scenarioCount, IntFunction<CurveGroup> scenarioFn) {
+    ImmutableList.Builder<CurveGroup> builder = ImmutableList.builder();
+    for (int i = 0; i < scenarioCount; i++) {
+      builder.add(scenarioFn.apply(i));
+    }
+    return builder.build();
+  }
+
+  // calibrates the scenarios concurrently, the ordered stream ensures the result is in scenario order
+  private static ImmutableList<CurveGroup> buildScenariosParallel(
+      int scenarioCount,
+      int parallelism,
+      IntFunction<CurveGroup> scenarioFn) {
+
+    ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, scenarioCount));
+    try {
+      return pool.submit(() -> IntStream.range(0, scenarioCount)
+          .parallel()
+          .mapToObj(scenarioFn)
+          .collect(toImmutableList()))
+          .join();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
   private static List<CurveInputs> inputsForScenario(List<MarketDataBox<CurveInputs>> boxes, int scenarioIndex) {
     return boxes.stream()
         .map(box -> box.getValue(scenarioIndex))
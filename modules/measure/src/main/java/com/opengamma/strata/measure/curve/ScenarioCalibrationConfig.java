@@ -0,0 +1,297 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.curve;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Configuration controlling how curve groups are calibrated when there are multiple scenarios.
+ * <p>
+ * When the market data contains multiple scenarios, a curve group must be calibrated once per scenario.
+ * The calibration of each scenario is independent, allowing the scenarios to be calibrated concurrently.
+ * <p>
+ * This configuration may be added to {@link com.opengamma.strata.calc.marketdata.MarketDataConfig MarketDataConfig}
+ * as a default configuration item. If it is not present, scenarios are calibrated serially.
+ * The order of the calibrated curve groups always matches the order of the scenarios.
+ */
+@BeanDefinition(builderScope = "private")
+public final class ScenarioCalibrationConfig implements ImmutableBean, Serializable {
+
+  /** Serial calibration, where scenarios are calibrated one after another on the calling thread. */
+  private static final ScenarioCalibrationConfig SERIAL = new ScenarioCalibrationConfig(1);
+
+  /**
+   * The maximum number of scenarios to calibrate concurrently.
+   * <p>
+   * A value of one means that scenarios are calibrated serially on the calling thread.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegativeOrZero")
+  private final int parallelism;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains configuration that calibrates scenarios serially.
+   *
+   * @return the serial configuration
+   */
+  public static ScenarioCalibrationConfig serial() {
+    return SERIAL;
+  }
+
+  /**
+   * Obtains configuration that calibrates scenarios concurrently using the specified parallelism.
+   *
+   * @param parallelism  the maximum number of scenarios to calibrate concurrently, one for serial
+   * @return the configuration
+   */
+  public static ScenarioCalibrationConfig of(int parallelism) {
+    return new ScenarioCalibrationConfig(parallelism);
+  }
+
+  /**
+   * Obtains configuration that calibrates scenarios concurrently using one thread per available processor.
+   *
+   * @return the configuration
+   */
+  public static ScenarioCalibrationConfig ofAvailableProcessors() {
+    return new ScenarioCalibrationConfig(Runtime.getRuntime().availableProcessors());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if scenarios are calibrated concurrently.
+   *
+   * @return true if the parallelism is greater than one
+   */
+  public boolean isParallel() {
+    return parallelism > 1;
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code ScenarioCalibrationConfig}.
+   * @return the meta-bean, not null
+   */
+  public static ScenarioCalibrationConfig.Meta meta() {
+    return ScenarioCalibrationConfig.Meta.INSTANCE;
+  }
+
+  static {
+    MetaBean.register(ScenarioCalibrationConfig.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private ScenarioCalibrationConfig(
+      int parallelism) {
+    ArgChecker.notNegativeOrZero(parallelism, "parallelism");
+    this.parallelism = parallelism;
+  }
+
+  @Override
+  public ScenarioCalibrationConfig.Meta metaBean() {
+    return ScenarioCalibrationConfig.Meta.INSTANCE;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the maximum number of scenarios to calibrate concurrently.
+   * <p>
+   * A value of one means that scenarios are calibrated serially on the calling thread.
+   * @return the value of the property
+   */
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      ScenarioCalibrationConfig other = (ScenarioCalibrationConfig) obj;
+      return (parallelism == other.parallelism);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(parallelism);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(64);
+    buf.append("ScenarioCalibrationConfig{");
+    buf.append("parallelism").append('=').append(JodaBeanUtils.toString(parallelism));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code ScenarioCalibrationConfig}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code parallelism} property.
+     */
+    private final MetaProperty<Integer> parallelism = DirectMetaProperty.ofImmutable(
+        this, "parallelism", ScenarioCalibrationConfig.class, Integer.TYPE);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "parallelism");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 635164956:  // parallelism
+          return parallelism;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends ScenarioCalibrationConfig> builder() {
+      return new ScenarioCalibrationConfig.Builder();
+    }
+
+    @Override
+    public Class<? extends ScenarioCalibrationConfig> beanType() {
+      return ScenarioCalibrationConfig.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code parallelism} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Integer> parallelism() {
+      return parallelism;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case 635164956:  // parallelism
+          return ((ScenarioCalibrationConfig) bean).getParallelism();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code ScenarioCalibrationConfig}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<ScenarioCalibrationConfig> {
+
+    private int parallelism;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 635164956:  // parallelism
+          return parallelism;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case 635164956:  // parallelism
+          this.parallelism = (Integer) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public ScenarioCalibrationConfig build() {
+      return new ScenarioCalibrationConfig(
+          parallelism);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(64);
+      buf.append("ScenarioCalibrationConfig.Builder{");
+      buf.append("parallelism").append('=').append(JodaBeanUtils.toString(parallelism));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -13,6 +13,7 @@ import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import org.joda.beans.ImmutableBean;
@@ -59,6 +60,11 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * A rates provider based on a rates lookup.
  * <p>
  * This uses a {@link DefaultRatesMarketDataLookup} to provide a view on {@link MarketData}.
+ * <p>
+ * Pricers query the discount factors and index rates for each payment period, while the rates provider is
+ * created once for each scenario. The discount factors, index rates and FX forward rates are thus bound
+ * to their curve on first use and reused by the later queries, avoiding the lookup of the curve in the market data
+ * and the creation of a new instance on every query. The bound instances are equal to those that would be created.
  */
 @BeanDefinition(style = "light")
 final class DefaultLookupRatesProvider
@@ -78,6 +84,27 @@ final class DefaultLookupRatesProvider
    * The FX rate provider.
    */
   private final transient FxRateProvider fxRateProvider;  // derived
+  /**
+   * The discount factors, keyed by currency, bound on first use.
+   */
+  private final transient Map<Currency, DiscountFactors> discountFactors = new ConcurrentHashMap<>();  // derived
+  /**
+   * The FX forward rates, keyed by currency pair, bound on first use.
+   */
+  private final transient Map<CurrencyPair, FxForwardRates> fxForwardRates = new ConcurrentHashMap<>();  // derived
+  /**
+   * The Ibor index rates, keyed by index, bound on first use.
+   */
+  private final transient Map<IborIndex, IborIndexRates> iborIndexRates = new ConcurrentHashMap<>();  // derived
+  /**
+   * The Overnight index rates, keyed by index, bound on first use.
+   */
+  private final transient Map<OvernightIndex, OvernightIndexRates> overnightIndexRates =
+      new ConcurrentHashMap<>();  // derived
+  /**
+   * The price index values, keyed by index, bound on first use.
+   */
+  private final transient Map<PriceIndex, PriceIndexValues> priceIndexValues = new ConcurrentHashMap<>();  // derived
 
   //-------------------------------------------------------------------------
   /**
@@ -171,6 +198,11 @@ final class DefaultLookupRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public DiscountFactors discountFactors(Currency currency) {
+    return discountFactors.computeIfAbsent(currency, this::bindDiscountFactors);
+  }
+
+  // binds the discount factors to the curve
+  private DiscountFactors bindDiscountFactors(Currency currency) {
     CurveId curveId = lookup.getDiscountCurves().get(currency);
     if (curveId == null) {
       throw new MarketDataNotFoundException(lookup.msgCurrencyNotFound(currency));
@@ -189,6 +221,11 @@ final class DefaultLookupRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public FxForwardRates fxForwardRates(CurrencyPair currencyPair) {
+    return fxForwardRates.computeIfAbsent(currencyPair, this::bindFxForwardRates);
+  }
+
+  // binds the FX forward rates to the discount factors
+  private FxForwardRates bindFxForwardRates(CurrencyPair currencyPair) {
     DiscountFactors base = discountFactors(currencyPair.getBase());
     DiscountFactors counter = discountFactors(currencyPair.getCounter());
     FxRate fxRate = FxRate.of(currencyPair, fxRate(currencyPair));
@@ -198,6 +235,11 @@ final class DefaultLookupRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public IborIndexRates iborIndexRates(IborIndex index) {
+    return iborIndexRates.computeIfAbsent(index, this::bindIborIndexRates);
+  }
+
+  // binds the Ibor index rates to the curve
+  private IborIndexRates bindIborIndexRates(IborIndex index) {
     CurveId curveId = lookup.getForwardCurves().get(index);
     if (curveId == null) {
       throw new MarketDataNotFoundException(lookup.msgIndexNotFound(index));
@@ -209,6 +251,11 @@ final class DefaultLookupRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public OvernightIndexRates overnightIndexRates(OvernightIndex index) {
+    return overnightIndexRates.computeIfAbsent(index, this::bindOvernightIndexRates);
+  }
+
+  // binds the Overnight index rates to the curve
+  private OvernightIndexRates bindOvernightIndexRates(OvernightIndex index) {
     CurveId curveId = lookup.getForwardCurves().get(index);
     if (curveId == null) {
       throw new MarketDataNotFoundException(lookup.msgIndexNotFound(index));
@@ -220,6 +267,11 @@ final class DefaultLookupRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public PriceIndexValues priceIndexValues(PriceIndex index) {
+    return priceIndexValues.computeIfAbsent(index, this::bindPriceIndexValues);
+  }
+
+  // binds the price index values to the curve
+  private PriceIndexValues bindPriceIndexValues(PriceIndex index) {
     CurveId curveId = lookup.getForwardCurves().get(index);
     if (curveId == null) {
       throw new MarketDataNotFoundException(lookup.msgIndexNotFound(index));
@@ -46,6 +46,7 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.sensitivity.CurveGammaCalculator;
 import com.opengamma.strata.pricer.sensitivity.MarketQuoteSensitivityCalculator;
 import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
+import com.opengamma.strata.pricer.swap.PrecomputedSwap;
 import com.opengamma.strata.product.swap.NotionalPaymentPeriod;
 import com.opengamma.strata.product.swap.ResolvedSwap;
 import com.opengamma.strata.product.swap.ResolvedSwapLeg;
@@ -102,6 +103,15 @@ final class SwapMeasureCalculations {
       ResolvedSwapTrade trade,
       RatesScenarioMarketData marketData) {
 
+    // the standard pricer can be bypassed for vanilla swaps when pricing more than one scenario
+    // the precomputed swap extracts the cash flow details once and is then priced against each scenario
+    if (tradePricer == DiscountingSwapTradePricer.DEFAULT &&
+        marketData.getScenarioCount() > 1 &&
+        PrecomputedSwap.isSupported(trade.getProduct())) {
+      return PrecomputedSwap.of(trade.getProduct()).presentValue(
+          marketData.getScenarioCount(),
+          i -> marketData.scenario(i).ratesProvider());
+    }
     return MultiCurrencyScenarioArray.of(
         marketData.getScenarioCount(),
         i -> presentValue(trade, marketData.scenario(i).ratesProvider()));
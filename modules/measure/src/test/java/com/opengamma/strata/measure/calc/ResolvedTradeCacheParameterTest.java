@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.calc;
+
+import static com.opengamma.strata.basics.date.Tenor.TENOR_5Y;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.runner.CalculationParameters;
+import com.opengamma.strata.product.ResolvedTradeCache;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+import com.opengamma.strata.product.swap.SwapTrade;
+
+/**
+ * Test {@link ResolvedTradeCacheParameter}.
+ */
+@Test
+public class ResolvedTradeCacheParameterTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final SwapTrade TRADE =
+      USD_FIXED_6M_LIBOR_3M.createTrade(date(2017, 6, 1), TENOR_5Y, BUY, 1_000_000d, 0.015, REF_DATA);
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    ResolvedTradeCache cache = ResolvedTradeCache.ofMaximumSize(10);
+    ResolvedTradeCacheParameter test = ResolvedTradeCacheParameter.of(cache);
+    assertSame(test.getCache(), cache);
+    assertEquals(test.queryType(), ResolvedTradeCacheParameter.class);
+    assertEquals(test, ResolvedTradeCacheParameter.of(cache));
+    assertEquals(test.hashCode(), ResolvedTradeCacheParameter.of(cache).hashCode());
+    assertFalse(test.equals(ResolvedTradeCacheParameter.of(ResolvedTradeCache.ofMaximumSize(10))));
+    assertFalse(test.equals(""));
+    assertThrowsIllegalArg(() -> ResolvedTradeCacheParameter.of(null));
+  }
+
+  public void test_resolve() {
+    ResolvedTradeCache cache = ResolvedTradeCache.ofMaximumSize(10);
+    CalculationParameters parameters = CalculationParameters.of(ResolvedTradeCacheParameter.of(cache));
+    ResolvedSwapTrade resolved = ResolvedTradeCacheParameter.resolve(TRADE, parameters, REF_DATA);
+    assertEquals(resolved, TRADE.resolve(REF_DATA));
+    assertSame(ResolvedTradeCacheParameter.resolve(TRADE, parameters, REF_DATA), resolved);
+    assertEquals(cache.stats().hitCount(), 1);
+    assertEquals(cache.stats().missCount(), 1);
+  }
+
+  public void test_resolve_noCache() {
+    ResolvedSwapTrade resolved = ResolvedTradeCacheParameter.resolve(TRADE, CalculationParameters.empty(), REF_DATA);
+    assertEquals(resolved, TRADE.resolve(REF_DATA));
+  }
+
+}
@@ -16,6 +16,7 @@ import java.time.LocalDate;
 import java.time.Period;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import org.testng.annotations.Test;
 
@@ -280,6 +281,62 @@ public class CurveGroupMarketDataFunctionTest {
     assertThat(forwardMetadata).isEqualTo(expectedForwardMetadata);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Tests that calibrating scenarios concurrently produces the same curve groups, in the same order,
+   * as calibrating them serially.
+   */
+  public void multipleScenariosParallel() {
+    CurveGroupName groupName = CurveGroupName.of("Curve Group");
+    InterpolatedNodalCurveDefinition curveDefn = CurveTestUtils.fraCurveDefinition();
+    List<CurveNode> nodes = curveDefn.getNodes();
+
+    CurveGroupDefinition groupDefn = CurveGroupDefinition.builder()
+        .name(groupName)
+        .addCurve(curveDefn, Currency.USD, IborIndices.USD_LIBOR_3M)
+        .build();
+
+    LocalDate valuationDate = date(2011, 3, 8);
+    List<CurveInputs> scenarioInputs = IntStream.range(0, 8)
+        .mapToObj(i -> {
+          double shift = i * 0.0001;
+          Map<MarketDataId<?>, Double> inputData = ImmutableMap.<MarketDataId<?>, Double>builder()
+              .put(CurveTestUtils.key(nodes.get(0)), 0.003 + shift)
+              .put(CurveTestUtils.key(nodes.get(1)), 0.0033 + shift)
+              .put(CurveTestUtils.key(nodes.get(2)), 0.0037 + shift)
+              .put(CurveTestUtils.key(nodes.get(3)), 0.0054 + shift)
+              .put(CurveTestUtils.key(nodes.get(4)), 0.007 + shift)
+              .put(CurveTestUtils.key(nodes.get(5)), 0.0091 + shift)
+              .put(CurveTestUtils.key(nodes.get(6)), 0.0134 + shift)
+              .build();
+          return CurveInputs.of(inputData, DefaultCurveMetadata.of(curveDefn.getName()));
+        })
+        .collect(toImmutableList());
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(valuationDate)
+        .addScenarioValue(CurveInputsId.of(groupName, curveDefn.getName(), ObservableSource.NONE), scenarioInputs)
+        .build();
+
+    CurveGroupId curveGroupId = CurveGroupId.of(groupName);
+    MarketDataConfig serialConfig = MarketDataConfig.builder()
+        .add(groupName, groupDefn)
+        .build();
+    MarketDataConfig parallelConfig = MarketDataConfig.builder()
+        .add(groupName, groupDefn)
+        .addDefault(ScenarioCalibrationConfig.of(4))
+        .build();
+
+    CurveGroupMarketDataFunction function = new CurveGroupMarketDataFunction();
+    MarketDataBox<CurveGroup> serial = function.build(curveGroupId, serialConfig, marketData, REF_DATA);
+    MarketDataBox<CurveGroup> parallel = function.build(curveGroupId, parallelConfig, marketData, REF_DATA);
+
+    assertThat(parallel.getScenarioCount()).isEqualTo(8);
+    assertThat(parallel).isEqualTo(serial);
+    // scenarios with higher quotes produce higher zero rates
+    Curve first = parallel.getValue(0).findDiscountCurve(Currency.USD).get();
+    Curve last = parallel.getValue(7).findDiscountCurve(Currency.USD).get();
+    assertThat(last.yValue(1d)).isGreaterThan(first.yValue(1d));
+  }
+
   //-------------------------------------------------------------------------
   public void duplicateInputDataKeys() {
     FxSwapTemplate template1 = FxSwapTemplate.of(Period.ofMonths(1), FxSwapConventions.EUR_USD);
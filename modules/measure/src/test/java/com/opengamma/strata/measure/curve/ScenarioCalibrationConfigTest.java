@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.curve;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link ScenarioCalibrationConfig}.
+ */
+@Test
+public class ScenarioCalibrationConfigTest {
+
+  public void test_serial() {
+    ScenarioCalibrationConfig test = ScenarioCalibrationConfig.serial();
+    assertEquals(test.getParallelism(), 1);
+    assertFalse(test.isParallel());
+  }
+
+  public void test_of() {
+    ScenarioCalibrationConfig test = ScenarioCalibrationConfig.of(4);
+    assertEquals(test.getParallelism(), 4);
+    assertTrue(test.isParallel());
+  }
+
+  public void test_ofAvailableProcessors() {
+    ScenarioCalibrationConfig test = ScenarioCalibrationConfig.ofAvailableProcessors();
+    assertEquals(test.getParallelism(), Runtime.getRuntime().availableProcessors());
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> ScenarioCalibrationConfig.of(0));
+    assertThrowsIllegalArg(() -> ScenarioCalibrationConfig.of(-1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    ScenarioCalibrationConfig test = ScenarioCalibrationConfig.of(4);
+    coverImmutableBean(test);
+    ScenarioCalibrationConfig test2 = ScenarioCalibrationConfig.serial();
+    coverBeanEquals(test, test2);
+  }
+
+  public void test_serialization() {
+    assertSerialization(ScenarioCalibrationConfig.of(4));
+  }
+
+}
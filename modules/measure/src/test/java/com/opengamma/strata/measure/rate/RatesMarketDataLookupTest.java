@@ -22,6 +22,7 @@ import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 import java.time.LocalDate;
 import java.util.Map;
@@ -193,6 +194,30 @@ public class RatesMarketDataLookupTest {
     assertEquals(ratesProvider.toImmutableRatesProvider(), expectedImmutable);
   }
 
+  public void test_ratesProvider_bound() {
+    ImmutableMap<Currency, CurveId> discounts = ImmutableMap.of(USD, CURVE_ID_DSC);
+    ImmutableMap<Index, CurveId> forwards = ImmutableMap.of(USD_FED_FUND, CURVE_ID_DSC, USD_LIBOR_3M, CURVE_ID_FWD);
+    RatesMarketDataLookup test = RatesMarketDataLookup.of(discounts, forwards);
+    LocalDate valDate = date(2015, 6, 30);
+    Curve dscCurve = ConstantCurve.of(Curves.discountFactors(CURVE_ID_DSC.getCurveName(), ACT_360), 1d);
+    Curve fwdCurve = ConstantCurve.of(Curves.discountFactors(CURVE_ID_FWD.getCurveName(), ACT_360), 2d);
+    MarketData md = ImmutableMarketData.of(valDate, ImmutableMap.of(CURVE_ID_DSC, dscCurve, CURVE_ID_FWD, fwdCurve));
+    RatesProvider ratesProvider = test.ratesProvider(md);
+    RatesProvider other = test.ratesProvider(md);
+    // bound once, equal to the instances bound by another provider
+    assertSame(ratesProvider.discountFactors(USD), ratesProvider.discountFactors(USD));
+    assertEquals(ratesProvider.discountFactors(USD), other.discountFactors(USD));
+    assertSame(ratesProvider.iborIndexRates(USD_LIBOR_3M), ratesProvider.iborIndexRates(USD_LIBOR_3M));
+    assertEquals(ratesProvider.iborIndexRates(USD_LIBOR_3M), other.iborIndexRates(USD_LIBOR_3M));
+    assertSame(ratesProvider.overnightIndexRates(USD_FED_FUND), ratesProvider.overnightIndexRates(USD_FED_FUND));
+    assertEquals(ratesProvider.overnightIndexRates(USD_FED_FUND), other.overnightIndexRates(USD_FED_FUND));
+    // failures are not bound
+    assertThrowsIllegalArg(() -> ratesProvider.discountFactors(GBP));
+    assertThrowsIllegalArg(() -> ratesProvider.discountFactors(GBP));
+    assertThrowsIllegalArg(() -> ratesProvider.iborIndexRates(GBP_LIBOR_3M));
+    assertThrowsIllegalArg(() -> ratesProvider.iborIndexRates(GBP_LIBOR_3M));
+  }
+
   public void test_fxProvider() {
     RatesMarketDataLookup test = RatesMarketDataLookup.of(ImmutableMap.of(), ImmutableMap.of());
     LocalDate valDate = date(2015, 6, 30);
@@ -5,21 +5,27 @@
  */
 package com.opengamma.strata.measure.swap;
 
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
 import static org.testng.Assert.assertEquals;
 
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
 import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.market.amount.CashFlows;
+import com.opengamma.strata.market.curve.ConstantCurve;
+import com.opengamma.strata.market.curve.Curves;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
 import com.opengamma.strata.product.swap.ResolvedSwapTrade;
@@ -69,6 +75,35 @@ public class SwapTradeCalculationsTest {
         MultiCurrencyScenarioArray.of(ImmutableList.of(expectedCurrentCash)));
   }
 
+  public void test_presentValue_multipleScenarios() {
+    ImmutableScenarioMarketData md = ImmutableScenarioMarketData.builder(SwapTradeCalculationFunctionTest.VAL_DATE)
+        .addScenarioValue(SwapTradeCalculationFunctionTest.DISCOUNT_CURVE_ID, ImmutableList.of(
+            ConstantCurve.of(Curves.zeroRates("Discount", ACT_360), 0.010),
+            ConstantCurve.of(Curves.zeroRates("Discount", ACT_360), 0.011),
+            ConstantCurve.of(Curves.discountFactors("Discount", ACT_360), 0.99)))
+        .addScenarioValue(SwapTradeCalculationFunctionTest.FORWARD_CURVE_ID, ImmutableList.of(
+            ConstantCurve.of(Curves.zeroRates("Forward", ACT_360), 0.012),
+            ConstantCurve.of(Curves.zeroRates("Forward", ACT_360), 0.013),
+            ConstantCurve.of(Curves.zeroRates("Forward", ACT_360), 0.014)))
+        .build();
+    RatesScenarioMarketData ratesMarketData = RATES_LOOKUP.marketDataView(md);
+    DiscountingSwapTradePricer pricer = DiscountingSwapTradePricer.DEFAULT;
+    MultiCurrencyScenarioArray expected = MultiCurrencyScenarioArray.of(
+        ratesMarketData.getScenarioCount(),
+        i -> pricer.presentValue(RTRADE, ratesMarketData.scenario(i).ratesProvider()));
+
+    MultiCurrencyScenarioArray computed = SwapTradeCalculations.DEFAULT.presentValue(RTRADE, RATES_LOOKUP, md);
+    Currency currency = RTRADE.getProduct().getLegs().get(0).getCurrency();
+    assertEquals(computed.getScenarioCount(), expected.getScenarioCount());
+    assertEquals(computed.getCurrencies(), expected.getCurrencies());
+    for (int i = 0; i < expected.getScenarioCount(); i++) {
+      assertEquals(
+          computed.get(i).getAmount(currency).getAmount(),
+          expected.get(i).getAmount(currency).getAmount(),
+          1e-6);
+    }
+  }
+
   public void test_pv01() {
     ScenarioMarketData md = SwapTradeCalculationFunctionTest.marketData();
     RatesProvider provider = RATES_LOOKUP.marketDataView(md.scenario(0)).ratesProvider();
@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.capfloor;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.capfloor.IborCapletFloorletPeriod;
+import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
+
+/**
+ * The caplet/floorlet periods of a cap/floor leg, with their forward rates and discount factors.
+ * <p>
+ * The caplet volatility bootstrappers price the same periods many times with different volatilities,
+ * while the rates are unchanged. The forward rates and discount factors are thus queried from the
+ * rates provider once, when the instance is created, and reused for every pricing.
+ * <p>
+ * The periods are priced by the period pricer of the bootstrapper, using the forward rates and discount factors
+ * already computed, thus the values are those of the pricer.
+ * The periods that have already been paid have no rates, their present value is zero as for the pricer.
+ */
+final class IborCapFloorLegRates {
+
+  /**
+   * The periods of the leg.
+   */
+  private final IborCapletFloorletPeriod[] periods;
+  /**
+   * Whether each period has already been paid.
+   */
+  private final boolean[] paid;
+  /**
+   * The forward rate of each period, zero if paid.
+   */
+  private final double[] forwards;
+  /**
+   * The discount factor of each period, zero if paid.
+   */
+  private final double[] discountFactors;
+  /**
+   * The forward rate of the final period of the leg.
+   */
+  private final double finalForward;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance, computing the rates of the periods of the leg.
+   *
+   * @param leg  the cap/floor leg
+   * @param ratesProvider  the rates provider
+   * @return the instance
+   */
+  static IborCapFloorLegRates of(ResolvedIborCapFloorLeg leg, RatesProvider ratesProvider) {
+    LocalDate valuationDate = ratesProvider.getValuationDate();
+    IborIndexRates indexRates = ratesProvider.iborIndexRates(leg.getIndex());
+    DiscountFactors discountFactors = ratesProvider.discountFactors(leg.getCurrency());
+    List<IborCapletFloorletPeriod> periods = leg.getCapletFloorletPeriods();
+    int size = periods.size();
+    boolean[] paid = new boolean[size];
+    double[] forwards = new double[size];
+    double[] dfs = new double[size];
+    for (int i = 0; i < size; i++) {
+      IborCapletFloorletPeriod period = periods.get(i);
+      if (valuationDate.isAfter(period.getPaymentDate())) {
+        paid[i] = true;
+      } else {
+        forwards[i] = indexRates.rate(period.getIborRate().getObservation());
+        dfs[i] = discountFactors.discountFactor(period.getPaymentDate());
+      }
+    }
+    double finalForward = indexRates.rate(leg.getFinalPeriod().getIborRate().getObservation());
+    return new IborCapFloorLegRates(
+        periods.toArray(new IborCapletFloorletPeriod[size]), paid, forwards, dfs, finalForward);
+  }
+
+  // restricted constructor
+  private IborCapFloorLegRates(
+      IborCapletFloorletPeriod[] periods,
+      boolean[] paid,
+      double[] forwards,
+      double[] discountFactors,
+      double finalForward) {
+
+    this.periods = periods;
+    this.paid = paid;
+    this.forwards = forwards;
+    this.discountFactors = discountFactors;
+    this.finalForward = finalForward;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the forward rate of the final period of the leg.
+   *
+   * @return the forward rate
+   */
+  double getFinalForward() {
+    return finalForward;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the periods fixing after the specified date-time.
+   *
+   * @param periodPricer  the period pricer
+   * @param volatilities  the volatilities
+   * @param fixingAfter  the date-time after which the periods fix
+   * @return the present value
+   */
+  double presentValue(
+      VolatilityIborCapletFloorletPeriodPricer periodPricer,
+      IborCapletFloorletVolatilities volatilities,
+      ZonedDateTime fixingAfter) {
+
+    periodPricer.validate(volatilities);
+    return IntStream.range(0, periods.length)
+        .filter(i -> periods[i].getFixingDateTime().isAfter(fixingAfter))
+        .mapToDouble(i -> presentValue(periodPricer, volatilities, i))
+        .sum();
+  }
+
+  /**
+   * Calculates the present value of the periods fixing on or before the specified date-time.
+   *
+   * @param periodPricer  the period pricer
+   * @param volatilities  the volatilities
+   * @param fixingUpTo  the date-time up to which the periods fix
+   * @return the present value
+   */
+  double presentValueUpTo(
+      VolatilityIborCapletFloorletPeriodPricer periodPricer,
+      IborCapletFloorletVolatilities volatilities,
+      ZonedDateTime fixingUpTo) {
+
+    periodPricer.validate(volatilities);
+    return IntStream.range(0, periods.length)
+        .filter(i -> !periods[i].getFixingDateTime().isAfter(fixingUpTo))
+        .mapToDouble(i -> presentValue(periodPricer, volatilities, i))
+        .sum();
+  }
+
+  // the present value of a single period, zero if paid as for the pricer
+  private double presentValue(
+      VolatilityIborCapletFloorletPeriodPricer periodPricer,
+      IborCapletFloorletVolatilities volatilities,
+      int i) {
+
+    return paid[i] ? 0d : periodPricer.presentValue(periods[i], forwards[i], discountFactors[i], volatilities);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value volatility sensitivity of the periods fixing after the specified date-time.
+   *
+   * @param periodPricer  the period pricer
+   * @param volatilities  the volatilities
+   * @param fixingAfter  the date-time after which the periods fix
+   * @return the point sensitivity to the volatility
+   */
+  PointSensitivities presentValueSensitivityModelParamsVolatility(
+      VolatilityIborCapletFloorletPeriodPricer periodPricer,
+      IborCapletFloorletVolatilities volatilities,
+      ZonedDateTime fixingAfter) {
+
+    periodPricer.validate(volatilities);
+    PointSensitivityBuilder builder = PointSensitivityBuilder.none();
+    for (int i = 0; i < periods.length; i++) {
+      if (!paid[i] && periods[i].getFixingDateTime().isAfter(fixingAfter)) {
+        builder = builder.combinedWith(periodPricer.presentValueSensitivityModelParamsVolatility(
+            periods[i], forwards[i], discountFactors[i], volatilities));
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Calculates the present value sensitivity to the SABR model parameters of the periods fixing after
+   * the specified date-time.
+   *
+   * @param periodPricer  the SABR period pricer
+   * @param volatilities  the volatilities
+   * @param fixingAfter  the date-time after which the periods fix
+   * @return the point sensitivity to the SABR model parameters
+   */
+  PointSensitivities presentValueSensitivityModelParamsSabr(
+      SabrIborCapletFloorletPeriodPricer periodPricer,
+      SabrIborCapletFloorletVolatilities volatilities,
+      ZonedDateTime fixingAfter) {
+
+    PointSensitivityBuilder builder = PointSensitivityBuilder.none();
+    for (int i = 0; i < periods.length; i++) {
+      if (!paid[i] && periods[i].getFixingDateTime().isAfter(fixingAfter)) {
+        builder = builder.combinedWith(periodPricer.presentValueSensitivityModelParamsSabr(
+            periods[i], forwards[i], discountFactors[i], volatilities));
+      }
+    }
+    return builder.build();
+  }
+
+}
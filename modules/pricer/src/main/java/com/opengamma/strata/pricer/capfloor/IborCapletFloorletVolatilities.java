@@ -148,6 +148,34 @@ public interface IborCapletFloorletVolatilities
       double forward,
       double volatility);
 
+  /**
+   * Calculates the price of many options.
+   * <p>
+   * This is equivalent to calling {@link #price(double, PutCall, double, double, double)} for each option,
+   * with the results stored in the specified array. All the arrays must have the same length.
+   * Implementations may override this to price the options in a single loop.
+   * 
+   * @param expiry  the times to expiry as year fractions
+   * @param putCall  whether each option is put or call
+   * @param strike  the option strike rates
+   * @param forward  the forward rates
+   * @param volatility  the volatilities
+   * @param result  the array to store the prices in
+   * @throws RuntimeException if the value cannot be obtained
+   */
+  public default void price(
+      double[] expiry,
+      PutCall[] putCall,
+      double[] strike,
+      double[] forward,
+      double[] volatility,
+      double[] result) {
+
+    for (int i = 0; i < result.length; i++) {
+      result[i] = price(expiry[i], putCall[i], strike[i], forward[i], volatility[i]);
+    }
+  }
+
   /**
    * Calculates the price delta.
    * <p>
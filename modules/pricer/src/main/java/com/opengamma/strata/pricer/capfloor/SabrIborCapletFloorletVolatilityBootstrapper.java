@@ -16,11 +16,13 @@ import java.util.BitSet;
 import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.ValueType;
@@ -56,6 +58,10 @@ import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
  * <p>
  * The calibration to SABR is computed once the option volatility date is converted to prices. Thus we should note that 
  * the error values in {@code RawOptionData} are applied in the price space rather than the volatility space.
+ * <p>
+ * At each step of the bootstrapping, the caps of the different strikes are priced independently of one another.
+ * Thus a {@linkplain #parallel() parallel} bootstrapper prices them concurrently.
+ * The result is the same whether the caps are priced serially or in parallel.
  */
 public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloorletVolatilityCalibrator {
 
@@ -90,6 +96,10 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
    * SABR pricer for caplet/floorlet.
    */
   private final SabrIborCapletFloorletPeriodPricer sabrPeriodPricer;
+  /**
+   * Whether the caps of the different strikes are priced in parallel.
+   */
+  private final boolean parallel;
 
   //-------------------------------------------------------------------------
   /**
@@ -111,7 +121,7 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       ReferenceData referenceData) {
 
     NonLinearLeastSquare solver = new NonLinearLeastSquare(SV_COMMONS, OG_ALGEBRA, epsilon);
-    return new SabrIborCapletFloorletVolatilityBootstrapper(pricer, sabrPeriodPricer, solver, referenceData);
+    return new SabrIborCapletFloorletVolatilityBootstrapper(pricer, sabrPeriodPricer, solver, referenceData, false);
   }
 
   // private constructor
@@ -119,11 +129,26 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       VolatilityIborCapFloorLegPricer pricer,
       SabrIborCapletFloorletPeriodPricer sabrPeriodPricer,
       NonLinearLeastSquare solver,
-      ReferenceData referenceData) {
+      ReferenceData referenceData,
+      boolean parallel) {
 
     super(pricer, referenceData);
     this.sabrPeriodPricer = ArgChecker.notNull(sabrPeriodPricer, "sabrPeriodPricer");
     this.solver = ArgChecker.notNull(solver, "solver");
+    this.parallel = parallel;
+  }
+
+  /**
+   * Returns a bootstrapper that prices the caps of the different strikes in parallel.
+   * <p>
+   * The caps are priced concurrently using the common fork-join pool, when computing the fitting function
+   * and its Jacobian. The expiries are still bootstrapped one after the other.
+   * 
+   * @return the parallel bootstrapper
+   */
+  public SabrIborCapletFloorletVolatilityBootstrapper parallel() {
+    return new SabrIborCapletFloorletVolatilityBootstrapper(
+        getLegPricer(), sabrPeriodPricer, solver, getReferenceData(), true);
   }
 
   //-------------------------------------------------------------------------
@@ -167,6 +192,10 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       startIndex[i + 1] = volList.size();
       ArgChecker.isTrue(startIndex[i + 1] > startIndex[i], "no valid option data for {}", expiries.get(i));
     }
+    // the rates are unchanged during the bootstrapping, thus they are computed once for each cap
+    List<IborCapFloorLegRates> capRatesList = capList.stream()
+        .map(cap -> IborCapFloorLegRates.of(cap, ratesProvider))
+        .collect(Guavate.toImmutableList());
 
     List<CurveMetadata> metadataList = bsDefinition.createSabrParameterMetadata();
     DoubleArray timeToExpiries = DoubleArray.of(nExpiries, i -> timeList.get(startIndex[i]));
@@ -220,16 +249,16 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
     ZonedDateTime prevExpiry = calibrationDateTime.minusDays(1L); // included if calibrationDateTime == fixingDateTime
     for (int i = 0; i < nExpiries; ++i) {
       DoubleArray start = computeInitialValues(
-          ratesProvider, betaCurve, shiftCurve, timeList, volList, capList, startIndex, i, betaFix, capFloorData.getDataType());
+          betaCurve, shiftCurve, timeList, volList, capRatesList, startIndex, i, betaFix, capFloorData.getDataType());
       UncoupledParameterTransforms transform = new UncoupledParameterTransforms(start, TRANSFORMS, fixed);
       int nCaplets = startIndex[i + 1] - startIndex[i];
       int currentStart = startIndex[i];
       Function<DoubleArray, DoubleArray> valueFunction = createPriceFunction(
-          ratesProvider, vols, prevExpiry, capList, priceList, startIndex, nExpiries, i, nCaplets, betaFix);
+          vols, prevExpiry, capRatesList, priceList, startIndex, nExpiries, i, nCaplets, betaFix);
       Function<DoubleArray, DoubleMatrix> jacobianFunction = createJacobianFunction(
-          ratesProvider, vols, prevExpiry, capList, priceList, index.getCurrency(), startIndex, nExpiries, i, nCaplets, betaFix);
+          vols, prevExpiry, capRatesList, priceList, index.getCurrency(), startIndex, nExpiries, i, nCaplets, betaFix);
       NonLinearTransformFunction transFunc = new NonLinearTransformFunction(valueFunction, jacobianFunction, transform);
-      DoubleArray adjustedPrices = adjustedPrices(ratesProvider, vols, prevExpiry, capList, priceList, startIndex, i, nCaplets);
+      DoubleArray adjustedPrices = adjustedPrices(vols, prevExpiry, capRatesList, priceList, startIndex, i, nCaplets);
       DoubleArray errors = DoubleArray.of(nCaplets, n -> errorList.get(currentStart + n));
       LeastSquareResults res = solver.solve(adjustedPrices, errors, transFunc.getFittingFunction(),
           transFunc.getFittingJacobian(), transform.transform(start));
@@ -244,20 +273,18 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
   //-------------------------------------------------------------------------
   // computes initial guess for each time step
   private DoubleArray computeInitialValues(
-      RatesProvider ratesProvider,
       Curve betaCurve,
       Curve shiftCurve,
       List<Double> timeList,
       List<Double> volList,
-      List<ResolvedIborCapFloorLeg> capList,
+      List<IborCapFloorLegRates> capRatesList,
       int[] startIndex,
       int postion,
       boolean betaFixed,
       ValueType valueType) {
 
     List<Double> vols = volList.subList(startIndex[postion], startIndex[postion + 1]);
-    ResolvedIborCapFloorLeg cap = capList.get(startIndex[postion]);
-    double fwd = ratesProvider.iborIndexRates(cap.getIndex()).rate(cap.getFinalPeriod().getIborRate().getObservation());
+    double fwd = capRatesList.get(startIndex[postion]).getFinalForward();
     double shift = shiftCurve.yValue(timeList.get(startIndex[postion]));
     double factor = valueType.equals(ValueType.BLACK_VOLATILITY) ? 1d : 1d / (fwd + shift);
     List<Double> volsEquiv = vols.stream().map(v -> v * factor).collect(Collectors.toList());
@@ -275,10 +302,9 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
 
   // price function
   private Function<DoubleArray, DoubleArray> createPriceFunction(
-      RatesProvider ratesProvider,
       SabrParametersIborCapletFloorletVolatilities volatilities,
       ZonedDateTime prevExpiry,
-      List<ResolvedIborCapFloorLeg> capList,
+      List<IborCapFloorLegRates> capRatesList,
       List<Double> priceList,
       int[] startIndex,
       int nExpiries,
@@ -291,11 +317,12 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       @Override
       public DoubleArray apply(DoubleArray x) {
         SabrParametersIborCapletFloorletVolatilities volsNew = updateParameters(volatilities, nExpiries, timeIndex, betaFixed, x);
-        return DoubleArray.of(nCaplets,
-            n -> capList.get(currentStart + n).getCapletFloorletPeriods().stream()
-                .filter(p -> p.getFixingDateTime().isAfter(prevExpiry))
-                .mapToDouble(p -> sabrPeriodPricer.presentValue(p, ratesProvider, volsNew).getAmount())
-                .sum() / priceList.get(currentStart + n));
+        double[] values = new double[nCaplets];
+        IntStream stream = IntStream.range(0, nCaplets);
+        (parallel ? stream.parallel() : stream).forEach(n -> values[n] =
+            capRatesList.get(currentStart + n).presentValue(sabrPeriodPricer, volsNew, prevExpiry) /
+                priceList.get(currentStart + n));
+        return DoubleArray.ofUnsafe(values);
       }
     };
     return priceFunction;
@@ -303,10 +330,9 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
 
   // node sensitivity function
   private Function<DoubleArray, DoubleMatrix> createJacobianFunction(
-      RatesProvider ratesProvider,
       SabrParametersIborCapletFloorletVolatilities volatilities,
       ZonedDateTime prevExpiry,
-      List<ResolvedIborCapFloorLeg> capList,
+      List<IborCapFloorLegRates> capRatesList,
       List<Double> priceList,
       Currency currency,
       int[] startIndex,
@@ -325,13 +351,10 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       public DoubleMatrix apply(DoubleArray x) {
         SabrParametersIborCapletFloorletVolatilities volsNew = updateParameters(volatilities, nExpiries, timeIndex, betaFixed, x);
         double[][] jacobian = new double[nCaplets][4];
-        for (int i = 0; i < nCaplets; ++i) {
-          PointSensitivities point = capList.get(currentStart + i).getCapletFloorletPeriods().stream()
-              .filter(p -> p.getFixingDateTime().isAfter(prevExpiry))
-              .map(p -> sabrPeriodPricer.presentValueSensitivityModelParamsSabr(p, ratesProvider, volsNew))
-              .reduce((c1, c2) -> c1.combinedWith(c2))
-              .get()
-              .build();
+        IntStream stream = IntStream.range(0, nCaplets);
+        (parallel ? stream.parallel() : stream).forEach(i -> {
+          PointSensitivities point = capRatesList.get(currentStart + i)
+              .presentValueSensitivityModelParamsSabr(sabrPeriodPricer, volsNew, prevExpiry);
           double targetPrice = priceList.get(currentStart + i);
           CurrencyParameterSensitivities sensi = volsNew.parameterSensitivity(point);
           jacobian[i][0] = sensi.getSensitivity(alphaCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
@@ -345,7 +368,7 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
 
           }
           jacobian[i][3] = sensi.getSensitivity(nuCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
-        }
+        });
         return DoubleMatrix.ofUnsafe(jacobian);
       }
     };
@@ -375,10 +398,9 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
 
   // sum of caplet prices which are not fixed
   private DoubleArray adjustedPrices(
-      RatesProvider ratesProvider,
       IborCapletFloorletVolatilities vols,
       ZonedDateTime prevExpiry,
-      List<ResolvedIborCapFloorLeg> capList,
+      List<IborCapFloorLegRates> capRatesList,
       List<Double> priceList,
       int[] startIndex,
       int timeIndex,
@@ -388,11 +410,13 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       return DoubleArray.filled(nCaplets, 1d);
     }
     int currentStart = startIndex[timeIndex];
-    return DoubleArray.of(nCaplets,
-        n -> (priceList.get(currentStart + n) - capList.get(currentStart + n).getCapletFloorletPeriods().stream()
-            .filter(p -> !p.getFixingDateTime().isAfter(prevExpiry))
-            .mapToDouble(p -> sabrPeriodPricer.presentValue(p, ratesProvider, vols).getAmount())
-            .sum()) / priceList.get(currentStart + n));
+    double[] values = new double[nCaplets];
+    IntStream stream = IntStream.range(0, nCaplets);
+    (parallel ? stream.parallel() : stream).forEach(n -> values[n] =
+        (priceList.get(currentStart + n) -
+            capRatesList.get(currentStart + n).presentValueUpTo(sabrPeriodPricer, vols, prevExpiry)) /
+            priceList.get(currentStart + n));
+    return DoubleArray.ofUnsafe(values);
   }
 
 }
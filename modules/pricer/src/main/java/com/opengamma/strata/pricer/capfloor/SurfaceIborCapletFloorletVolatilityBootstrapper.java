@@ -13,15 +13,16 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
-import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.surface.InterpolatedNodalSurface;
 import com.opengamma.strata.market.surface.Surface;
 import com.opengamma.strata.market.surface.SurfaceMetadata;
@@ -46,6 +47,10 @@ import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
  * returned otherwise. 
  * On the other hand, if the shift curve is present in {@code SurfaceIborCapletFloorletBootstrapVolatilityDefinition}, 
  * Black caplet volatilities are returned for any input volatility type. 
+ * <p>
+ * The caplet volatilities of an expiry are computed independently for each strike, given the caplet volatilities
+ * of the previous expiries. Thus a {@linkplain #parallel() parallel} bootstrapper computes them concurrently.
+ * The result is the same whether the strikes are bootstrapped serially or in parallel.
  */
 public class SurfaceIborCapletFloorletVolatilityBootstrapper extends IborCapletFloorletVolatilityCalibrator {
 
@@ -55,6 +60,11 @@ public class SurfaceIborCapletFloorletVolatilityBootstrapper extends IborCapletF
   public static final SurfaceIborCapletFloorletVolatilityBootstrapper DEFAULT = of(
       VolatilityIborCapFloorLegPricer.DEFAULT, ReferenceData.standard());
 
+  /**
+   * Whether the strikes of each expiry are bootstrapped in parallel.
+   */
+  private final boolean parallel;
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance.
@@ -67,12 +77,29 @@ public class SurfaceIborCapletFloorletVolatilityBootstrapper extends IborCapletF
       VolatilityIborCapFloorLegPricer pricer,
       ReferenceData referenceData) {
 
-    return new SurfaceIborCapletFloorletVolatilityBootstrapper(pricer, referenceData);
+    return new SurfaceIborCapletFloorletVolatilityBootstrapper(pricer, referenceData, false);
   }
 
   // private constructor
-  private SurfaceIborCapletFloorletVolatilityBootstrapper(VolatilityIborCapFloorLegPricer pricer, ReferenceData referenceData) {
+  private SurfaceIborCapletFloorletVolatilityBootstrapper(
+      VolatilityIborCapFloorLegPricer pricer,
+      ReferenceData referenceData,
+      boolean parallel) {
+
     super(pricer, referenceData);
+    this.parallel = parallel;
+  }
+
+  /**
+   * Returns a bootstrapper that computes the caplet volatilities of the strikes of each expiry in parallel.
+   * <p>
+   * The strikes are bootstrapped concurrently using the common fork-join pool.
+   * The expiries are still bootstrapped one after the other.
+   * 
+   * @return the parallel bootstrapper
+   */
+  public SurfaceIborCapletFloorletVolatilityBootstrapper parallel() {
+    return new SurfaceIborCapletFloorletVolatilityBootstrapper(getLegPricer(), getReferenceData(), true);
   }
 
   //-------------------------------------------------------------------------
@@ -117,6 +144,10 @@ public class SurfaceIborCapletFloorletVolatilityBootstrapper extends IborCapletF
       ArgChecker.isTrue(startIndex[i + 1] > startIndex[i], "no valid option data for {}", expiries.get(i));
     }
     int nTotal = startIndex[nExpiries];
+    // the rates are unchanged during the bootstrapping, thus they are computed once for each cap
+    List<IborCapFloorLegRates> capRatesList = capList.stream()
+        .map(cap -> IborCapFloorLegRates.of(cap, ratesProvider))
+        .collect(Guavate.toImmutableList());
     IborCapletFloorletVolatilities vols;
     int start;
     ZonedDateTime prevExpiry;
@@ -128,8 +159,7 @@ public class SurfaceIborCapletFloorletVolatilityBootstrapper extends IborCapletF
         metadata = Surfaces.blackVolatilityByExpiryStrike(bsDefinition.getName().getName(), bsDefinition.getDayCount())
           .withParameterMetadata(metadata.getParameterMetadata().get());
         initialVol = DoubleArray.of(nTotal, n -> volList.get(n) /
-                (ratesProvider.iborIndexRates(index).rate(capList.get(n).getFinalPeriod().getIborRate().getObservation()) +
-                shiftCurve.yValue(timeList.get(n))));
+            (capRatesList.get(n).getFinalForward() + shiftCurve.yValue(timeList.get(n))));
       }
       InterpolatedNodalSurface surface = InterpolatedNodalSurface.of(
           metadata, DoubleArray.copyOf(timeList), strikeShifted, initialVol, bsDefinition.getInterpolator());
@@ -145,23 +175,47 @@ public class SurfaceIborCapletFloorletVolatilityBootstrapper extends IborCapletF
       prevExpiry = capList.get(startIndex[1] - 1).getFinalFixingDateTime();
     }
     for (int i = start; i < nExpiries; ++i) {
-      for (int j = startIndex[i]; j < startIndex[i + 1]; ++j) {
-        Function<Double, double[]> func = getValueVegaFunction(capList.get(j), ratesProvider, vols, prevExpiry, j);
-        GenericImpliedVolatiltySolver solver = new GenericImpliedVolatiltySolver(func);
-        double priceFixed = i == 0 ? 0d : priceFixed(capList.get(j), ratesProvider, vols, prevExpiry);
-        double capletVol = solver.impliedVolatility(priceList.get(j) - priceFixed, initialVol.get(j));
-        vols = vols.withParameter(j, capletVol);
+      // the strikes are independent of one another, thus they can be bootstrapped concurrently
+      IborCapletFloorletVolatilities currentVols = vols;
+      ZonedDateTime currentPrevExpiry = prevExpiry;
+      boolean isFirst = i == 0;
+      DoubleArray currentInitialVol = initialVol;
+      int currentStart = startIndex[i];
+      double[] capletVols = new double[startIndex[i + 1] - currentStart];
+      IntStream stream = IntStream.range(0, capletVols.length);
+      (parallel ? stream.parallel() : stream).forEach(k -> {
+        int j = currentStart + k;
+        capletVols[k] = capletVolatility(capRatesList.get(j), priceList.get(j), currentInitialVol.get(j),
+            currentVols, currentPrevExpiry, j, isFirst);
+      });
+      for (int k = 0; k < capletVols.length; ++k) {
+        vols = vols.withParameter(currentStart + k, capletVols[k]);
       }
       prevExpiry = capList.get(startIndex[i + 1] - 1).getFinalFixingDateTime();
     }
     return IborCapletFloorletVolatilityCalibrationResult.ofRootFind(vols);
   }
 
+  // computes the caplet volatility of a single node
+  private double capletVolatility(
+      IborCapFloorLegRates capRates,
+      double capPrice,
+      double initialVol,
+      IborCapletFloorletVolatilities vols,
+      ZonedDateTime prevExpiry,
+      int nodeIndex,
+      boolean isFirst) {
+
+    Function<Double, double[]> func = getValueVegaFunction(capRates, vols, prevExpiry, nodeIndex);
+    GenericImpliedVolatiltySolver solver = new GenericImpliedVolatiltySolver(func);
+    double priceFixed = isFirst ? 0d : capRates.presentValueUpTo(getLegPricer().getPeriodPricer(), vols, prevExpiry);
+    return solver.impliedVolatility(capPrice - priceFixed, initialVol);
+  }
+
   //-------------------------------------------------------------------------
   // price and vega function
   private Function<Double, double[]> getValueVegaFunction(
-      ResolvedIborCapFloorLeg cap,
-      RatesProvider ratesProvider,
+      IborCapFloorLegRates capRates,
       IborCapletFloorletVolatilities vols,
       ZonedDateTime prevExpiry,
       int nodeIndex) {
@@ -171,17 +225,9 @@ public class SurfaceIborCapletFloorletVolatilityBootstrapper extends IborCapletF
       @Override
       public double[] apply(Double x) {
         IborCapletFloorletVolatilities newVols = vols.withParameter(nodeIndex, x);
-        double price = cap.getCapletFloorletPeriods().stream()
-            .filter(p -> p.getFixingDateTime().isAfter(prevExpiry))
-            .mapToDouble(p -> periodPricer.presentValue(p, ratesProvider, newVols).getAmount())
-            .sum();
-        PointSensitivities point = cap.getCapletFloorletPeriods().stream()
-            .filter(p -> p.getFixingDateTime().isAfter(prevExpiry))
-            .map(p -> periodPricer.presentValueSensitivityModelParamsVolatility(p, ratesProvider, newVols))
-            .reduce((c1, c2) -> c1.combinedWith(c2))
-            .get()
-            .build();
-        CurrencyParameterSensitivities sensi = newVols.parameterSensitivity(point);
+        double price = capRates.presentValue(periodPricer, newVols, prevExpiry);
+        CurrencyParameterSensitivities sensi = newVols.parameterSensitivity(
+            capRates.presentValueSensitivityModelParamsVolatility(periodPricer, newVols, prevExpiry));
         double vega = sensi.getSensitivities().get(0).getSensitivity().get(nodeIndex);
         return new double[] {price, vega};
       }
@@ -189,18 +235,4 @@ public class SurfaceIborCapletFloorletVolatilityBootstrapper extends IborCapletF
     return priceAndVegaFunction;
   }
 
-  // sum of caplet prices which are already fixed
-  private double priceFixed(
-      ResolvedIborCapFloorLeg cap,
-      RatesProvider ratesProvider,
-      IborCapletFloorletVolatilities vols,
-      ZonedDateTime prevExpiry) {
-
-    VolatilityIborCapletFloorletPeriodPricer periodPricer = getLegPricer().getPeriodPricer();
-    return cap.getCapletFloorletPeriods().stream()
-        .filter(p -> !p.getFixingDateTime().isAfter(prevExpiry))
-        .mapToDouble(p -> periodPricer.presentValue(p, ratesProvider, vols).getAmount())
-        .sum();
-  }
-
 }
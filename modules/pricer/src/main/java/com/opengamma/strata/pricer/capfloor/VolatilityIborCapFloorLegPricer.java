@@ -21,6 +21,11 @@ import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
  * <p>
  * The pricing methodologies are defined in individual implementations of the
  * volatilities, {@link IborCapletFloorletVolatilities}. 
+ * <p>
+ * The present value of the leg is calculated by the list-based present value method of the period pricer,
+ * which prices all the unexpired caplets/floorlets together.
+ * If the period pricer overrides one of the single period present value methods,
+ * each period is instead priced using the single period method, such that the override is used.
  */
 public class VolatilityIborCapFloorLegPricer {
 
@@ -72,11 +77,7 @@ public class VolatilityIborCapFloorLegPricer {
       IborCapletFloorletVolatilities volatilities) {
 
     validate(ratesProvider, volatilities);
-    return capFloorLeg.getCapletFloorletPeriods()
-        .stream()
-        .map(period -> periodPricer.presentValue(period, ratesProvider, volatilities))
-        .reduce((c1, c2) -> c1.plus(c2))
-        .get();
+    return periodPricer.presentValue(capFloorLeg.getCapletFloorletPeriods(), ratesProvider, volatilities);
   }
 
   //-------------------------------------------------------------------------
@@ -5,6 +5,10 @@
  */
 package com.opengamma.strata.pricer.capfloor;
 
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
@@ -30,12 +34,27 @@ public class VolatilityIborCapletFloorletPeriodPricer {
    * Default implementation.
    */
   public static final VolatilityIborCapletFloorletPeriodPricer DEFAULT = new VolatilityIborCapletFloorletPeriodPricer();
+  /**
+   * Whether each type of pricer overrides the pricing of a single period.
+   */
+  private static final ClassValue<Boolean> PRESENT_VALUE_OVERRIDDEN = new ClassValue<Boolean>() {
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      return isPresentValueOverridden(type);
+    }
+  };
 
   //-------------------------------------------------------------------------
   /**
    * Calculates the present value of the Ibor caplet/floorlet period.
    * <p>
    * The result is expressed using the currency of the period.
+   * <p>
+   * The value is calculated by
+   * {@link #presentValue(IborCapletFloorletPeriod, double, double, IborCapletFloorletVolatilities)}
+   * from the forward rate and discount factor of the period.
+   * That method is also used by the caplet volatility bootstrappers, thus a subclass that changes
+   * the pricing of a period should override it rather than this method.
    * 
    * @param period  the Ibor caplet/floorlet period
    * @param ratesProvider  the rates provider
@@ -52,19 +71,152 @@ public class VolatilityIborCapletFloorletPeriodPricer {
     if (ratesProvider.getValuationDate().isAfter(period.getPaymentDate())) {
       return CurrencyAmount.of(currency, 0d);
     }
-    double expiry = volatilities.relativeTime(period.getFixingDateTime());
     double df = ratesProvider.discountFactor(currency, period.getPaymentDate());
+    double indexRate = ratesProvider.iborIndexRates(period.getIndex()).rate(period.getIborRate().getObservation());
+    return CurrencyAmount.of(currency, presentValue(period, indexRate, df, volatilities));
+  }
+
+  /**
+   * Calculates the present value of the Ibor caplet/floorlet period from the forward rate and discount factor.
+   * <p>
+   * This is used when the rates of the period are computed once and the period is priced against
+   * many volatilities, as by the caplet volatility bootstrappers.
+   * It is the single point at which the present value of a period is calculated, and the method
+   * to override to change the pricing of a period.
+   * The period must not have been paid, and the volatilities must have been validated.
+   * 
+   * @param period  the Ibor caplet/floorlet period
+   * @param forward  the forward rate of the period
+   * @param discountFactor  the discount factor at the payment date of the period
+   * @param volatilities  the volatilities
+   * @return the present value, in the currency of the period
+   */
+  protected double presentValue(
+      IborCapletFloorletPeriod period,
+      double forward,
+      double discountFactor,
+      IborCapletFloorletVolatilities volatilities) {
+
+    double expiry = volatilities.relativeTime(period.getFixingDateTime());
     PutCall putCall = period.getPutCall();
     double strike = period.getStrike();
-    double indexRate = ratesProvider.iborIndexRates(period.getIndex()).rate(period.getIborRate().getObservation());
     if (expiry < 0d) { // Option has expired already
       double sign = putCall.isCall() ? 1d : -1d;
-      double payoff = Math.max(sign * (indexRate - strike), 0d);
-      return CurrencyAmount.of(currency, df * payoff * period.getYearFraction() * period.getNotional());
+      double payoff = Math.max(sign * (forward - strike), 0d);
+      return discountFactor * payoff * period.getYearFraction() * period.getNotional();
     }
-    double volatility = volatilities.volatility(expiry, strike, indexRate);
-    double price = df * period.getYearFraction() * volatilities.price(expiry, putCall, strike, indexRate, volatility);
-    return CurrencyAmount.of(currency, price * period.getNotional());
+    double volatility = volatilities.volatility(expiry, strike, forward);
+    double price =
+        discountFactor * period.getYearFraction() * volatilities.price(expiry, putCall, strike, forward, volatility);
+    return price * period.getNotional();
+  }
+
+  /**
+   * Calculates the total present value of a list of Ibor caplet/floorlet periods.
+   * <p>
+   * The result is the sum of the present value of each period, as calculated by
+   * {@link #presentValue(IborCapletFloorletPeriod, RatesProvider, IborCapletFloorletVolatilities)}.
+   * The options that have not expired are priced together using
+   * {@link IborCapletFloorletVolatilities#price(double[], PutCall[], double[], double[], double[], double[])},
+   * avoiding the cost of pricing each option separately.
+   * <p>
+   * If a subclass overrides either of the single period present value methods, the periods are
+   * instead priced one by one using
+   * {@link #presentValue(IborCapletFloorletPeriod, RatesProvider, IborCapletFloorletVolatilities)},
+   * such that the override is used.
+   * <p>
+   * The periods must have the same currency.
+   * 
+   * @param periods  the Ibor caplet/floorlet periods
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the volatilities
+   * @return the present value
+   */
+  public CurrencyAmount presentValue(
+      List<IborCapletFloorletPeriod> periods,
+      RatesProvider ratesProvider,
+      IborCapletFloorletVolatilities volatilities) {
+
+    ArgChecker.isFalse(periods.isEmpty(), "Periods must not be empty");
+    Currency currency = periods.get(0).getCurrency();
+    if (PRESENT_VALUE_OVERRIDDEN.get(getClass())) {
+      CurrencyAmount total = presentValue(periods.get(0), ratesProvider, volatilities);
+      for (int i = 1; i < periods.size(); i++) {
+        IborCapletFloorletPeriod period = periods.get(i);
+        ArgChecker.isTrue(period.getCurrency().equals(currency), "Periods must have the same currency");
+        total = total.plus(presentValue(period, ratesProvider, volatilities));
+      }
+      return total;
+    }
+    validate(volatilities);
+    int size = periods.size();
+    double[] values = new double[size];
+    int[] optionIndices = new int[size];
+    double[] expiries = new double[size];
+    PutCall[] putCalls = new PutCall[size];
+    double[] strikes = new double[size];
+    double[] forwards = new double[size];
+    double[] vols = new double[size];
+    int optionCount = 0;
+    for (int i = 0; i < size; i++) {
+      IborCapletFloorletPeriod period = periods.get(i);
+      ArgChecker.isTrue(period.getCurrency().equals(currency), "Periods must have the same currency");
+      if (ratesProvider.getValuationDate().isAfter(period.getPaymentDate())) {
+        continue;
+      }
+      double expiry = volatilities.relativeTime(period.getFixingDateTime());
+      double df = ratesProvider.discountFactor(currency, period.getPaymentDate());
+      PutCall putCall = period.getPutCall();
+      double strike = period.getStrike();
+      double indexRate = ratesProvider.iborIndexRates(period.getIndex()).rate(period.getIborRate().getObservation());
+      if (expiry < 0d) { // Option has expired already
+        double sign = putCall.isCall() ? 1d : -1d;
+        double payoff = Math.max(sign * (indexRate - strike), 0d);
+        values[i] = df * payoff * period.getYearFraction() * period.getNotional();
+      } else {
+        // the discounted accrual factor, multiplied by the price once all the options are priced
+        values[i] = df * period.getYearFraction();
+        optionIndices[optionCount] = i;
+        expiries[optionCount] = expiry;
+        putCalls[optionCount] = putCall;
+        strikes[optionCount] = strike;
+        forwards[optionCount] = indexRate;
+        vols[optionCount] = volatilities.volatility(expiry, strike, indexRate);
+        optionCount++;
+      }
+    }
+    if (optionCount < size) {
+      expiries = Arrays.copyOf(expiries, optionCount);
+      putCalls = Arrays.copyOf(putCalls, optionCount);
+      strikes = Arrays.copyOf(strikes, optionCount);
+      forwards = Arrays.copyOf(forwards, optionCount);
+      vols = Arrays.copyOf(vols, optionCount);
+    }
+    double[] prices = new double[optionCount];
+    volatilities.price(expiries, putCalls, strikes, forwards, vols, prices);
+    for (int j = 0; j < optionCount; j++) {
+      int i = optionIndices[j];
+      values[i] = values[i] * prices[j] * periods.get(i).getNotional();
+    }
+    // sum in the order of the periods
+    double total = values[0];
+    for (int i = 1; i < size; i++) {
+      total += values[i];
+    }
+    return CurrencyAmount.of(currency, total);
+  }
+
+  // checks if a subclass overrides the pricing of a single period
+  private static boolean isPresentValueOverridden(Class<?> type) {
+    for (Class<?> cls = type; cls != VolatilityIborCapletFloorletPeriodPricer.class; cls = cls.getSuperclass()) {
+      for (Method method : cls.getDeclaredMethods()) {
+        if (method.getName().equals("presentValue") && method.getParameterCount() > 0 &&
+            method.getParameterTypes()[0] == IborCapletFloorletPeriod.class) {
+          return true;
+        }
+      }
+    }
+    return false;
   }
 
   //-------------------------------------------------------------------------
@@ -237,6 +389,11 @@ public class VolatilityIborCapletFloorletPeriodPricer {
    * of the present value to the implied volatility.
    * <p>
    * The sensitivity to the implied volatility is also called vega.
+   * <p>
+   * The sensitivity is calculated by
+   * {@link #presentValueSensitivityModelParamsVolatility(IborCapletFloorletPeriod, double, double,
+   * IborCapletFloorletVolatilities)}
+   * from the forward rate and discount factor of the period, which is the method to override.
    * 
    * @param period  the Ibor caplet/floorlet period
    * @param ratesProvider  the rates provider
@@ -249,17 +406,45 @@ public class VolatilityIborCapletFloorletPeriodPricer {
       IborCapletFloorletVolatilities volatilities) {
 
     validate(volatilities);
+    double expiry = volatilities.relativeTime(period.getFixingDateTime());
+    if (expiry <= 0d) { // Option has expired already or at expiry
+      return PointSensitivityBuilder.none();
+    }
+    double forward = ratesProvider.iborIndexRates(period.getIndex()).rate(period.getIborRate().getObservation());
+    double df = ratesProvider.discountFactor(period.getCurrency(), period.getPaymentDate());
+    return presentValueSensitivityModelParamsVolatility(period, forward, df, volatilities);
+  }
+
+  /**
+   * Calculates the present value volatility sensitivity of the Ibor caplet/floorlet
+   * from the forward rate and discount factor.
+   * <p>
+   * This is used when the rates of the period are computed once and the period is priced against
+   * many volatilities, as by the caplet volatility bootstrappers.
+   * The volatilities must have been validated.
+   * 
+   * @param period  the Ibor caplet/floorlet period
+   * @param forward  the forward rate of the period
+   * @param discountFactor  the discount factor at the payment date of the period
+   * @param volatilities  the volatilities
+   * @return the point sensitivity to the volatility
+   */
+  protected PointSensitivityBuilder presentValueSensitivityModelParamsVolatility(
+      IborCapletFloorletPeriod period,
+      double forward,
+      double discountFactor,
+      IborCapletFloorletVolatilities volatilities) {
+
     double expiry = volatilities.relativeTime(period.getFixingDateTime());
     double strike = period.getStrike();
     Currency currency = period.getCurrency();
     if (expiry <= 0d) { // Option has expired already or at expiry
       return PointSensitivityBuilder.none();
     }
-    double forward = ratesProvider.iborIndexRates(period.getIndex()).rate(period.getIborRate().getObservation());
     double volatility = volatilities.volatility(expiry, strike, forward);
     PutCall putCall = period.getPutCall();
-    double df = ratesProvider.discountFactor(currency, period.getPaymentDate());
-    double vega = df * period.getYearFraction() * volatilities.priceVega(expiry, putCall, strike, forward, volatility);
+    double vega = discountFactor * period.getYearFraction() *
+        volatilities.priceVega(expiry, putCall, strike, forward, volatility);
     return IborCapletFloorletSensitivity.of(
         volatilities.getName(),
         expiry,
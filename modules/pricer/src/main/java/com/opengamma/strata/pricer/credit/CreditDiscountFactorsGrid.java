@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * The discount factors used to calibrate credit curves, with the values already computed.
+ * <p>
+ * The credit curves of all the legal entities in a currency are calibrated against the same discount curve,
+ * using CDSs that share the standard dates, and thus the same integration points.
+ * The year fractions, discount factors and zero rates times time queried by the calibration are kept,
+ * such that they are computed once for all the curves rather than once for each curve.
+ * <p>
+ * The values are exactly those computed by the underlying discount factors, thus calibrating using the grid
+ * produces the same curves as calibrating using the discount factors directly.
+ * <p>
+ * This class is thread-safe, a grid is shared by credit curves calibrated concurrently.
+ */
+final class CreditDiscountFactorsGrid {
+
+  /**
+   * The discount factors.
+   */
+  private final CreditDiscountFactors discountFactors;
+  /**
+   * The parameter keys of the discount factors.
+   */
+  private final DoubleArray parameterKeys;
+  /**
+   * The zero rate times time of each time.
+   */
+  private final Map<Double, Double> zeroRateTimesTimes = new ConcurrentHashMap<>();
+  /**
+   * The year fraction of each date.
+   */
+  private final Map<LocalDate, Double> yearFractions = new ConcurrentHashMap<>();
+  /**
+   * The discount factor of each date.
+   */
+  private final Map<LocalDate, Double> discountFactorValues = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the discount factors.
+   *
+   * @param discountFactors  the discount factors
+   * @return the grid
+   */
+  static CreditDiscountFactorsGrid of(CreditDiscountFactors discountFactors) {
+    return new CreditDiscountFactorsGrid(discountFactors);
+  }
+
+  // restricted constructor
+  private CreditDiscountFactorsGrid(CreditDiscountFactors discountFactors) {
+    this.discountFactors = discountFactors;
+    this.parameterKeys = discountFactors.getParameterKeys();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the discount factors.
+   *
+   * @return the discount factors
+   */
+  CreditDiscountFactors getDiscountFactors() {
+    return discountFactors;
+  }
+
+  /**
+   * Gets the parameter keys of the discount factors.
+   *
+   * @return the parameter keys
+   */
+  DoubleArray getParameterKeys() {
+    return parameterKeys;
+  }
+
+  /**
+   * Gets the day count of the discount factors.
+   *
+   * @return the day count
+   */
+  DayCount getDayCount() {
+    return discountFactors.getDayCount();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the zero rate times time, {@code rt}, at the specified time.
+   *
+   * @param time  the time
+   * @return the zero rate times time
+   */
+  double zeroRateTimesTime(double time) {
+    return zeroRateTimesTimes.computeIfAbsent(time, t -> discountFactors.zeroRate(t) * t);
+  }
+
+  /**
+   * Calculates the relative year fraction of the date.
+   *
+   * @param date  the date
+   * @return the year fraction
+   */
+  double relativeYearFraction(LocalDate date) {
+    return yearFractions.computeIfAbsent(date, discountFactors::relativeYearFraction);
+  }
+
+  /**
+   * Calculates the discount factor of the date.
+   *
+   * @param date  the date
+   * @return the discount factor
+   */
+  double discountFactor(LocalDate date) {
+    return discountFactorValues.computeIfAbsent(date, discountFactors::discountFactor);
+  }
+
+}
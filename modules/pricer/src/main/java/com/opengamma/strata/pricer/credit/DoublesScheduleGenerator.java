@@ -52,11 +52,40 @@ public class DoublesScheduleGenerator {
     System.arraycopy(set1, 0, set, 0, n1);
     System.arraycopy(set2, 0, set, n1, n2);
     Arrays.sort(set);
+    return combine(start, end, set, 0, n);
+  }
+
+  /**
+   * Combines the nodes that have already been merged. 
+   * <p>
+   * This produces the same result as {@link #getIntegrationsPoints(double, double, DoubleArray, DoubleArray)}
+   * when the nodes are the sorted union of the discount curve nodes and credit curve nodes.
+   * The merged nodes can thus be computed once and used for all the CDSs priced with the same pair of curves.
+   * 
+   * @param start  the first time in the list
+   * @param end  the last time in the list
+   * @param mergedNodes  the merged nodes, sorted in ascending order
+   * @return the combined list between start and end
+   */
+  static DoubleArray getIntegrationsPoints(double start, double end, double[] mergedNodes) {
+    int n = mergedNodes.length;
+    int lIndex = 0;
+    while (lIndex < n && mergedNodes[lIndex] <= start) {
+      lIndex++;
+    }
+    int uIndex = lIndex;
+    while (uIndex < n && mergedNodes[uIndex] < end) {
+      uIndex++;
+    }
+    return combine(start, end, mergedNodes, lIndex, uIndex);
+  }
 
-    double[] temp = new double[n + 2];
+  // combines the sorted values of the set between the indices, removing the values too close to each other
+  private static DoubleArray combine(double start, double end, double[] set, int fromIndex, int toIndex) {
+    double[] temp = new double[toIndex - fromIndex + 2];
     temp[0] = start;
     int pos = 0;
-    for (int i = 0; i < n; i++) {
+    for (int i = fromIndex; i < toIndex; i++) {
       if (different(temp[pos], set[i])) {
         temp[++pos] = set[i];
       }
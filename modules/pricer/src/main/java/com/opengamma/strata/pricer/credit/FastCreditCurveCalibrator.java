@@ -99,6 +99,27 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
     super(formula, arbHandling);
   }
 
+  // creates a calibrator with parallel calibration of several curves enabled or disabled
+  private FastCreditCurveCalibrator(
+      AccrualOnDefaultFormula formula,
+      ArbitrageHandling arbHandling,
+      boolean parallel) {
+
+    super(formula, arbHandling, parallel);
+  }
+
+  /**
+   * Returns a calibrator that calibrates the curves of several legal entities in parallel.
+   * <p>
+   * The curves passed to the calibration of a list of curve definitions
+   * are calibrated concurrently using the common fork-join pool.
+   * 
+   * @return the parallel calibrator
+   */
+  public FastCreditCurveCalibrator parallel() {
+    return new FastCreditCurveCalibrator(getAccrualOnDefaultFormula(), getArbitrageHandling(), true);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public NodalCurve calibrate(
@@ -111,6 +132,28 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
       RecoveryRates recoveryRates,
       ReferenceData refData) {
 
+    return calibrate(
+        calibrationCDSs,
+        flactionalSpreads,
+        pointsUpfront,
+        name,
+        valuationDate,
+        CreditDiscountFactorsGrid.of(discountFactors),
+        recoveryRates,
+        refData);
+  }
+
+  @Override
+  NodalCurve calibrate(
+      List<ResolvedCdsTrade> calibrationCDSs,
+      DoubleArray flactionalSpreads,
+      DoubleArray pointsUpfront,
+      CurveName name,
+      LocalDate valuationDate,
+      CreditDiscountFactorsGrid discountFactors,
+      RecoveryRates recoveryRates,
+      ReferenceData refData) {
+
     int n = calibrationCDSs.size();
     double[] guess = new double[n];
     double[] t = new double[n];
@@ -238,7 +281,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
     private final double productEffectiveStart;
     private final int startPeriodIndex;
 
-    public Pricer(ResolvedCds nodeCds, CreditDiscountFactors yieldCurve, DoubleArray creditCurveKnots, double fractionalSpread,
+    public Pricer(ResolvedCds nodeCds, CreditDiscountFactorsGrid yieldCurve, DoubleArray creditCurveKnots, double fractionalSpread,
         double pointsUpfront, double lgd, LocalDate stepinDate, LocalDate effectiveStartDate, LocalDate settlementDate,
         double accruedYearFraction) {
 
@@ -259,7 +302,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
       proYieldCurveRT = new double[nProPoints];
       proDF = new double[nProPoints];
       for (int i = 0; i < nProPoints; i++) {
-        proYieldCurveRT[i] = yieldCurve.zeroRate(proLegIntPoints[i]) * proLegIntPoints[i];
+        proYieldCurveRT[i] = yieldCurve.zeroRateTimesTime(proLegIntPoints[i]);
         proDF[i] = Math.exp(-proYieldCurveRT[i]);
       }
       // premium leg
@@ -308,7 +351,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           rt[i] = new double[n];
           premDF[i] = new double[n];
           for (int k = 0; k < n; k++) {
-            rt[i][k] = yieldCurve.zeroRate(premLegIntPoints[i][k]) * premLegIntPoints[i][k];
+            rt[i][k] = yieldCurve.zeroRateTimesTime(premLegIntPoints[i][k]);
             premDF[i][k] = Math.exp(-rt[i][k]);
           }
           premDt[i] = new double[n - 1];
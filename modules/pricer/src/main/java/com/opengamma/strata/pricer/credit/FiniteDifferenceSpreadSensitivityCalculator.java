@@ -6,14 +6,18 @@
 package com.opengamma.strata.pricer.credit;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.curve.CurveName;
@@ -27,6 +31,9 @@ import com.opengamma.strata.product.credit.ResolvedCdsTrade;
  * <p>
  * This computes the present value sensitivity to par spreads of bucketed CDSs by bump-and-reprice, i.e., 
  * finite difference method. 
+ * <p>
+ * When computing the sensitivities of several trades sharing the same CDS bucket, the base curve and
+ * each bumped curve are calibrated once, and all the trades are priced together using each curve.
  */
 public class FiniteDifferenceSpreadSensitivityCalculator extends SpreadSensitivityCalculator {
 
@@ -64,50 +71,37 @@ public class FiniteDifferenceSpreadSensitivityCalculator extends SpreadSensitivi
       CreditRatesProvider ratesProvider,
       ReferenceData refData) {
 
-    checkCdsBucket(trade, bucketCds);
-    ResolvedCds product = trade.getProduct();
-    Currency currency = product.getCurrency();
-    StandardId legalEntityId = product.getLegalEntityId();
-    LocalDate valuationDate = ratesProvider.getValuationDate();
-    ImmutableCreditRatesProvider immutableRatesProvider = ratesProvider.toImmutableCreditRatesProvider();
+    return parallelCs01(ImmutableList.of(trade), bucketCds, ratesProvider, refData).get(0);
+  }
 
+  @Override
+  public List<CurrencyAmount> parallelCs01(
+      List<ResolvedCdsTrade> trades,
+      List<ResolvedCdsTrade> bucketCds,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    trades.forEach(trade -> checkCdsBucket(trade, bucketCds));
+    if (trades.isEmpty()) {
+      return ImmutableList.of();
+    }
+    ImmutableCreditRatesProvider immutableRatesProvider = ratesProvider.toImmutableCreditRatesProvider();
     int nBucket = bucketCds.size();
     DoubleArray impSp = impliedSpread(bucketCds, ratesProvider, refData);
-    NodalCurve creditCurveBase = getCalibrator().calibrate(
-        bucketCds,
-        impSp,
-        DoubleArray.filled(nBucket),
-        CurveName.of("baseImpliedCreditCurve"),
-        valuationDate,
-        ratesProvider.discountFactors(currency),
-        ratesProvider.recoveryRates(legalEntityId),
-        refData);
-    Pair<StandardId, Currency> lePair = Pair.of(legalEntityId, currency);
-
-    IsdaCreditDiscountFactors df = IsdaCreditDiscountFactors.of(currency, valuationDate, creditCurveBase);
-    CreditRatesProvider ratesProviderBase = immutableRatesProvider.toBuilder()
-        .creditCurves(ImmutableMap.of(lePair, LegalEntitySurvivalProbabilities.of(legalEntityId, df)))
-        .build();
-    CurrencyAmount pvBase = getPricer().presentValueOnSettle(trade, ratesProviderBase, PriceType.DIRTY, refData);
+    CreditRatesProvider ratesProviderBase = impliedRatesProvider(
+        bucketCds, impSp, CurveName.of("baseImpliedCreditCurve"), immutableRatesProvider, refData);
+    List<CurrencyAmount> pvBase = getPricer().presentValueOnSettle(trades, ratesProviderBase, PriceType.DIRTY, refData);
 
     DoubleArray bumpedSp = DoubleArray.of(nBucket, i -> impSp.get(i) + bumpAmount);
-    NodalCurve creditCurveBump = getCalibrator().calibrate(
-        bucketCds,
-        bumpedSp,
-        DoubleArray.filled(nBucket),
-        CurveName.of("bumpedImpliedCreditCurve"),
-        valuationDate,
-        ratesProvider.discountFactors(currency),
-        ratesProvider.recoveryRates(legalEntityId),
-        refData);
-    IsdaCreditDiscountFactors dfBump = IsdaCreditDiscountFactors.of(currency, valuationDate, creditCurveBump);
-    CreditRatesProvider ratesProviderBump = immutableRatesProvider.toBuilder()
-        .creditCurves(
-            ImmutableMap.of(lePair, LegalEntitySurvivalProbabilities.of(legalEntityId, dfBump)))
-        .build();
-    CurrencyAmount pvBumped = getPricer().presentValueOnSettle(trade, ratesProviderBump, PriceType.DIRTY, refData);
-
-    return CurrencyAmount.of(currency, (pvBumped.getAmount() - pvBase.getAmount()) / bumpAmount);
+    CreditRatesProvider ratesProviderBump = impliedRatesProvider(
+        bucketCds, bumpedSp, CurveName.of("bumpedImpliedCreditCurve"), immutableRatesProvider, refData);
+    List<CurrencyAmount> pvBumped =
+        getPricer().presentValueOnSettle(trades, ratesProviderBump, PriceType.DIRTY, refData);
+
+    return IntStream.range(0, trades.size())
+        .mapToObj(i -> CurrencyAmount.of(
+            pvBase.get(i).getCurrency(), (pvBumped.get(i).getAmount() - pvBase.get(i).getAmount()) / bumpAmount))
+        .collect(Guavate.toImmutableList());
   }
 
   @Override
@@ -117,52 +111,69 @@ public class FiniteDifferenceSpreadSensitivityCalculator extends SpreadSensitivi
       CreditRatesProvider ratesProvider,
       ReferenceData refData) {
 
-    checkCdsBucket(trade, bucketCds);
-    ResolvedCds product = trade.getProduct();
-    Currency currency = product.getCurrency();
-    StandardId legalEntityId = product.getLegalEntityId();
-    LocalDate valuationDate = ratesProvider.getValuationDate();
-    ImmutableCreditRatesProvider immutableRatesProvider = ratesProvider.toImmutableCreditRatesProvider();
+    return computedBucketedCs01(ImmutableList.of(trade), bucketCds, ratesProvider, refData).get(0);
+  }
 
+  @Override
+  List<DoubleArray> computedBucketedCs01(
+      List<ResolvedCdsTrade> trades,
+      List<ResolvedCdsTrade> bucketCds,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    trades.forEach(trade -> checkCdsBucket(trade, bucketCds));
+    if (trades.isEmpty()) {
+      return ImmutableList.of();
+    }
+    ImmutableCreditRatesProvider immutableRatesProvider = ratesProvider.toImmutableCreditRatesProvider();
+    int nTrades = trades.size();
     int nBucket = bucketCds.size();
-    double[] res = new double[nBucket];
+    double[][] res = new double[nTrades][nBucket];
     DoubleArray impSp = impliedSpread(bucketCds, ratesProvider, refData);
-    NodalCurve creditCurveBase = getCalibrator().calibrate(
+    CreditRatesProvider ratesProviderBase = impliedRatesProvider(
+        bucketCds, impSp, CurveName.of("baseImpliedCreditCurve"), immutableRatesProvider, refData);
+    List<CurrencyAmount> pvBase = getPricer().presentValueOnSettle(trades, ratesProviderBase, PriceType.DIRTY, refData);
+    for (int i = 0; i < nBucket; ++i) {
+      double[] bumpedSp = impSp.toArray();
+      bumpedSp[i] += bumpAmount;
+      CreditRatesProvider ratesProviderBump = impliedRatesProvider(
+          bucketCds, DoubleArray.ofUnsafe(bumpedSp), CurveName.of("bumpedImpliedCreditCurve"),
+          immutableRatesProvider, refData);
+      List<CurrencyAmount> pvBumped =
+          getPricer().presentValueOnSettle(trades, ratesProviderBump, PriceType.DIRTY, refData);
+      for (int j = 0; j < nTrades; ++j) {
+        res[j][i] = (pvBumped.get(j).getAmount() - pvBase.get(j).getAmount()) / bumpAmount;
+      }
+    }
+    return Arrays.stream(res).map(DoubleArray::ofUnsafe).collect(Guavate.toImmutableList());
+  }
+
+  // the rates provider with the credit curve calibrated to the bucket CDSs and the spreads
+  private CreditRatesProvider impliedRatesProvider(
+      List<ResolvedCdsTrade> bucketCds,
+      DoubleArray spreads,
+      CurveName curveName,
+      ImmutableCreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    ResolvedCds product = bucketCds.get(0).getProduct();
+    Currency currency = product.getCurrency();
+    StandardId legalEntityId = product.getLegalEntityId();
+    LocalDate valuationDate = ratesProvider.getValuationDate();
+    NodalCurve creditCurve = getCalibrator().calibrate(
         bucketCds,
-        impSp,
-        DoubleArray.filled(nBucket),
-        CurveName.of("baseImpliedCreditCurve"),
+        spreads,
+        DoubleArray.filled(bucketCds.size()),
+        curveName,
         valuationDate,
         ratesProvider.discountFactors(currency),
         ratesProvider.recoveryRates(legalEntityId),
         refData);
+    IsdaCreditDiscountFactors df = IsdaCreditDiscountFactors.of(currency, valuationDate, creditCurve);
     Pair<StandardId, Currency> lePair = Pair.of(legalEntityId, currency);
-
-    IsdaCreditDiscountFactors df = IsdaCreditDiscountFactors.of(currency, valuationDate, creditCurveBase);
-    CreditRatesProvider ratesProviderBase = immutableRatesProvider.toBuilder()
+    return ratesProvider.toBuilder()
         .creditCurves(ImmutableMap.of(lePair, LegalEntitySurvivalProbabilities.of(legalEntityId, df)))
         .build();
-    double pvBase = getPricer().presentValueOnSettle(trade, ratesProviderBase, PriceType.DIRTY, refData).getAmount();
-    for (int i = 0; i < nBucket; ++i) {
-      double[] bumpedSp = impSp.toArray();
-      bumpedSp[i] += bumpAmount;
-      NodalCurve creditCurveBump = getCalibrator().calibrate(
-          bucketCds,
-          DoubleArray.ofUnsafe(bumpedSp),
-          DoubleArray.filled(nBucket),
-          CurveName.of("bumpedImpliedCreditCurve"),
-          valuationDate,
-          ratesProvider.discountFactors(currency),
-          ratesProvider.recoveryRates(legalEntityId),
-          refData);
-      IsdaCreditDiscountFactors dfBump = IsdaCreditDiscountFactors.of(currency, valuationDate, creditCurveBump);
-      CreditRatesProvider ratesProviderBump = immutableRatesProvider.toBuilder()
-          .creditCurves(ImmutableMap.of(lePair, LegalEntitySurvivalProbabilities.of(legalEntityId, dfBump)))
-          .build();
-      double pvBumped = getPricer().presentValueOnSettle(trade, ratesProviderBump, PriceType.DIRTY, refData).getAmount();
-      res[i] = (pvBumped - pvBase) / bumpAmount;
-    }
-    return DoubleArray.ofUnsafe(res);
   }
 
 }
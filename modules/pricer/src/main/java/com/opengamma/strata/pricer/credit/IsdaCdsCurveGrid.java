@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.DoubleStream;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * The merged node grid of a pair of discount curve and credit curve, with the curve values on the grid.
+ * <p>
+ * The ISDA model integrates the protection leg and the accrual-on-default over the union of the nodes of
+ * the discount curve and the credit curve. All the CDSs priced using the same pair of curves share these nodes,
+ * thus the union is computed once and the curve values at each node are computed at most once.
+ * <p>
+ * The values at the other times and dates, such as the protection end dates and the payment dates,
+ * are also kept, as the standard CDSs share these dates.
+ * The values are exactly those computed by the underlying curves, thus pricing using the grid
+ * produces the same results as pricing using the curves directly.
+ * <p>
+ * A grid is used by a single pricing call and is not thread-safe.
+ */
+final class IsdaCdsCurveGrid {
+
+  /**
+   * The discount factors.
+   */
+  private final CreditDiscountFactors discountFactors;
+  /**
+   * The survival probabilities.
+   */
+  private final LegalEntitySurvivalProbabilities survivalProbabilities;
+  /**
+   * The union of the nodes of the two curves, sorted in ascending order.
+   */
+  private final double[] nodes;
+  /**
+   * The values at each node, computed on first use.
+   */
+  private final double[][] nodeValues;
+  /**
+   * The values at the times that are not nodes.
+   */
+  private final Map<Double, double[]> timeValues = new HashMap<>();
+  /**
+   * The year fraction of each date.
+   */
+  private final Map<LocalDate, Double> yearFractions = new HashMap<>();
+  /**
+   * The discount factor of each date.
+   */
+  private final Map<LocalDate, Double> discountFactorValues = new HashMap<>();
+  /**
+   * The survival probability of each date.
+   */
+  private final Map<LocalDate, Double> survivalProbabilityValues = new HashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the discount factors and survival probabilities.
+   *
+   * @param discountFactors  the discount factors
+   * @param survivalProbabilities  the survival probabilities
+   * @return the grid
+   */
+  static IsdaCdsCurveGrid of(
+      CreditDiscountFactors discountFactors,
+      LegalEntitySurvivalProbabilities survivalProbabilities) {
+
+    double[] nodes = DoubleStream.concat(
+        discountFactors.getParameterKeys().stream(),
+        survivalProbabilities.getParameterKeys().stream())
+        .sorted()
+        .distinct()
+        .toArray();
+    return new IsdaCdsCurveGrid(discountFactors, survivalProbabilities, nodes);
+  }
+
+  // restricted constructor
+  private IsdaCdsCurveGrid(
+      CreditDiscountFactors discountFactors,
+      LegalEntitySurvivalProbabilities survivalProbabilities,
+      double[] nodes) {
+
+    this.discountFactors = discountFactors;
+    this.survivalProbabilities = survivalProbabilities;
+    this.nodes = nodes;
+    this.nodeValues = new double[nodes.length][];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the discount factors.
+   *
+   * @return the discount factors
+   */
+  CreditDiscountFactors getDiscountFactors() {
+    return discountFactors;
+  }
+
+  /**
+   * Gets the survival probabilities.
+   *
+   * @return the survival probabilities
+   */
+  LegalEntitySurvivalProbabilities getSurvivalProbabilities() {
+    return survivalProbabilities;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the integration points between the start and end.
+   * <p>
+   * See {@link DoublesScheduleGenerator#getIntegrationsPoints(double, double, DoubleArray, DoubleArray)}.
+   *
+   * @param start  the first time
+   * @param end  the last time
+   * @return the integration points
+   */
+  DoubleArray integrationPoints(double start, double end) {
+    return DoublesScheduleGenerator.getIntegrationsPoints(start, end, nodes);
+  }
+
+  /**
+   * Obtains the curve values at the specified time.
+   * <p>
+   * The values are the hazard rate times time, the zero rate times time, and the product of
+   * the survival probability and the discount factor, {@code exp(-ht - rt)}.
+   * The returned array must not be modified.
+   *
+   * @param time  the time
+   * @return the values, {@code ht}, {@code rt} and {@code exp(-ht - rt)}
+   */
+  double[] values(double time) {
+    int index = Arrays.binarySearch(nodes, time);
+    if (index < 0) {
+      return timeValues.computeIfAbsent(time, this::computeValues);
+    }
+    double[] values = nodeValues[index];
+    if (values == null) {
+      values = computeValues(time);
+      nodeValues[index] = values;
+    }
+    return values;
+  }
+
+  // computes the values at the time
+  private double[] computeValues(double time) {
+    double ht = survivalProbabilities.zeroRate(time) * time;
+    double rt = discountFactors.zeroRate(time) * time;
+    return new double[] {ht, rt, Math.exp(-ht - rt)};
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the relative year fraction of the date, using the discount factors.
+   *
+   * @param date  the date
+   * @return the year fraction
+   */
+  double relativeYearFraction(LocalDate date) {
+    return yearFractions.computeIfAbsent(date, discountFactors::relativeYearFraction);
+  }
+
+  /**
+   * Calculates the discount factor of the date.
+   *
+   * @param date  the date
+   * @return the discount factor
+   */
+  double discountFactor(LocalDate date) {
+    return discountFactorValues.computeIfAbsent(date, discountFactors::discountFactor);
+  }
+
+  /**
+   * Calculates the survival probability of the date.
+   *
+   * @param date  the date
+   * @return the survival probability
+   */
+  double survivalProbability(LocalDate date) {
+    return survivalProbabilityValues.computeIfAbsent(date, survivalProbabilities::survivalProbability);
+  }
+
+}
@@ -10,7 +10,12 @@ import static com.opengamma.strata.math.impl.util.Epsilon.epsilonP;
 import static com.opengamma.strata.math.impl.util.Epsilon.epsilonPP;
 
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
@@ -116,14 +121,25 @@ public class IsdaCdsProductPricer {
     if (!cds.getProtectionEndDate().isAfter(ratesProvider.getValuationDate())) { //short cut already expired CDSs
       return 0d;
     }
+    IsdaCdsCurveGrid grid = curveGrid(cds, ratesProvider);
+    return price(cds, ratesProvider, grid, fractionalSpread, referenceDate, priceType, refData);
+  }
+
+  // internal price computation using the curve grid of the CDS, the CDS must not be expired
+  private double price(
+      ResolvedCds cds,
+      CreditRatesProvider ratesProvider,
+      IsdaCdsCurveGrid grid,
+      double fractionalSpread,
+      LocalDate referenceDate,
+      PriceType priceType,
+      ReferenceData refData) {
+
     LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
     LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     double recoveryRate = recoveryRate(cds, ratesProvider);
-    Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
-    double protectionLeg =
-        protectionLeg(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate, recoveryRate);
-    double rpv01 = riskyAnnuity(
-        cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate, priceType);
+    double protectionLeg = (1d - recoveryRate) * protectionFull(cds, grid, referenceDate, effectiveStartDate);
+    double rpv01 = riskyAnnuity(cds, grid, referenceDate, stepinDate, effectiveStartDate, priceType);
     return protectionLeg - rpv01 * fractionalSpread;
   }
 
@@ -189,6 +205,56 @@ public class IsdaCdsProductPricer {
     return CurrencyAmount.of(cds.getCurrency(), cds.getBuySell().normalize(cds.getNotional()) * price);
   }
 
+  /**
+   * Calculates the present value of several CDS products.
+   * <p>
+   * The result is the same as calling
+   * {@link #presentValue(ResolvedCds, CreditRatesProvider, LocalDate, PriceType, ReferenceData)}
+   * for each product. The products with the same legal entity and currency are priced using the same pair of
+   * credit curve and discount curve. The merged nodes of each pair and the curve values at these nodes are thus
+   * computed once and shared by all the products priced using the pair.
+   * This is intended for pricing many CDSs against a smaller number of curves.
+   * 
+   * @param cdsList  the products
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the present values, in the same order as the products
+   */
+  public List<CurrencyAmount> presentValue(
+      List<ResolvedCds> cdsList,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    return presentValue(cdsList, ratesProvider, Collections.nCopies(cdsList.size(), referenceDate), priceType, refData);
+  }
+
+  // internal present value computation for several products, with a reference date for each product
+  List<CurrencyAmount> presentValue(
+      List<ResolvedCds> cdsList,
+      CreditRatesProvider ratesProvider,
+      List<LocalDate> referenceDates,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    ArgChecker.isTrue(cdsList.size() == referenceDates.size(), "Each product must have a reference date");
+    Map<Pair<StandardId, Currency>, IsdaCdsCurveGrid> grids = new HashMap<>();
+    ImmutableList.Builder<CurrencyAmount> builder = ImmutableList.builder();
+    for (int i = 0; i < cdsList.size(); ++i) {
+      ResolvedCds cds = cdsList.get(i);
+      double price = 0d;
+      if (!isExpired(cds, ratesProvider)) {
+        IsdaCdsCurveGrid grid = curveGrid(cds, ratesProvider, grids);
+        price = price(cds, ratesProvider, grid, cds.getFixedRate(), referenceDates.get(i), priceType, refData);
+      }
+      builder.add(CurrencyAmount.of(cds.getCurrency(), cds.getBuySell().normalize(cds.getNotional()) * price));
+    }
+    return builder.build();
+  }
+
   /**
    * Calculates the present value sensitivity of the product. 
    * <p>
@@ -245,14 +311,63 @@ public class IsdaCdsProductPricer {
       ReferenceData refData) {
 
     ArgChecker.isTrue(cds.getProtectionEndDate().isAfter(ratesProvider.getValuationDate()), "CDS already expired");
+    return parSpread(cds, ratesProvider, curveGrid(cds, ratesProvider), referenceDate, refData);
+  }
+
+  /**
+   * Calculates the par spread of several CDS products.
+   * <p>
+   * The result is the same as calling {@link #parSpread(ResolvedCds, CreditRatesProvider, LocalDate, ReferenceData)}
+   * for each product. The merged nodes of each pair of credit curve and discount curve, and the curve values
+   * at these nodes, are shared by the products priced using the pair.
+   * 
+   * @param cdsList  the products
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param refData  the reference data
+   * @return the par spreads, in the same order as the products
+   */
+  public DoubleArray parSpread(
+      List<ResolvedCds> cdsList,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      ReferenceData refData) {
+
+    return parSpread(cdsList, ratesProvider, Collections.nCopies(cdsList.size(), referenceDate), refData);
+  }
+
+  // internal par spread computation for several products, with a reference date for each product
+  DoubleArray parSpread(
+      List<ResolvedCds> cdsList,
+      CreditRatesProvider ratesProvider,
+      List<LocalDate> referenceDates,
+      ReferenceData refData) {
+
+    ArgChecker.isTrue(cdsList.size() == referenceDates.size(), "Each product must have a reference date");
+    Map<Pair<StandardId, Currency>, IsdaCdsCurveGrid> grids = new HashMap<>();
+    double[] parSpreads = new double[cdsList.size()];
+    for (int i = 0; i < parSpreads.length; ++i) {
+      ResolvedCds cds = cdsList.get(i);
+      ArgChecker.isTrue(cds.getProtectionEndDate().isAfter(ratesProvider.getValuationDate()), "CDS already expired");
+      IsdaCdsCurveGrid grid = curveGrid(cds, ratesProvider, grids);
+      parSpreads[i] = parSpread(cds, ratesProvider, grid, referenceDates.get(i), refData);
+    }
+    return DoubleArray.ofUnsafe(parSpreads);
+  }
+
+  // internal par spread computation using the curve grid of the CDS
+  private double parSpread(
+      ResolvedCds cds,
+      CreditRatesProvider ratesProvider,
+      IsdaCdsCurveGrid grid,
+      LocalDate referenceDate,
+      ReferenceData refData) {
+
     LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
     LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     double recoveryRate = recoveryRate(cds, ratesProvider);
-    Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
-    double protectionLeg =
-        protectionLeg(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate, recoveryRate);
-    double riskyAnnuity =
-        riskyAnnuity(cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate, PriceType.CLEAN);
+    double protectionLeg = (1d - recoveryRate) * protectionFull(cds, grid, referenceDate, effectiveStartDate);
+    double riskyAnnuity = riskyAnnuity(cds, grid, referenceDate, stepinDate, effectiveStartDate, PriceType.CLEAN);
     return protectionLeg / riskyAnnuity;
   }
 
@@ -484,21 +599,32 @@ public class IsdaCdsProductPricer {
       LocalDate referenceDate,
       LocalDate effectiveStartDate) {
 
-    DoubleArray integrationSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
-        discountFactors.relativeYearFraction(effectiveStartDate),
-        discountFactors.relativeYearFraction(cds.getProtectionEndDate()),
-        discountFactors.getParameterKeys(),
-        survivalProbabilities.getParameterKeys());
+    IsdaCdsCurveGrid grid = IsdaCdsCurveGrid.of(discountFactors, survivalProbabilities);
+    return protectionFull(cds, grid, referenceDate, effectiveStartDate);
+  }
+
+  // computes protection leg pv per unit notional, without loss-given-default rate multiplied, using the curve grid
+  double protectionFull(
+      ResolvedCds cds,
+      IsdaCdsCurveGrid grid,
+      LocalDate referenceDate,
+      LocalDate effectiveStartDate) {
+
+    DoubleArray integrationSchedule = grid.integrationPoints(
+        grid.relativeYearFraction(effectiveStartDate),
+        grid.relativeYearFraction(cds.getProtectionEndDate()));
 
     double pv = 0d;
-    double ht0 = survivalProbabilities.zeroRate(integrationSchedule.get(0)) * integrationSchedule.get(0);
-    double rt0 = discountFactors.zeroRate(integrationSchedule.get(0)) * integrationSchedule.get(0);
-    double b0 = Math.exp(-ht0 - rt0);
+    double[] values0 = grid.values(integrationSchedule.get(0));
+    double ht0 = values0[0];
+    double rt0 = values0[1];
+    double b0 = values0[2];
     int n = integrationSchedule.size();
     for (int i = 1; i < n; ++i) {
-      double ht1 = survivalProbabilities.zeroRate(integrationSchedule.get(i)) * integrationSchedule.get(i);
-      double rt1 = discountFactors.zeroRate(integrationSchedule.get(i)) * integrationSchedule.get(i);
-      double b1 = Math.exp(-ht1 - rt1);
+      double[] values1 = grid.values(integrationSchedule.get(i));
+      double ht1 = values1[0];
+      double rt1 = values1[1];
+      double b1 = values1[2];
       double dht = ht1 - ht0;
       double drt = rt1 - rt0;
       double dhrt = dht + drt;
@@ -516,7 +642,7 @@ public class IsdaCdsProductPricer {
       b0 = b1;
     }
     // roll to the cash settle date
-    double df = discountFactors.discountFactor(referenceDate);
+    double df = grid.discountFactor(referenceDate);
 
     return pv / df;
   }
@@ -531,11 +657,24 @@ public class IsdaCdsProductPricer {
       LocalDate effectiveStartDate,
       PriceType priceType) {
 
+    IsdaCdsCurveGrid grid = IsdaCdsCurveGrid.of(discountFactors, survivalProbabilities);
+    return riskyAnnuity(cds, grid, referenceDate, stepinDate, effectiveStartDate, priceType);
+  }
+
+  // computes risky annuity using the curve grid
+  double riskyAnnuity(
+      ResolvedCds cds,
+      IsdaCdsCurveGrid grid,
+      LocalDate referenceDate,
+      LocalDate stepinDate,
+      LocalDate effectiveStartDate,
+      PriceType priceType) {
+
     double pv = 0d;
     for (CreditCouponPaymentPeriod coupon : cds.getPaymentPeriods()) {
       if (stepinDate.isBefore(coupon.getEndDate())) {
-        double q = survivalProbabilities.survivalProbability(coupon.getEffectiveEndDate());
-        double p = discountFactors.discountFactor(coupon.getPaymentDate());
+        double q = grid.survivalProbability(coupon.getEffectiveEndDate());
+        double p = grid.discountFactor(coupon.getPaymentDate());
         pv += coupon.getYearFraction() * p * q;
       }
     }
@@ -543,18 +682,15 @@ public class IsdaCdsProductPricer {
     if (cds.getPaymentOnDefault().isAccruedInterest()) {
       // This is needed so that the code is consistent with ISDA C when the Markit `fix' is used. 
       LocalDate start = cds.getPaymentPeriods().size() == 1 ? effectiveStartDate : cds.getAccrualStartDate();
-      DoubleArray integrationSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
-          discountFactors.relativeYearFraction(start),
-          discountFactors.relativeYearFraction(cds.getProtectionEndDate()),
-          discountFactors.getParameterKeys(),
-          survivalProbabilities.getParameterKeys());
+      DoubleArray integrationSchedule = grid.integrationPoints(
+          grid.relativeYearFraction(start),
+          grid.relativeYearFraction(cds.getProtectionEndDate()));
       for (CreditCouponPaymentPeriod coupon : cds.getPaymentPeriods()) {
-        pv += singlePeriodAccrualOnDefault(
-            coupon, effectiveStartDate, integrationSchedule, discountFactors, survivalProbabilities);
+        pv += singlePeriodAccrualOnDefault(coupon, effectiveStartDate, integrationSchedule, grid);
       }
     }
     // roll to the cash settle date
-    double df = discountFactors.discountFactor(referenceDate);
+    double df = grid.discountFactor(referenceDate);
     pv /= df;
 
     if (priceType.isCleanPrice()) {
@@ -569,8 +705,7 @@ public class IsdaCdsProductPricer {
       CreditCouponPaymentPeriod coupon,
       LocalDate effectiveStartDate,
       DoubleArray integrationSchedule,
-      CreditDiscountFactors discountFactors,
-      LegalEntitySurvivalProbabilities survivalProbabilities) {
+      IsdaCdsCurveGrid grid) {
 
     LocalDate start =
         coupon.getEffectiveStartDate().isBefore(effectiveStartDate) ? effectiveStartDate : coupon.getEffectiveStartDate();
@@ -578,23 +713,25 @@ public class IsdaCdsProductPricer {
       return 0d; // this coupon has already expired 
     }
 
-    DoubleArray knots = DoublesScheduleGenerator.truncateSetInclusive(discountFactors.relativeYearFraction(start),
-        discountFactors.relativeYearFraction(coupon.getEffectiveEndDate()), integrationSchedule);
+    DoubleArray knots = DoublesScheduleGenerator.truncateSetInclusive(grid.relativeYearFraction(start),
+        grid.relativeYearFraction(coupon.getEffectiveEndDate()), integrationSchedule);
 
     double t0Knot = knots.get(0);
-    double ht0 = survivalProbabilities.zeroRate(t0Knot) * t0Knot;
-    double rt0 = discountFactors.zeroRate(t0Knot) * t0Knot;
-    double b0 = Math.exp(-rt0 - ht0);
+    double[] values0 = grid.values(t0Knot);
+    double ht0 = values0[0];
+    double rt0 = values0[1];
+    double b0 = values0[2];
 
-    double effStart = discountFactors.relativeYearFraction(coupon.getEffectiveStartDate());
+    double effStart = grid.relativeYearFraction(coupon.getEffectiveStartDate());
     double t0 = t0Knot - effStart + omega;
     double pv = 0d;
     final int nItems = knots.size();
     for (int j = 1; j < nItems; ++j) {
       double t = knots.get(j);
-      double ht1 = survivalProbabilities.zeroRate(t) * t;
-      double rt1 = discountFactors.zeroRate(t) * t;
-      double b1 = Math.exp(-rt1 - ht1);
+      double[] values1 = grid.values(t);
+      double ht1 = values1[0];
+      double rt1 = values1[1];
+      double b1 = values1[2];
 
       double dt = knots.get(j) - knots.get(j - 1);
 
@@ -626,7 +763,7 @@ public class IsdaCdsProductPricer {
     }
 
     double yearFractionCurve =
-        discountFactors.getDayCount().relativeYearFraction(coupon.getStartDate(), coupon.getEndDate());
+        grid.getDiscountFactors().getDayCount().relativeYearFraction(coupon.getStartDate(), coupon.getEndDate());
     return coupon.getYearFraction() * pv / yearFractionCurve;
   }
 
@@ -882,6 +1019,22 @@ public class IsdaCdsProductPricer {
     ArgChecker.isTrue(recoveryRates instanceof ConstantRecoveryRates, "recoveryRates must be ConstantRecoveryRates");
   }
 
+  // obtains the curve grid of the CDS, shared by the CDSs with the same legal entity and currency
+  private IsdaCdsCurveGrid curveGrid(
+      ResolvedCds cds,
+      CreditRatesProvider ratesProvider,
+      Map<Pair<StandardId, Currency>, IsdaCdsCurveGrid> grids) {
+
+    return grids.computeIfAbsent(
+        Pair.of(cds.getLegalEntityId(), cds.getCurrency()), key -> curveGrid(cds, ratesProvider));
+  }
+
+  // obtains the curve grid of the CDS
+  private IsdaCdsCurveGrid curveGrid(ResolvedCds cds, CreditRatesProvider ratesProvider) {
+    Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
+    return IsdaCdsCurveGrid.of(rates.getFirst(), rates.getSecond());
+  }
+
   private Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> reduceDiscountFactors(
       ResolvedCds cds,
       CreditRatesProvider ratesProvider) {
@@ -6,14 +6,18 @@
 package com.opengamma.strata.pricer.credit;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.collect.Guavate;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.DiscountingPaymentPricer;
 import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.product.credit.ResolvedCds;
 import com.opengamma.strata.product.credit.ResolvedCdsTrade;
 
 /**
@@ -146,6 +150,30 @@ public class IsdaCdsTradePricer {
     return productPricer.parSpread(trade.getProduct(), ratesProvider, settlementDate, refData);
   }
 
+  /**
+   * Calculates the par spread of the underlying products of several trades.
+   * <p>
+   * The result is the same as calling {@link #parSpread(ResolvedCdsTrade, CreditRatesProvider, ReferenceData)}
+   * for each trade. The curve values are shared by the trades priced using the same pair of curves,
+   * see {@link IsdaCdsProductPricer#parSpread(List, CreditRatesProvider, LocalDate, ReferenceData)}.
+   * 
+   * @param trades  the trades
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the par spreads, in the same order as the trades
+   */
+  public DoubleArray parSpread(
+      List<ResolvedCdsTrade> trades,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    List<ResolvedCds> products = trades.stream().map(ResolvedCdsTrade::getProduct).collect(Guavate.toImmutableList());
+    List<LocalDate> settlementDates = trades.stream()
+        .map(trade -> calculateSettlementDate(trade, ratesProvider, refData))
+        .collect(Guavate.toImmutableList());
+    return productPricer.parSpread(products, ratesProvider, settlementDates, refData);
+  }
+
   /**
    * Calculates the par spread sensitivity of the underling product.
    * <p>
@@ -245,6 +273,33 @@ public class IsdaCdsTradePricer {
     return productPricer.presentValue(trade.getProduct(), ratesProvider, settlementDate, priceType, refData);
   }
 
+  /**
+   * Calculates the present value of the underlying products of several trades. 
+   * <p>
+   * The result is the same as calling
+   * {@link #presentValueOnSettle(ResolvedCdsTrade, CreditRatesProvider, PriceType, ReferenceData)}
+   * for each trade. The curve values are shared by the trades priced using the same pair of curves,
+   * see {@link IsdaCdsProductPricer#presentValue(List, CreditRatesProvider, LocalDate, PriceType, ReferenceData)}.
+   * 
+   * @param trades  the trades
+   * @param ratesProvider  the rates provider
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the present values, in the same order as the trades
+   */
+  public List<CurrencyAmount> presentValueOnSettle(
+      List<ResolvedCdsTrade> trades,
+      CreditRatesProvider ratesProvider,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    List<ResolvedCds> products = trades.stream().map(ResolvedCdsTrade::getProduct).collect(Guavate.toImmutableList());
+    List<LocalDate> settlementDates = trades.stream()
+        .map(trade -> calculateSettlementDate(trade, ratesProvider, refData))
+        .collect(Guavate.toImmutableList());
+    return productPricer.presentValue(products, ratesProvider, settlementDates, priceType, refData);
+  }
+
   /**
    * Calculates the present value sensitivity of the underlying product. 
    * <p>
@@ -6,11 +6,16 @@
 package com.opengamma.strata.pricer.credit;
 
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
@@ -21,6 +26,7 @@ import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Guavate;
+import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.tuple.Pair;
@@ -84,6 +90,10 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
    * The trade pricer.
    */
   private final IsdaCdsTradePricer tradePricer;
+  /**
+   * Whether the curves of several legal entities are calibrated in parallel.
+   */
+  private final boolean parallel;
 
   //-------------------------------------------------------------------------
   protected IsdaCompliantCreditCurveCalibrator() {
@@ -95,9 +105,18 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
   }
 
   protected IsdaCompliantCreditCurveCalibrator(AccrualOnDefaultFormula formula, ArbitrageHandling arbHandling) {
+    this(formula, arbHandling, false);
+  }
+
+  protected IsdaCompliantCreditCurveCalibrator(
+      AccrualOnDefaultFormula formula,
+      ArbitrageHandling arbHandling,
+      boolean parallel) {
+
     this.arbHandling = ArgChecker.notNull(arbHandling, "arbHandling");
     this.formula = ArgChecker.notNull(formula, "formula");
     this.tradePricer = new IsdaCdsTradePricer(formula);
+    this.parallel = parallel;
   }
 
   //-------------------------------------------------------------------------
@@ -132,6 +151,15 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
     return tradePricer;
   }
 
+  /**
+   * Checks if the curves of several legal entities are calibrated in parallel.
+   * 
+   * @return true if the curves are calibrated in parallel
+   */
+  protected boolean isParallel() {
+    return parallel;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calibrates the ISDA compliant credit curve to the market data.
@@ -156,6 +184,81 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
 
     ArgChecker.isTrue(curveDefinition.getCurveValuationDate().equals(ratesProvider.getValuationDate()),
         "ratesProvider and curveDefinition must be based on the same valuation date");
+    CreditDiscountFactorsGrid discountGrid =
+        CreditDiscountFactorsGrid.of(ratesProvider.discountFactors(curveDefinition.getCurrency()));
+    return calibrate(curveDefinition, marketData, ratesProvider, discountGrid, refData);
+  }
+
+  /**
+   * Calibrates the ISDA compliant credit curves of several legal entities to the market data.
+   * <p>
+   * This creates the credit curves of many legal entities at once, such as all the single-name curves of a day.
+   * Each curve is calibrated as by
+   * {@link #calibrate(IsdaCreditCurveDefinition, MarketData, ImmutableCreditRatesProvider, ReferenceData)},
+   * and the definitions must be for different pairs of legal entity and currency.
+   * <p>
+   * The values of the discount curve queried by the calibration are computed once for each currency
+   * and shared by all the curves in the currency.
+   * The curves do not depend on each other, thus a parallel calibrator, such as
+   * {@link FastCreditCurveCalibrator#parallel()}, calibrates them concurrently using the common fork-join pool.
+   * Otherwise they are calibrated one at a time. The result is the same in both cases.
+   * <p>
+   * The relevant discount curves and recovery rate curves must be stored in {@code ratesProvider}.
+   * The calibrated curves are added to the credit curves of {@code ratesProvider},
+   * replacing any existing curve of the same legal entity and currency.
+   *
+   * @param curveDefinitions  the curve definitions
+   * @param marketData  the market data
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the rates provider containing the calibrated credit curves
+   */
+  public ImmutableCreditRatesProvider calibrate(
+      List<IsdaCreditCurveDefinition> curveDefinitions,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    // validate the definitions before any calibration
+    Map<Currency, CreditDiscountFactorsGrid> discountGrids = new HashMap<>();
+    Set<Pair<StandardId, Currency>> keys = new HashSet<>();
+    for (IsdaCreditCurveDefinition curveDefinition : curveDefinitions) {
+      ArgChecker.isTrue(curveDefinition.getCurveValuationDate().equals(ratesProvider.getValuationDate()),
+          "ratesProvider and curveDefinition must be based on the same valuation date");
+      StandardId legalEntityId = curveDefinition.getCurveNodes().stream()
+          .filter(n -> n instanceof CdsIsdaCreditCurveNode)
+          .map(n -> ((CdsIsdaCreditCurveNode) n).getLegalEntityId())
+          .findFirst()
+          .orElseThrow(() -> new IllegalArgumentException(
+              Messages.format("Curve definition must contain CDS nodes: {}", curveDefinition.getName())));
+      Pair<StandardId, Currency> key = Pair.of(legalEntityId, curveDefinition.getCurrency());
+      ArgChecker.isTrue(keys.add(key), "Duplicate curve definition for legal entity and currency: {}", key);
+      discountGrids.computeIfAbsent(
+          curveDefinition.getCurrency(), ccy -> CreditDiscountFactorsGrid.of(ratesProvider.discountFactors(ccy)));
+    }
+    Stream<IsdaCreditCurveDefinition> stream = curveDefinitions.stream();
+    List<LegalEntitySurvivalProbabilities> creditCurves = (parallel ? stream.parallel() : stream)
+        .map(curveDefinition -> calibrate(
+            curveDefinition, marketData, ratesProvider, discountGrids.get(curveDefinition.getCurrency()), refData))
+        .collect(Guavate.toImmutableList());
+    Map<Pair<StandardId, Currency>, LegalEntitySurvivalProbabilities> allCurves =
+        new HashMap<>(ImmutableCreditRatesProvider.meta().creditCurves().get(ratesProvider));
+    for (LegalEntitySurvivalProbabilities creditCurve : creditCurves) {
+      allCurves.put(Pair.of(creditCurve.getLegalEntityId(), creditCurve.getCurrency()), creditCurve);
+    }
+    return ratesProvider.toBuilder()
+        .creditCurves(allCurves)
+        .build();
+  }
+
+  // calibrates a single curve using the discount grid of its currency
+  private LegalEntitySurvivalProbabilities calibrate(
+      IsdaCreditCurveDefinition curveDefinition,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      CreditDiscountFactorsGrid discountGrid,
+      ReferenceData refData) {
+
     ImmutableList<CdsIsdaCreditCurveNode> curveNodes = curveDefinition.getCurveNodes().stream()
         .filter(n -> n instanceof CdsIsdaCreditCurveNode)
         .map(n -> (CdsIsdaCreditCurveNode) n)
@@ -169,6 +272,7 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
         curveDefinition.getCurrency(),
         curveDefinition.isComputeJacobian(),
         curveDefinition.isStoreNodeTrade(),
+        discountGrid,
         refData);
   }
 
@@ -183,6 +287,32 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
       boolean storeTrade,
       ReferenceData refData) {
 
+    return calibrate(
+        curveNodes,
+        name,
+        marketData,
+        ratesProvider,
+        definitionDayCount,
+        definitionCurrency,
+        computeJacobian,
+        storeTrade,
+        CreditDiscountFactorsGrid.of(ratesProvider.discountFactors(definitionCurrency)),
+        refData);
+  }
+
+  // the discount grid is that of the definition currency
+  private LegalEntitySurvivalProbabilities calibrate(
+      List<CdsIsdaCreditCurveNode> curveNodes,
+      CurveName name,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      DayCount definitionDayCount,
+      Currency definitionCurrency,
+      boolean computeJacobian,
+      boolean storeTrade,
+      CreditDiscountFactorsGrid discountGrid,
+      ReferenceData refData) {
+
     Iterator<StandardId> legalEntities =
         curveNodes.stream().map(CdsIsdaCreditCurveNode::getLegalEntityId).collect(Collectors.toSet()).iterator();
     StandardId legalEntityId = legalEntities.next();
@@ -200,7 +330,7 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
     LocalDate valuationDate = marketData.getValuationDate();
     ArgChecker.isTrue(valuationDate.equals(marketData.getValuationDate()),
         "ratesProvider and marketDate must be based on the same valuation date");
-    CreditDiscountFactors discountFactors = ratesProvider.discountFactors(currency);
+    CreditDiscountFactors discountFactors = discountGrid.getDiscountFactors();
     ArgChecker.isTrue(definitionDayCount.equals(discountFactors.getDayCount()),
         "credit curve and discount curve must be based on the same day count convention");
     RecoveryRates recoveryRates = ratesProvider.recoveryRates(legalEntityId);
@@ -233,7 +363,7 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
         DoubleArray.ofUnsafe(pufs),
         name,
         valuationDate,
-        discountFactors,
+        discountGrid,
         recoveryRates,
         refData);
 
@@ -320,6 +450,43 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
       RecoveryRates recoveryRates,
       ReferenceData refData);
 
+  /**
+   * Calibrate the ISDA compliant credit curve to points upfront and fractional spread,
+   * using discount factors whose values are shared with other calibrations.
+   * <p>
+   * By default, this uses the underlying discount factors of the grid.
+   * 
+   * @param calibrationCDSs  the calibration CDS
+   * @param flactionalSpreads  the fractional spreads
+   * @param pointsUpfront  the points upfront values
+   * @param name  the curve name
+   * @param valuationDate  the valuation date
+   * @param discountFactors  the discount factors, with the values shared with other calibrations
+   * @param recoveryRates  the recovery rates
+   * @param refData  the reference data
+   * @return the ISDA compliant credit curve
+   */
+  NodalCurve calibrate(
+      List<ResolvedCdsTrade> calibrationCDSs,
+      DoubleArray flactionalSpreads,
+      DoubleArray pointsUpfront,
+      CurveName name,
+      LocalDate valuationDate,
+      CreditDiscountFactorsGrid discountFactors,
+      RecoveryRates recoveryRates,
+      ReferenceData refData) {
+
+    return calibrate(
+        calibrationCDSs,
+        flactionalSpreads,
+        pointsUpfront,
+        name,
+        valuationDate,
+        discountFactors.getDiscountFactors(),
+        recoveryRates,
+        refData);
+  }
+
   private double[] getStandardQuoteForm(ResolvedCdsTrade calibrationCds, CdsQuote marketQuote, LocalDate valuationDate,
       CreditDiscountFactors discountFactors, RecoveryRates recoveryRates, boolean computeJacobian, ReferenceData refData) {
 
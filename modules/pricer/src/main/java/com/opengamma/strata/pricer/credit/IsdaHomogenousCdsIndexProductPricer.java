@@ -6,13 +6,18 @@
 package com.opengamma.strata.pricer.credit;
 
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.collect.tuple.Triple;
 import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
@@ -137,16 +142,67 @@ public class IsdaHomogenousCdsIndexProductPricer {
       return CurrencyAmount.of(cdsIndex.getCurrency(), 0d);
     }
     ResolvedCds cds = cdsIndex.toSingleNameCds();
+    Pair<IsdaCdsCurveGrid, Double> rates = curveGrid(cds, ratesProvider);
+    return presentValue(cds, ratesProvider, rates.getFirst(), rates.getSecond(), referenceDate, priceType, refData);
+  }
+
+  /**
+   * Calculates the present value of several CDS index products.
+   * <p>
+   * The result is the same as calling
+   * {@link #presentValue(ResolvedCdsIndex, CreditRatesProvider, LocalDate, PriceType, ReferenceData)}
+   * for each product. The products on the same index and currency are priced using the same pair of
+   * index credit curve and discount curve, whose merged nodes and curve values at these nodes are thus
+   * computed once and shared by all the products priced using the pair.
+   * 
+   * @param cdsIndexList  the products
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the present values, in the same order as the products
+   */
+  public List<CurrencyAmount> presentValue(
+      List<ResolvedCdsIndex> cdsIndexList,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    Map<Pair<StandardId, Currency>, Pair<IsdaCdsCurveGrid, Double>> grids = new HashMap<>();
+    ImmutableList.Builder<CurrencyAmount> builder = ImmutableList.builder();
+    for (ResolvedCdsIndex cdsIndex : cdsIndexList) {
+      if (isExpired(cdsIndex, ratesProvider)) {
+        builder.add(CurrencyAmount.of(cdsIndex.getCurrency(), 0d));
+      } else {
+        ResolvedCds cds = cdsIndex.toSingleNameCds();
+        Pair<IsdaCdsCurveGrid, Double> rates = grids.computeIfAbsent(
+            Pair.of(cds.getLegalEntityId(), cds.getCurrency()), key -> curveGrid(cds, ratesProvider));
+        builder.add(
+            presentValue(cds, ratesProvider, rates.getFirst(), rates.getSecond(), referenceDate, priceType, refData));
+      }
+    }
+    return builder.build();
+  }
+
+  // internal present value computation using the curve grid of the index credit curve
+  private CurrencyAmount presentValue(
+      ResolvedCds cds,
+      CreditRatesProvider ratesProvider,
+      IsdaCdsCurveGrid grid,
+      double indexFactor,
+      LocalDate referenceDate,
+      PriceType priceType,
+      ReferenceData refData) {
+
     LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
     LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     double recoveryRate = underlyingPricer.recoveryRate(cds, ratesProvider);
-    Triple<CreditDiscountFactors, LegalEntitySurvivalProbabilities, Double> rates = reduceDiscountFactors(cds, ratesProvider);
-    double protectionLeg = (1d - recoveryRate) *
-        underlyingPricer.protectionFull(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate);
-    double rpv01 = underlyingPricer.riskyAnnuity(
-        cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate, priceType);
+    double protectionLeg =
+        (1d - recoveryRate) * underlyingPricer.protectionFull(cds, grid, referenceDate, effectiveStartDate);
+    double rpv01 = underlyingPricer.riskyAnnuity(cds, grid, referenceDate, stepinDate, effectiveStartDate, priceType);
     double amount =
-        cds.getBuySell().normalize(cds.getNotional()) * rates.getThird() * (protectionLeg - rpv01 * cds.getFixedRate());
+        cds.getBuySell().normalize(cds.getNotional()) * indexFactor * (protectionLeg - rpv01 * cds.getFixedRate());
     return CurrencyAmount.of(cds.getCurrency(), amount);
   }
 
@@ -370,6 +426,12 @@ public class IsdaHomogenousCdsIndexProductPricer {
     return !index.getProtectionEndDate().isAfter(ratesProvider.getValuationDate());
   }
 
+  // obtains the curve grid of the index credit curve, with the index factor
+  private Pair<IsdaCdsCurveGrid, Double> curveGrid(ResolvedCds cds, CreditRatesProvider ratesProvider) {
+    Triple<CreditDiscountFactors, LegalEntitySurvivalProbabilities, Double> rates = reduceDiscountFactors(cds, ratesProvider);
+    return Pair.of(IsdaCdsCurveGrid.of(rates.getFirst(), rates.getSecond()), rates.getThird());
+  }
+
   Triple<CreditDiscountFactors, LegalEntitySurvivalProbabilities, Double> reduceDiscountFactors(
       ResolvedCds cds,
       CreditRatesProvider ratesProvider) {
@@ -86,6 +86,27 @@ public final class SimpleCreditCurveCalibrator extends IsdaCompliantCreditCurveC
     super(formula);
   }
 
+  // creates a calibrator with parallel calibration of several curves enabled or disabled
+  private SimpleCreditCurveCalibrator(
+      AccrualOnDefaultFormula formula,
+      ArbitrageHandling arbHandling,
+      boolean parallel) {
+
+    super(formula, arbHandling, parallel);
+  }
+
+  /**
+   * Returns a calibrator that calibrates the curves of several legal entities in parallel.
+   * <p>
+   * The curves passed to the calibration of a list of curve definitions
+   * are calibrated concurrently using the common fork-join pool.
+   * 
+   * @return the parallel calibrator
+   */
+  public SimpleCreditCurveCalibrator parallel() {
+    return new SimpleCreditCurveCalibrator(getAccrualOnDefaultFormula(), getArbitrageHandling(), true);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public NodalCurve calibrate(
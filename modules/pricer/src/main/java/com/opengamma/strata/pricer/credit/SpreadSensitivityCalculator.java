@@ -8,6 +8,7 @@ package com.opengamma.strata.pricer.credit;
 import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
@@ -115,6 +116,31 @@ public abstract class SpreadSensitivityCalculator {
       CreditRatesProvider ratesProvider,
       ReferenceData refData);
 
+  /**
+   * Computes parallel CS01 for several CDSs sharing the same CDS bucket.
+   * <p>
+   * The result is the same as calling
+   * {@link #parallelCs01(ResolvedCdsTrade, List, CreditRatesProvider, ReferenceData)} for each trade.
+   * The implementations may share the curves calibrated to the CDS bucket between the trades.
+   * The relevant credit curve must be stored in {@code RatesProvider}.
+   * 
+   * @param trades  the trades
+   * @param bucketCds  the CDS bucket
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the parallel CS01, in the same order as the trades
+   */
+  public List<CurrencyAmount> parallelCs01(
+      List<ResolvedCdsTrade> trades,
+      List<ResolvedCdsTrade> bucketCds,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    return trades.stream()
+        .map(trade -> parallelCs01(trade, bucketCds, ratesProvider, refData))
+        .collect(Guavate.toImmutableList());
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes bucketed CS01 for CDS.
@@ -161,6 +187,39 @@ public abstract class SpreadSensitivityCalculator {
     return bucketedCs01(trade, bucketCds, metadata, ratesProvider, refData);
   }
 
+  /**
+   * Computes bucketed CS01 for several CDSs sharing the same CDS bucket.
+   * <p>
+   * The result is the same as calling
+   * {@link #bucketedCs01(ResolvedCdsTrade, List, CreditRatesProvider, ReferenceData)} for each trade.
+   * The implementations may share the curves calibrated to the CDS bucket between the trades.
+   * The relevant credit curve must be stored in {@code RatesProvider}.
+   * 
+   * @param trades  the trades
+   * @param bucketCds  the CDS bucket
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the bucketed CS01, in the same order as the trades
+   */
+  public List<CurrencyParameterSensitivity> bucketedCs01(
+      List<ResolvedCdsTrade> trades,
+      List<ResolvedCdsTrade> bucketCds,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    List<ResolvedTradeParameterMetadata> metadata = bucketCds.stream()
+        .map(t -> ResolvedTradeParameterMetadata.of(t, t.getProduct().getProtectionEndDate().toString()))
+        .collect(Guavate.toImmutableList());
+    List<DoubleArray> sensiValues = computedBucketedCs01(trades, bucketCds, ratesProvider, refData);
+    return IntStream.range(0, trades.size())
+        .mapToObj(i -> CurrencyParameterSensitivity.of(
+            CurveName.of("impliedSpreads"),
+            metadata,
+            trades.get(i).getProduct().getCurrency(),
+            sensiValues.get(i)))
+        .collect(Guavate.toImmutableList());
+  }
+
   private CurrencyParameterSensitivity bucketedCs01(
       ResolvedCdsTrade trade,
       List<ResolvedCdsTrade> bucketCds,
@@ -325,6 +384,18 @@ public abstract class SpreadSensitivityCalculator {
       CreditRatesProvider ratesProvider,
       ReferenceData refData);
 
+  // internal bucketed CS01 computation for several trades sharing the CDS bucket
+  List<DoubleArray> computedBucketedCs01(
+      List<ResolvedCdsTrade> trades,
+      List<ResolvedCdsTrade> bucketCds,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    return trades.stream()
+        .map(trade -> computedBucketedCs01(trade, bucketCds, ratesProvider, refData))
+        .collect(Guavate.toImmutableList());
+  }
+
   // check legal entity and currency are common for all of the CDSs
   protected void checkCdsBucket(ResolvedCdsTrade trade, List<ResolvedCdsTrade> bucketCds) {
     Iterator<StandardId> legalEntities =
@@ -342,8 +413,7 @@ public abstract class SpreadSensitivityCalculator {
       CreditRatesProvider ratesProvider,
       ReferenceData refData) {
 
-    int size = bucketCds.size();
-    return DoubleArray.of(size, n -> pricer.parSpread(bucketCds.get(n), ratesProvider, refData));
+    return pricer.parSpread(bucketCds, ratesProvider, refData);
   }
 
   private double getIndexFactor(ResolvedCds cds, CreditRatesProvider ratesProvider) {
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.curve;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.CurveParameterSize;
+import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionCommons;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionResult;
+
+/**
+ * Workspace used to compute the Jacobian matrices of curve groups calibrated one after the other.
+ * <p>
+ * Each group only depends on itself and the groups calibrated before it, thus the sensitivity of all
+ * the curve parameters to all the market quotes is a block lower-triangular matrix.
+ * The workspace holds this matrix, sized for all the groups up front, and fills the rows of each group
+ * once it is calibrated. The rows of the earlier groups are used as they are, rather than being
+ * rebuilt from the Jacobian matrices of the curves, and the blocks known to be zero are skipped.
+ * <p>
+ * The derivative matrix of each group is handled using an LU decomposition, which requires it to be non-singular.
+ * <p>
+ * A workspace is used by a single calibration and is not thread-safe.
+ */
+final class CalibrationJacobianWorkspace {
+
+  /**
+   * The LU decomposition.
+   */
+  private static final LUDecompositionCommons LU = new LUDecompositionCommons();
+
+  /**
+   * The sensitivity of the parameters to the market quotes, one row for each parameter.
+   */
+  private final double[][] jacobian;
+  /**
+   * The number of non-zero columns of each row.
+   * The row of a parameter only depends on the market quotes of its own group and the earlier groups.
+   */
+  private final int[] rowLength;
+  /**
+   * The number of rows filled so far.
+   */
+  private int filled;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a workspace for the specified total number of parameters of all the groups.
+   *
+   * @param totalParameterCount  the total number of parameters
+   */
+  CalibrationJacobianWorkspace(int totalParameterCount) {
+    ArgChecker.notNegative(totalParameterCount, "totalParameterCount");
+    this.jacobian = new double[totalParameterCount][totalParameterCount];
+    this.rowLength = new int[totalParameterCount];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the Jacobian matrices of the curves of a group.
+   * <p>
+   * The derivatives are the sensitivities of the calibration trades of the group to the parameters of the earlier
+   * groups and then the parameters of the group itself, in the order of {@code orderAll}.
+   * The rows of the earlier groups that have not been filled, because they were not calibrated using this workspace,
+   * are filled from the Jacobian matrices of their curves.
+   *
+   * @param derivatives  the derivatives of the calibration trades of the group to all the parameters
+   * @param orderGroup  the order of the curves of the group
+   * @param orderPrev  the order of the curves of the earlier groups
+   * @param orderAll  the order of all the curves
+   * @param jacobians  the Jacobian matrices of the curves of the earlier groups
+   * @return the Jacobian matrices of the curves of the earlier groups and of the group
+   */
+  ImmutableMap<CurveName, JacobianCalibrationMatrix> updateJacobiansForGroup(
+      DoubleMatrix derivatives,
+      List<CurveParameterSize> orderGroup,
+      List<CurveParameterSize> orderPrev,
+      List<CurveParameterSize> orderAll,
+      Map<CurveName, JacobianCalibrationMatrix> jacobians) {
+
+    fillPrevious(orderPrev, jacobians);
+    int totalParamsPrevious = filled;
+    int totalParamsAll = derivatives.columnCount();
+    int totalParamsGroup = totalParamsAll - totalParamsPrevious;
+    ArgChecker.isTrue(derivatives.rowCount() == totalParamsGroup, "Derivatives must have one row for each parameter");
+
+    // solve for the inverse of the group derivatives and the derivatives to the earlier parameters together
+    double[][] direct = new double[totalParamsGroup][totalParamsGroup];
+    double[][] rhs = new double[totalParamsGroup][totalParamsAll];
+    for (int i = 0; i < totalParamsGroup; i++) {
+      double[] row = derivatives.rowArray(i);
+      System.arraycopy(row, totalParamsPrevious, direct[i], 0, totalParamsGroup);
+      System.arraycopy(row, 0, rhs[i], 0, totalParamsPrevious);
+      rhs[i][totalParamsPrevious + i] = 1d;
+    }
+    LUDecompositionResult decomposition = LU.apply(DoubleMatrix.ofUnsafe(direct));
+    DoubleMatrix solved = decomposition.solve(DoubleMatrix.ofUnsafe(rhs));
+
+    // the rows of the group, the sensitivity to the earlier quotes uses the lower-triangular rows already filled
+    for (int i = 0; i < totalParamsGroup; i++) {
+      double[] solvedRow = solved.rowArray(i);
+      double[] row = jacobian[totalParamsPrevious + i];
+      for (int k = 0; k < totalParamsPrevious; k++) {
+        double factor = solvedRow[k];
+        if (factor != 0d) {
+          double[] previousRow = jacobian[k];
+          for (int j = 0; j < rowLength[k]; j++) {
+            row[j] -= factor * previousRow[j];
+          }
+        }
+      }
+      System.arraycopy(solvedRow, totalParamsPrevious, row, totalParamsPrevious, totalParamsGroup);
+      rowLength[totalParamsPrevious + i] = totalParamsAll;
+    }
+    filled = totalParamsAll;
+
+    // add to the map of jacobians, one entry for each curve in this group
+    ImmutableMap.Builder<CurveName, JacobianCalibrationMatrix> jacobianBuilder = ImmutableMap.builder();
+    jacobianBuilder.putAll(jacobians);
+    int startIndex = totalParamsPrevious;
+    for (CurveParameterSize order : orderGroup) {
+      int paramCount = order.getParameterCount();
+      double[][] pDmCurveArray = new double[paramCount][];
+      for (int p = 0; p < paramCount; p++) {
+        pDmCurveArray[p] = Arrays.copyOf(jacobian[startIndex + p], totalParamsAll);
+      }
+      DoubleMatrix pDmCurveMatrix = DoubleMatrix.ofUnsafe(pDmCurveArray);
+      jacobianBuilder.put(order.getName(), JacobianCalibrationMatrix.of(orderAll, pDmCurveMatrix));
+      startIndex += paramCount;
+    }
+    return jacobianBuilder.build();
+  }
+
+  // fills the rows of the earlier curves that are not yet filled from their Jacobian matrices
+  private void fillPrevious(List<CurveParameterSize> orderPrev, Map<CurveName, JacobianCalibrationMatrix> jacobians) {
+    int startIndex = 0;
+    for (CurveParameterSize order : orderPrev) {
+      int paramCount = order.getParameterCount();
+      if (startIndex >= filled) {
+        JacobianCalibrationMatrix curveJacobian = jacobians.get(order.getName());
+        ArgChecker.notNull(curveJacobian, "jacobian of earlier curve");
+        DoubleMatrix matrix = curveJacobian.getJacobianMatrix();
+        for (int p = 0; p < paramCount; p++) {
+          double[] row = jacobian[startIndex + p];
+          Arrays.fill(row, 0d);
+          System.arraycopy(matrix.rowArray(p), 0, row, 0, matrix.columnCount());
+          rowLength[startIndex + p] = matrix.columnCount();
+        }
+      }
+      startIndex += paramCount;
+    }
+    filled = startIndex;
+  }
+
+}
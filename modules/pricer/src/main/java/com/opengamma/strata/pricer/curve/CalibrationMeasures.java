@@ -18,7 +18,6 @@ import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.curve.CurveParameterSize;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
-import com.opengamma.strata.market.param.UnitParameterSensitivities;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.ResolvedTrade;
 
@@ -165,28 +164,40 @@ public final class CalibrationMeasures {
    * @return the sensitivity derivative
    */
   public DoubleArray derivative(ResolvedTrade trade, RatesProvider provider, List<CurveParameterSize> curveOrder) {
-    UnitParameterSensitivities unitSens = extractSensitivities(trade, provider);
-
-    // expand to a concatenated array
-    DoubleArray result = DoubleArray.EMPTY;
-    for (CurveParameterSize curveParams : curveOrder) {
-      DoubleArray sens = unitSens.findSensitivity(curveParams.getName())
-          .map(s -> s.getSensitivity())
-          .orElseGet(() -> DoubleArray.filled(curveParams.getParameterCount()));
-      result = result.concat(sens);
-    }
-    return result;
+    int totalParams = curveOrder.stream().mapToInt(CurveParameterSize::getParameterCount).sum();
+    double[] result = new double[totalParams];
+    derivative(trade, provider, curveOrder, result);
+    return DoubleArray.ofUnsafe(result);
   }
 
-  // determine the curve parameter sensitivities, removing the curency
-  private UnitParameterSensitivities extractSensitivities(ResolvedTrade trade, RatesProvider provider) {
+  /**
+   * Calculates the sensitivity with respect to the rates provider, adding it to an existing array.
+   * <p>
+   * The concatenated curve sensitivities from all curves currently being processed are added to the array.
+   * This allows a matrix of sensitivities to be assembled without intermediate arrays.
+   * The sensitivities to the same curve in different currencies are summed.
+   * 
+   * @param trade  the trade
+   * @param provider  the rates provider
+   * @param curveOrder  the order of the curves
+   * @param result  the array to add the sensitivity derivative to, typically initially filled with zero
+   */
+  void derivative(ResolvedTrade trade, RatesProvider provider, List<CurveParameterSize> curveOrder, double[] result) {
     CalibrationMeasure<ResolvedTrade> measure = getMeasure(trade);
     CurrencyParameterSensitivities paramSens = measure.sensitivities(trade, provider);
-    UnitParameterSensitivities unitSens = UnitParameterSensitivities.empty();
     for (CurrencyParameterSensitivity ccySens : paramSens.getSensitivities()) {
-      unitSens = unitSens.combinedWith(ccySens.toUnitParameterSensitivity());
+      int startIndex = 0;
+      for (CurveParameterSize curveParams : curveOrder) {
+        if (curveParams.getName().equals(ccySens.getMarketDataName())) {
+          DoubleArray sens = ccySens.getSensitivity();
+          for (int i = 0; i < sens.size(); i++) {
+            result[startIndex + i] += sens.get(i);
+          }
+          break;
+        }
+        startIndex += curveParams.getParameterCount();
+      }
     }
-    return unitSens;
   }
 
   //-------------------------------------------------------------------------
@@ -8,15 +8,18 @@ package com.opengamma.strata.pricer.curve;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
@@ -34,7 +37,10 @@ import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
 import com.opengamma.strata.math.impl.rootfinding.newton.BroydenVectorRootFinder;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.ResolvableTrade;
 import com.opengamma.strata.product.ResolvedTrade;
+import com.opengamma.strata.product.ResolvedTradeCache;
+import com.opengamma.strata.product.Trade;
 
 /**
  * Curve calibrator.
@@ -78,6 +84,14 @@ public final class CurveCalibrator {
    * This is used to compute the present value sensitivity to market quotes stored in the metadata.
    */
   private final CalibrationMeasures pvMeasures;
+  /**
+   * The cache of resolved trades, null if trades are resolved each time.
+   */
+  private final ResolvedTradeCache tradeCache;
+  /**
+   * Whether the Jacobian matrices are computed using a workspace.
+   */
+  private final boolean jacobianWorkspace;
 
   //-------------------------------------------------------------------------
   /**
@@ -158,13 +172,68 @@ public final class CurveCalibrator {
       CalibrationMeasures measures,
       CalibrationMeasures pvMeasures) {
 
-    this.rootFinder = new BroydenVectorRootFinder(
-        toleranceAbs,
-        toleranceRel,
-        stepMaximum,
-        DecompositionFactory.getDecomposition(DecompositionFactory.SV_COMMONS_NAME));
+    this(
+        new BroydenVectorRootFinder(
+            toleranceAbs,
+            toleranceRel,
+            stepMaximum,
+            DecompositionFactory.getDecomposition(DecompositionFactory.SV_COMMONS_NAME)),
+        measures,
+        pvMeasures,
+        null,
+        false);
+  }
+
+  // restricted constructor
+  private CurveCalibrator(
+      BroydenVectorRootFinder rootFinder,
+      CalibrationMeasures measures,
+      CalibrationMeasures pvMeasures,
+      ResolvedTradeCache tradeCache,
+      boolean jacobianWorkspace) {
+
+    this.rootFinder = rootFinder;
     this.measures = measures;
     this.pvMeasures = pvMeasures;
+    this.tradeCache = tradeCache;
+    this.jacobianWorkspace = jacobianWorkspace;
+  }
+
+  /**
+   * Returns a copy of this calibrator that resolves the trades of the curve nodes using the specified cache.
+   * <p>
+   * The trade of a node depends on the market quote, so the cache is only effective for nodes
+   * whose quotes are unchanged since the trade was cached, provided that the same reference data is used.
+   * This is typically the case when calibrating repeatedly, such as for scenarios or intraday updates.
+   *
+   * @param tradeCache  the cache of resolved trades
+   * @return a calibrator that uses the cache
+   */
+  public CurveCalibrator withResolvedTradeCache(ResolvedTradeCache tradeCache) {
+    ArgChecker.notNull(tradeCache, "tradeCache");
+    return new CurveCalibrator(rootFinder, measures, pvMeasures, tradeCache, jacobianWorkspace);
+  }
+
+  /**
+   * Returns a copy of this calibrator that computes the Jacobian matrices using a pre-sized workspace.
+   * <p>
+   * When several groups are calibrated one after the other, each group depends on the earlier groups,
+   * thus the sensitivity of all the curve parameters to all the market quotes is block lower-triangular.
+   * By default, the Jacobian matrices of each group are derived from a dense matrix that is rebuilt from
+   * the Jacobian matrices of all the earlier curves, and the derivatives of the group are inverted using
+   * a singular value decomposition.
+   * <p>
+   * The returned calibrator instead holds the block lower-triangular matrix in a workspace sized for all
+   * the groups, fills the rows of each group once it is calibrated and skips the blocks that are zero.
+   * The derivatives of each group are handled using an LU decomposition, thus they must not be singular,
+   * which is the case for any group that can be calibrated.
+   * <p>
+   * The calibrated curves are the same, and the Jacobian matrices only differ by rounding.
+   *
+   * @return a calibrator that computes the Jacobian matrices using a workspace
+   */
+  public CurveCalibrator withJacobianWorkspace() {
+    return new CurveCalibrator(rootFinder, measures, pvMeasures, tradeCache, true);
   }
 
   //-------------------------------------------------------------------------
@@ -197,15 +266,61 @@ public final class CurveCalibrator {
       MarketData marketData,
       ReferenceData refData) {
 
+    ImmutableRatesProvider knownData = knownData(marketData);
+    return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData);
+  }
+
+  /**
+   * Calibrates a list of curve groups, one after the other.
+   * <p>
+   * The calibration of each group is defined using {@link CurveGroupDefinition}.
+   * Each group is calibrated once the groups before it in the list have been calibrated,
+   * and the trades of its nodes may depend on the curves of the earlier groups.
+   * Observable market data, time-series and FX are also needed to complete the calibration.
+   * The valuation date is defined by the market data.
+   * <p>
+   * A curve must only exist in one group.
+   * The Jacobian matrices are computed with respect to the market quotes of all the groups.
+   *
+   * @param curveGroupDefns  the curve group definitions, in the order they are calibrated
+   * @param marketData  the market data required to build a trade for the instrument, including time-series
+   * @param refData  the reference data, used to resolve the trades
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider calibrate(
+      List<CurveGroupDefinition> curveGroupDefns,
+      MarketData marketData,
+      ReferenceData refData) {
+
+    ImmutableRatesProvider knownData = knownData(marketData);
+    return calibrate(ImmutableList.copyOf(curveGroupDefns), knownData, marketData, refData);
+  }
+
+  /**
+   * Creates an incremental calibrator for a single curve group, containing one or more curves.
+   * <p>
+   * The incremental calibrator is intended for market data that changes frequently by small amounts,
+   * such as intraday quote updates. It retains the result of the last calibration and uses it to
+   * warm-start the next one, see {@link IncrementalCurveCalibrator}.
+   *
+   * @param curveGroupDefn  the curve group definition
+   * @param refData  the reference data, used to resolve the trades
+   * @return the incremental calibrator
+   */
+  public IncrementalCurveCalibrator incremental(CurveGroupDefinition curveGroupDefn, ReferenceData refData) {
+    return IncrementalCurveCalibrator.of(this, ImmutableList.of(curveGroupDefn), refData);
+  }
+
+  // creates the known data, FX and time-series, from the market data
+  static ImmutableRatesProvider knownData(MarketData marketData) {
     Map<Index, LocalDateDoubleTimeSeries> timeSeries = marketData.getTimeSeriesIds().stream()
         .filter(IndexQuoteId.class::isInstance)
         .map(IndexQuoteId.class::cast)
         .collect(toImmutableMap(id -> id.getIndex(), id -> marketData.getTimeSeries(id)));
-    ImmutableRatesProvider knownData = ImmutableRatesProvider.builder(marketData.getValuationDate())
+    return ImmutableRatesProvider.builder(marketData.getValuationDate())
         .fxRateProvider(MarketDataFxRateProvider.of(marketData))
         .timeSeries(timeSeries)
         .build();
-    return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData);
   }
 
   /**
@@ -227,6 +342,37 @@ public final class CurveCalibrator {
       ImmutableRatesProvider knownData,
       MarketData marketData,
       ReferenceData refData) {
+
+    List<CurveGroupCalibration> calibrations =
+        calibrateGroups(allGroupsDefn, knownData, marketData, refData, ImmutableList.of(), node -> false);
+    return calibrations.isEmpty() ? knownData : calibrations.get(calibrations.size() - 1).getProvider();
+  }
+
+  /**
+   * Calibrates a list of curve groups, reusing the results of a previous calibration where possible.
+   * <p>
+   * The previous calibration must have used the same valuation date.
+   * A group is matched to the previous calibration by position and is only reused if its definition is unchanged.
+   * If the inputs of all the nodes of a matched group are unchanged, and all earlier groups were also reused,
+   * then the previous result of the group is used without recalibration.
+   * Otherwise, the group is recalibrated starting from the previous parameters and calibration Jacobian,
+   * and the trades of the nodes whose inputs are unchanged are not resolved again.
+   *
+   * @param allGroupsDefn  the curve group definitions
+   * @param knownData  the starting data for the calibration
+   * @param marketData  the market data required to build a trade for the instrument
+   * @param refData  the reference data, used to resolve the trades
+   * @param previous  the previous calibration of each group, empty if none
+   * @param unchangedNode  the predicate that determines whether the inputs of a node are unchanged
+   * @return the calibration of each group, the last containing the rates provider resulting from the calibration
+   */
+  List<CurveGroupCalibration> calibrateGroups(
+      List<CurveGroupDefinition> allGroupsDefn,
+      ImmutableRatesProvider knownData,
+      MarketData marketData,
+      ReferenceData refData,
+      List<CurveGroupCalibration> previous,
+      Predicate<CurveNode> unchangedNode) {
     // this method effectively takes one CurveGroupDefinition
     // the list is a split of the definition, not multiple independent definitions
 
@@ -234,15 +380,41 @@ public final class CurveCalibrator {
       throw new IllegalArgumentException(Messages.format(
           "Valuation dates do not match: {} and {}", knownData.getValuationDate(), marketData.getValuationDate()));
     }
+    // bind the time-series to all the groups, the number of parameters of a curve may depend on it
+    ImmutableList<CurveGroupDefinition> allGroupsDefnBound = allGroupsDefn.stream()
+        .map(groupDefn -> groupDefn.bindTimeSeries(knownData.getValuationDate(), knownData.getTimeSeries()))
+        .collect(toImmutableList());
+    CalibrationJacobianWorkspace workspace = jacobianWorkspace ?
+        new CalibrationJacobianWorkspace(allGroupsDefnBound.stream()
+            .flatMap(groupDefn -> toOrder(groupDefn).stream())
+            .mapToInt(CurveParameterSize::getParameterCount)
+            .sum()) :
+        null;
     // perform calibration one group at a time, building up the result by mutating these variables
     ImmutableRatesProvider providerCombined = knownData;
     ImmutableList<CurveParameterSize> orderPrev = ImmutableList.of();
     ImmutableMap<CurveName, JacobianCalibrationMatrix> jacobians = ImmutableMap.of();
-    for (CurveGroupDefinition groupDefn : allGroupsDefn) {
-      CurveGroupDefinition groupDefnBound = groupDefn.bindTimeSeries(knownData.getValuationDate(), knownData.getTimeSeries());
+    List<CurveGroupCalibration> calibrations = new ArrayList<>(allGroupsDefn.size());
+    boolean reuseGroup = true;
+    for (int groupIndex = 0; groupIndex < allGroupsDefn.size(); groupIndex++) {
+      CurveGroupDefinition groupDefnBound = allGroupsDefnBound.get(groupIndex);
+      CurveGroupCalibration previousGroup = previousCalibration(previous, groupIndex, groupDefnBound);
+      // reuse the previous result if nothing that the group depends on has changed
+      reuseGroup = reuseGroup && previousGroup != null && nodes(groupDefnBound).stream().allMatch(unchangedNode);
+      if (reuseGroup) {
+        calibrations.add(previousGroup);
+        providerCombined = previousGroup.getProvider();
+        orderPrev = previousGroup.getOrder();
+        jacobians = previousGroup.getJacobians();
+        continue;
+      }
       // combine all data in the group into flat lists
-      ImmutableList<ResolvedTrade> trades = groupDefnBound.resolvedTrades(marketData, refData);
-      ImmutableList<Double> initialGuesses = groupDefnBound.initialGuesses(marketData);
+      ImmutableList<ResolvedTrade> trades =
+          resolvedTrades(groupDefnBound, marketData, refData, previousGroup, unchangedNode);
+      ImmutableList<Double> initialGuesses = previousGroup == null ?
+          groupDefnBound.initialGuesses(marketData) :
+          previousGroup.getParameters().stream().boxed().collect(toImmutableList());
+      DoubleMatrix initialJacobian = previousGroup == null ? null : previousGroup.getCalibrationJacobian().orElse(null);
       ImmutableList<CurveParameterSize> orderGroup = toOrder(groupDefnBound);
       ImmutableList<CurveParameterSize> orderPrevAndGroup = ImmutableList.<CurveParameterSize>builder()
           .addAll(orderPrev)
@@ -251,13 +423,23 @@ public final class CurveCalibrator {
 
       // calibrate
       RatesProviderGenerator providerGenerator = ImmutableRatesProviderGenerator.of(providerCombined, groupDefnBound, refData);
-      DoubleArray calibratedGroupParams = calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
+      DoubleArray calibratedGroupParams =
+          calibrateGroup(providerGenerator, trades, initialGuesses, initialJacobian, orderGroup);
       ImmutableRatesProvider calibratedProvider = providerGenerator.generate(calibratedGroupParams);
 
       // use calibration to build Jacobian matrices
+      DoubleMatrix calibrationJacobian = null;
       if (groupDefnBound.isComputeJacobian()) {
-        jacobians = updateJacobiansForGroup(
-            calibratedProvider, trades, orderGroup, orderPrev, orderPrevAndGroup, jacobians);
+        int totalParamsAll = orderPrevAndGroup.stream().mapToInt(e -> e.getParameterCount()).sum();
+        int totalParamsGroup = calibratedGroupParams.size();
+        DoubleMatrix res = derivatives(trades, calibratedProvider, orderPrevAndGroup, totalParamsAll);
+        calibrationJacobian = groupDerivatives(res, totalParamsGroup, totalParamsAll - totalParamsGroup);
+        if (workspace != null) {
+          jacobians = workspace.updateJacobiansForGroup(res, orderGroup, orderPrev, orderPrevAndGroup, jacobians);
+        } else {
+          jacobians = updateJacobiansForGroup(
+              res, calibrationJacobian, trades, orderGroup, orderPrev, orderPrevAndGroup, jacobians);
+        }
       }
       ImmutableMap<CurveName, DoubleArray> sensitivityToMarketQuote = ImmutableMap.of();
       if (groupDefnBound.isComputePvSensitivityToMarketQuote()) {
@@ -268,9 +450,11 @@ public final class CurveCalibrator {
 
       // use Jacobians to build output curves
       providerCombined = providerGenerator.generate(calibratedGroupParams, jacobians, sensitivityToMarketQuote);
+      calibrations.add(new CurveGroupCalibration(
+          groupDefnBound, trades, calibratedGroupParams, calibrationJacobian, orderPrev, jacobians, providerCombined));
     }
-    // return the calibrated provider
-    return providerCombined;
+    // return the calibrated groups
+    return calibrations;
   }
 
   // converts a definition to the curve order list
@@ -278,12 +462,68 @@ public final class CurveCalibrator {
     return groupDefn.getCurveDefinitions().stream().map(def -> def.toCurveParameterSize()).collect(toImmutableList());
   }
 
+  // the nodes of all the curves, in the same order as the trades
+  private static ImmutableList<CurveNode> nodes(CurveGroupDefinition groupDefn) {
+    return groupDefn.getCurveDefinitions().stream()
+        .flatMap(curveDefn -> curveDefn.getNodes().stream())
+        .collect(toImmutableList());
+  }
+
+  // finds the previous calibration of the group, null if there is none or the group has changed
+  private static CurveGroupCalibration previousCalibration(
+      List<CurveGroupCalibration> previous,
+      int groupIndex,
+      CurveGroupDefinition groupDefnBound) {
+
+    if (groupIndex >= previous.size()) {
+      return null;
+    }
+    CurveGroupCalibration previousGroup = previous.get(groupIndex);
+    return previousGroup.getGroupDefinition().equals(groupDefnBound) ? previousGroup : null;
+  }
+
+  // resolves the trades, reusing the previous trade of each node whose inputs are unchanged
+  private ImmutableList<ResolvedTrade> resolvedTrades(
+      CurveGroupDefinition groupDefnBound,
+      MarketData marketData,
+      ReferenceData refData,
+      CurveGroupCalibration previousGroup,
+      Predicate<CurveNode> unchangedNode) {
+
+    if (previousGroup == null && tradeCache == null) {
+      return groupDefnBound.resolvedTrades(marketData, refData);
+    }
+    ImmutableList<CurveNode> nodes = nodes(groupDefnBound);
+    ImmutableList.Builder<ResolvedTrade> trades = ImmutableList.builder();
+    for (int i = 0; i < nodes.size(); i++) {
+      CurveNode node = nodes.get(i);
+      if (previousGroup != null && unchangedNode.test(node)) {
+        trades.add(previousGroup.getTrades().get(i));
+      } else {
+        trades.add(resolvedTrade(node, marketData, refData));
+      }
+    }
+    return trades.build();
+  }
+
+  // resolves the trade of a single node, using the cache if available
+  private ResolvedTrade resolvedTrade(CurveNode node, MarketData marketData, ReferenceData refData) {
+    if (tradeCache != null) {
+      Trade trade = node.trade(1d, marketData, refData);
+      if (trade instanceof ResolvableTrade) {
+        return tradeCache.resolve((ResolvableTrade<?>) trade, refData);
+      }
+    }
+    return node.resolvedTrade(1d, marketData, refData);
+  }
+
   //-------------------------------------------------------------------------
   // calibrates a single group
   private DoubleArray calibrateGroup(
       RatesProviderGenerator providerGenerator,
       ImmutableList<ResolvedTrade> trades,
       ImmutableList<Double> initialGuesses,
+      DoubleMatrix initialJacobian,
       ImmutableList<CurveParameterSize> curveOrder) {
 
     // setup for calibration
@@ -291,8 +531,11 @@ public final class CurveCalibrator {
     Function<DoubleArray, DoubleMatrix> derivativeCalculator =
         new CalibrationDerivative(trades, measures, providerGenerator, curveOrder);
 
-    // calibrate
+    // calibrate, starting from the Jacobian of a previous calibration if available
     DoubleArray initGuessMatrix = DoubleArray.copyOf(initialGuesses);
+    if (initialJacobian != null) {
+      return rootFinder.getRoot(valueCalculator, derivativeCalculator, initGuessMatrix, initialJacobian);
+    }
     return rootFinder.getRoot(valueCalculator, derivativeCalculator, initGuessMatrix);
   }
 
@@ -300,22 +543,20 @@ public final class CurveCalibrator {
   // calculates the Jacobian and builds the result, called once per group
   // this uses, but does not alter, data from previous groups
   private ImmutableMap<CurveName, JacobianCalibrationMatrix> updateJacobiansForGroup(
-      ImmutableRatesProvider provider,
+      DoubleMatrix res,
+      DoubleMatrix groupDerivatives,
       ImmutableList<ResolvedTrade> trades,
       ImmutableList<CurveParameterSize> orderGroup,
       ImmutableList<CurveParameterSize> orderPrev,
       ImmutableList<CurveParameterSize> orderAll,
       ImmutableMap<CurveName, JacobianCalibrationMatrix> jacobians) {
 
-    // sensitivity to all parameters in the stated order
-    int totalParamsAll = orderAll.stream().mapToInt(e -> e.getParameterCount()).sum();
-    DoubleMatrix res = derivatives(trades, provider, orderAll, totalParamsAll);
-
     // jacobian direct
     int nbTrades = trades.size();
-    int totalParamsGroup = orderGroup.stream().mapToInt(e -> e.getParameterCount()).sum();
+    int totalParamsAll = res.columnCount();
+    int totalParamsGroup = groupDerivatives.columnCount();
     int totalParamsPrevious = totalParamsAll - totalParamsGroup;
-    DoubleMatrix pDmCurrentMatrix = jacobianDirect(res, nbTrades, totalParamsGroup, totalParamsPrevious);
+    DoubleMatrix pDmCurrentMatrix = MATRIX_ALGEBRA.getInverse(groupDerivatives);
 
     // jacobian indirect: when totalParamsPrevious > 0
     DoubleMatrix pDmPrevious = jacobianIndirect(
@@ -373,24 +614,24 @@ public final class CurveCalibrator {
       ImmutableList<CurveParameterSize> orderAll,
       int totalParamsAll) {
 
-    return DoubleMatrix.ofArrayObjects(
-        trades.size(),
-        totalParamsAll,
-        i -> measures.derivative(trades.get(i), provider, orderAll));
+    double[][] derivatives = new double[trades.size()][totalParamsAll];
+    for (int i = 0; i < trades.size(); i++) {
+      measures.derivative(trades.get(i), provider, orderAll, derivatives[i]);
+    }
+    return DoubleMatrix.ofUnsafe(derivatives);
   }
 
-  // jacobian direct, for the current group
-  private static DoubleMatrix jacobianDirect(
+  // the derivatives with respect to the parameters of the current group
+  private static DoubleMatrix groupDerivatives(
       DoubleMatrix res,
-      int nbTrades,
       int totalParamsGroup,
       int totalParamsPrevious) {
 
     double[][] direct = new double[totalParamsGroup][totalParamsGroup];
-    for (int i = 0; i < nbTrades; i++) {
+    for (int i = 0; i < totalParamsGroup; i++) {
       System.arraycopy(res.rowArray(i), totalParamsPrevious, direct[i], 0, totalParamsGroup);
     }
-    return MATRIX_ALGEBRA.getInverse(DoubleMatrix.copyOf(direct));
+    return DoubleMatrix.ofUnsafe(direct);
   }
 
   // jacobian indirect, merging groups
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.curve;
+
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.CurveParameterSize;
+import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.ResolvedTrade;
+
+/**
+ * The result of calibrating a single curve group.
+ * <p>
+ * This captures the intermediate state of the calibration of one group, allowing
+ * a later calibration to reuse the result or to warm-start from it.
+ */
+final class CurveGroupCalibration {
+
+  /**
+   * The group definition, bound to the time-series.
+   */
+  private final CurveGroupDefinition groupDefn;
+  /**
+   * The resolved trades, one for each node, in the order of the parameters.
+   */
+  private final ImmutableList<ResolvedTrade> trades;
+  /**
+   * The calibrated parameters of the group.
+   */
+  private final DoubleArray parameters;
+  /**
+   * The derivative of the calibration measures with respect to the group parameters at the root, null if not computed.
+   */
+  private final DoubleMatrix calibrationJacobian;
+  /**
+   * The order of the curves in this group and all previous groups.
+   */
+  private final ImmutableList<CurveParameterSize> order;
+  /**
+   * The Jacobians of this group and all previous groups.
+   */
+  private final ImmutableMap<CurveName, JacobianCalibrationMatrix> jacobians;
+  /**
+   * The provider containing the curves of this group and all previous groups.
+   */
+  private final ImmutableRatesProvider provider;
+
+  //-------------------------------------------------------------------------
+  // creates an instance
+  CurveGroupCalibration(
+      CurveGroupDefinition groupDefn,
+      ImmutableList<ResolvedTrade> trades,
+      DoubleArray parameters,
+      DoubleMatrix calibrationJacobian,
+      ImmutableList<CurveParameterSize> order,
+      ImmutableMap<CurveName, JacobianCalibrationMatrix> jacobians,
+      ImmutableRatesProvider provider) {
+
+    this.groupDefn = groupDefn;
+    this.trades = trades;
+    this.parameters = parameters;
+    this.calibrationJacobian = calibrationJacobian;
+    this.order = order;
+    this.jacobians = jacobians;
+    this.provider = provider;
+  }
+
+  //-------------------------------------------------------------------------
+  // the bound group definition
+  CurveGroupDefinition getGroupDefinition() {
+    return groupDefn;
+  }
+
+  // the resolved trades
+  ImmutableList<ResolvedTrade> getTrades() {
+    return trades;
+  }
+
+  // the calibrated parameters
+  DoubleArray getParameters() {
+    return parameters;
+  }
+
+  // the derivative of the calibration measures at the root, empty if not computed
+  Optional<DoubleMatrix> getCalibrationJacobian() {
+    return Optional.ofNullable(calibrationJacobian);
+  }
+
+  // the order of the curves in this group and all previous groups
+  ImmutableList<CurveParameterSize> getOrder() {
+    return order;
+  }
+
+  // the Jacobians of this group and all previous groups
+  ImmutableMap<CurveName, JacobianCalibrationMatrix> getJacobians() {
+    return jacobians;
+  }
+
+  // the provider containing the curves of this group and all previous groups
+  ImmutableRatesProvider getProvider() {
+    return provider;
+  }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.curve;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.CurveNode;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Curve calibrator that recalibrates incrementally as the market data changes.
+ * <p>
+ * This calibrator is bound to a curve group definition and retains the result of the last calibration.
+ * It is intended for market data that is updated frequently by small amounts, such as intraday quotes.
+ * When the market data is updated, the next calibration is performed incrementally:
+ * <ul>
+ * <li>if the market data is unchanged, the previous rates provider is returned
+ * <li>groups whose quotes are unchanged, and which do not depend on a changed group, are not recalibrated
+ * <li>the root finder is started from the previously calibrated parameters and the previous Jacobian
+ * <li>the trades of the nodes whose quotes are unchanged are not resolved again
+ * </ul>
+ * If the valuation date changes, the previous result is discarded and a full calibration is performed.
+ * A change to any market data other than quotes, such as FX rates or time-series,
+ * causes all groups to be recalibrated, although the recalibration is still warm-started.
+ * <p>
+ * The calibrated curves agree with those of a full calibration within the tolerance of the root finder,
+ * but are not necessarily identical as the root finder takes a different path.
+ * <p>
+ * This class is thread-safe. If calibrations are performed concurrently, each uses the state of
+ * whichever calibration completed most recently.
+ */
+public final class IncrementalCurveCalibrator {
+
+  /**
+   * The underlying calibrator.
+   */
+  private final CurveCalibrator calibrator;
+  /**
+   * The curve group definitions, a split of a single curve group.
+   */
+  private final ImmutableList<CurveGroupDefinition> allGroupsDefn;
+  /**
+   * The reference data.
+   */
+  private final ReferenceData refData;
+  /**
+   * The state of the last calibration, null if none.
+   */
+  private final AtomicReference<State> state = new AtomicReference<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param calibrator  the underlying calibrator
+   * @param allGroupsDefn  the curve group definitions
+   * @param refData  the reference data, used to resolve the trades
+   * @return the incremental calibrator
+   */
+  static IncrementalCurveCalibrator of(
+      CurveCalibrator calibrator,
+      List<CurveGroupDefinition> allGroupsDefn,
+      ReferenceData refData) {
+
+    return new IncrementalCurveCalibrator(calibrator, allGroupsDefn, refData);
+  }
+
+  // restricted constructor
+  private IncrementalCurveCalibrator(
+      CurveCalibrator calibrator,
+      List<CurveGroupDefinition> allGroupsDefn,
+      ReferenceData refData) {
+
+    this.calibrator = ArgChecker.notNull(calibrator, "calibrator");
+    this.allGroupsDefn = ImmutableList.copyOf(ArgChecker.notNull(allGroupsDefn, "allGroupsDefn"));
+    this.refData = ArgChecker.notNull(refData, "refData");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrates the curves, reusing the last calibration where possible.
+   * <p>
+   * The valuation date is defined by the market data.
+   *
+   * @param marketData  the market data required to build a trade for the instrument, including time-series
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider calibrate(MarketData marketData) {
+    ArgChecker.notNull(marketData, "marketData");
+    State previous = state.get();
+    ImmutableRatesProvider knownData = CurveCalibrator.knownData(marketData);
+    List<CurveGroupCalibration> calibrations;
+    if (previous == null || !previous.marketData.getValuationDate().equals(marketData.getValuationDate())) {
+      calibrations = calibrator.calibrateGroups(
+          allGroupsDefn, knownData, marketData, refData, ImmutableList.of(), node -> false);
+    } else {
+      Predicate<CurveNode> unchangedNode = unchangedNode(previous.marketData, marketData);
+      calibrations = calibrator.calibrateGroups(
+          allGroupsDefn, knownData, marketData, refData, previous.calibrations, unchangedNode);
+    }
+    state.set(new State(marketData, calibrations));
+    return calibrations.isEmpty() ? knownData : calibrations.get(calibrations.size() - 1).getProvider();
+  }
+
+  /**
+   * Discards the result of the last calibration.
+   * <p>
+   * The next calibration will be a full calibration.
+   */
+  public void reset() {
+    state.set(null);
+  }
+
+  // determines whether the inputs of a node are unchanged
+  private static Predicate<CurveNode> unchangedNode(MarketData previous, MarketData current) {
+    Set<MarketDataId<?>> changedIds = new HashSet<>();
+    Set<MarketDataId<?>> allIds = new HashSet<>(previous.getIds());
+    allIds.addAll(current.getIds());
+    for (MarketDataId<?> id : allIds) {
+      if (!Objects.equals(previous.findValue(id), current.findValue(id))) {
+        changedIds.add(id);
+      }
+    }
+    if (!previous.getTimeSeriesIds().equals(current.getTimeSeriesIds()) ||
+        !changedIds.stream().allMatch(QuoteId.class::isInstance)) {
+      return node -> false;
+    }
+    for (ObservableId id : current.getTimeSeriesIds()) {
+      if (!previous.getTimeSeries(id).equals(current.getTimeSeries(id))) {
+        return node -> false;
+      }
+    }
+    return node -> node.requirements().stream().noneMatch(changedIds::contains);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("IncrementalCurveCalibrator[{}]", calibrator);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The state of the last calibration.
+   */
+  private static final class State {
+    private final MarketData marketData;
+    private final List<CurveGroupCalibration> calibrations;
+
+    private State(MarketData marketData, List<CurveGroupCalibration> calibrations) {
+      this.marketData = marketData;
+      this.calibrations = calibrations;
+    }
+  }
+
+}
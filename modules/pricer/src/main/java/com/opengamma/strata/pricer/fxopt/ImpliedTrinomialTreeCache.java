@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.fxopt;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.pricer.DiscountFactors;
+
+/**
+ * A bounded cache of implied trinomial trees.
+ * <p>
+ * Calibrating an implied trinomial tree to Black volatilities, see {@link ImpliedTrinomialTreeFxOptionCalibrator},
+ * is expensive, yet all the options on the same currency pair with the same expiry share the same tree.
+ * This cache allows a tree to be calibrated once and reused for all such options,
+ * for example when pricing a book of FX barrier options.
+ * <p>
+ * The cache is keyed by the volatilities, compared by identity, the currency pair, the time to expiry
+ * and the number of time steps. The rates are matched by the data the tree depends on, the FX rate and
+ * the discount factors of the two currencies, compared using {@code equals}.
+ * Thus a tree is reused when the same volatilities are combined with rates providers that are different
+ * instances but contain the same curves, as is typical when the rates provider is created for each trade.
+ * The time to expiry is matched exactly, as the pricers check that the tree ends on the expiry of the option.
+ * <p>
+ * The identity of the volatilities acts as a version stamp, new volatilities never match trees
+ * calibrated using an earlier instance. Entries calibrated with an older instance are discarded by normal eviction.
+ * <p>
+ * The number of entries is bounded, with the least recently used entries evicted first.
+ * Statistics are recorded, see {@link #stats()}.
+ * <p>
+ * This class is thread-safe. If two threads calibrate the same tree at the same time,
+ * the tree may be calibrated twice, with the same result.
+ */
+public final class ImpliedTrinomialTreeCache {
+
+  /**
+   * The underlying cache.
+   */
+  private final Cache<Key, RecombiningTrinomialTreeData> cache;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that holds up to the specified number of trees.
+   *
+   * @param maximumSize  the maximum number of trees
+   * @return the cache
+   */
+  public static ImpliedTrinomialTreeCache ofMaximumSize(long maximumSize) {
+    ArgChecker.notNegative(maximumSize, "maximumSize");
+    return new ImpliedTrinomialTreeCache(CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build());
+  }
+
+  // restricted constructor
+  private ImpliedTrinomialTreeCache(Cache<Key, RecombiningTrinomialTreeData> cache) {
+    this.cache = cache;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the tree, using the cached result if available.
+   * <p>
+   * Any exception thrown by the calibration is propagated, and nothing is cached.
+   *
+   * @param volatilities  the Black volatility provider
+   * @param currencyPair  the currency pair
+   * @param fxRate  the FX rate of the currency pair
+   * @param baseDiscountFactors  the discount factors of the base currency
+   * @param counterDiscountFactors  the discount factors of the counter currency
+   * @param timeToExpiry  the time to expiry
+   * @param nSteps  the number of time steps
+   * @param calibration  the calibration of the tree
+   * @return the tree
+   */
+  RecombiningTrinomialTreeData calibrate(
+      BlackFxOptionVolatilities volatilities,
+      CurrencyPair currencyPair,
+      double fxRate,
+      DiscountFactors baseDiscountFactors,
+      DiscountFactors counterDiscountFactors,
+      double timeToExpiry,
+      int nSteps,
+      Supplier<RecombiningTrinomialTreeData> calibration) {
+
+    Key key = new Key(
+        volatilities, currencyPair, fxRate, baseDiscountFactors, counterDiscountFactors, timeToExpiry, nSteps);
+    RecombiningTrinomialTreeData cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    RecombiningTrinomialTreeData calibrated = calibration.get();
+    cache.put(key, calibrated);
+    return calibrated;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the approximate number of trees in the cache.
+   *
+   * @return the number of trees
+   */
+  public long size() {
+    return cache.size();
+  }
+
+  /**
+   * Gets the statistics of the cache.
+   * <p>
+   * This includes the number of hits, misses and evictions.
+   *
+   * @return the statistics
+   */
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  /**
+   * Removes all trees from the cache.
+   * <p>
+   * The statistics are not reset.
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("ImpliedTrinomialTreeCache[size={}, {}]", cache.size(), cache.stats());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The cache key, matching the volatilities by identity and the other inputs by equality.
+   */
+  private static final class Key {
+    private final BlackFxOptionVolatilities volatilities;
+    private final CurrencyPair currencyPair;
+    private final double fxRate;
+    private final DiscountFactors baseDiscountFactors;
+    private final DiscountFactors counterDiscountFactors;
+    private final double timeToExpiry;
+    private final int nSteps;
+    private final int hashCode;
+
+    private Key(
+        BlackFxOptionVolatilities volatilities,
+        CurrencyPair currencyPair,
+        double fxRate,
+        DiscountFactors baseDiscountFactors,
+        DiscountFactors counterDiscountFactors,
+        double timeToExpiry,
+        int nSteps) {
+
+      this.volatilities = volatilities;
+      this.currencyPair = currencyPair;
+      this.fxRate = fxRate;
+      this.baseDiscountFactors = baseDiscountFactors;
+      this.counterDiscountFactors = counterDiscountFactors;
+      this.timeToExpiry = timeToExpiry;
+      this.nSteps = nSteps;
+      this.hashCode = System.identityHashCode(volatilities) * 31 +
+          Objects.hash(currencyPair, fxRate, baseDiscountFactors, counterDiscountFactors, timeToExpiry, nSteps);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (obj instanceof Key) {
+        Key other = (Key) obj;
+        return volatilities == other.volatilities &&
+            nSteps == other.nSteps &&
+            Double.doubleToLongBits(timeToExpiry) == Double.doubleToLongBits(other.timeToExpiry) &&
+            Double.doubleToLongBits(fxRate) == Double.doubleToLongBits(other.fxRate) &&
+            currencyPair.equals(other.currencyPair) &&
+            baseDiscountFactors.equals(other.baseDiscountFactors) &&
+            counterDiscountFactors.equals(other.counterDiscountFactors);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+}
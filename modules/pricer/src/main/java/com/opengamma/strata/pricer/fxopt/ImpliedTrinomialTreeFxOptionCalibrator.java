@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.pricer.fxopt;
 
+import java.util.Optional;
 import java.util.function.Function;
 
 import com.opengamma.strata.basics.currency.Currency;
@@ -25,6 +26,10 @@ public class ImpliedTrinomialTreeFxOptionCalibrator {
    * Number of time steps.
    */
   private final int nSteps;
+  /**
+   * The cache of calibrated trees, null if trees are calibrated each time.
+   */
+  private final ImpliedTrinomialTreeCache cache;
 
   /**
    * Calibrator with the specified number of time steps.
@@ -34,6 +39,23 @@ public class ImpliedTrinomialTreeFxOptionCalibrator {
   public ImpliedTrinomialTreeFxOptionCalibrator(int nSteps) {
     ArgChecker.isTrue(nSteps > 1, "the number of steps should be greater than 1");
     this.nSteps = nSteps;
+    this.cache = null;
+  }
+
+  /**
+   * Calibrator with the specified number of time steps, reusing the trees held in the cache.
+   * <p>
+   * A tree is only calibrated if the cache does not hold a tree calibrated to the same volatilities
+   * and rates with the same time to expiry and number of time steps.
+   * The cache may be shared between calibrators.
+   * 
+   * @param nSteps  number of time steps
+   * @param cache  the cache of calibrated trees
+   */
+  public ImpliedTrinomialTreeFxOptionCalibrator(int nSteps, ImpliedTrinomialTreeCache cache) {
+    ArgChecker.isTrue(nSteps > 1, "the number of steps should be greater than 1");
+    this.nSteps = nSteps;
+    this.cache = ArgChecker.notNull(cache, "cache");
   }
 
   //-------------------------------------------------------------------------
@@ -46,6 +68,15 @@ public class ImpliedTrinomialTreeFxOptionCalibrator {
     return nSteps;
   }
 
+  /**
+   * Obtains the cache of calibrated trees, empty if trees are calibrated each time.
+   * 
+   * @return the cache
+   */
+  public Optional<ImpliedTrinomialTreeCache> getCache() {
+    return Optional.ofNullable(cache);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calibrate trinomial tree to Black volatilities by using a vanilla option.
@@ -68,11 +99,24 @@ public class ImpliedTrinomialTreeFxOptionCalibrator {
     return calibrateTrinomialTree(timeToExpiry, currencyPair, ratesProvider, volatilities);
   }
 
+  // calibrates the tree without using the cache, used for rates that are only used once, such as bumped curves
+  RecombiningTrinomialTreeData calibrateTrinomialTreeUncached(
+      ResolvedFxVanillaOption option,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    double timeToExpiry = volatilities.relativeTime(option.getExpiry());
+    CurrencyPair currencyPair = option.getUnderlying().getCurrencyPair();
+    return calibrateTrinomialTree(timeToExpiry, currencyPair, ratesProvider, volatilities, null);
+  }
+
   /**
    * Calibrate trinomial tree to Black volatilities.
    * <p>
    * {@code timeToExpiry} determines the coverage of the resulting trinomial tree.
    * Thus this should match the time to expiry of the target instrument to price using the calibrated tree.
+   * <p>
+   * If this calibrator has a cache, a matching tree held in the cache is returned.
    * 
    * @param timeToExpiry  the time to expiry
    * @param currencyPair  the currency pair
@@ -86,6 +130,17 @@ public class ImpliedTrinomialTreeFxOptionCalibrator {
       RatesProvider ratesProvider,
       BlackFxOptionVolatilities volatilities) {
 
+    return calibrateTrinomialTree(timeToExpiry, currencyPair, ratesProvider, volatilities, cache);
+  }
+
+  // calibrates the tree, using the cache if not null
+  private RecombiningTrinomialTreeData calibrateTrinomialTree(
+      double timeToExpiry,
+      CurrencyPair currencyPair,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities,
+      ImpliedTrinomialTreeCache treeCache) {
+
     validate(ratesProvider, volatilities);
     if (timeToExpiry <= 0d) {
       throw new IllegalArgumentException("option expired");
@@ -95,6 +150,30 @@ public class ImpliedTrinomialTreeFxOptionCalibrator {
     double todayFx = ratesProvider.fxRate(currencyPair);
     DiscountFactors baseDiscountFactors = ratesProvider.discountFactors(ccyBase);
     DiscountFactors counterDiscountFactors = ratesProvider.discountFactors(ccyCounter);
+    if (treeCache == null) {
+      return calibrate(timeToExpiry, currencyPair, todayFx, baseDiscountFactors, counterDiscountFactors, volatilities);
+    }
+    return treeCache.calibrate(
+        volatilities,
+        currencyPair,
+        todayFx,
+        baseDiscountFactors,
+        counterDiscountFactors,
+        timeToExpiry,
+        nSteps,
+        () -> calibrate(
+            timeToExpiry, currencyPair, todayFx, baseDiscountFactors, counterDiscountFactors, volatilities));
+  }
+
+  // calibrates the tree to the volatilities
+  private RecombiningTrinomialTreeData calibrate(
+      double timeToExpiry,
+      CurrencyPair currencyPair,
+      double todayFx,
+      DiscountFactors baseDiscountFactors,
+      DiscountFactors counterDiscountFactors,
+      BlackFxOptionVolatilities volatilities) {
+
     Function<Double, Double> interestRate = new Function<Double, Double>() {
       @Override
       public Double apply(Double t) {
@@ -7,9 +7,11 @@ package com.opengamma.strata.pricer.fxopt;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.math.DoubleMath;
 import com.opengamma.strata.basics.currency.Currency;
@@ -82,6 +84,20 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
     this.calibrator = new ImpliedTrinomialTreeFxOptionCalibrator(nSteps);
   }
 
+  /**
+   * Pricer with the specified number of time steps, reusing the calibrated trees held in the cache.
+   * <p>
+   * All the options on the same currency pair with the same expiry, priced with the same volatilities and rates,
+   * share the same tree. The cache allows the tree to be calibrated once for all such options.
+   * The trees calibrated to bumped rates, when computing the rates sensitivity, are not cached.
+   * 
+   * @param nSteps  number of time steps
+   * @param cache  the cache of calibrated trees
+   */
+  public ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(int nSteps, ImpliedTrinomialTreeCache cache) {
+    this.calibrator = new ImpliedTrinomialTreeFxOptionCalibrator(nSteps, cache);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Obtains the calibrator.
@@ -309,7 +325,9 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
           Map<Currency, Curve> mapBumped = new HashMap<>(baseCurves);
           mapBumped.put(entry.getKey(), dscBumped);
           ImmutableRatesProvider providerDscBumped = immRatesProvider.toBuilder().discountCurves(mapBumped).build();
-          double pvBumped = presentValue(option, providerDscBumped, volatilities).getAmount();
+          RecombiningTrinomialTreeData treeDataBumped =
+              calibrator.calibrateTrinomialTreeUncached(underlyingOption, providerDscBumped, volatilities);
+          double pvBumped = presentValue(option, providerDscBumped, volatilities, treeDataBumped).getAmount();
           return (pvBumped - pvBase.getAmount()) / shift;
         });
         result = result.combinedWith(curve.createParameterSensitivity(pvBase.getCurrency(), sensitivity));
@@ -423,15 +441,17 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
         barrier.getBarrierType(),
         barrier.getBarrierLevel(),
         DoubleArray.ofUnsafe(rebateArray));
-    ValueDerivatives barrierPrice = TREE.optionPriceAdjoint(barrierFunction, data);
     if (barrier.getKnockType().isKnockIn()) {  // use in-out parity
       EuropeanVanillaOptionFunction vanillaFunction = EuropeanVanillaOptionFunction.of(
           underlyingOption.getStrike(), timeToExpiry, underlyingOption.getPutCall(), nSteps);
-      ValueDerivatives vanillaPrice = TREE.optionPriceAdjoint(vanillaFunction, data);
+      // the barrier and vanilla options are rolled back together through the tree
+      List<ValueDerivatives> prices = TREE.optionPriceAdjoint(ImmutableList.of(barrierFunction, vanillaFunction), data);
+      ValueDerivatives barrierPrice = prices.get(0);
+      ValueDerivatives vanillaPrice = prices.get(1);
       return ValueDerivatives.of(vanillaPrice.getValue() + rebateAtExpiry - barrierPrice.getValue(),
           DoubleArray.of(vanillaPrice.getDerivative(0) + rebateAtExpiryDerivative - barrierPrice.getDerivative(0)));
     }
-    return barrierPrice;
+    return TREE.optionPriceAdjoint(barrierFunction, data);
   }
 
   //-------------------------------------------------------------------------
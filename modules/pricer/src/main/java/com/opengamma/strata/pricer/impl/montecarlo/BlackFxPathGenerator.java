@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Generator of the paths of an FX rate with Black dynamics.
+ * <p>
+ * The FX rate is log-normal, with deterministic interest rates and a term structure of Black volatilities.
+ * The FX rate at each simulation time is
+ * {@code F(t) exp(W(t) - 0.5 v(t))}, where {@code F(t)} is the FX forward rate for time {@code t},
+ * {@code v(t)} is the total variance to time {@code t}, {@code sigma(t)^2 t}, and {@code W} is
+ * a Brownian motion with the same variance. The path is thus simulated without discretization error.
+ * <p>
+ * The dynamics are those of the domestic risk-neutral measure, thus the expected payoff should be
+ * discounted using the domestic discount factors.
+ * The path values are the FX rates at the simulation times, one random number being used for each time.
+ */
+public final class BlackFxPathGenerator
+    implements MonteCarloPathGenerator {
+
+  /**
+   * The FX forward rates for the simulation times.
+   */
+  private final double[] forwards;
+  /**
+   * The standard deviation of the increment of the Brownian motion to each simulation time.
+   */
+  private final double[] incrementStdDevs;
+  /**
+   * Half the total variance to each simulation time.
+   */
+  private final double[] halfVariances;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * <p>
+   * The times must be positive and increasing, and the total variance, {@code sigma(t)^2 t},
+   * must not decrease from one time to the next.
+   * 
+   * @param times  the simulation times, as year fractions
+   * @param forwards  the FX forward rates for the simulation times
+   * @param volatilities  the Black volatilities for the simulation times
+   * @return the generator
+   */
+  public static BlackFxPathGenerator of(DoubleArray times, DoubleArray forwards, DoubleArray volatilities) {
+    ArgChecker.notNull(times, "times");
+    ArgChecker.notNull(forwards, "forwards");
+    ArgChecker.notNull(volatilities, "volatilities");
+    int size = times.size();
+    ArgChecker.isTrue(size > 0, "At least one time must be specified");
+    ArgChecker.isTrue(forwards.size() == size, "Forwards must be the same size as times");
+    ArgChecker.isTrue(volatilities.size() == size, "Volatilities must be the same size as times");
+    double[] incrementStdDevs = new double[size];
+    double[] halfVariances = new double[size];
+    double previousTime = 0d;
+    double previousVariance = 0d;
+    for (int i = 0; i < size; i++) {
+      double time = times.get(i);
+      ArgChecker.isTrue(time > previousTime, "Times must be positive and increasing");
+      double variance = volatilities.get(i) * volatilities.get(i) * time;
+      ArgChecker.isTrue(variance >= previousVariance, "Total variance must not decrease: {}", time);
+      incrementStdDevs[i] = Math.sqrt(variance - previousVariance);
+      halfVariances[i] = 0.5d * variance;
+      previousTime = time;
+      previousVariance = variance;
+    }
+    return new BlackFxPathGenerator(forwards.toArray(), incrementStdDevs, halfVariances);
+  }
+
+  // restricted constructor
+  private BlackFxPathGenerator(double[] forwards, double[] incrementStdDevs, double[] halfVariances) {
+    this.forwards = forwards;
+    this.incrementStdDevs = incrementStdDevs;
+    this.halfVariances = halfVariances;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getDimension() {
+    return forwards.length;
+  }
+
+  @Override
+  public int getPathSize() {
+    return forwards.length;
+  }
+
+  @Override
+  public void generatePath(double[] normals, double[] path) {
+    double brownian = 0d;
+    for (int i = 0; i < forwards.length; i++) {
+      brownian += incrementStdDevs[i] * normals[i];
+      path[i] = forwards[i] * Math.exp(brownian - halfVariances[i]);
+    }
+  }
+
+}
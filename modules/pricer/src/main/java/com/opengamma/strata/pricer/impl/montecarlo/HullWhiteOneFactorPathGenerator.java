@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Generator of the paths of the Hull-White one factor model with piecewise constant volatility.
+ * <p>
+ * The paths are generated under the measure associated with the numeraire {@code P(t, N)},
+ * the zero-coupon bond maturing at the numeraire time {@code N}.
+ * In the Hull-White model, the ratio of bonds {@code P(t, u) / P(t, N)} on a simulation time {@code t}
+ * is a function of a single Gaussian state variable {@code X(t)}, see {@link #bondRatio}.
+ * The state variable is a Brownian motion with variance {@code beta(0, t)^2}, where beta is
+ * {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel#beta}, thus the path is simulated without
+ * discretization error.
+ * <p>
+ * The path values are the state variables on the simulation times, one random number being used for each time.
+ * The payoff should be expressed in units of the numeraire, such that the present value is the expected payoff
+ * multiplied by the discount factor to the numeraire time.
+ * <p>
+ * Reference: Henrard, M. "Bermudan Swaptions in Gaussian HJM One-Factor Model: Analytical and Numerical Approaches".
+ * SSRN, October 2008. Available at SSRN: http://ssrn.com/abstract=1287982
+ */
+public final class HullWhiteOneFactorPathGenerator
+    implements MonteCarloPathGenerator {
+
+  /**
+   * The model.
+   */
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+
+  /**
+   * The mean reversion.
+   */
+  private final double meanReversion;
+  /**
+   * The numeraire time.
+   */
+  private final double numeraireTime;
+  /**
+   * The standard deviation of the increment of the state variable to each simulation time.
+   */
+  private final double[] incrementStdDevs;
+  /**
+   * The variance of the state variable on each simulation time.
+   */
+  private final double[] variances;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * <p>
+   * The simulation times must be positive and increasing.
+   * 
+   * @param parameters  the Hull-White model parameters
+   * @param numeraireTime  the maturity of the numeraire bond, as a year fraction
+   * @param times  the simulation times, as year fractions
+   * @return the generator
+   */
+  public static HullWhiteOneFactorPathGenerator of(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters,
+      double numeraireTime,
+      DoubleArray times) {
+
+    ArgChecker.notNull(parameters, "parameters");
+    ArgChecker.notNull(times, "times");
+    ArgChecker.isTrue(times.size() > 0, "At least one time must be specified");
+    int size = times.size();
+    double[] incrementStdDevs = new double[size];
+    double[] variances = new double[size];
+    double previousTime = 0d;
+    double variance = 0d;
+    for (int i = 0; i < size; i++) {
+      double time = times.get(i);
+      ArgChecker.isTrue(time > previousTime, "Times must be positive and increasing");
+      incrementStdDevs[i] = MODEL.beta(parameters, previousTime, time);
+      variance += incrementStdDevs[i] * incrementStdDevs[i];
+      variances[i] = variance;
+      previousTime = time;
+    }
+    return new HullWhiteOneFactorPathGenerator(
+        parameters.getMeanReversion(), numeraireTime, incrementStdDevs, variances);
+  }
+
+  // restricted constructor
+  private HullWhiteOneFactorPathGenerator(
+      double meanReversion,
+      double numeraireTime,
+      double[] incrementStdDevs,
+      double[] variances) {
+
+    this.meanReversion = meanReversion;
+    this.numeraireTime = numeraireTime;
+    this.incrementStdDevs = incrementStdDevs;
+    this.variances = variances;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getDimension() {
+    return incrementStdDevs.length;
+  }
+
+  @Override
+  public int getPathSize() {
+    return incrementStdDevs.length;
+  }
+
+  @Override
+  public void generatePath(double[] normals, double[] path) {
+    double state = 0d;
+    for (int i = 0; i < incrementStdDevs.length; i++) {
+      state += incrementStdDevs[i] * normals[i];
+      path[i] = state;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the ratio of a zero-coupon bond to the numeraire bond on a simulation time.
+   * <p>
+   * This is {@code P(t, u) / P(t, N)}, where {@code t} is the simulation time,
+   * {@code u} the maturity of the bond and {@code N} the numeraire time.
+   * It is calculated from the initial ratio, {@code P(0, u) / P(0, N)}, and the path.
+   * 
+   * @param path  the path
+   * @param timeIndex  the index of the simulation time
+   * @param maturity  the maturity of the bond, as a year fraction
+   * @param initialRatio  the ratio of the bond to the numeraire bond today
+   * @return the ratio of the bond to the numeraire bond on the simulation time
+   */
+  public double bondRatio(double[] path, int timeIndex, double maturity, double initialRatio) {
+    double factor = (Math.exp(-meanReversion * numeraireTime) - Math.exp(-meanReversion * maturity)) / meanReversion;
+    return initialRatio * Math.exp(factor * path[timeIndex] - 0.5d * factor * factor * variances[timeIndex]);
+  }
+
+}
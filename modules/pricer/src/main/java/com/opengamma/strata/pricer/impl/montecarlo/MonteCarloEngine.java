@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.random.NormalVectorGenerator;
+import com.opengamma.strata.math.impl.random.NormalVectorGeneratorFactory;
+
+/**
+ * Monte Carlo simulation engine.
+ * <p>
+ * The engine estimates the expected value of a payoff, by generating paths of a model
+ * and averaging the value of the payoff on each path.
+ * <p>
+ * The paths are divided into blocks, which are run in parallel using the common fork-join pool.
+ * Each block uses a generator of random numbers created from the index of its first random vector,
+ * see {@link NormalVectorGeneratorFactory}. The mean and sum of squared deviations of each block
+ * are combined in order, thus the result is the same whether the blocks are run in parallel or not.
+ * The variance is accumulated using Welford's method, which is accurate even if the mean is large
+ * compared to the spread of the samples.
+ * Within a block, the arrays of random numbers and path values are reused for each path.
+ * <p>
+ * If antithetic variates are enabled, each vector of random numbers is used twice,
+ * the second time with the sign reversed. The average of the pair of paths forms a single sample.
+ * <p>
+ * The payoff function receives the array of path values, which must not be retained.
+ * The payoff is invoked concurrently, thus it must be thread-safe.
+ * It is normally expressed in units of the numeraire of the model, such that the expected
+ * value, multiplied by the numeraire today, is the present value.
+ */
+public final class MonteCarloEngine {
+
+  /**
+   * The default number of random vectors in each block.
+   */
+  private static final int DEFAULT_BLOCK_SIZE = 1024;
+
+  /**
+   * The factory of random number generators.
+   */
+  private final NormalVectorGeneratorFactory numbers;
+  /**
+   * The number of paths.
+   */
+  private final int pathCount;
+  /**
+   * The number of random vectors in each block.
+   */
+  private final int blockSize;
+  /**
+   * Whether antithetic variates are used.
+   */
+  private final boolean antithetic;
+  /**
+   * Whether the blocks are run in parallel.
+   */
+  private final boolean parallel;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * <p>
+   * The blocks are run in parallel, without antithetic variates.
+   * 
+   * @param numbers  the factory of random number generators
+   * @param pathCount  the number of paths
+   * @return the engine
+   */
+  public static MonteCarloEngine of(NormalVectorGeneratorFactory numbers, int pathCount) {
+    return new MonteCarloEngine(numbers, pathCount, DEFAULT_BLOCK_SIZE, false, true);
+  }
+
+  // restricted constructor
+  private MonteCarloEngine(
+      NormalVectorGeneratorFactory numbers,
+      int pathCount,
+      int blockSize,
+      boolean antithetic,
+      boolean parallel) {
+
+    this.numbers = ArgChecker.notNull(numbers, "numbers");
+    this.pathCount = ArgChecker.notNegativeOrZero(pathCount, "pathCount");
+    this.blockSize = ArgChecker.notNegativeOrZero(blockSize, "blockSize");
+    ArgChecker.isTrue(!antithetic || pathCount % 2 == 0, "Path count must be even when using antithetic variates");
+    this.antithetic = antithetic;
+    this.parallel = parallel;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a copy of this engine with the specified block size.
+   * <p>
+   * This is the number of random vectors in each block, which is the unit of parallel work.
+   * The result depends on the block size when pseudo-random numbers are used.
+   * 
+   * @param blockSize  the number of random vectors in each block
+   * @return the engine
+   */
+  public MonteCarloEngine withBlockSize(int blockSize) {
+    return new MonteCarloEngine(numbers, pathCount, blockSize, antithetic, parallel);
+  }
+
+  /**
+   * Returns a copy of this engine with antithetic variates enabled or disabled.
+   * <p>
+   * When enabled, the path count must be even.
+   * 
+   * @param antithetic  whether antithetic variates are used
+   * @return the engine
+   */
+  public MonteCarloEngine withAntithetic(boolean antithetic) {
+    return new MonteCarloEngine(numbers, pathCount, blockSize, antithetic, parallel);
+  }
+
+  /**
+   * Returns a copy of this engine with parallel execution enabled or disabled.
+   * 
+   * @param parallel  whether the blocks are run in parallel
+   * @return the engine
+   */
+  public MonteCarloEngine withParallel(boolean parallel) {
+    return new MonteCarloEngine(numbers, pathCount, blockSize, antithetic, parallel);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of paths.
+   * 
+   * @return the number of paths
+   */
+  public int getPathCount() {
+    return pathCount;
+  }
+
+  /**
+   * Gets the number of random vectors in each block.
+   * 
+   * @return the block size
+   */
+  public int getBlockSize() {
+    return blockSize;
+  }
+
+  /**
+   * Checks if antithetic variates are used.
+   * 
+   * @return true if antithetic variates are used
+   */
+  public boolean isAntithetic() {
+    return antithetic;
+  }
+
+  /**
+   * Checks if the blocks are run in parallel.
+   * 
+   * @return true if the blocks are run in parallel
+   */
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Estimates the expected value of the payoff.
+   * 
+   * @param generator  the generator of the paths
+   * @param payoff  the payoff, as a function of the path values
+   * @return the estimate of the expected value of the payoff
+   */
+  public MonteCarloEstimate simulate(MonteCarloPathGenerator generator, ToDoubleFunction<double[]> payoff) {
+    ArgChecker.notNull(generator, "generator");
+    ArgChecker.notNull(payoff, "payoff");
+    int sampleCount = antithetic ? pathCount / 2 : pathCount;
+    int blockCount = (sampleCount + blockSize - 1) / blockSize;
+    double[] means = new double[blockCount];
+    double[] squaredDeviations = new double[blockCount];
+    IntStream blocks = IntStream.range(0, blockCount);
+    (parallel ? blocks.parallel() : blocks).forEach(block -> {
+      int start = block * blockSize;
+      int end = Math.min(start + blockSize, sampleCount);
+      simulateBlock(generator, payoff, start, end, block, means, squaredDeviations);
+    });
+    // combine the blocks in order, so the result does not depend on the order of execution
+    long count = 0;
+    double mean = 0d;
+    double squaredDeviation = 0d;
+    for (int block = 0; block < blockCount; block++) {
+      long countInBlock = Math.min(blockSize, sampleCount - (long) block * blockSize);
+      long combinedCount = count + countInBlock;
+      double delta = means[block] - mean;
+      mean += delta * countInBlock / combinedCount;
+      squaredDeviation += squaredDeviations[block] + delta * delta * count * countInBlock / combinedCount;
+      count = combinedCount;
+    }
+    double variance = sampleCount > 1 ? squaredDeviation / (sampleCount - 1) : 0d;
+    return MonteCarloEstimate.of(mean, Math.sqrt(variance / sampleCount), sampleCount);
+  }
+
+  // simulates the samples of a single block, storing the mean and sum of squared deviations in the arrays
+  private void simulateBlock(
+      MonteCarloPathGenerator generator,
+      ToDoubleFunction<double[]> payoff,
+      int start,
+      int end,
+      int block,
+      double[] means,
+      double[] squaredDeviations) {
+
+    int dimension = generator.getDimension();
+    NormalVectorGenerator random = numbers.create(dimension, start);
+    double[] normals = new double[dimension];
+    double[] path = new double[generator.getPathSize()];
+    int count = 0;
+    double mean = 0d;
+    double squaredDeviation = 0d;
+    for (int i = start; i < end; i++) {
+      random.nextVector(normals);
+      generator.generatePath(normals, path);
+      double sample = payoff.applyAsDouble(path);
+      if (antithetic) {
+        for (int j = 0; j < dimension; j++) {
+          normals[j] = -normals[j];
+        }
+        generator.generatePath(normals, path);
+        sample = 0.5d * (sample + payoff.applyAsDouble(path));
+      }
+      // Welford's update of the mean and sum of squared deviations
+      count++;
+      double delta = sample - mean;
+      mean += delta / count;
+      squaredDeviation += delta * (sample - mean);
+    }
+    means[block] = mean;
+    squaredDeviations[block] = squaredDeviation;
+  }
+
+}
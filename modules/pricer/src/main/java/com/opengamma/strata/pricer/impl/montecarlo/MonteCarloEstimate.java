@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * The result of a Monte Carlo simulation.
+ * <p>
+ * This provides the estimate of the expected value and its standard error.
+ */
+public final class MonteCarloEstimate {
+
+  /**
+   * The estimate of the expected value.
+   */
+  private final double mean;
+  /**
+   * The standard error of the estimate.
+   */
+  private final double standardError;
+  /**
+   * The number of independent samples.
+   */
+  private final long sampleCount;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * 
+   * @param mean  the estimate of the expected value
+   * @param standardError  the standard error of the estimate
+   * @param sampleCount  the number of independent samples
+   * @return the estimate
+   */
+  public static MonteCarloEstimate of(double mean, double standardError, long sampleCount) {
+    return new MonteCarloEstimate(mean, standardError, sampleCount);
+  }
+
+  // restricted constructor
+  private MonteCarloEstimate(double mean, double standardError, long sampleCount) {
+    this.mean = mean;
+    this.standardError = standardError;
+    this.sampleCount = sampleCount;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the estimate of the expected value.
+   * 
+   * @return the mean
+   */
+  public double getMean() {
+    return mean;
+  }
+
+  /**
+   * Gets the standard error of the estimate.
+   * 
+   * @return the standard error
+   */
+  public double getStandardError() {
+    return standardError;
+  }
+
+  /**
+   * Gets the number of independent samples.
+   * <p>
+   * When antithetic variates are used, each pair of paths is a single sample.
+   * 
+   * @return the number of samples
+   */
+  public long getSampleCount() {
+    return sampleCount;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("MonteCarloEstimate[mean={}, standardError={}, sampleCount={}]",
+        mean, standardError, sampleCount);
+  }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+/**
+ * Generator of the paths of a model in a Monte Carlo simulation.
+ * <p>
+ * A path is generated from a vector of standard normal random numbers.
+ * Both are held in arrays supplied by the caller, allowing a loop of simulations
+ * to run without allocating arrays for each path.
+ * <p>
+ * Implementations must be immutable and thread-safe, as paths are generated in parallel.
+ */
+public interface MonteCarloPathGenerator {
+
+  /**
+   * Gets the number of standard normal random numbers required to generate a path.
+   * 
+   * @return the dimension
+   */
+  public abstract int getDimension();
+
+  /**
+   * Gets the number of values in each path.
+   * 
+   * @return the path size
+   */
+  public abstract int getPathSize();
+
+  /**
+   * Generates a path.
+   * 
+   * @param normals  the standard normal random numbers, of length at least the dimension
+   * @param path  the array to fill with the path, of length at least the path size
+   */
+  public abstract void generatePath(double[] normals, double[] path);
+
+}
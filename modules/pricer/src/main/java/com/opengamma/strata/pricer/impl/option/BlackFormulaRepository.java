@@ -103,6 +103,49 @@ public final class BlackFormulaRepository {
     return Math.max(0., res);
   }
 
+  /**
+   * Computes the forward price of many options.
+   * <p>
+   * This is equivalent to calling {@link #price(double, double, double, double, boolean)} for each option,
+   * with the results stored in the specified array.
+   * The options are evaluated in a single loop that does not allocate.
+   * Options on the boundaries of the formula, such as those with zero volatility, and invalid inputs
+   * are passed to the single option method.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param lognormalVol  the log-normal volatilities
+   * @param isCall  true for call, false for put
+   * @param result  the array to store the forward prices in
+   */
+  public static void price(
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] lognormalVol,
+      boolean[] isCall,
+      double[] result) {
+
+    int size = batchSize(result, forward, strike, timeToExpiry, lognormalVol);
+    ArgChecker.isTrue(isCall.length == size, "Array lengths must match, {} != {}", isCall.length, size);
+    for (int i = 0; i < size; i++) {
+      double fwd = forward[i];
+      double str = strike[i];
+      double sigmaRootT = lognormalVol[i] * Math.sqrt(timeToExpiry[i]);
+      if (isRegular(fwd, str, timeToExpiry[i], lognormalVol[i], sigmaRootT)) {
+        double sign = isCall[i] ? 1d : -1d;
+        double d1 = Math.log(fwd / str) / sigmaRootT + 0.5 * sigmaRootT;
+        double d2 = d1 - sigmaRootT;
+        double nF = NormalDistribution.standardCdf(sign * d1);
+        double nS = NormalDistribution.standardCdf(sign * d2);
+        result[i] = Math.max(0d, sign * (fwd * nF - str * nS));
+      } else {
+        result[i] = price(fwd, str, timeToExpiry[i], lognormalVol[i], isCall[i]);
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the price without numeraire and its derivatives.
@@ -359,6 +402,45 @@ public final class BlackFormulaRepository {
     return sign * NORMAL.getCDF(sign * d1);
   }
 
+  /**
+   * Computes the forward driftless delta of many options.
+   * <p>
+   * This is equivalent to calling {@link #delta(double, double, double, double, boolean)} for each option,
+   * with the results stored in the specified array.
+   * The options are evaluated in a single loop that does not allocate.
+   * Options on the boundaries of the formula and invalid inputs are passed to the single option method.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param lognormalVol  the log-normal volatilities
+   * @param isCall  true for call, false for put
+   * @param result  the array to store the forward driftless deltas in
+   */
+  public static void delta(
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] lognormalVol,
+      boolean[] isCall,
+      double[] result) {
+
+    int size = batchSize(result, forward, strike, timeToExpiry, lognormalVol);
+    ArgChecker.isTrue(isCall.length == size, "Array lengths must match, {} != {}", isCall.length, size);
+    for (int i = 0; i < size; i++) {
+      double fwd = forward[i];
+      double str = strike[i];
+      double sigmaRootT = lognormalVol[i] * Math.sqrt(timeToExpiry[i]);
+      if (isRegular(fwd, str, timeToExpiry[i], lognormalVol[i], sigmaRootT)) {
+        double sign = isCall[i] ? 1d : -1d;
+        double d1 = Math.log(fwd / str) / sigmaRootT + 0.5 * sigmaRootT;
+        result[i] = sign * NormalDistribution.standardCdf(sign * d1);
+      } else {
+        result[i] = delta(fwd, str, timeToExpiry[i], lognormalVol[i], isCall[i]);
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the strike for the delta.
@@ -927,6 +1009,42 @@ public final class BlackFormulaRepository {
     return nVal == 0d ? 0d : forward * rootT * nVal;
   }
 
+  /**
+   * Computes the forward vega of many options.
+   * <p>
+   * This is equivalent to calling {@link #vega(double, double, double, double)} for each option,
+   * with the results stored in the specified array.
+   * The options are evaluated in a single loop that does not allocate.
+   * Options on the boundaries of the formula and invalid inputs are passed to the single option method.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param lognormalVol  the log-normal volatilities
+   * @param result  the array to store the forward vegas in
+   */
+  public static void vega(
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] lognormalVol,
+      double[] result) {
+
+    int size = batchSize(result, forward, strike, timeToExpiry, lognormalVol);
+    for (int i = 0; i < size; i++) {
+      double fwd = forward[i];
+      double str = strike[i];
+      double rootT = Math.sqrt(timeToExpiry[i]);
+      double sigmaRootT = lognormalVol[i] * rootT;
+      if (isRegular(fwd, str, timeToExpiry[i], lognormalVol[i], sigmaRootT)) {
+        double d1 = Math.log(fwd / str) / sigmaRootT + 0.5 * sigmaRootT;
+        result[i] = fwd * rootT * NormalDistribution.standardPdf(d1);
+      } else {
+        result[i] = vega(fwd, str, timeToExpiry[i], lognormalVol[i]);
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the driftless vanna.
@@ -1149,6 +1267,34 @@ public final class BlackFormulaRepository {
     return impliedVolatility(targetPrice, forward, strike, timeToExpiry, sigmaGuess);
   }
 
+  /**
+   * Computes the log-normal implied volatility of many options.
+   * <p>
+   * This is equivalent to calling {@link #impliedVolatility(double, double, double, double, boolean)}
+   * for each option, with the results stored in the specified array.
+   * 
+   * @param price  the forward prices, which are the market prices divided by the numeraire
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param isCall  true for call, false for put
+   * @param result  the array to store the log-normal (Black) implied volatilities in
+   */
+  public static void impliedVolatility(
+      double[] price,
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      boolean[] isCall,
+      double[] result) {
+
+    int size = batchSize(result, price, forward, strike, timeToExpiry);
+    ArgChecker.isTrue(isCall.length == size, "Array lengths must match, {} != {}", isCall.length, size);
+    for (int i = 0; i < size; i++) {
+      result[i] = impliedVolatility(price[i], forward[i], strike[i], timeToExpiry[i], isCall[i]);
+    }
+  }
+
   /**
    * Computes the log-normal implied volatility and its derivative with respect to price.
    * 
@@ -1445,4 +1591,29 @@ public final class BlackFormulaRepository {
     return normalVolatility * factor1 * factor2;
   }
 
+  //-------------------------------------------------------------------------
+  // checks that the inputs are valid and away from the boundaries handled by the single option methods
+  private static boolean isRegular(
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double lognormalVol,
+      double sigmaRootT) {
+
+    return forward >= 0d && strike >= 0d && timeToExpiry >= 0d && lognormalVol >= 0d &&
+        forward <= LARGE && strike <= LARGE && sigmaRootT >= SMALL && sigmaRootT <= LARGE &&
+        Math.abs(forward - strike) >= SMALL;
+  }
+
+  // checks that the input arrays have the same length as the result array, returning the length
+  static int batchSize(double[] result, double[]... inputs) {
+    ArgChecker.notNull(result, "result");
+    for (double[] input : inputs) {
+      ArgChecker.notNull(input, "input");
+      ArgChecker.isTrue(
+          input.length == result.length, "Array lengths must match, {} != {}", input.length, result.length);
+    }
+    return result.length;
+  }
+
 }
@@ -0,0 +1,402 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import com.google.common.math.DoubleMath;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.cern.Probability;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Formulas for implied volatility that do not use a generic root finder.
+ * <p>
+ * The methods of this class are alternatives to {@link BlackFormulaRepository#impliedVolatility} and
+ * {@link NormalFormulaRepository#impliedVolatility}, which use {@link GenericImpliedVolatiltySolver}
+ * or Newton iteration with an arbitrary starting point, and a bisection fallback.
+ * By contrast, the methods here perform a fixed, small, amount of work per option and never allocate,
+ * which matters when implying the volatilities of a large number of options.
+ * <p>
+ * The log-normal (Black) implied volatility is found by Householder iteration of third order on the
+ * normalised Black function, following the approach of P. Jaeckel, "Let's be rational", Wilmott (2015).
+ * The domain is divided into three regions, each with its own initial guess and an objective function
+ * that is close to linear in the volatility. Three iterations are usually sufficient to reach the
+ * accuracy of the Black formula itself, and at most four are performed.
+ * <p>
+ * The normal (Bachelier) implied volatility is computed without iteration using the rational
+ * approximation and single Householder correction of P. Jaeckel, "Implied normal volatility",
+ * Wilmott (2017). The result is accurate to close to machine precision.
+ * <p>
+ * In both cases, the accuracy is limited by that of the time value of the option, the price less the
+ * intrinsic value. Deep in-the-money prices are therefore less accurate than the equivalent out-of-the-money
+ * prices, as the time value is a small difference between two large numbers.
+ */
+public final class ImpliedVolatilityFormulaRepository {
+
+  /**
+   * The square root of two pi.
+   */
+  private static final double SQRT_2PI = Math.sqrt(2d * Math.PI);
+  /**
+   * The maximal number of iterations for the log-normal implied volatility.
+   */
+  private static final int MAX_ITERATIONS = 4;
+  /**
+   * The relative change in normalised volatility at which iteration stops.
+   */
+  private static final double TOLERANCE = 1e-14;
+  /**
+   * The number of fixed-point iterations used to refine the asymptotic initial guess in the lower region.
+   */
+  private static final int LOWER_GUESS_ITERATIONS = 3;
+  /**
+   * The region of low normalised prices, where the objective is based on the reciprocal of the log of the price.
+   */
+  private static final int LOWER = 0;
+  /**
+   * The central region, where the objective is the normalised price.
+   */
+  private static final int CENTRAL = 1;
+  /**
+   * The region of high normalised prices, where the objective is based on the log of the distance to the bound.
+   */
+  private static final int UPPER = 2;
+  /**
+   * The point at which the normal implied volatility switches between the two rational approximations.
+   */
+  private static final double NORMAL_CUTOFF = -0.001882039271;
+
+  // restricted constructor
+  private ImpliedVolatilityFormulaRepository() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the log-normal (Black) implied volatility.
+   * <p>
+   * This is a drop-in alternative to
+   * {@link BlackFormulaRepository#impliedVolatility(double, double, double, double, boolean)},
+   * with the same argument validation.
+   *
+   * @param price  the forward price, which is the market price divided by the numeraire,
+   *   for example the zero bond p(0,T) for the T-forward measure
+   * @param forward  the forward value of the underlying
+   * @param strike  the strike
+   * @param timeToExpiry  the time to expiry
+   * @param isCall  true for call, false for put
+   * @return the log-normal (Black) implied volatility
+   */
+  public static double blackImpliedVolatility(
+      double price,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      boolean isCall) {
+
+    ArgChecker.isTrue(price >= 0d, "negative/NaN price; have {}", price);
+    ArgChecker.isTrue(forward > 0d, "negative/NaN forward; have {}", forward);
+    ArgChecker.isTrue(strike >= 0d, "negative/NaN strike; have {}", strike);
+    ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
+
+    ArgChecker.isFalse(Double.isInfinite(forward), "forward is Infinity");
+    ArgChecker.isFalse(Double.isInfinite(strike), "strike is Infinity");
+    ArgChecker.isFalse(Double.isInfinite(timeToExpiry), "timeToExpiry is Infinity");
+
+    double intrinsicPrice = Math.max(0d, (isCall ? 1 : -1) * (forward - strike));
+    double otmPrice = price - intrinsicPrice;
+    ArgChecker.isTrue(otmPrice >= 0d, "negative/NaN otmPrice; have {}", otmPrice);
+    if (otmPrice == 0d) {
+      return 0d;
+    }
+    ArgChecker.isTrue(
+        otmPrice < Math.min(forward, strike), "otmPrice exceeded min(forward, strike); have {}", otmPrice);
+    ArgChecker.isTrue(timeToExpiry > 0d, "timeToExpiry must be positive for a price above intrinsic value");
+    // the out-of-the-money option in normalised form, which is always a call with non-positive log-moneyness
+    double x = -Math.abs(Math.log(forward / strike));
+    double beta = otmPrice / Math.sqrt(forward * strike);
+    return normalisedBlackVolatility(beta, x) / Math.sqrt(timeToExpiry);
+  }
+
+  /**
+   * Computes the log-normal (Black) implied volatility of many options.
+   * <p>
+   * This is equivalent to calling {@link #blackImpliedVolatility(double, double, double, double, boolean)}
+   * for each option, with the results stored in the specified array.
+   *
+   * @param price  the forward prices, which are the market prices divided by the numeraire
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param isCall  true for call, false for put
+   * @param result  the array to store the log-normal (Black) implied volatilities in
+   */
+  public static void blackImpliedVolatility(
+      double[] price,
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      boolean[] isCall,
+      double[] result) {
+
+    int size = BlackFormulaRepository.batchSize(result, price, forward, strike, timeToExpiry);
+    ArgChecker.isTrue(isCall.length == size, "Array lengths must match, {} != {}", isCall.length, size);
+    for (int i = 0; i < size; i++) {
+      result[i] = blackImpliedVolatility(price[i], forward[i], strike[i], timeToExpiry[i], isCall[i]);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the normal (Bachelier) implied volatility.
+   * <p>
+   * This is a drop-in alternative to
+   * {@link NormalFormulaRepository#impliedVolatility(double, double, double, double, double, double, PutCall)},
+   * with the same argument validation. No initial guess is required.
+   *
+   * @param optionPrice  the price of the option
+   * @param forward  the forward value of the underlying
+   * @param strike  the strike
+   * @param timeToExpiry  the time to expiry
+   * @param numeraire  the numeraire
+   * @param putCall  whether it is put or call
+   * @return the normal (Bachelier) implied volatility
+   */
+  public static double normalImpliedVolatility(
+      double optionPrice,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double numeraire,
+      PutCall putCall) {
+
+    double intrinsicPrice = numeraire * Math.max(0, (putCall.isCall() ? 1 : -1) * (forward - strike));
+    ArgChecker.isTrue(optionPrice > intrinsicPrice || DoubleMath.fuzzyEquals(optionPrice, intrinsicPrice, 1e-6),
+        "Option price (" + optionPrice + ") less than intrinsic value (" + intrinsicPrice + ")");
+    if (optionPrice <= intrinsicPrice) {
+      return 0d;
+    }
+    ArgChecker.isTrue(timeToExpiry > 0d, "timeToExpiry must be positive for a price above intrinsic value");
+    double otmPrice = (optionPrice - intrinsicPrice) / numeraire;
+    double rootT = Math.sqrt(timeToExpiry);
+    double absMoneyness = Math.abs(forward - strike);
+    if (absMoneyness == 0d) {
+      return otmPrice * SQRT_2PI / rootT;
+    }
+    // the normalised price is minus the time value relative to the moneyness
+    double phiTilde = -otmPrice / absMoneyness;
+    double xBar;
+    if (phiTilde < NORMAL_CUTOFF) {
+      double g = 1d / (phiTilde - 0.5);
+      double g2 = g * g;
+      double xi = (0.032114372355 - g2 * (0.016969777977 - g2 * (2.6207332461E-3 - 9.6066952861E-5 * g2))) /
+          (1d - g2 * (0.6635646938 - g2 * (0.14528712196 - 0.010472855461 * g2)));
+      xBar = g * (1d / SQRT_2PI + xi * g2);
+    } else {
+      double h = Math.sqrt(-Math.log(-phiTilde));
+      xBar = (9.4883409779 - h * (9.6320903635 - h * (0.58556997323 + 2.1464093351 * h))) /
+          (1d - h * (0.65174820867 + h * (1.5120247828 + 6.6437847132E-5 * h)));
+    }
+    // single Householder correction of third order
+    double pdf = NormalDistribution.standardPdf(xBar);
+    double q = (NormalDistribution.standardCdf(xBar) + pdf / xBar - phiTilde) / pdf;
+    double xBar2 = xBar * xBar;
+    double xStar = xBar + 3d * q * xBar2 * (2d - q * xBar * (2d + xBar2)) /
+        (6d + q * xBar * (-12d + xBar * (6d * q + xBar * (-6d + q * xBar * (3d + xBar2)))));
+    return absMoneyness / Math.abs(xStar * rootT);
+  }
+
+  /**
+   * Computes the normal (Bachelier) implied volatility of many options.
+   * <p>
+   * This is equivalent to calling {@link #normalImpliedVolatility(double, double, double, double, double, PutCall)}
+   * for each option, with the results stored in the specified array.
+   *
+   * @param optionPrice  the prices of the options
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param numeraire  the numeraires
+   * @param putCall  whether each option is put or call
+   * @param result  the array to store the normal (Bachelier) implied volatilities in
+   */
+  public static void normalImpliedVolatility(
+      double[] optionPrice,
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] numeraire,
+      PutCall[] putCall,
+      double[] result) {
+
+    int size = BlackFormulaRepository.batchSize(result, optionPrice, forward, strike, timeToExpiry, numeraire);
+    ArgChecker.isTrue(putCall.length == size, "Array lengths must match, {} != {}", putCall.length, size);
+    for (int i = 0; i < size; i++) {
+      result[i] = normalImpliedVolatility(
+          optionPrice[i], forward[i], strike[i], timeToExpiry[i], numeraire[i], putCall[i]);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the total volatility, s = sigma * sqrt(t), matching the normalised price of an out-of-the-money call
+  // the normalised price is b(x, s) = exp(x/2) N(x/s + s/2) - exp(-x/2) N(x/s - s/2), where x <= 0
+  // and 0 < beta < exp(x/2)
+  private static double normalisedBlackVolatility(double beta, double x) {
+    double bMax = Math.exp(x / 2d);
+    ArgChecker.isTrue(beta < bMax, "normalised price exceeded upper bound; have {}", beta);
+    // the point of inflexion of b as a function of s, and the tangent there
+    double sc = Math.sqrt(-2d * x);
+    double bc = normalisedBlack(x, sc, bMax);
+    double vc = x == 0d ? 1d / SQRT_2PI : normalisedVega(x, sc, bMax);
+    // the tangent at the point of inflexion splits the domain into three regions
+    double sl = sc - bc / vc;
+    double su = sc + (bMax - bc) / vc;
+    double bl = sl > 0d ? normalisedBlack(x, sl, bMax) : 0d;
+    double bu = normalisedBlack(x, su, bMax);
+    int region;
+    double s;
+    double lower;
+    double upper;
+    double lnBeta = 0d;
+    double lnBMaxLessBeta = 0d;
+    if (beta < bl) {
+      region = LOWER;
+      lower = 0d;
+      upper = sc;
+      lnBeta = Math.log(beta);
+      // interpolation in 1 / ln(b), which is close to linear in s^2, and the asymptotic form for small s
+      s = sl * Math.sqrt(Math.log(bl) / lnBeta);
+      double asymptotic = lowerAsymptoticGuess(x, lnBeta);
+      if (asymptotic > 0d && asymptotic < s) {
+        // choose the guess with the smaller objective
+        double bAsymptotic = normalisedBlack(x, asymptotic, bMax);
+        double fAsymptotic = Math.abs(1d / Math.log(bAsymptotic) - 1d / lnBeta);
+        if (bAsymptotic > 0d && fAsymptotic < Math.abs(1d / Math.log(normalisedBlack(x, s, bMax)) - 1d / lnBeta)) {
+          s = asymptotic;
+        }
+      }
+    } else if (beta <= bu) {
+      region = CENTRAL;
+      lower = 0d;
+      upper = Double.POSITIVE_INFINITY;
+      s = sc + (beta - bc) / vc;
+    } else {
+      region = UPPER;
+      lower = sc;
+      upper = Double.POSITIVE_INFINITY;
+      lnBMaxLessBeta = Math.log(bMax - beta);
+      // exact for x = 0
+      double inverse = Probability.normalInverse((bMax - beta) / (bMax + 1d / bMax));
+      s = Math.max(-2d * inverse, su);
+    }
+
+    for (int i = 0; i < MAX_ITERATIONS; i++) {
+      double b = normalisedBlack(x, s, bMax);
+      double b1 = normalisedVega(x, s, bMax);
+      double r2 = x * x / (s * s * s) - s / 4d;
+      double b2 = b1 * r2;
+      double b3 = b1 * (r2 * r2 - 3d * x * x / (s * s * s * s) - 0.25d);
+      double f;
+      double f1;
+      double f2;
+      double f3;
+      if (region == LOWER) {
+        if (b <= 0d) {
+          // the price has underflowed, so bisect
+          lower = s;
+          s = (lower + upper) / 2d;
+          continue;
+        }
+        // objective 1 / ln(b) - 1 / ln(beta), which decreases as s increases
+        double ln = Math.log(b);
+        double l1 = b1 / b;
+        double l2 = b2 / b - l1 * l1;
+        double l3 = b3 / b - 3d * l1 * (b2 / b) + 2d * l1 * l1 * l1;
+        double ln2 = ln * ln;
+        f = 1d / ln - 1d / lnBeta;
+        f1 = -l1 / ln2;
+        f2 = -l2 / ln2 + 2d * l1 * l1 / (ln2 * ln);
+        f3 = -l3 / ln2 + 6d * l1 * l2 / (ln2 * ln) - 6d * l1 * l1 * l1 / (ln2 * ln2);
+      } else if (region == CENTRAL) {
+        // objective b - beta
+        f = b - beta;
+        f1 = b1;
+        f2 = b2;
+        f3 = b3;
+      } else {
+        // objective ln(bMax - beta) - ln(bMax - b)
+        double g = bMax - b;
+        double l1 = -b1 / g;
+        double l2 = -b2 / g - l1 * l1;
+        double l3 = -b3 / g - 3d * (b1 / g) * (b2 / g) + 2d * l1 * l1 * l1;
+        f = lnBMaxLessBeta - Math.log(g);
+        f1 = -l1;
+        f2 = -l2;
+        f3 = -l3;
+      }
+      if (f == 0d) {
+        break;
+      }
+      // maintain a bracket of the root
+      if ((f > 0d) != (region == LOWER)) {
+        upper = Math.min(upper, s);
+      } else {
+        lower = Math.max(lower, s);
+      }
+      double ds = householderStep(f, f1, f2, f3);
+      if (Math.abs(ds) <= TOLERANCE * s) {
+        s += ds;
+        break;
+      }
+      double next = s + ds;
+      if (!(next > lower && next < upper)) {
+        next = upper < Double.POSITIVE_INFINITY ? (lower + upper) / 2d : 2d * s;
+      }
+      ds = next - s;
+      s = next;
+      if (Math.abs(ds) <= TOLERANCE * s) {
+        break;
+      }
+    }
+    return s;
+  }
+
+  // initial guess in the lower region from the asymptotic expansion of ln(b) for small s
+  private static double lowerAsymptoticGuess(double x, double lnBeta) {
+    double s = -x / Math.sqrt(-2d * lnBeta);
+    double lnAbsX = Math.log(-x);
+    for (int i = 0; i < LOWER_GUESS_ITERATIONS; i++) {
+      double arg = 3d * Math.log(s) - 2d * lnAbsX - Math.log(SQRT_2PI) - lnBeta - s * s / 8d;
+      if (!(arg > 0d)) {
+        break;
+      }
+      s = -x / Math.sqrt(2d * arg);
+    }
+    return s;
+  }
+
+  // the Householder step of third order
+  private static double householderStep(double f, double f1, double f2, double f3) {
+    double nu = -f / f1;
+    double h2 = f2 / f1;
+    double h3 = f3 / f1;
+    return nu * (1d + h2 * nu / 2d) / (1d + nu * (h2 + h3 * nu / 6d));
+  }
+
+  // the normalised Black price of a call, where bMax is exp(x/2)
+  private static double normalisedBlack(double x, double s, double bMax) {
+    if (s <= 0d) {
+      return Math.max(bMax - 1d / bMax, 0d);
+    }
+    return bMax * NormalDistribution.standardCdf(x / s + s / 2d) -
+        NormalDistribution.standardCdf(x / s - s / 2d) / bMax;
+  }
+
+  // the derivative of the normalised Black price with respect to s, where bMax is exp(x/2)
+  private static double normalisedVega(double x, double s, double bMax) {
+    return bMax * NormalDistribution.standardPdf(x / s + s / 2d);
+  }
+
+}
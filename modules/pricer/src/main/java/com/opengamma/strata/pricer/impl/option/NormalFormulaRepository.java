@@ -72,6 +72,43 @@ public final class NormalFormulaRepository {
     return sign * (forward - strike) * cdf + sigmaRootT * pdf;
   }
 
+  /**
+   * Computes the forward price of many options.
+   * <p>
+   * This is equivalent to calling {@link #price(double, double, double, double, PutCall)} for each option,
+   * with the results stored in the specified array.
+   * The options are evaluated in a single loop that does not allocate.
+   * Options with zero volatility or time to expiry are passed to the single option method.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param normalVol  the normal volatilities
+   * @param putCall  whether each option is put or call
+   * @param result  the array to store the forward prices in
+   */
+  public static void price(
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] normalVol,
+      PutCall[] putCall,
+      double[] result) {
+
+    int size = BlackFormulaRepository.batchSize(result, forward, strike, timeToExpiry, normalVol);
+    ArgChecker.isTrue(putCall.length == size, "Array lengths must match, {} != {}", putCall.length, size);
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = normalVol[i] * Math.sqrt(timeToExpiry[i]);
+      if (sigmaRootT >= NEAR_ZERO) {
+        double x = (putCall[i].isCall() ? 1d : -1d) * (forward[i] - strike[i]);
+        double arg = x / sigmaRootT;
+        result[i] = x * NormalDistribution.standardCdf(arg) + sigmaRootT * NormalDistribution.standardPdf(arg);
+      } else {
+        result[i] = price(forward[i], strike[i], timeToExpiry[i], normalVol[i], putCall[i]);
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the price and first order derivatives.
@@ -167,6 +204,42 @@ public final class NormalFormulaRepository {
     return sign * cdf;
   }
 
+  /**
+   * Computes the delta of many options.
+   * <p>
+   * This is equivalent to calling {@link #delta(double, double, double, double, PutCall)} for each option,
+   * with the results stored in the specified array.
+   * The options are evaluated in a single loop that does not allocate.
+   * Options with zero volatility or time to expiry are passed to the single option method.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param normalVol  the normal volatilities
+   * @param putCall  whether each option is put or call
+   * @param result  the array to store the deltas in
+   */
+  public static void delta(
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] normalVol,
+      PutCall[] putCall,
+      double[] result) {
+
+    int size = BlackFormulaRepository.batchSize(result, forward, strike, timeToExpiry, normalVol);
+    ArgChecker.isTrue(putCall.length == size, "Array lengths must match, {} != {}", putCall.length, size);
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = normalVol[i] * Math.sqrt(timeToExpiry[i]);
+      if (sigmaRootT >= NEAR_ZERO) {
+        double sign = putCall[i].isCall() ? 1d : -1d;
+        result[i] = sign * NormalDistribution.standardCdf(sign * (forward[i] - strike[i]) / sigmaRootT);
+      } else {
+        result[i] = delta(forward[i], strike[i], timeToExpiry[i], normalVol[i], putCall[i]);
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the gamma.
@@ -247,6 +320,39 @@ public final class NormalFormulaRepository {
     return pdf * rootT;
   }
 
+  /**
+   * Computes the vega of many options.
+   * <p>
+   * This is equivalent to calling {@link #vega(double, double, double, double, PutCall)} for each option,
+   * with the results stored in the specified array. The vega is the same for a put and a call.
+   * The options are evaluated in a single loop that does not allocate.
+   * Options with zero volatility or time to expiry are passed to the single option method.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param normalVol  the normal volatilities
+   * @param result  the array to store the vegas in
+   */
+  public static void vega(
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] normalVol,
+      double[] result) {
+
+    int size = BlackFormulaRepository.batchSize(result, forward, strike, timeToExpiry, normalVol);
+    for (int i = 0; i < size; i++) {
+      double rootT = Math.sqrt(timeToExpiry[i]);
+      double sigmaRootT = normalVol[i] * rootT;
+      if (sigmaRootT >= NEAR_ZERO) {
+        result[i] = NormalDistribution.standardPdf((forward[i] - strike[i]) / sigmaRootT) * rootT;
+      } else {
+        result[i] = vega(forward[i], strike[i], timeToExpiry[i], normalVol[i], PutCall.CALL);
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the implied volatility.
@@ -316,6 +422,41 @@ public final class NormalFormulaRepository {
     return sigma;
   }
 
+  /**
+   * Computes the implied volatility of many options.
+   * <p>
+   * This is equivalent to calling
+   * {@link #impliedVolatility(double, double, double, double, double, double, PutCall)}
+   * for each option, with the results stored in the specified array.
+   * 
+   * @param optionPrice  the prices of the options
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param initialNormalVol  the normal volatilities used to start the search
+   * @param numeraire  the numeraires
+   * @param putCall  whether each option is put or call
+   * @param result  the array to store the implied volatilities in
+   */
+  public static void impliedVolatility(
+      double[] optionPrice,
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] initialNormalVol,
+      double[] numeraire,
+      PutCall[] putCall,
+      double[] result) {
+
+    int size = BlackFormulaRepository.batchSize(
+        result, optionPrice, forward, strike, timeToExpiry, initialNormalVol, numeraire);
+    ArgChecker.isTrue(putCall.length == size, "Array lengths must match, {} != {}", putCall.length, size);
+    for (int i = 0; i < size; i++) {
+      result[i] = impliedVolatility(
+          optionPrice[i], forward[i], strike[i], timeToExpiry[i], initialNormalVol[i], numeraire[i], putCall[i]);
+    }
+  }
+
   /**
    * Compute the implied volatility using an approximate explicit transformation formula.
    * <p>
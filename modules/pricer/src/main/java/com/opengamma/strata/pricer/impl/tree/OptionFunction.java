@@ -103,6 +103,47 @@ public interface OptionFunction {
     return getNextOptionValues(discountFactor, DoubleMatrix.ofUnsafe(probs), stateValue, value, i);
   }
 
+  /**
+   * Computes the option values in the intermediate nodes, writing them into an existing array.
+   * <p>
+   * This is equivalent to the method of the same name returning {@code DoubleArray},
+   * but the option values are read from and written to arrays supplied by the caller.
+   * This allows the tree to be rolled back using two arrays, rather than one new array per layer.
+   * <p>
+   * The first (2*i+3) elements of {@code value} are read and the first (2*i+1) elements of {@code result} are written.
+   * The two arrays must be different. The sizes are not checked because of the repeated usage.
+   * <p>
+   * The default implementation delegates to the method returning {@code DoubleArray}, thus any override of it is
+   * respected. Implementations should override this method to avoid the allocation.
+   * 
+   * @param discountFactor  the discount factor between the two layers
+   * @param upProbability  the up probability
+   * @param middleProbability  the middle probability
+   * @param downProbability  the down probability
+   * @param value  the option values in the (i+1)-th layer
+   * @param spot  the spot
+   * @param downFactor  the down factor
+   * @param middleFactor  the middle factor
+   * @param result  the array to populate with the option values in the i-th layer
+   * @param i  the step number for which the next option values are computed
+   */
+  public default void getNextOptionValues(
+      double discountFactor,
+      double upProbability,
+      double middleProbability,
+      double downProbability,
+      double[] value,
+      double spot,
+      double downFactor,
+      double middleFactor,
+      double[] result,
+      int i) {
+
+    DoubleArray next = getNextOptionValues(discountFactor, upProbability, middleProbability, downProbability,
+        DoubleArray.ofUnsafe(Arrays.copyOf(value, 2 * i + 3)), spot, downFactor, middleFactor, i);
+    System.arraycopy(next.toArrayUnsafe(), 0, result, 0, 2 * i + 1);
+  }
+
   /**
    * Computes the option values in the intermediate nodes.
    * <p>
@@ -131,4 +172,37 @@ public interface OptionFunction {
         transitionProbability.get(j, 1) * value.get(j + 1) + transitionProbability.get(j, 0) * value.get(j)));
   }
 
+  /**
+   * Computes the option values in the intermediate nodes, writing them into an existing array.
+   * <p>
+   * This is equivalent to {@link #getNextOptionValues(double, DoubleMatrix, DoubleArray, DoubleArray, int)},
+   * but the option values are read from and written to arrays supplied by the caller.
+   * This allows the tree to be rolled back using two arrays, rather than one new array per layer.
+   * <p>
+   * The first (2*i+3) elements of {@code value} are read and the first (2*i+1) elements of {@code result} are written.
+   * The two arrays must be different. The sizes are not checked because of the repeated usage.
+   * <p>
+   * The default implementation delegates to the method returning {@code DoubleArray}, thus any override of it is
+   * respected. Implementations should override this method to avoid the allocation.
+   * 
+   * @param discountFactor  the discount factor between the two layers
+   * @param transitionProbability  the transition probability
+   * @param stateValue  the state value
+   * @param value  the option values in the (i+1)-th layer
+   * @param result  the array to populate with the option values in the i-th layer
+   * @param i  the step number for which the next option values are computed
+   */
+  public default void getNextOptionValues(
+      double discountFactor,
+      DoubleMatrix transitionProbability,
+      DoubleArray stateValue,
+      double[] value,
+      double[] result,
+      int i) {
+
+    DoubleArray next = getNextOptionValues(
+        discountFactor, transitionProbability, stateValue, DoubleArray.ofUnsafe(Arrays.copyOf(value, 2 * i + 3)), i);
+    System.arraycopy(next.toArrayUnsafe(), 0, result, 0, 2 * i + 1);
+  }
+
 }
@@ -97,8 +97,21 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
       DoubleArray values,
       int i) {
 
+    double[] res = new double[2 * i + 1];
+    getNextOptionValues(discountFactor, transitionProbability, stateValue, values.toArrayUnsafe(), res, i);
+    return DoubleArray.ofUnsafe(res);
+  }
+
+  @Override
+  public void getNextOptionValues(
+      double discountFactor,
+      DoubleMatrix transitionProbability,
+      DoubleArray stateValue,
+      double[] values,
+      double[] res,
+      int i) {
+
     int nNodes = 2 * i + 1;
-    double[] res = new double[nNodes];
     double barrierLevel = getBarrierLevel(i);
     double rebate = getRebate(i);
     boolean isDown = getBarrierType().isDown();
@@ -111,7 +124,7 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
         double middleProb = transitionProbability.get(j, 1);
         double downProb = transitionProbability.get(j, 0);
         res[j] = discountFactor *
-            (upProb * values.get(j + 2) + middleProb * values.get(j + 1) + downProb * values.get(j));
+            (upProb * values[j + 2] + middleProb * values[j + 1] + downProb * values[j]);
       }
     }
     // modification if barrier lies between two consecutive nodes 
@@ -126,7 +139,57 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
         res[index] = 0.5 * res[index] + 0.5 * (ub * rebate + bd * res[index]) / ud;
       }
     }
-    return DoubleArray.ofUnsafe(res);
+  }
+
+  @Override
+  public void getNextOptionValues(
+      double discountFactor,
+      double upProbability,
+      double middleProbability,
+      double downProbability,
+      double[] values,
+      double spot,
+      double downFactor,
+      double middleFactor,
+      double[] res,
+      int i) {
+
+    // the state values of the uniform lattice are computed node by node, rather than stored in an array
+    int nNodes = 2 * i + 1;
+    double barrierLevel = getBarrierLevel(i);
+    double rebate = getRebate(i);
+    boolean isDown = getBarrierType().isDown();
+    int index = -1;
+    double stateBelow = Double.NaN;
+    double stateAbove = Double.NaN;
+    for (int j = 0; j < nNodes; ++j) {
+      double stateValue = spot * Math.pow(downFactor, i - j) * Math.pow(middleFactor, j);
+      if (stateValue <= barrierLevel) {
+        // the state values are increasing, thus this is the lower bound index of the barrier so far
+        index = j;
+        stateBelow = stateValue;
+      } else if (index == j - 1) {
+        stateAbove = stateValue;
+      }
+      if ((isDown && stateValue <= barrierLevel) ||
+          (!isDown && stateValue >= barrierLevel)) {
+        res[j] = rebate;
+      } else {
+        res[j] = discountFactor *
+            (upProbability * values[j + 2] + middleProbability * values[j + 1] + downProbability * values[j]);
+      }
+    }
+    // modification if barrier lies between two consecutive nodes 
+    if (index > -1 && index < nNodes - 1) {
+      double bd = barrierLevel - stateBelow;
+      double ub = stateAbove - barrierLevel;
+      double ud = stateAbove - stateBelow;
+      if (isDown) {
+        res[index + 1] = 0.5 * res[index + 1] + 0.5 * (bd * rebate + ub * res[index + 1]) / ud;
+      } else {
+        res[index] = 0.5 * res[index] + 0.5 * (ub * rebate + bd * res[index]) / ud;
+      }
+    }
   }
 
   //-------------------------------------------------------------------------
@@ -5,9 +5,14 @@
  */
 package com.opengamma.strata.pricer.impl.tree;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
 
 /**
@@ -17,6 +22,9 @@ import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
  * and the option to price is specified by {@code OptionFunction}. 
  * <p>
  * Option pricing with non-uniform tree is realised by specifying {@code RecombiningTrinomialTreeData}.
+ * <p>
+ * The option values are rolled back using two arrays, which are swapped at each layer,
+ * rather than creating new option values for each layer.
  */
 public class TrinomialTree {
 
@@ -57,12 +65,16 @@ public class TrinomialTree {
     ArgChecker.isTrue(midProbability > 0d, "midProbability should be greater than 0");
     ArgChecker.isTrue(midProbability < 1d, "midProbability should be smaller than 1");
     ArgChecker.isTrue(downProbability > 0d, "downProbability should be greater than 0");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(spot, downFactor, middleFactor);
+    double[] values = function.getPayoffAtExpiryTrinomial(spot, downFactor, middleFactor).toArray();
+    double[] next = new double[values.length];
     for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(discount, upProbability, midProbability, downProbability, values, spot,
-          downFactor, middleFactor, i);
+      function.getNextOptionValues(discount, upProbability, midProbability, downProbability, values, spot,
+          downFactor, middleFactor, next, i);
+      double[] swap = values;
+      values = next;
+      next = swap;
     }
-    return values.get(0);
+    return values[0];
   }
 
   /**
@@ -76,14 +88,29 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
-    int nSteps = data.getNumberOfSteps();
-    ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
-    for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
-    }
-    return values.get(0);
+    double[] prices = new double[1];
+    rollback(ImmutableList.of(function), data, prices, null);
+    return prices[0];
+  }
+
+  /**
+   * Price several options under the same trinomial tree grid.
+   * <p>
+   * The options are rolled back together through the layers of the tree, thus the data of each layer is
+   * only obtained once. The price of each option is the same as that of
+   * {@link #optionPrice(OptionFunction, RecombiningTrinomialTreeData)}.
+   * 
+   * @param functions  the options
+   * @param data  the trinomial tree data
+   * @return the option prices, in the order of the options
+   */
+  public DoubleArray optionPrice(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data) {
+
+    double[] prices = new double[functions.size()];
+    rollback(functions, data, prices, null);
+    return DoubleArray.ofUnsafe(prices);
   }
 
   /**
@@ -100,21 +127,74 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
+    return optionPriceAdjoint(ImmutableList.of(function), data).get(0);
+  }
+
+  /**
+   * Compute the price and delta of several options under the same trinomial tree grid.
+   * <p>
+   * The options are rolled back together through the layers of the tree, thus the data of each layer is
+   * only obtained once. The price and delta of each option are the same as those of
+   * {@link #optionPriceAdjoint(OptionFunction, RecombiningTrinomialTreeData)}.
+   * 
+   * @param functions  the options
+   * @param data  the trinomial tree data
+   * @return the option prices and spot deltas, in the order of the options
+   */
+  public List<ValueDerivatives> optionPriceAdjoint(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data) {
+
+    int nFunctions = functions.size();
+    double[] prices = new double[nFunctions];
+    double[] deltas = new double[nFunctions];
+    rollback(functions, data, prices, deltas);
+    List<ValueDerivatives> result = new ArrayList<>(nFunctions);
+    for (int k = 0; k < nFunctions; ++k) {
+      result.add(ValueDerivatives.of(prices[k], DoubleArray.of(deltas[k])));
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  // rolls the options back through the tree, using two arrays per option that are swapped at each layer
+  // the deltas are only computed if the array is not null
+  private void rollback(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data,
+      double[] prices,
+      double[] deltas) {
+
     int nSteps = data.getNumberOfSteps();
-    ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
-    double delta = 0d;
+    int nFunctions = functions.size();
+    double[][] values = new double[nFunctions][];
+    double[][] next = new double[nFunctions][];
+    DoubleArray stateValueAtExpiry = data.getStateValueAtLayer(nSteps);
+    for (int k = 0; k < nFunctions; ++k) {
+      OptionFunction function = functions.get(k);
+      ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
+      values[k] = function.getPayoffAtExpiryTrinomial(stateValueAtExpiry).toArray();
+      next[k] = new double[values[k].length];
+    }
     for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
-      if (i == 1) {
-        DoubleArray stateValue = data.getStateValueAtLayer(1);
-        double d1 = (values.get(2) - values.get(1)) / (stateValue.get(2) - stateValue.get(1));
-        double d2 = (values.get(1) - values.get(0)) / (stateValue.get(1) - stateValue.get(0));
-        delta = 0.5 * (d1 + d2);
+      double discountFactor = data.getDiscountFactorAtLayer(i);
+      DoubleMatrix probability = data.getProbabilityAtLayer(i);
+      DoubleArray stateValue = data.getStateValueAtLayer(i);
+      for (int k = 0; k < nFunctions; ++k) {
+        functions.get(k).getNextOptionValues(discountFactor, probability, stateValue, values[k], next[k], i);
+        double[] swap = values[k];
+        values[k] = next[k];
+        next[k] = swap;
+        if (deltas != null && i == 1) {
+          double d1 = (values[k][2] - values[k][1]) / (stateValue.get(2) - stateValue.get(1));
+          double d2 = (values[k][1] - values[k][0]) / (stateValue.get(1) - stateValue.get(0));
+          deltas[k] = 0.5 * (d1 + d2);
+        }
       }
     }
-    return ValueDerivatives.of(values.get(0), DoubleArray.of(delta));
+    for (int k = 0; k < nFunctions; ++k) {
+      prices[k] = values[k][0];
+    }
   }
 
 }
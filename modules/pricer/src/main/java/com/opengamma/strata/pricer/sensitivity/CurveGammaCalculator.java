@@ -42,6 +42,10 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * By default the gamma is computed using a one basis-point shift and a forward finite difference.
  * The results themselves are not scaled (they represent the second order derivative).
  * <p>
+ * Each column of the gamma matrix requires the delta to be recomputed with a bumped curve.
+ * The bumps are independent of one another, thus a {@linkplain #parallel() parallel} calculator
+ * evaluates them concurrently. The result is the same whether the bumps are evaluated serially or in parallel.
+ * <p>
  * Reference: Interest Rate Cross-gamma for Single and Multiple Curves. OpenGamma quantitative research 15, July 14
  */
 public final class CurveGammaCalculator {
@@ -55,6 +59,18 @@ public final class CurveGammaCalculator {
    * The first order finite difference calculator.
    */
   private final VectorFieldFirstOrderDifferentiator fd;
+  /**
+   * The finite difference type.
+   */
+  private final FiniteDifferenceType fdType;
+  /**
+   * The shift to be applied to the curves.
+   */
+  private final double shift;
+  /**
+   * Whether the bumps are evaluated in parallel.
+   */
+  private final boolean parallel;
 
   //-------------------------------------------------------------------------
   /**
@@ -95,7 +111,27 @@ public final class CurveGammaCalculator {
    * @param shift  the shift to be applied to the curves
    */
   private CurveGammaCalculator(FiniteDifferenceType fdType, double shift) {
+    this(fdType, shift, false);
+  }
+
+  // creates an instance
+  private CurveGammaCalculator(FiniteDifferenceType fdType, double shift, boolean parallel) {
     this.fd = new VectorFieldFirstOrderDifferentiator(fdType, shift);
+    this.fdType = fdType;
+    this.shift = shift;
+    this.parallel = parallel;
+  }
+
+  /**
+   * Returns a calculator that evaluates the bumps in parallel.
+   * <p>
+   * The bumps of each curve are evaluated concurrently using the common fork-join pool.
+   * The sensitivity function must be thread-safe.
+   * 
+   * @return the parallel calculator
+   */
+  public CurveGammaCalculator parallel() {
+    return new CurveGammaCalculator(fdType, shift, true);
   }
 
   //-------------------------------------------------------------------------
@@ -167,35 +203,39 @@ public final class CurveGammaCalculator {
 
     ImmutableRatesProvider immProv = ratesProvider.toImmutableRatesProvider();
     CurrencyParameterSensitivities baseDelta = sensitivitiesFn.apply(immProv); // used to check target sensitivity exits.
-    CrossGammaParameterSensitivities result = CrossGammaParameterSensitivities.empty();
-    for (CurrencyParameterSensitivity baseDeltaSingle : baseDelta.getSensitivities()) {
-      CrossGammaParameterSensitivities resultInner = CrossGammaParameterSensitivities.empty();
-      // discount curve
-      for (Entry<Currency, Curve> entry : immProv.getDiscountCurves().entrySet()) {
-        Currency currency = entry.getKey();
+    List<CurrencyParameterSensitivity> baseDeltas = baseDelta.getSensitivities();
+    // each curve is bumped once, producing the block of every base delta with respect to that curve
+    List<List<CrossGammaParameterSensitivity>> curveBlocks = new ArrayList<>();
+    // discount curve
+    for (Entry<Currency, Curve> entry : immProv.getDiscountCurves().entrySet()) {
+      Currency currency = entry.getKey();
+      Curve curve = entry.getValue();
+      if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
+        NodalCurve nodalCurve = getNodalCurve(curve);
+        curveBlocks.add(computeGammaForCurve(
+            baseDeltas, nodalCurve, c -> immProv.toBuilder().discountCurve(currency, c).build(), sensitivitiesFn));
+      }
+    }
+    // forward curve
+    for (Entry<Index, Curve> entry : immProv.getIndexCurves().entrySet()) {
+      Index index = entry.getKey();
+      if (index instanceof RateIndex || index instanceof PriceIndex) {
+        Currency currency = getCurrency(index);
         Curve curve = entry.getValue();
         if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
           NodalCurve nodalCurve = getNodalCurve(curve);
-          CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-              baseDeltaSingle, nodalCurve, c -> immProv.toBuilder().discountCurve(currency, c).build(), sensitivitiesFn);
-          resultInner = resultInner.combinedWith(gammaSingle);
+          curveBlocks.add(computeGammaForCurve(
+              baseDeltas, nodalCurve, c -> immProv.toBuilder().indexCurve(index, c).build(), sensitivitiesFn));
         }
       }
-      // forward curve
-      for (Entry<Index, Curve> entry : immProv.getIndexCurves().entrySet()) {
-        Index index = entry.getKey();
-        if (index instanceof RateIndex || index instanceof PriceIndex) {
-          Currency currency = getCurrency(index);
-          Curve curve = entry.getValue();
-          if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
-            NodalCurve nodalCurve = getNodalCurve(curve);
-            CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-                baseDeltaSingle, nodalCurve, c -> immProv.toBuilder().indexCurve(index, c).build(), sensitivitiesFn);
-            resultInner = resultInner.combinedWith(gammaSingle);
-          }
-        }
+    }
+    CrossGammaParameterSensitivities result = CrossGammaParameterSensitivities.empty();
+    for (int i = 0; i < baseDeltas.size(); i++) {
+      CrossGammaParameterSensitivities resultInner = CrossGammaParameterSensitivities.empty();
+      for (List<CrossGammaParameterSensitivity> curveBlock : curveBlocks) {
+        resultInner = resultInner.combinedWith(curveBlock.get(i));
       }
-      result = result.combinedWith(combineSensitivities(baseDeltaSingle, resultInner));
+      result = result.combinedWith(combineSensitivities(baseDeltas.get(i), resultInner));
     }
     return result;
   }
@@ -231,40 +271,100 @@ public final class CurveGammaCalculator {
         return sensiMulti.getSensitivity(newCurve.getName(), sensitivityCurrency).getSensitivity();
       }
     };
-    DoubleMatrix sensi = fd.differentiate(function).apply(nodalCurve.getYValues());
+    DoubleMatrix sensi = differentiate(function, nodalCurve.getYValues());
     List<ParameterMetadata> metadata = IntStream.range(0, nodalCurve.getParameterCount())
         .mapToObj(i -> nodalCurve.getParameterMetadata(i))
         .collect(toImmutableList());
     return CrossGammaParameterSensitivity.of(nodalCurve.getName(), metadata, sensitivityCurrency, sensi);
   }
 
-  // computes the sensitivity of baseDeltaSingle to nodalCurve
-  CrossGammaParameterSensitivity computeGammaForCurve(
-      CurrencyParameterSensitivity baseDeltaSingle,
+  // computes the sensitivity of each of baseDeltas to nodalCurve, bumping the curve once for all the deltas
+  List<CrossGammaParameterSensitivity> computeGammaForCurve(
+      List<CurrencyParameterSensitivity> baseDeltas,
       NodalCurve nodalCurve,
       Function<Curve, ImmutableRatesProvider> ratesProviderFn,
       Function<ImmutableRatesProvider, CurrencyParameterSensitivities> sensitivitiesFn) {
 
+    int totalCount = baseDeltas.stream().mapToInt(CurrencyParameterSensitivity::getParameterCount).sum();
     Function<DoubleArray, DoubleArray> function = new Function<DoubleArray, DoubleArray>() {
       @Override
       public DoubleArray apply(DoubleArray t) {
         NodalCurve newCurve = nodalCurve.withYValues(t);
         ImmutableRatesProvider newRates = ratesProviderFn.apply(newCurve);
         CurrencyParameterSensitivities sensiMulti = sensitivitiesFn.apply(newRates);
-        return sensiMulti.getSensitivity(baseDeltaSingle.getMarketDataName(), baseDeltaSingle.getCurrency()).getSensitivity();
+        double[] values = new double[totalCount];
+        int start = 0;
+        for (CurrencyParameterSensitivity baseDeltaSingle : baseDeltas) {
+          DoubleArray deltaSingle = sensiMulti.getSensitivity(
+              baseDeltaSingle.getMarketDataName(), baseDeltaSingle.getCurrency()).getSensitivity();
+          deltaSingle.copyInto(values, start);
+          start += deltaSingle.size();
+        }
+        return DoubleArray.ofUnsafe(values);
       }
     };
-    DoubleMatrix sensi = fd.differentiate(function).apply(nodalCurve.getYValues());
+    DoubleMatrix sensi = differentiate(function, nodalCurve.getYValues());
     List<ParameterMetadata> metadata = IntStream.range(0, nodalCurve.getParameterCount())
         .mapToObj(i -> nodalCurve.getParameterMetadata(i))
         .collect(toImmutableList());
-    return CrossGammaParameterSensitivity.of(
-        baseDeltaSingle.getMarketDataName(),
-        baseDeltaSingle.getParameterMetadata(),
-        nodalCurve.getName(),
-        metadata,
-        baseDeltaSingle.getCurrency(),
-        sensi);
+    List<CrossGammaParameterSensitivity> result = new ArrayList<>();
+    int start = 0;
+    for (CurrencyParameterSensitivity baseDeltaSingle : baseDeltas) {
+      int rowStart = start;
+      DoubleMatrix block = DoubleMatrix.of(
+          baseDeltaSingle.getParameterCount(), sensi.columnCount(), (i, j) -> sensi.get(rowStart + i, j));
+      result.add(CrossGammaParameterSensitivity.of(
+          baseDeltaSingle.getMarketDataName(),
+          baseDeltaSingle.getParameterMetadata(),
+          nodalCurve.getName(),
+          metadata,
+          baseDeltaSingle.getCurrency(),
+          block));
+      start += baseDeltaSingle.getParameterCount();
+    }
+    return result;
+  }
+
+  // computes the Jacobian of the function at the point, evaluating the columns in parallel if required
+  // the arithmetic matches VectorFieldFirstOrderDifferentiator so that the result does not depend on the parallelism
+  private DoubleMatrix differentiate(Function<DoubleArray, DoubleArray> function, DoubleArray x) {
+    if (!parallel) {
+      return fd.differentiate(function).apply(x);
+    }
+    DoubleArray y = function.apply(x);
+    int n = x.size();
+    int m = y.size();
+    double[][] res = new double[m][n];
+    IntStream.range(0, n).parallel().forEach(j -> {
+      double xj = x.get(j);
+      switch (fdType) {
+        case FORWARD: {
+          DoubleArray up = function.apply(x.with(j, xj + shift));
+          for (int i = 0; i < m; i++) {
+            res[i][j] = (up.get(i) - y.get(i)) / shift;
+          }
+          break;
+        }
+        case CENTRAL: {
+          DoubleArray up = function.apply(x.with(j, xj + shift));
+          DoubleArray down = function.apply(x.with(j, xj - shift));
+          for (int i = 0; i < m; i++) {
+            res[i][j] = (up.get(i) - down.get(i)) / (2 * shift);
+          }
+          break;
+        }
+        case BACKWARD: {
+          DoubleArray down = function.apply(x.with(j, xj - shift));
+          for (int i = 0; i < m; i++) {
+            res[i][j] = (y.get(i) - down.get(i)) / shift;
+          }
+          break;
+        }
+        default:
+          throw new IllegalArgumentException("Unsupported finite difference type: " + fdType);
+      }
+    });
+    return DoubleMatrix.ofUnsafe(res);
   }
 
   private CrossGammaParameterSensitivity combineSensitivities(
@@ -5,22 +5,27 @@
  */
 package com.opengamma.strata.pricer.sensitivity;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import org.joda.beans.MetaProperty;
 
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.math.impl.differentiation.FiniteDifferenceType;
 import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.SimpleDiscountFactors;
 import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
@@ -39,6 +44,11 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * <p>
  * This is based on an {@link ImmutableRatesProvider}, {@link LegalEntityDiscountingProvider} or {@link CreditRatesProvider}.
  * The sensitivities are calculated by finite difference.
+ * <p>
+ * Each parameter of each curve is bumped in turn, with the value recalculated using a provider
+ * in which only the bumped curve has been replaced. The bumps are independent of one another,
+ * thus a {@linkplain #parallel() parallel} calculator evaluates them concurrently.
+ * The result is the same whether the bumps are evaluated serially or in parallel.
  */
 public class RatesFiniteDifferenceSensitivityCalculator {
 
@@ -52,21 +62,89 @@ public class RatesFiniteDifferenceSensitivityCalculator {
    * The shift used for finite difference.
    */
   private final double shift;
+  /**
+   * The finite difference type.
+   */
+  private final FiniteDifferenceType differenceType;
+  /**
+   * Whether the bumps are evaluated in parallel.
+   */
+  private final boolean parallel;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance of the finite difference calculator using forward differencing.
+   * 
+   * @param shift  the shift used in the finite difference computation
+   * @return the calculator
+   */
+  public static RatesFiniteDifferenceSensitivityCalculator ofForwardDifference(double shift) {
+    return new RatesFiniteDifferenceSensitivityCalculator(FiniteDifferenceType.FORWARD, shift, false);
+  }
+
+  /**
+   * Obtains an instance of the finite difference calculator using central differencing.
+   * <p>
+   * Central differencing requires two valuations for each parameter, rather than one,
+   * but the error is of second order in the shift.
+   * 
+   * @param shift  the shift used in the finite difference computation
+   * @return the calculator
+   */
+  public static RatesFiniteDifferenceSensitivityCalculator ofCentralDifference(double shift) {
+    return new RatesFiniteDifferenceSensitivityCalculator(FiniteDifferenceType.CENTRAL, shift, false);
+  }
 
+  /**
+   * Obtains an instance of the finite difference calculator using backward differencing.
+   * 
+   * @param shift  the shift used in the finite difference computation
+   * @return the calculator
+   */
+  public static RatesFiniteDifferenceSensitivityCalculator ofBackwardDifference(double shift) {
+    return new RatesFiniteDifferenceSensitivityCalculator(FiniteDifferenceType.BACKWARD, shift, false);
+  }
+
+  //-------------------------------------------------------------------------
   /**
    * Create an instance of the finite difference calculator.
+   * <p>
+   * The finite difference is computed by forward type.
    * 
    * @param shift  the shift used in the finite difference computation
    */
   public RatesFiniteDifferenceSensitivityCalculator(double shift) {
+    this(FiniteDifferenceType.FORWARD, shift, false);
+  }
+
+  // creates an instance
+  private RatesFiniteDifferenceSensitivityCalculator(
+      FiniteDifferenceType differenceType,
+      double shift,
+      boolean parallel) {
+
+    this.differenceType = ArgChecker.notNull(differenceType, "differenceType");
     this.shift = shift;
+    this.parallel = parallel;
+  }
+
+  /**
+   * Returns a calculator that evaluates the bumps in parallel.
+   * <p>
+   * The bumps of all the curves are evaluated concurrently using the common fork-join pool.
+   * The value function must be thread-safe.
+   * 
+   * @return the parallel calculator
+   */
+  public RatesFiniteDifferenceSensitivityCalculator parallel() {
+    return new RatesFiniteDifferenceSensitivityCalculator(differenceType, shift, true);
   }
 
   //-------------------------------------------------------------------------
   /**
    * Computes the first order sensitivities of a function of a RatesProvider to a double by finite difference.
    * <p>
-   * The finite difference is computed by forward type.
+   * The finite difference is computed using the type of this calculator, forward by default.
    * The function should return a value in the same currency for any rate provider.
    * 
    * @param provider  the rates provider
@@ -79,49 +157,27 @@ public class RatesFiniteDifferenceSensitivityCalculator {
 
     ImmutableRatesProvider immProv = provider.toImmutableRatesProvider();
     CurrencyAmount valueInit = valueFn.apply(immProv);
-    CurrencyParameterSensitivities discounting = sensitivity(
-        immProv,
-        immProv.getDiscountCurves(),
-        (base, bumped) -> base.toBuilder().discountCurves(bumped).build(),
-        valueFn,
-        valueInit);
-    CurrencyParameterSensitivities forward = sensitivity(
-        immProv,
-        immProv.getIndexCurves(),
-        (base, bumped) -> base.toBuilder().indexCurves(bumped).build(),
-        valueFn,
-        valueInit);
-    return discounting.combinedWith(forward);
-  }
-
-  // computes the sensitivity with respect to the curves
-  private <T> CurrencyParameterSensitivities sensitivity(
-      ImmutableRatesProvider provider,
-      Map<T, Curve> baseCurves,
-      BiFunction<ImmutableRatesProvider, Map<T, Curve>, ImmutableRatesProvider> storeBumpedFn,
-      Function<ImmutableRatesProvider, CurrencyAmount> valueFn,
-      CurrencyAmount valueInit) {
-
-    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
-    for (Entry<T, Curve> entry : baseCurves.entrySet()) {
-      Curve curve = entry.getValue();
-      DoubleArray sensitivity = DoubleArray.of(curve.getParameterCount(), i -> {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
-        Map<T, Curve> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(entry.getKey(), dscBumped);
-        ImmutableRatesProvider providerDscBumped = storeBumpedFn.apply(provider, mapBumped);
-        return (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      });
-      result = result.combinedWith(curve.createParameterSensitivity(valueInit.getCurrency(), sensitivity));
+    List<CurveBump> bumps = new ArrayList<>();
+    for (Entry<Currency, Curve> entry : immProv.getDiscountCurves().entrySet()) {
+      Currency currency = entry.getKey();
+      bumps.add(new CurveBump(
+          entry.getValue(),
+          bumped -> valueFn.apply(immProv.toBuilder().discountCurve(currency, bumped).build())));
     }
-    return result;
+    for (Entry<Index, Curve> entry : immProv.getIndexCurves().entrySet()) {
+      Index index = entry.getKey();
+      bumps.add(new CurveBump(
+          entry.getValue(),
+          bumped -> valueFn.apply(immProv.toBuilder().indexCurve(index, bumped).build())));
+    }
+    return sensitivity(bumps, valueInit);
   }
 
   //-------------------------------------------------------------------------
   /**
    * Computes the first order sensitivities of a function of a LegalEntityDiscountingProvider to a double by finite difference.
    * <p>
-   * The finite difference is computed by forward type.
+   * The finite difference is computed using the type of this calculator, forward by default.
    * The function should return a value in the same currency for any rates provider of LegalEntityDiscountingProvider.
    * 
    * @param provider  the rates provider
@@ -134,44 +190,35 @@ public class RatesFiniteDifferenceSensitivityCalculator {
 
     ImmutableLegalEntityDiscountingProvider immProv = provider.toImmutableLegalEntityDiscountingProvider();
     CurrencyAmount valueInit = valueFn.apply(immProv);
-    CurrencyParameterSensitivities discounting = sensitivity(
-        immProv, valueFn, ImmutableLegalEntityDiscountingProvider.meta().repoCurves(), valueInit);
-    CurrencyParameterSensitivities forward = sensitivity(
-        immProv, valueFn, ImmutableLegalEntityDiscountingProvider.meta().issuerCurves(), valueInit);
-    return discounting.combinedWith(forward);
+    List<CurveBump> bumps = new ArrayList<>();
+    addBumps(bumps, immProv, valueFn, ImmutableLegalEntityDiscountingProvider.meta().repoCurves());
+    addBumps(bumps, immProv, valueFn, ImmutableLegalEntityDiscountingProvider.meta().issuerCurves());
+    return sensitivity(bumps, valueInit);
   }
 
-  private <T> CurrencyParameterSensitivities sensitivity(
+  // adds a bump for each curve in the property
+  private <T> void addBumps(
+      List<CurveBump> bumps,
       ImmutableLegalEntityDiscountingProvider provider,
       Function<ImmutableLegalEntityDiscountingProvider, CurrencyAmount> valueFn,
-      MetaProperty<ImmutableMap<Pair<T, Currency>, DiscountFactors>> metaProperty,
-      CurrencyAmount valueInit) {
+      MetaProperty<ImmutableMap<Pair<T, Currency>, DiscountFactors>> metaProperty) {
 
     ImmutableMap<Pair<T, Currency>, DiscountFactors> baseCurves = metaProperty.get(provider);
-    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
-    for (Pair<T, Currency> key : baseCurves.keySet()) {
-      DiscountFactors discountFactors = baseCurves.get(key);
-      Curve curve = checkDiscountFactors(discountFactors);
-      int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
+    for (Entry<Pair<T, Currency>, DiscountFactors> entry : baseCurves.entrySet()) {
+      DiscountFactors discountFactors = entry.getValue();
+      bumps.add(new CurveBump(checkDiscountFactors(discountFactors), bumped -> {
         Map<Pair<T, Currency>, DiscountFactors> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(key, createDiscountFactors(discountFactors, dscBumped));
-        ImmutableLegalEntityDiscountingProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
-      result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+        mapBumped.put(entry.getKey(), createDiscountFactors(discountFactors, bumped));
+        return valueFn.apply(provider.toBuilder().set(metaProperty, mapBumped).build());
+      }));
     }
-    return result;
   }
 
   //-------------------------------------------------------------------------
   /**
    * Computes the first order sensitivities of a function of a {@code CreditRatesProvider} to a double by finite difference.
    * <p>
-   * The finite difference is computed by forward type.
+   * The finite difference is computed using the type of this calculator, forward by default.
    * The function should return a value in the same currency for any rates provider of {@code CreditRatesProvider}.
    * 
    * @param provider  the rates provider
@@ -184,69 +231,105 @@ public class RatesFiniteDifferenceSensitivityCalculator {
 
     ImmutableCreditRatesProvider immutableProvider = provider.toImmutableCreditRatesProvider();
     CurrencyAmount valueInit = valueFn.apply(immutableProvider);
-    CurrencyParameterSensitivities discounting = sensitivityDiscountCurve(
-        immutableProvider, valueFn, ImmutableCreditRatesProvider.meta().discountCurves(), valueInit);
-    CurrencyParameterSensitivities credit = sensitivityCreidtCurve(
-        immutableProvider, valueFn, ImmutableCreditRatesProvider.meta().creditCurves(), valueInit);
-    return discounting.combinedWith(credit);
+    List<CurveBump> bumps = new ArrayList<>();
+    addDiscountCurveBumps(bumps, immutableProvider, valueFn, ImmutableCreditRatesProvider.meta().discountCurves());
+    addCreditCurveBumps(bumps, immutableProvider, valueFn, ImmutableCreditRatesProvider.meta().creditCurves());
+    return sensitivity(bumps, valueInit);
   }
 
-  private <T> CurrencyParameterSensitivities sensitivityDiscountCurve(
+  // adds a bump for each discount curve in the property
+  private <T> void addDiscountCurveBumps(
+      List<CurveBump> bumps,
       ImmutableCreditRatesProvider provider,
       Function<ImmutableCreditRatesProvider, CurrencyAmount> valueFn,
-      MetaProperty<ImmutableMap<T, CreditDiscountFactors>> metaProperty,
-      CurrencyAmount valueInit) {
+      MetaProperty<ImmutableMap<T, CreditDiscountFactors>> metaProperty) {
 
     ImmutableMap<T, CreditDiscountFactors> baseCurves = metaProperty.get(provider);
-    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
-    for (T key : baseCurves.keySet()) {
-      CreditDiscountFactors creditDiscountFactors = baseCurves.get(key);
-      DiscountFactors discountFactors = creditDiscountFactors.toDiscountFactors();
-      Curve curve = checkDiscountFactors(discountFactors);
-      int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
+    for (Entry<T, CreditDiscountFactors> entry : baseCurves.entrySet()) {
+      CreditDiscountFactors creditDiscountFactors = entry.getValue();
+      Curve curve = checkDiscountFactors(creditDiscountFactors.toDiscountFactors());
+      bumps.add(new CurveBump(curve, bumped -> {
         Map<T, CreditDiscountFactors> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(key, createCreditDiscountFactors(creditDiscountFactors, dscBumped));
-        ImmutableCreditRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
-      result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+        mapBumped.put(entry.getKey(), createCreditDiscountFactors(creditDiscountFactors, bumped));
+        return valueFn.apply(provider.toBuilder().set(metaProperty, mapBumped).build());
+      }));
     }
-    return result;
   }
 
-  private <T> CurrencyParameterSensitivities sensitivityCreidtCurve(
+  // adds a bump for each credit curve in the property
+  private <T> void addCreditCurveBumps(
+      List<CurveBump> bumps,
       ImmutableCreditRatesProvider provider,
       Function<ImmutableCreditRatesProvider, CurrencyAmount> valueFn,
-      MetaProperty<ImmutableMap<T, LegalEntitySurvivalProbabilities>> metaProperty,
-      CurrencyAmount valueInit) {
+      MetaProperty<ImmutableMap<T, LegalEntitySurvivalProbabilities>> metaProperty) {
 
     ImmutableMap<T, LegalEntitySurvivalProbabilities> baseCurves = metaProperty.get(provider);
-    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
-    for (T key : baseCurves.keySet()) {
-      LegalEntitySurvivalProbabilities credit = baseCurves.get(key);
+    for (Entry<T, LegalEntitySurvivalProbabilities> entry : baseCurves.entrySet()) {
+      LegalEntitySurvivalProbabilities credit = entry.getValue();
       CreditDiscountFactors creditDiscountFactors = credit.getSurvivalProbabilities();
-      DiscountFactors discountFactors = creditDiscountFactors.toDiscountFactors();
-      Curve curve = checkDiscountFactors(discountFactors);
-      int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
+      Curve curve = checkDiscountFactors(creditDiscountFactors.toDiscountFactors());
+      bumps.add(new CurveBump(curve, bumped -> {
         Map<T, LegalEntitySurvivalProbabilities> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(key, LegalEntitySurvivalProbabilities.of(
-            credit.getLegalEntityId(), createCreditDiscountFactors(creditDiscountFactors, dscBumped)));
-        ImmutableCreditRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
+        mapBumped.put(entry.getKey(), LegalEntitySurvivalProbabilities.of(
+            credit.getLegalEntityId(), createCreditDiscountFactors(creditDiscountFactors, bumped)));
+        return valueFn.apply(provider.toBuilder().set(metaProperty, mapBumped).build());
+      }));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // computes the sensitivity to each parameter of each curve
+  // the bumps of all curves are flattened so that they can be evaluated in parallel
+  private CurrencyParameterSensitivities sensitivity(List<CurveBump> bumps, CurrencyAmount valueInit) {
+    int totalCount = bumps.stream().mapToInt(bump -> bump.curve.getParameterCount()).sum();
+    int[] bumpIndices = new int[totalCount];
+    int[] paramIndices = new int[totalCount];
+    for (int i = 0, j = 0; i < bumps.size(); i++) {
+      int paramCount = bumps.get(i).curve.getParameterCount();
+      for (int k = 0; k < paramCount; k++, j++) {
+        bumpIndices[j] = i;
+        paramIndices[j] = k;
       }
-      result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+    }
+    double[] sensitivity = new double[totalCount];
+    IntStream stream = IntStream.range(0, totalCount);
+    (parallel ? stream.parallel() : stream).forEach(j -> sensitivity[j] =
+        derivative(bumps.get(bumpIndices[j]), paramIndices[j], valueInit.getAmount()));
+
+    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
+    int start = 0;
+    for (CurveBump bump : bumps) {
+      int end = start + bump.curve.getParameterCount();
+      result = result.combinedWith(bump.curve.createParameterSensitivity(
+          valueInit.getCurrency(), DoubleArray.copyOf(sensitivity, start, end)));
+      start = end;
     }
     return result;
   }
 
+  // computes the derivative with respect to a single parameter of the curve
+  private double derivative(CurveBump bump, int paramIndex, double valueInit) {
+    Curve curve = bump.curve;
+    double param = curve.getParameter(paramIndex);
+    switch (differenceType) {
+      case FORWARD: {
+        double up = bump.value(curve.withParameter(paramIndex, param + shift));
+        return (up - valueInit) / shift;
+      }
+      case CENTRAL: {
+        double up = bump.value(curve.withParameter(paramIndex, param + shift));
+        double down = bump.value(curve.withParameter(paramIndex, param - shift));
+        return (up - down) / (2 * shift);
+      }
+      case BACKWARD: {
+        double down = bump.value(curve.withParameter(paramIndex, param - shift));
+        return (valueInit - down) / shift;
+      }
+      default:
+        throw new IllegalArgumentException("Unsupported finite difference type: " + differenceType);
+    }
+  }
+
   //-------------------------------------------------------------------------
   // check that the discountFactors is ZeroRateDiscountFactors or SimpleDiscountFactors
   private Curve checkDiscountFactors(DiscountFactors discountFactors) {
@@ -277,4 +360,23 @@ public class RatesFiniteDifferenceSensitivityCalculator {
     throw new IllegalArgumentException("Not supported");
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * A curve to be bumped, with the function to value a provider in which the curve has been replaced.
+   */
+  private static final class CurveBump {
+    private final Curve curve;
+    private final Function<Curve, CurrencyAmount> valueFn;
+
+    private CurveBump(Curve curve, Function<Curve, CurrencyAmount> valueFn) {
+      this.curve = curve;
+      this.valueFn = valueFn;
+    }
+
+    // values the provider in which the curve is replaced by the bumped curve
+    private double value(Curve bumpedCurve) {
+      return valueFn.apply(bumpedCurve).getAmount();
+    }
+  }
+
 }
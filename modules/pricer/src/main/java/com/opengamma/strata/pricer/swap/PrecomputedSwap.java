@@ -0,0 +1,523 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveInfoType;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.SimpleDiscountFactors;
+import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
+import com.opengamma.strata.pricer.ZeroRatePeriodicDiscountFactors;
+import com.opengamma.strata.pricer.rate.DiscountIborIndexRates;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.rate.FixedRateComputation;
+import com.opengamma.strata.product.rate.IborRateComputation;
+import com.opengamma.strata.product.rate.RateComputation;
+import com.opengamma.strata.product.swap.CompoundingMethod;
+import com.opengamma.strata.product.swap.KnownAmountSwapPaymentPeriod;
+import com.opengamma.strata.product.swap.NegativeRateMethod;
+import com.opengamma.strata.product.swap.NotionalExchange;
+import com.opengamma.strata.product.swap.RateAccrualPeriod;
+import com.opengamma.strata.product.swap.RatePaymentPeriod;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.SwapPaymentEvent;
+import com.opengamma.strata.product.swap.SwapPaymentPeriod;
+
+/**
+ * A swap that has been analyzed in advance to allow the present value to be calculated
+ * efficiently for many sets of rates, such as one per scenario.
+ * <p>
+ * When pricing using {@link DiscountingSwapProductPricer}, each payment period is examined for
+ * every set of rates, with the discount factors and index rates looked up from the provider
+ * for every period. This class extracts the dates, year fractions, notionals and fixing
+ * observations of the swap once. Pricing then consists of a single lookup of the discount factors
+ * and index rates of each set of rates, followed by a loop over the precomputed values.
+ * The dates are converted to times once for each distinct valuation date and day count,
+ * rather than once per period and set of rates.
+ * <p>
+ * The present value is the same as that of {@link DiscountingSwapProductPricer#DEFAULT}.
+ * Only vanilla swaps are supported, as determined by {@link #isSupported(ResolvedSwap)}.
+ * The payment periods must be instances of {@link KnownAmountSwapPaymentPeriod} or {@link RatePaymentPeriod}.
+ * Rate payment periods must not have an FX reset, must use fixed or IBOR rates, and must not
+ * use compounding. The payment events must be instances of {@link NotionalExchange}.
+ * <p>
+ * Instances of this class are immutable and may be shared between threads.
+ */
+public final class PrecomputedSwap {
+
+  /**
+   * Whether the swap has legs in more than one currency.
+   */
+  private final boolean crossCurrency;
+  /**
+   * The currencies of the swap, in the order of the legs.
+   */
+  private final Currency[] currencies;
+  /**
+   * The index into the currencies of each leg.
+   */
+  private final int[] legCurrency;
+  /**
+   * The IBOR indices referenced by the swap.
+   */
+  private final IborIndex[] indices;
+  /**
+   * The distinct dates of the swap, which are converted to times.
+   */
+  private final LocalDate[] dates;
+  /**
+   * The payment periods, in the order of the legs.
+   */
+  private final Period[] periods;
+  /**
+   * The payment events, in the order of the legs.
+   */
+  private final Event[] events;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if the swap is supported.
+   * <p>
+   * Only swaps that are supported can be precomputed.
+   *
+   * @param swap  the swap
+   * @return true if the swap can be precomputed
+   */
+  public static boolean isSupported(ResolvedSwap swap) {
+    for (ResolvedSwapLeg leg : swap.getLegs()) {
+      for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
+        if (!isSupported(period)) {
+          return false;
+        }
+      }
+      for (SwapPaymentEvent event : leg.getPaymentEvents()) {
+        if (!(event instanceof NotionalExchange)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  // checks if the period is supported
+  private static boolean isSupported(SwapPaymentPeriod period) {
+    if (period instanceof KnownAmountSwapPaymentPeriod) {
+      return true;
+    }
+    if (!(period instanceof RatePaymentPeriod)) {
+      return false;
+    }
+    RatePaymentPeriod ratePeriod = (RatePaymentPeriod) period;
+    if (ratePeriod.getFxReset().isPresent()) {
+      return false;
+    }
+    if (ratePeriod.getAccrualPeriods().size() > 1 && ratePeriod.getCompoundingMethod() != CompoundingMethod.NONE) {
+      return false;
+    }
+    for (RateAccrualPeriod accrualPeriod : ratePeriod.getAccrualPeriods()) {
+      RateComputation computation = accrualPeriod.getRateComputation();
+      if (!(computation instanceof FixedRateComputation) && !(computation instanceof IborRateComputation)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Obtains an instance from a swap.
+   *
+   * @param swap  the swap
+   * @return the precomputed swap
+   * @throws IllegalArgumentException if the swap is not supported
+   */
+  public static PrecomputedSwap of(ResolvedSwap swap) {
+    ArgChecker.notNull(swap, "swap");
+    if (!isSupported(swap)) {
+      throw new IllegalArgumentException(Messages.format("Swap cannot be precomputed: {}", swap));
+    }
+    return new PrecomputedSwap(swap);
+  }
+
+  // analyzes the swap
+  private PrecomputedSwap(ResolvedSwap swap) {
+    Map<Currency, Integer> currencyMap = new LinkedHashMap<>();
+    Map<IborIndex, Integer> indexMap = new LinkedHashMap<>();
+    Map<LocalDate, Integer> dateMap = new LinkedHashMap<>();
+    List<Period> periodList = new ArrayList<>();
+    List<Event> eventList = new ArrayList<>();
+    List<ResolvedSwapLeg> legs = swap.getLegs();
+    int[] legCurrency = new int[legs.size()];
+    for (int i = 0; i < legs.size(); i++) {
+      ResolvedSwapLeg leg = legs.get(i);
+      legCurrency[i] = currencyMap.computeIfAbsent(leg.getCurrency(), c -> currencyMap.size());
+      for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
+        periodList.add(Period.of(i, period, indexMap, dateMap));
+      }
+      for (SwapPaymentEvent event : leg.getPaymentEvents()) {
+        eventList.add(Event.of(i, (NotionalExchange) event, dateMap));
+      }
+    }
+    this.crossCurrency = swap.isCrossCurrency();
+    this.currencies = currencyMap.keySet().toArray(new Currency[currencyMap.size()]);
+    this.legCurrency = legCurrency;
+    this.indices = indexMap.keySet().toArray(new IborIndex[indexMap.size()]);
+    this.dates = dateMap.keySet().toArray(new LocalDate[dateMap.size()]);
+    this.periods = periodList.toArray(new Period[periodList.size()]);
+    this.events = eventList.toArray(new Event[eventList.size()]);
+  }
+
+  // finds the index of the date, adding it if necessary
+  private static int dateIndex(LocalDate date, Map<LocalDate, Integer> dateMap) {
+    return dateMap.computeIfAbsent(date, d -> dateMap.size());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the swap.
+   * <p>
+   * The result is the same as {@link DiscountingSwapProductPricer#presentValue(ResolvedSwap, RatesProvider)}.
+   *
+   * @param provider  the rates provider
+   * @return the present value of the swap
+   */
+  public MultiCurrencyAmount presentValue(RatesProvider provider) {
+    double[] legValues = new double[legCurrency.length];
+    legValues(provider, new HashMap<>(), legValues);
+    return swapValue(legValues);
+  }
+
+  /**
+   * Calculates the present value of the swap for each of a number of rates providers.
+   * <p>
+   * This is typically used to calculate the present value for each scenario.
+   * The rates providers are requested from the function in order, once each.
+   * The result for each provider is the same as
+   * {@link DiscountingSwapProductPricer#presentValue(ResolvedSwap, RatesProvider)}.
+   *
+   * @param providerCount  the number of rates providers
+   * @param providerFunction  the function returning the rates provider at an index
+   * @return the present value of the swap for each rates provider
+   */
+  public MultiCurrencyScenarioArray presentValue(
+      int providerCount,
+      IntFunction<? extends RatesProvider> providerFunction) {
+
+    ArgChecker.notNegative(providerCount, "providerCount");
+    double[][] values = new double[currencies.length][providerCount];
+    double[] legValues = new double[legCurrency.length];
+    Map<Pair<LocalDate, DayCount>, double[]> timeCache = new HashMap<>();
+    for (int i = 0; i < providerCount; i++) {
+      legValues(providerFunction.apply(i), timeCache, legValues);
+      for (int leg = 0; leg < legValues.length; leg++) {
+        values[legCurrency[leg]][i] += legValues[leg];
+      }
+    }
+    Map<Currency, DoubleArray> valueMap = new LinkedHashMap<>();
+    for (int c = 0; c < currencies.length; c++) {
+      valueMap.put(currencies[c], DoubleArray.ofUnsafe(values[c]));
+    }
+    return MultiCurrencyScenarioArray.of(valueMap);
+  }
+
+  // combines the leg values, matching DiscountingSwapProductPricer
+  private MultiCurrencyAmount swapValue(double[] legValues) {
+    if (crossCurrency) {
+      MultiCurrencyAmount total = MultiCurrencyAmount.empty();
+      for (int leg = 0; leg < legValues.length; leg++) {
+        total = total.plus(CurrencyAmount.of(currencies[legCurrency[leg]], legValues[leg]));
+      }
+      return total;
+    }
+    double total = 0d;
+    for (double legValue : legValues) {
+      total += legValue;
+    }
+    return MultiCurrencyAmount.of(currencies[0], total);
+  }
+
+  //-------------------------------------------------------------------------
+  // calculates the present value of each leg, in the currency of the leg
+  private void legValues(
+      RatesProvider provider,
+      Map<Pair<LocalDate, DayCount>, double[]> timeCache,
+      double[] legValues) {
+
+    Rates rates = new Rates(provider, timeCache);
+    long valuationDay = provider.getValuationDate().toEpochDay();
+    double[] periodValues = new double[legValues.length];
+    double[] eventValues = new double[legValues.length];
+    for (Period period : periods) {
+      if (period.paymentDay >= valuationDay) {
+        periodValues[period.leg] += period.forecastValue(rates, valuationDay) *
+            rates.discountFactor(legCurrency[period.leg], period.paymentDate);
+      }
+    }
+    for (Event event : events) {
+      if (event.paymentDay >= valuationDay) {
+        eventValues[event.leg] += event.amount * rates.discountFactor(legCurrency[event.leg], event.paymentDate);
+      }
+    }
+    for (int leg = 0; leg < legValues.length; leg++) {
+      legValues[leg] = periodValues[leg] + eventValues[leg];
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The rates for a single rates provider.
+   * <p>
+   * The discount factors and index rates are looked up on first use, once for each currency and index.
+   */
+  private final class Rates {
+
+    private final RatesProvider provider;
+    private final Map<Pair<LocalDate, DayCount>, double[]> timeCache;
+    private final DiscountFactors[] discountFactors = new DiscountFactors[currencies.length];
+    private final double[][] discountTimes = new double[currencies.length][];
+    private final IborIndexRates[] indexRates = new IborIndexRates[indices.length];
+    private final DiscountFactors[] indexDiscountFactors = new DiscountFactors[indices.length];
+    private final double[][] indexTimes = new double[indices.length][];
+
+    private Rates(RatesProvider provider, Map<Pair<LocalDate, DayCount>, double[]> timeCache) {
+      this.provider = provider;
+      this.timeCache = timeCache;
+    }
+
+    // the discount factor of a currency at a date
+    private double discountFactor(int currency, int date) {
+      if (discountFactors[currency] == null) {
+        discountFactors[currency] = provider.discountFactors(currencies[currency]);
+        discountTimes[currency] = times(discountFactors[currency]);
+      }
+      return discountFactors[currency].discountFactor(discountTimes[currency][date]);
+    }
+
+    // the rates of an index
+    private IborIndexRates indexRates(int index) {
+      if (indexRates[index] == null) {
+        indexRates[index] = provider.iborIndexRates(indices[index]);
+        if (indexRates[index] instanceof DiscountIborIndexRates) {
+          indexDiscountFactors[index] = ((DiscountIborIndexRates) indexRates[index]).getDiscountFactors();
+          indexTimes[index] = times(indexDiscountFactors[index]);
+        }
+      }
+      return indexRates[index];
+    }
+
+    // the forward rate of an observation whose fixing is after the valuation date
+    private double forwardRate(int index, IborIndexObservation observation, int effectiveDate, int maturityDate) {
+      IborIndexRates rates = indexRates(index);
+      DiscountFactors factors = indexDiscountFactors[index];
+      if (factors == null) {
+        return rates.rate(observation);
+      }
+      // matches DiscountIborIndexRates.rateIgnoringFixings()
+      double dfStart = factors.discountFactor(indexTimes[index][effectiveDate]);
+      double dfEnd = factors.discountFactor(indexTimes[index][maturityDate]);
+      return (dfStart / dfEnd - 1) / observation.getYearFraction();
+    }
+
+    // the times of all dates, cached by valuation date and day count where possible
+    private double[] times(DiscountFactors factors) {
+      DayCount dayCount = dayCount(factors);
+      if (dayCount == null) {
+        return computeTimes(factors);
+      }
+      return timeCache.computeIfAbsent(Pair.of(factors.getValuationDate(), dayCount), k -> computeTimes(factors));
+    }
+
+    // converts all dates to times
+    private double[] computeTimes(DiscountFactors factors) {
+      double[] times = new double[dates.length];
+      for (int i = 0; i < dates.length; i++) {
+        times[i] = factors.relativeYearFraction(dates[i]);
+      }
+      return times;
+    }
+  }
+
+  // the day count used by the discount factors to convert dates to times, null if not known
+  private static DayCount dayCount(DiscountFactors factors) {
+    Curve curve;
+    if (factors instanceof ZeroRateDiscountFactors) {
+      curve = ((ZeroRateDiscountFactors) factors).getCurve();
+    } else if (factors instanceof SimpleDiscountFactors) {
+      curve = ((SimpleDiscountFactors) factors).getCurve();
+    } else if (factors instanceof ZeroRatePeriodicDiscountFactors) {
+      curve = ((ZeroRatePeriodicDiscountFactors) factors).getCurve();
+    } else {
+      return null;
+    }
+    return curve.getMetadata().findInfo(CurveInfoType.DAY_COUNT).orElse(null);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A payment period, either a known amount or a set of accrual periods that are summed.
+   */
+  private static final class Period {
+
+    private final int leg;
+    private final long paymentDay;
+    private final int paymentDate;
+    private final double notional;
+    private final double knownAmount;
+    private final Accrual[] accruals;
+
+    private Period(int leg, LocalDate paymentDate, double notional, double knownAmount, Accrual[] accruals,
+        Map<LocalDate, Integer> dateMap) {
+      this.leg = leg;
+      this.paymentDay = paymentDate.toEpochDay();
+      this.paymentDate = dateIndex(paymentDate, dateMap);
+      this.notional = notional;
+      this.knownAmount = knownAmount;
+      this.accruals = accruals;
+    }
+
+    private static Period of(
+        int leg,
+        SwapPaymentPeriod period,
+        Map<IborIndex, Integer> indexMap,
+        Map<LocalDate, Integer> dateMap) {
+
+      if (period instanceof KnownAmountSwapPaymentPeriod) {
+        double amount = ((KnownAmountSwapPaymentPeriod) period).getPayment().getAmount();
+        return new Period(leg, period.getPaymentDate(), 0d, amount, new Accrual[0], dateMap);
+      }
+      RatePaymentPeriod ratePeriod = (RatePaymentPeriod) period;
+      Accrual[] accruals = ratePeriod.getAccrualPeriods().stream()
+          .map(accrualPeriod -> Accrual.of(accrualPeriod, indexMap, dateMap))
+          .toArray(Accrual[]::new);
+      return new Period(leg, period.getPaymentDate(), ratePeriod.getNotional(), 0d, accruals, dateMap);
+    }
+
+    // the forecast value, matching DiscountingRatePaymentPeriodPricer and DiscountingKnownAmountPaymentPeriodPricer
+    private double forecastValue(Rates rates, long valuationDay) {
+      if (accruals.length == 0) {
+        return knownAmount;
+      }
+      double total = 0d;
+      for (Accrual accrual : accruals) {
+        total += accrual.unitNotionalAccrual(rates, valuationDay) * notional;
+      }
+      return total;
+    }
+  }
+
+  /**
+   * An accrual period with a fixed or IBOR rate.
+   */
+  private static final class Accrual {
+
+    private final double yearFraction;
+    private final double gearing;
+    private final double spread;
+    private final NegativeRateMethod negativeRateMethod;
+    private final double fixedRate;
+    private final IborIndexObservation observation;
+    private final int index;
+    private final long fixingDay;
+    private final int effectiveDate;
+    private final int maturityDate;
+
+    private Accrual(
+        RateAccrualPeriod accrualPeriod,
+        double fixedRate,
+        IborIndexObservation observation,
+        int index,
+        Map<LocalDate, Integer> dateMap) {
+
+      this.yearFraction = accrualPeriod.getYearFraction();
+      this.gearing = accrualPeriod.getGearing();
+      this.spread = accrualPeriod.getSpread();
+      this.negativeRateMethod = accrualPeriod.getNegativeRateMethod();
+      this.fixedRate = fixedRate;
+      this.observation = observation;
+      this.index = index;
+      this.fixingDay = observation != null ? observation.getFixingDate().toEpochDay() : 0;
+      this.effectiveDate = observation != null ? dateIndex(observation.getEffectiveDate(), dateMap) : -1;
+      this.maturityDate = observation != null ? dateIndex(observation.getMaturityDate(), dateMap) : -1;
+    }
+
+    private static Accrual of(
+        RateAccrualPeriod accrualPeriod,
+        Map<IborIndex, Integer> indexMap,
+        Map<LocalDate, Integer> dateMap) {
+
+      RateComputation computation = accrualPeriod.getRateComputation();
+      if (computation instanceof FixedRateComputation) {
+        double rate = ((FixedRateComputation) computation).getRate();
+        return new Accrual(accrualPeriod, rate, null, -1, dateMap);
+      }
+      IborIndexObservation observation = ((IborRateComputation) computation).getObservation();
+      int index = indexMap.computeIfAbsent(observation.getIndex(), i -> indexMap.size());
+      return new Accrual(accrualPeriod, 0d, observation, index, dateMap);
+    }
+
+    // the accrual for a unit notional, matching DiscountingRatePaymentPeriodPricer
+    private double unitNotionalAccrual(Rates rates, long valuationDay) {
+      double rawRate = rawRate(rates, valuationDay);
+      double treatedRate = rawRate * gearing + spread;
+      return negativeRateMethod.adjust(treatedRate * yearFraction);
+    }
+
+    // the raw rate, matching ForwardIborRateComputationFn
+    private double rawRate(Rates rates, long valuationDay) {
+      if (observation == null) {
+        return fixedRate;
+      }
+      if (fixingDay <= valuationDay) {
+        // fixing may be in the past, which requires the time-series
+        return rates.indexRates(index).rate(observation);
+      }
+      return rates.forwardRate(index, observation, effectiveDate, maturityDate);
+    }
+  }
+
+  /**
+   * A notional exchange.
+   */
+  private static final class Event {
+
+    private final int leg;
+    private final long paymentDay;
+    private final int paymentDate;
+    private final double amount;
+
+    private Event(int leg, LocalDate paymentDate, double amount, Map<LocalDate, Integer> dateMap) {
+      this.leg = leg;
+      this.paymentDay = paymentDate.toEpochDay();
+      this.paymentDate = dateIndex(paymentDate, dateMap);
+      this.amount = amount;
+    }
+
+    private static Event of(int leg, NotionalExchange event, Map<LocalDate, Integer> dateMap) {
+      return new Event(leg, event.getPaymentDate(), event.getPaymentAmount().getAmount(), dateMap);
+    }
+  }
+
+}
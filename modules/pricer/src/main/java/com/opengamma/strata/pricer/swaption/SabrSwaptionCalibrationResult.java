@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * The result of the calibration of a SABR swaption cube, with metrics for each node.
+ * <p>
+ * See {@link SabrSwaptionCalibrator#calibrateWithMetrics}.
+ */
+public final class SabrSwaptionCalibrationResult {
+
+  /**
+   * The calibrated volatilities.
+   */
+  private final SabrParametersSwaptionVolatilities volatilities;
+  /**
+   * The metrics of each node for which data was available, in the order of the raw data.
+   */
+  private final ImmutableList<SabrSwaptionNodeMetrics> nodeMetrics;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param volatilities  the calibrated volatilities
+   * @param nodeMetrics  the metrics of each node
+   * @return the result
+   */
+  public static SabrSwaptionCalibrationResult of(
+      SabrParametersSwaptionVolatilities volatilities,
+      List<SabrSwaptionNodeMetrics> nodeMetrics) {
+
+    return new SabrSwaptionCalibrationResult(volatilities, nodeMetrics);
+  }
+
+  // restricted constructor
+  private SabrSwaptionCalibrationResult(
+      SabrParametersSwaptionVolatilities volatilities,
+      List<SabrSwaptionNodeMetrics> nodeMetrics) {
+
+    this.volatilities = ArgChecker.notNull(volatilities, "volatilities");
+    this.nodeMetrics = ImmutableList.copyOf(ArgChecker.notNull(nodeMetrics, "nodeMetrics"));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the calibrated volatilities.
+   *
+   * @return the volatilities
+   */
+  public SabrParametersSwaptionVolatilities getVolatilities() {
+    return volatilities;
+  }
+
+  /**
+   * Gets the metrics of each node for which data was available.
+   * <p>
+   * The metrics are in the order of the raw data, by tenor then expiry.
+   * Nodes that failed to calibrate, and were skipped, are included.
+   *
+   * @return the node metrics
+   */
+  public ImmutableList<SabrSwaptionNodeMetrics> getNodeMetrics() {
+    return nodeMetrics;
+  }
+
+  /**
+   * Gets the total calibration time of all the nodes.
+   * <p>
+   * When the nodes are calibrated in parallel, this exceeds the elapsed time of the calibration.
+   *
+   * @return the total calibration time
+   */
+  public Duration getTotalNodeCalibrationTime() {
+    return nodeMetrics.stream()
+        .map(SabrSwaptionNodeMetrics::getCalibrationTime)
+        .reduce(Duration.ZERO, Duration::plus);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format(
+        "SabrSwaptionCalibrationResult[{}, nodes={}, totalNodeCalibrationTime={}]",
+        volatilities.getName(),
+        nodeMetrics.size(),
+        getTotalNodeCalibrationTime());
+  }
+
+}
@@ -5,14 +5,17 @@
  */
 package com.opengamma.strata.pricer.swaption;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.TreeMap;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.date.BusinessDayAdjustment;
@@ -51,6 +54,10 @@ import com.opengamma.strata.product.swap.type.FixedIborSwapConvention;
  * Swaption SABR calibrator.
  * <p>
  * This calibrator takes raw data and produces calibrated SABR parameters.
+ * <p>
+ * When calibrating a cube, the smile at each expiry and tenor is calibrated independently of the others,
+ * thus a {@linkplain #parallel() parallel} calibrator calibrates them concurrently.
+ * The result is the same whether the smiles are calibrated serially or in parallel.
  */
 public final class SabrSwaptionCalibrator {
 
@@ -67,6 +74,10 @@ public final class SabrSwaptionCalibrator {
    * The reference data.
    */
   private final ReferenceData refData;
+  /**
+   * Whether the smiles of a cube are calibrated in parallel.
+   */
+  private final boolean parallel;
 
   /** The root-finder used in the Alpha calibration to ATM volatility. */
   private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder();
@@ -118,9 +129,33 @@ public final class SabrSwaptionCalibrator {
       DiscountingSwapProductPricer swapPricer,
       ReferenceData refData) {
 
+    this(sabrVolatilityFormula, swapPricer, refData, false);
+  }
+
+  // creates an instance
+  private SabrSwaptionCalibrator(
+      SabrVolatilityFormula sabrVolatilityFormula,
+      DiscountingSwapProductPricer swapPricer,
+      ReferenceData refData,
+      boolean parallel) {
+
     this.sabrVolatilityFormula = ArgChecker.notNull(sabrVolatilityFormula, "sabrVolatilityFormula");
     this.swapPricer = ArgChecker.notNull(swapPricer, "swapPricer");
     this.refData = ArgChecker.notNull(refData, "refData");
+    this.parallel = parallel;
+  }
+
+  /**
+   * Returns a calibrator that calibrates the smiles of a cube in parallel.
+   * <p>
+   * The smiles are calibrated concurrently using the common fork-join pool.
+   * The SABR volatility formula and swap pricer must be thread-safe, as the standard ones are.
+   * If more than one smile fails to calibrate, the exception thrown is that of one of them.
+   * 
+   * @return the parallel calibrator
+   */
+  public SabrSwaptionCalibrator parallel() {
+    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, refData, true);
   }
 
   //-------------------------------------------------------------------------
@@ -178,7 +213,6 @@ public final class SabrSwaptionCalibrator {
    *   expiries/tenors which throw MathException
    * @return the SABR volatility object
    */
-  @SuppressWarnings("null")
   public SabrParametersSwaptionVolatilities calibrateWithFixedBetaAndShift(
       SabrSwaptionDefinition definition,
       ZonedDateTime calibrationDateTime,
@@ -188,79 +222,126 @@ public final class SabrSwaptionCalibrator {
       Surface shiftSurface,
       boolean stopOnMathException) {
 
+    return calibrate(
+        definition,
+        calibrationDateTime,
+        data,
+        ratesProvider,
+        betaSurface,
+        shiftSurface,
+        stopOnMathException,
+        null).getVolatilities();
+  }
+
+  /**
+   * Calibrate SABR parameters to a set of raw swaption data, optionally starting from previous parameters.
+   * <p>
+   * The calibration is the same as that of {@link #calibrateWithFixedBetaAndShift(SabrSwaptionDefinition,
+   * ZonedDateTime, TenorRawOptionData, RatesProvider, Surface, Surface, boolean)}, and the result
+   * also contains the metrics of the calibration of each node.
+   * <p>
+   * If previous parameters are specified, typically those calibrated on the previous day, the calibration of
+   * each node starts from the previous alpha, rho and nu at the node. If the resulting fit is within the error
+   * of the data, one basis point of volatility per data point, it is used directly. Otherwise the standard
+   * starting points are also tried and the best fit is used. As the market moves little between calibrations,
+   * the first fit is usually accepted, which avoids three quarters of the work.
+   * 
+   * @param definition  the definition of the calibration to be performed
+   * @param calibrationDateTime  the data and time of the calibration
+   * @param data  the map of raw option data, keyed by tenor
+   * @param ratesProvider  the rate provider used to compute the swap forward rates
+   * @param betaSurface  the beta surface
+   * @param shiftSurface  the shift surface
+   * @param stopOnMathException  flag indicating if the calibration should stop on math exceptions or skip the 
+   *   expiries/tenors which throw MathException
+   * @param previous  the previously calibrated volatilities, used as the starting point of the calibration
+   * @return the SABR volatility object and the metrics of each node
+   */
+  public SabrSwaptionCalibrationResult calibrateWithMetrics(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException,
+      Optional<SabrParametersSwaptionVolatilities> previous) {
+
+    return calibrate(
+        definition,
+        calibrationDateTime,
+        data,
+        ratesProvider,
+        betaSurface,
+        shiftSurface,
+        stopOnMathException,
+        previous.orElse(null));
+  }
+
+  // calibrates each smile, then assembles the surfaces of parameters
+  private SabrSwaptionCalibrationResult calibrate(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException,
+      SabrParametersSwaptionVolatilities previous) {
+
     SwaptionVolatilitiesName name = definition.getName();
     FixedIborSwapConvention convention = definition.getConvention();
     DayCount dayCount = definition.getDayCount();
     SurfaceInterpolator interpolator = definition.getInterpolator();
 
-    BitSet fixed = new BitSet();
-    fixed.set(1); // Beta fixed
-    BusinessDayAdjustment bda = convention.getFloatingLeg().getStartDateBusinessDayAdjustment();
-    LocalDate calibrationDate = calibrationDateTime.toLocalDate();
+    // the smiles with data, in the order of the raw data
+    List<SmileNode> nodes = new ArrayList<>();
+    for (Tenor tenor : data.getTenors()) {
+      RawOptionData tenorData = data.getData(tenor);
+      for (Period expiry : tenorData.getExpiries()) {
+        Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiry);
+        if (availableSmile.getFirst().size() == 0) { // If not data is available, no calibration possible
+          continue;
+        }
+        nodes.add(new SmileNode(tenor, expiry, tenorData, availableSmile.getFirst(), availableSmile.getSecond()));
+      }
+    }
+    // the smiles are independent of one another, thus they can be calibrated concurrently
+    SmileResult[] results = new SmileResult[nodes.size()];
+    IntStream stream = IntStream.range(0, nodes.size());
+    (parallel ? stream.parallel() : stream).forEach(i -> results[i] = calibrateSmile(
+        nodes.get(i), definition, calibrationDateTime, ratesProvider, betaSurface, shiftSurface,
+        stopOnMathException, previous));
+
     // Sorted maps to obtain the surfaces nodes in standard order
     TreeMap<Double, TreeMap<Double, ParameterMetadata>> parameterMetadataTmp = new TreeMap<>();
     TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityAlphaTmp = new TreeMap<>(); // Sensitivity to the calibrating data
     TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityRhoTmp = new TreeMap<>();
     TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityNuTmp = new TreeMap<>();
     TreeMap<Double, TreeMap<Double, SabrFormulaData>> sabrPointTmp = new TreeMap<>();
-    for (Tenor tenor : data.getTenors()) {
-      RawOptionData tenorData = data.getData(tenor);
-      double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
-      List<Period> expiries = tenorData.getExpiries();
-      int nbExpiries = expiries.size();
-      for (int loopexpiry = 0; loopexpiry < nbExpiries; loopexpiry++) {
-        Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiries.get(loopexpiry));
-        if (availableSmile.getFirst().size() == 0) { // If not data is available, no calibration possible
-          continue;
-        }
-        LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiries.get(loopexpiry));
-        LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
-        double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
-        double beta = betaSurface.zValue(timeToExpiry, timeTenor);
-        double shift = shiftSurface.zValue(timeToExpiry, timeTenor);
-        LocalDate endDate = effectiveDate.plus(tenor);
-        SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
-        double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
-        SabrFormulaData sabrPoint = null;
-        DoubleMatrix inverseJacobian = null;
-        boolean error = false;
-        try {
-          Pair<SabrFormulaData, DoubleMatrix> calibrationResult =
-              calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
-                  availableSmile.getFirst(), availableSmile.getSecond(), expiries.get(loopexpiry), tenorData);
-          sabrPoint = calibrationResult.getFirst();
-          inverseJacobian = calibrationResult.getSecond();
-        } catch (MathException e) {
-          error = true;
-          if (stopOnMathException) {
-            String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
-                expiries.get(loopexpiry), tenor);
-            throw new MathException(message, e);
-          }
-        }
-        if (!error) {
-          if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
-            parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
-            sabrPointTmp.put(timeToExpiry, new TreeMap<>());
-          }
-          TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
-          TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
-          parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
-              timeToExpiry,
-              timeTenor,
-              expiries.get(loopexpiry).toString() + "x" + tenor.toString()));
-          dataSensitivityAlphaExpiryMap.put(timeTenor, inverseJacobian.row(0));
-          dataSensitivityRhoExpiryMap.put(timeTenor, inverseJacobian.row(2));
-          dataSensitivityNuExpiryMap.put(timeTenor, inverseJacobian.row(3));
-          sabrPointExpiryMap.put(timeTenor, sabrPoint);
-        }
+    List<SabrSwaptionNodeMetrics> nodeMetrics = new ArrayList<>();
+    for (SmileResult result : results) {
+      nodeMetrics.add(result.metrics);
+      if (result.sabrPoint == null) { // calibration failed and skipped
+        continue;
+      }
+      double timeToExpiry = result.timeToExpiry;
+      double timeTenor = result.timeTenor;
+      if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
+        parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
+        dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
+        dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
+        dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
+        sabrPointTmp.put(timeToExpiry, new TreeMap<>());
       }
+      parameterMetadataTmp.get(timeToExpiry).put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
+          timeToExpiry,
+          timeTenor,
+          result.metrics.getExpiry().toString() + "x" + result.metrics.getTenor().toString()));
+      dataSensitivityAlphaTmp.get(timeToExpiry).put(timeTenor, result.inverseJacobian.row(0));
+      dataSensitivityRhoTmp.get(timeToExpiry).put(timeTenor, result.inverseJacobian.row(2));
+      dataSensitivityNuTmp.get(timeToExpiry).put(timeTenor, result.inverseJacobian.row(3));
+      sabrPointTmp.get(timeToExpiry).put(timeTenor, result.sabrPoint);
     }
     DoubleArray timeToExpiryArray = DoubleArray.EMPTY;
     DoubleArray timeTenorArray = DoubleArray.EMPTY;
@@ -307,7 +388,7 @@ public final class SabrSwaptionCalibrator {
         .of(metadataNu, timeToExpiryArray, timeTenorArray, nuArray, interpolator);
     SabrInterestRateParameters params = SabrInterestRateParameters.of(
         alphaSurface, betaSurface, rhoSurface, nuSurface, shiftSurface, sabrVolatilityFormula);
-    return SabrParametersSwaptionVolatilities.builder()
+    SabrParametersSwaptionVolatilities volatilities = SabrParametersSwaptionVolatilities.builder()
         .name(name)
         .convention(convention)
         .valuationDateTime(calibrationDateTime)
@@ -315,11 +396,82 @@ public final class SabrSwaptionCalibrator {
         .dataSensitivityAlpha(dataSensitivityAlpha)
         .dataSensitivityRho(dataSensitivityRho)
         .dataSensitivityNu(dataSensitivityNu).build();
+    return SabrSwaptionCalibrationResult.of(volatilities, nodeMetrics);
+  }
+
+  // calibrates a single smile, recording the time taken
+  private SmileResult calibrateSmile(
+      SmileNode node,
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException,
+      SabrParametersSwaptionVolatilities previous) {
+
+    long start = System.nanoTime();
+    FixedIborSwapConvention convention = definition.getConvention();
+    DayCount dayCount = definition.getDayCount();
+    BitSet fixed = new BitSet();
+    fixed.set(1); // Beta fixed
+    BusinessDayAdjustment bda = convention.getFloatingLeg().getStartDateBusinessDayAdjustment();
+    LocalDate calibrationDate = calibrationDateTime.toLocalDate();
+    Tenor tenor = node.tenor;
+    Period expiry = node.expiry;
+    double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
+    LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiry);
+    LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
+    double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
+    double beta = betaSurface.zValue(timeToExpiry, timeTenor);
+    double shift = shiftSurface.zValue(timeToExpiry, timeTenor);
+    LocalDate endDate = effectiveDate.plus(tenor);
+    SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
+    double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
+    DoubleArray warmStart = previous != null ? warmStartParameters(previous, timeToExpiry, timeTenor, beta) : null;
+    SmileCalibration calibrationResult = null;
+    try {
+      calibrationResult = calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
+          node.strikes, node.data, expiry, node.rawData, warmStart);
+    } catch (MathException e) {
+      if (stopOnMathException) {
+        String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(), expiry, tenor);
+        throw new MathException(message, e);
+      }
+    }
+    Duration time = Duration.ofNanos(System.nanoTime() - start);
+    if (calibrationResult == null) {
+      SabrSwaptionNodeMetrics metrics = SabrSwaptionNodeMetrics.of(expiry, tenor, time, false, 0, Double.NaN);
+      return new SmileResult(timeToExpiry, timeTenor, null, null, metrics);
+    }
+    SabrSwaptionNodeMetrics metrics = SabrSwaptionNodeMetrics.of(
+        expiry, tenor, time, calibrationResult.warmStarted, calibrationResult.fitCount, calibrationResult.chiSquare);
+    return new SmileResult(
+        timeToExpiry, timeTenor, calibrationResult.sabrParameters, calibrationResult.sensitivityToData, metrics);
+  }
+
+  // the previous parameters at the node, null if they are not suitable as a starting point
+  private static DoubleArray warmStartParameters(
+      SabrParametersSwaptionVolatilities previous,
+      double timeToExpiry,
+      double timeTenor,
+      double beta) {
+
+    SabrInterestRateParameters parameters = previous.getParameters();
+    double alpha = parameters.alpha(timeToExpiry, timeTenor);
+    double rho = parameters.rho(timeToExpiry, timeTenor);
+    double nu = parameters.nu(timeToExpiry, timeTenor);
+    if (alpha > 0d && nu > 0d && Math.abs(rho) < 1d) {
+      return DoubleArray.of(alpha, beta, rho, nu);
+    }
+    return null;
   }
 
   // The main part of the calibration. The calibration is done 4 times with different starting points: low and high
   // volatilities and high and low vol of vol. The best result (in term of chi^2) is returned.
-  private Pair<SabrFormulaData, DoubleMatrix> calibration(
+  // If warm start parameters are available, they are tried first, and the other starting points are only used
+  // if the fit is not within the error of the data.
+  private SmileCalibration calibration(
       double forward,
       double shift,
       double beta,
@@ -330,47 +482,48 @@ public final class SabrSwaptionCalibrator {
       DoubleArray strike,
       DoubleArray data,
       Period expiry,
-      RawOptionData rawData) {
-
-    double rhoStart = -0.50 * beta + 0.50 * (1 - beta);
-    // Correlation is usually positive for normal and negative for log-normal;.
-    double[] alphaStart = new double[4];
-    alphaStart[0] = 0.0025 / Math.pow(forward + shift, beta); // Low vol
-    alphaStart[1] = alphaStart[0];
-    alphaStart[2] = 4 * alphaStart[0]; // High vol
-    alphaStart[3] = alphaStart[2];
-    double[] nuStart = new double[4];
-    nuStart[0] = 0.10; // Low vol of vol
-    nuStart[1] = 0.50; // High vol of vol
-    nuStart[2] = 0.10;
-    nuStart[3] = 0.50;
+      RawOptionData rawData,
+      DoubleArray warmStart) {
+
     double chi2 = 1.0E+12; // Large number 
     Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult = null;
-    for (int i = 0; i < 4; i++) { // Try different starting points and take the best
-      DoubleArray startParameters = DoubleArray.of(alphaStart[i], beta, rhoStart, nuStart[i]);
-      Pair<LeastSquareResultsWithTransform, DoubleArray> r = null;
-      if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
-        r = calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
-            expiry, forward, strike, rawData.getStrikeType(),
-            data, startParameters, fixed, shift);
-      } else {
-        if (rawData.getDataType().equals(ValueType.PRICE)) {
-          r = calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
-              expiry, forward, strike, rawData.getStrikeType(),
-              data, startParameters, fixed, shift);
-        } else {
-          if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
-            r = calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
-                expiry, forward, strike, rawData.getStrikeType(),
-                data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
-          } else {
-            throw new IllegalArgumentException("Data type not supported");
-          }
-        }
+    boolean warmStarted = false;
+    int fitCount = 0;
+    if (warmStart != null) {
+      try {
+        fitCount++;
+        sabrCalibrationResult = calibrationLs(
+            forward, shift, fixed, bda, calibrationDateTime, dayCount, strike, data, expiry, rawData, warmStart);
+        chi2 = sabrCalibrationResult.getFirst().getChiSq();
+        warmStarted = true;
+      } catch (MathException e) {
+        // the standard starting points are used instead
       }
-      if (r.getFirst().getChiSq() < chi2) { // Keep best calibration
-        sabrCalibrationResult = r;
-        chi2 = r.getFirst().getChiSq();
+    }
+    // the error of each data point is one basis point, thus the fit is within the error if chi^2 <= number of points
+    if (!warmStarted || chi2 > strike.size()) {
+      double rhoStart = -0.50 * beta + 0.50 * (1 - beta);
+      // Correlation is usually positive for normal and negative for log-normal;.
+      double[] alphaStart = new double[4];
+      alphaStart[0] = 0.0025 / Math.pow(forward + shift, beta); // Low vol
+      alphaStart[1] = alphaStart[0];
+      alphaStart[2] = 4 * alphaStart[0]; // High vol
+      alphaStart[3] = alphaStart[2];
+      double[] nuStart = new double[4];
+      nuStart[0] = 0.10; // Low vol of vol
+      nuStart[1] = 0.50; // High vol of vol
+      nuStart[2] = 0.10;
+      nuStart[3] = 0.50;
+      for (int i = 0; i < 4; i++) { // Try different starting points and take the best
+        DoubleArray startParameters = DoubleArray.of(alphaStart[i], beta, rhoStart, nuStart[i]);
+        fitCount++;
+        Pair<LeastSquareResultsWithTransform, DoubleArray> r = calibrationLs(
+            forward, shift, fixed, bda, calibrationDateTime, dayCount, strike, data, expiry, rawData, startParameters);
+        if (r.getFirst().getChiSq() < chi2) { // Keep best calibration
+          sabrCalibrationResult = r;
+          chi2 = r.getFirst().getChiSq();
+          warmStarted = false;
+        }
       }
     }
     @SuppressWarnings("null")
@@ -388,7 +541,39 @@ public final class SabrSwaptionCalibrator {
       }
     }
     DoubleMatrix parameterSensitivityToData = DoubleMatrix.ofUnsafe(parameterSensitivityToDataArray);
-    return Pair.of(sabrParameters, parameterSensitivityToData);
+    return new SmileCalibration(sabrParameters, parameterSensitivityToData, chi2, warmStarted, fitCount);
+  }
+
+  // a single least square calibration from the starting parameters, depending on the type of data
+  private Pair<LeastSquareResultsWithTransform, DoubleArray> calibrationLs(
+      double forward,
+      double shift,
+      BitSet fixed,
+      BusinessDayAdjustment bda,
+      ZonedDateTime calibrationDateTime,
+      DayCount dayCount,
+      DoubleArray strike,
+      DoubleArray data,
+      Period expiry,
+      RawOptionData rawData,
+      DoubleArray startParameters) {
+
+    if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
+      return calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
+    }
+    if (rawData.getDataType().equals(ValueType.PRICE)) {
+      return calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
+    }
+    if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
+      return calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
+    }
+    throw new IllegalArgumentException("Data type not supported");
   }
 
   //-------------------------------------------------------------------------
@@ -899,4 +1084,68 @@ public final class SabrSwaptionCalibrator {
     return bda.adjust(calibrationDate.plus(expiry), refData);
   }
 
+  //-------------------------------------------------------------------------
+  // a smile with data to be calibrated
+  private static final class SmileNode {
+    private final Tenor tenor;
+    private final Period expiry;
+    private final RawOptionData rawData;
+    private final DoubleArray strikes;
+    private final DoubleArray data;
+
+    private SmileNode(Tenor tenor, Period expiry, RawOptionData rawData, DoubleArray strikes, DoubleArray data) {
+      this.tenor = tenor;
+      this.expiry = expiry;
+      this.rawData = rawData;
+      this.strikes = strikes;
+      this.data = data;
+    }
+  }
+
+  // the result of the calibration of a smile, the parameters are null if the calibration failed
+  private static final class SmileResult {
+    private final double timeToExpiry;
+    private final double timeTenor;
+    private final SabrFormulaData sabrPoint;
+    private final DoubleMatrix inverseJacobian;
+    private final SabrSwaptionNodeMetrics metrics;
+
+    private SmileResult(
+        double timeToExpiry,
+        double timeTenor,
+        SabrFormulaData sabrPoint,
+        DoubleMatrix inverseJacobian,
+        SabrSwaptionNodeMetrics metrics) {
+
+      this.timeToExpiry = timeToExpiry;
+      this.timeTenor = timeTenor;
+      this.sabrPoint = sabrPoint;
+      this.inverseJacobian = inverseJacobian;
+      this.metrics = metrics;
+    }
+  }
+
+  // the calibrated parameters of a smile and their sensitivity to the data
+  private static final class SmileCalibration {
+    private final SabrFormulaData sabrParameters;
+    private final DoubleMatrix sensitivityToData;
+    private final double chiSquare;
+    private final boolean warmStarted;
+    private final int fitCount;
+
+    private SmileCalibration(
+        SabrFormulaData sabrParameters,
+        DoubleMatrix sensitivityToData,
+        double chiSquare,
+        boolean warmStarted,
+        int fitCount) {
+
+      this.sabrParameters = sabrParameters;
+      this.sensitivityToData = sensitivityToData;
+      this.chiSquare = chiSquare;
+      this.warmStarted = warmStarted;
+      this.fitCount = fitCount;
+    }
+  }
+
 }
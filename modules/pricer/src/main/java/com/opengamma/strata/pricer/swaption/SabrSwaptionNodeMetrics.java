@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.time.Duration;
+import java.time.Period;
+
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * Metrics describing the calibration of a single expiry/tenor node of a SABR swaption cube.
+ * <p>
+ * Each smile of the cube is calibrated independently, see {@link SabrSwaptionCalibrator}.
+ * The metrics record how long the calibration of the smile took and how it was performed.
+ */
+public final class SabrSwaptionNodeMetrics {
+
+  /**
+   * The expiry of the node.
+   */
+  private final Period expiry;
+  /**
+   * The tenor of the node.
+   */
+  private final Tenor tenor;
+  /**
+   * The elapsed time of the calibration of the node.
+   */
+  private final Duration calibrationTime;
+  /**
+   * Whether the calibrated parameters were obtained from the previous parameters.
+   */
+  private final boolean warmStarted;
+  /**
+   * The number of least-square fits run, zero if the calibration failed.
+   */
+  private final int fitCount;
+  /**
+   * The chi-square of the calibration, NaN if the calibration failed.
+   */
+  private final double chiSquare;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param expiry  the expiry of the node
+   * @param tenor  the tenor of the node
+   * @param calibrationTime  the elapsed time of the calibration of the node
+   * @param warmStarted  whether the calibrated parameters were obtained from the previous parameters
+   * @param fitCount  the number of least-square fits run, zero if the calibration failed
+   * @param chiSquare  the chi-square of the calibration, NaN if the calibration failed
+   * @return the metrics
+   */
+  public static SabrSwaptionNodeMetrics of(
+      Period expiry,
+      Tenor tenor,
+      Duration calibrationTime,
+      boolean warmStarted,
+      int fitCount,
+      double chiSquare) {
+
+    return new SabrSwaptionNodeMetrics(expiry, tenor, calibrationTime, warmStarted, fitCount, chiSquare);
+  }
+
+  // restricted constructor
+  private SabrSwaptionNodeMetrics(
+      Period expiry,
+      Tenor tenor,
+      Duration calibrationTime,
+      boolean warmStarted,
+      int fitCount,
+      double chiSquare) {
+
+    this.expiry = ArgChecker.notNull(expiry, "expiry");
+    this.tenor = ArgChecker.notNull(tenor, "tenor");
+    this.calibrationTime = ArgChecker.notNull(calibrationTime, "calibrationTime");
+    this.warmStarted = warmStarted;
+    this.fitCount = ArgChecker.notNegative(fitCount, "fitCount");
+    this.chiSquare = chiSquare;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the expiry of the node.
+   *
+   * @return the expiry
+   */
+  public Period getExpiry() {
+    return expiry;
+  }
+
+  /**
+   * Gets the tenor of the node.
+   *
+   * @return the tenor
+   */
+  public Tenor getTenor() {
+    return tenor;
+  }
+
+  /**
+   * Gets the elapsed time of the calibration of the node.
+   * <p>
+   * This includes the computation of the forward rate.
+   *
+   * @return the calibration time
+   */
+  public Duration getCalibrationTime() {
+    return calibrationTime;
+  }
+
+  /**
+   * Checks whether the calibrated parameters were obtained by starting from the previous parameters.
+   * <p>
+   * This is false if no previous parameters were available, or if the fit from the previous parameters
+   * was not good enough and the standard starting points produced a better fit.
+   *
+   * @return true if the result was warm started
+   */
+  public boolean isWarmStarted() {
+    return warmStarted;
+  }
+
+  /**
+   * Gets the number of least-square fits run to calibrate the node.
+   * <p>
+   * The calibration runs a fit from each standard starting point, unless the fit from the previous parameters
+   * is within the error of the data, in which case a single fit is run.
+   * If the calibration of the node failed, the value is zero.
+   *
+   * @return the number of fits
+   */
+  public int getFitCount() {
+    return fitCount;
+  }
+
+  /**
+   * Gets the chi-square of the calibration.
+   * <p>
+   * The error of each data point in the fit is one basis point of (shifted) log-normal volatility.
+   * If the calibration of the node failed, the value is NaN.
+   *
+   * @return the chi-square
+   */
+  public double getChiSquare() {
+    return chiSquare;
+  }
+
+  /**
+   * Checks whether the calibration of the node succeeded.
+   *
+   * @return true if the node was calibrated
+   */
+  public boolean isCalibrated() {
+    return !Double.isNaN(chiSquare);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format(
+        "SabrSwaptionNodeMetrics[{}x{}, time={}, warmStarted={}, fitCount={}, chiSquare={}]",
+        expiry,
+        tenor,
+        calibrationTime,
+        warmStarted,
+        fitCount,
+        chiSquare);
+  }
+
+}
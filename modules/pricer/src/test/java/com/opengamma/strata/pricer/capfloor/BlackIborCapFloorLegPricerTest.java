@@ -29,6 +29,7 @@ import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.capfloor.IborCapletFloorletPeriod;
 import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
 
@@ -111,6 +112,37 @@ public class BlackIborCapFloorLegPricerTest {
     assertEquals(floorComputed.getAmount(), floorExpected, TOL * NOTIONAL_VALUE);
   }
 
+  public void test_presentValue_periodPricerOverride() {
+    // the overridden pricing of a period is used, rather than the batch pricing
+    BlackIborCapletFloorletPeriodPricer periodPricer = new BlackIborCapletFloorletPeriodPricer() {
+      @Override
+      public CurrencyAmount presentValue(
+          IborCapletFloorletPeriod period,
+          RatesProvider ratesProvider,
+          IborCapletFloorletVolatilities volatilities) {
+
+        return CurrencyAmount.of(EUR, 1d);
+      }
+    };
+    BlackIborCapletFloorletPeriodPricer periodPricerRates = new BlackIborCapletFloorletPeriodPricer() {
+      @Override
+      protected double presentValue(
+          IborCapletFloorletPeriod period,
+          double forward,
+          double discountFactor,
+          IborCapletFloorletVolatilities volatilities) {
+
+        return 1d;
+      }
+    };
+    int nPeriods = CAP.getCapletFloorletPeriods().size();
+    BlackIborCapFloorLegPricer pricer = new BlackIborCapFloorLegPricer(periodPricer);
+    assertEquals(pricer.presentValue(CAP, RATES_AFTER, VOLS_AFTER), CurrencyAmount.of(EUR, nPeriods));
+    // the first period is paid
+    BlackIborCapFloorLegPricer pricerRates = new BlackIborCapFloorLegPricer(periodPricerRates);
+    assertEquals(pricerRates.presentValue(CAP, RATES_AFTER, VOLS_AFTER), CurrencyAmount.of(EUR, nPeriods - 1));
+  }
+
   //-------------------------------------------------------------------------
   public void test_presentValueDelta() {
     CurrencyAmount capComputed = PRICER.presentValueDelta(CAP, RATES, VOLS);
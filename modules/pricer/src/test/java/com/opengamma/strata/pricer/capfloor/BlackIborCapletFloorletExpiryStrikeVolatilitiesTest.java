@@ -113,6 +113,24 @@ public class BlackIborCapletFloorletExpiryStrikeVolatilitiesTest {
     }
   }
 
+  public void test_price_batch() {
+    double[] expiries = new double[NB_TEST];
+    PutCall[] putCalls = new PutCall[NB_TEST];
+    double[] forwards = new double[NB_TEST];
+    double[] vols = new double[NB_TEST];
+    for (int i = 0; i < NB_TEST; i++) {
+      expiries[i] = VOLS.relativeTime(TEST_OPTION_EXPIRY[i]);
+      putCalls[i] = i % 2 == 0 ? PutCall.CALL : PutCall.PUT;
+      forwards[i] = TEST_FORWARD;
+      vols[i] = VOLS.volatility(expiries[i], TEST_STRIKE[i], TEST_FORWARD);
+    }
+    double[] prices = new double[NB_TEST];
+    VOLS.price(expiries, putCalls, TEST_STRIKE, forwards, vols, prices);
+    for (int i = 0; i < NB_TEST; i++) {
+      assertEquals(prices[i], VOLS.price(expiries[i], putCalls[i], TEST_STRIKE[i], TEST_FORWARD, vols[i]));
+    }
+  }
+
   public void test_relativeTime() {
     double test1 = VOLS.relativeTime(VAL_DATE_TIME);
     assertEquals(test1, 0d);
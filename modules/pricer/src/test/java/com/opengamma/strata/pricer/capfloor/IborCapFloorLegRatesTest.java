@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.capfloor;
+
+import static com.opengamma.strata.basics.index.IborIndices.EUR_EURIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.collect.TestHelper.dateUtc;
+import static com.opengamma.strata.product.common.PayReceive.RECEIVE;
+import static com.opengamma.strata.product.common.PutCall.CALL;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.value.ValueSchedule;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.capfloor.IborCapletFloorletPeriod;
+import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
+
+/**
+ * Test {@link IborCapFloorLegRates}.
+ */
+@Test
+public class IborCapFloorLegRatesTest {
+
+  private static final ResolvedIborCapFloorLeg CAP = IborCapFloorDataSet.createCapFloorLeg(
+      EUR_EURIBOR_3M,
+      LocalDate.of(2011, 3, 17),
+      LocalDate.of(2016, 3, 17),
+      ValueSchedule.of(0.015),
+      ValueSchedule.of(100_000_000d),
+      CALL,
+      RECEIVE);
+  // valuation between fixing of 3rd period and payment of 2nd period, the 1st period is paid
+  private static final LocalDateDoubleTimeSeries TIME_SERIES = LocalDateDoubleTimeSeries.builder()
+      .put(date(2011, 6, 15), 0.012)
+      .put(date(2011, 9, 15), 0.0125)
+      .build();
+  private static final ZonedDateTime VALUATION = dateUtc(2011, 9, 16);
+  private static final ImmutableRatesProvider RATES = IborCapletFloorletSabrRateVolatilityDataSet.getRatesProvider(
+      VALUATION.toLocalDate(), EUR_EURIBOR_3M, TIME_SERIES);
+  private static final SabrIborCapletFloorletVolatilities VOLS =
+      IborCapletFloorletSabrRateVolatilityDataSet.getVolatilities(VALUATION, EUR_EURIBOR_3M);
+  private static final ZonedDateTime FIXING = dateUtc(2012, 6, 1);
+
+  private static final VolatilityIborCapletFloorletPeriodPricer PRICER =
+      VolatilityIborCapletFloorletPeriodPricer.DEFAULT;
+  private static final SabrIborCapletFloorletPeriodPricer PRICER_SABR = SabrIborCapletFloorletPeriodPricer.DEFAULT;
+
+  public void test_presentValue() {
+    IborCapFloorLegRates test = IborCapFloorLegRates.of(CAP, RATES);
+    for (VolatilityIborCapletFloorletPeriodPricer pricer : new VolatilityIborCapletFloorletPeriodPricer[] {
+        PRICER, PRICER_SABR}) {
+      double expectedAfter = CAP.getCapletFloorletPeriods().stream()
+          .filter(p -> p.getFixingDateTime().isAfter(FIXING))
+          .mapToDouble(p -> pricer.presentValue(p, RATES, VOLS).getAmount())
+          .sum();
+      double expectedUpTo = CAP.getCapletFloorletPeriods().stream()
+          .filter(p -> !p.getFixingDateTime().isAfter(FIXING))
+          .mapToDouble(p -> pricer.presentValue(p, RATES, VOLS).getAmount())
+          .sum();
+      assertEquals(test.presentValue(pricer, VOLS, FIXING), expectedAfter);
+      assertEquals(test.presentValueUpTo(pricer, VOLS, FIXING), expectedUpTo);
+    }
+  }
+
+  public void test_presentValueSensitivity() {
+    IborCapFloorLegRates test = IborCapFloorLegRates.of(CAP, RATES);
+    PointSensitivities expectedVol = CAP.getCapletFloorletPeriods().stream()
+        .filter(p -> p.getFixingDateTime().isAfter(VALUATION))
+        .map(p -> PRICER.presentValueSensitivityModelParamsVolatility(p, RATES, VOLS))
+        .reduce(PointSensitivityBuilder::combinedWith)
+        .get()
+        .build();
+    PointSensitivities expectedSabr = CAP.getCapletFloorletPeriods().stream()
+        .filter(p -> p.getFixingDateTime().isAfter(VALUATION))
+        .map(p -> PRICER_SABR.presentValueSensitivityModelParamsSabr(p, RATES, VOLS))
+        .reduce(PointSensitivityBuilder::combinedWith)
+        .get()
+        .build();
+    assertEquals(test.presentValueSensitivityModelParamsVolatility(PRICER, VOLS, VALUATION), expectedVol);
+    assertEquals(test.presentValueSensitivityModelParamsSabr(PRICER_SABR, VOLS, VALUATION), expectedSabr);
+  }
+
+  public void test_customPricer() {
+    // the configured pricer is used, rather than a fixed model
+    VolatilityIborCapletFloorletPeriodPricer pricer = new VolatilityIborCapletFloorletPeriodPricer() {
+      @Override
+      protected double presentValue(
+          IborCapletFloorletPeriod period,
+          double forward,
+          double discountFactor,
+          IborCapletFloorletVolatilities volatilities) {
+
+        return 1d;
+      }
+    };
+    IborCapFloorLegRates test = IborCapFloorLegRates.of(CAP, RATES);
+    long count = CAP.getCapletFloorletPeriods().stream()
+        .filter(p -> p.getFixingDateTime().isAfter(FIXING))
+        .count();
+    assertEquals(test.presentValue(pricer, VOLS, FIXING), (double) count);
+  }
+
+}
@@ -122,6 +122,29 @@ public class SabrIborCapletFloorletVolatilityBootstrapperTest extends CapletStri
     assertEquals(resVols.getParameters().getRhoCurve(), definition.getRhoCurve().get());
   }
 
+  public void test_parallel() {
+    SabrIborCapletFloorletVolatilityBootstrapDefinition definition =
+        SabrIborCapletFloorletVolatilityBootstrapDefinition.ofFixedBeta(
+            IborCapletFloorletVolatilitiesName.of("test"),
+            USD_LIBOR_3M,
+            ACT_ACT_ISDA,
+            0.85,
+            CurveInterpolators.STEP_UPPER,
+            CurveExtrapolators.FLAT,
+            CurveExtrapolators.FLAT,
+            SabrHaganVolatilityFunctionProvider.DEFAULT);
+    DoubleMatrix volData = createFullBlackDataMatrix();
+    DoubleMatrix error = DoubleMatrix.filled(volData.rowCount(), volData.columnCount(), 1.0e-3);
+    RawOptionData data = RawOptionData.of(
+        createBlackMaturities(), createBlackStrikes(), ValueType.STRIKE, volData, error, ValueType.BLACK_VOLATILITY);
+    IborCapletFloorletVolatilityCalibrationResult expected =
+        CALIBRATOR.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER);
+    IborCapletFloorletVolatilityCalibrationResult computed =
+        CALIBRATOR.parallel().calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER);
+    assertEquals(computed.getVolatilities(), expected.getVolatilities());
+    assertEquals(computed.getChiSquare(), expected.getChiSquare());
+  }
+
   public void test_invalid_data() {
     SabrIborCapletFloorletVolatilityBootstrapDefinition definition =
         SabrIborCapletFloorletVolatilityBootstrapDefinition.ofFixedBeta(
@@ -76,6 +76,20 @@ public class SurfaceIborCapletFloorletVolatilityBootstrapperTest extends CapletS
     }
   }
 
+  public void test_parallel() {
+    SurfaceIborCapletFloorletVolatilityBootstrapDefinition definition = SurfaceIborCapletFloorletVolatilityBootstrapDefinition.of(
+        IborCapletFloorletVolatilitiesName.of("test"), USD_LIBOR_3M, ACT_ACT_ISDA, LINEAR, LINEAR,
+        ConstantCurve.of("Black shift", 0.02));
+    RawOptionData data = RawOptionData.of(createNormalEquivMaturities(), createNormalEquivStrikes(), ValueType.STRIKE,
+        createFullNormalEquivDataMatrix(), ValueType.NORMAL_VOLATILITY);
+    IborCapletFloorletVolatilityCalibrationResult expected =
+        CALIBRATOR.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER);
+    IborCapletFloorletVolatilityCalibrationResult computed =
+        CALIBRATOR.parallel().calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER);
+    assertEquals(computed.getVolatilities(), expected.getVolatilities());
+    assertEquals(computed.getChiSquare(), expected.getChiSquare());
+  }
+
   public void test_invalid_data() {
     SurfaceIborCapletFloorletVolatilityBootstrapDefinition definition = SurfaceIborCapletFloorletVolatilityBootstrapDefinition.of(
         IborCapletFloorletVolatilitiesName.of("test"), USD_LIBOR_3M, ACT_ACT_ISDA, LINEAR, LINEAR);
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.pricer.credit;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import org.testng.annotations.Test;
@@ -62,6 +63,23 @@ public class DoublesScheduleGeneratorTest {
     assertTrue(DoubleArrayMath.fuzzyEquals(exp5.toArray(), res5.toArray(), 0d));
   }
 
+  public void getIntegrationsPointsMergedTest() {
+    double[][] setsA = new double[][] {
+        {0.5, 0.9, 1.4}, {0.2, 0.9, 1.4}, {0.05, 0.07}, {2.2, 2.7}, {-0.5, 0., 1.2}, {0.1, 0.5, 2.}};
+    double[][] setsB = new double[][] {
+        {0.3, 0.4, 0.5, 1.5, 1.6}, {0.3, 0.4, 0.5, 1.5, 2. - 1.e-3}, {0.03, 0.04}, {2.3, 2.4},
+        {-0.2, -0., 1.2}, {0.1, 2.}};
+    double[] starts = new double[] {0.1, 0.1, 0.1, 0.1, -0.3, 0.1};
+    for (int i = 0; i < setsA.length; ++i) {
+      DoubleArray setA = DoubleArray.ofUnsafe(setsA[i]);
+      DoubleArray setB = DoubleArray.ofUnsafe(setsB[i]);
+      DoubleArray expected = DoublesScheduleGenerator.getIntegrationsPoints(starts[i], 2., setA, setB);
+      DoubleArray computed = DoublesScheduleGenerator.getIntegrationsPoints(
+          starts[i], 2., setA.concat(setB).sorted().toArrayUnsafe());
+      assertEquals(computed, expected);
+    }
+  }
+
   public void truncateSetInclusiveTest() {
     double lower = 0.1;
     double upper = 2.5;
@@ -8,6 +8,9 @@ package com.opengamma.strata.pricer.credit;
 import static com.opengamma.strata.basics.currency.Currency.EUR;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
@@ -16,11 +19,13 @@ import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.schedule.Frequency;
 import com.opengamma.strata.collect.DoubleArrayMath;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.ImmutableMarketDataBuilder;
 import com.opengamma.strata.market.curve.CurveName;
@@ -291,4 +296,75 @@ public class FastCreditCurveCalibratorTest extends IsdaCompliantCreditCurveCalib
     testJacobian(BUILDER_MARKIT, ccMf, ratesProvider, nodes, quotes, ONE_PC, EPS);
   }
 
+  public void calibrateBatchTest() {
+    LocalDate valuationDate = LocalDate.of(2013, 2, 27);
+    StandardId legalEntity2 = StandardId.of("OG", "DEF");
+    StandardId legalEntity3 = StandardId.of("OG", "GHI");
+    IsdaCreditDiscountFactors yc = IsdaCreditDiscountFactors.of(
+        EUR,
+        valuationDate,
+        CurveName.of("yc_eur"),
+        DoubleArray.of(0.5, 1d, 2d, 5d, 10d, 30d),
+        DoubleArray.of(0.004, 0.0075, 0.004, 0.0095, 0.02, 0.031),
+        ACT_365F);
+    LegalEntitySurvivalProbabilities existing = LegalEntitySurvivalProbabilities.of(
+        legalEntity3,
+        IsdaCreditDiscountFactors.of(
+            EUR, valuationDate, CurveName.of("cc3"), DoubleArray.of(5d), DoubleArray.of(0.01), ACT_365F));
+    ImmutableCreditRatesProvider ratesProvider = ImmutableCreditRatesProvider.builder()
+        .valuationDate(valuationDate)
+        .discountCurves(ImmutableMap.of(EUR, yc))
+        .recoveryRateCurves(ImmutableMap.of(
+            LEGAL_ENTITY, ConstantRecoveryRates.of(LEGAL_ENTITY, valuationDate, 0.25),
+            legalEntity2, ConstantRecoveryRates.of(legalEntity2, valuationDate, 0.4)))
+        .creditCurves(ImmutableMap.of(Pair.of(legalEntity3, EUR), existing))
+        .build();
+    LocalDate startDate = LocalDate.of(2012, 12, 20);
+    LocalDate[] pillarDates = new LocalDate[] {
+        LocalDate.of(2013, 9, 20), LocalDate.of(2014, 3, 20), LocalDate.of(2016, 3, 20), LocalDate.of(2018, 3, 20),
+        LocalDate.of(2023, 3, 20)};
+    double[] quotes = new double[] {0.006485, 0.008163, 0.015136, 0.021905, 0.027549};
+    ImmutableMarketDataBuilder builderCredit = ImmutableMarketData.builder(valuationDate);
+    List<CdsIsdaCreditCurveNode> nodes1 = new ArrayList<>();
+    List<CdsIsdaCreditCurveNode> nodes2 = new ArrayList<>();
+    for (int i = 0; i < pillarDates.length; ++i) {
+      CdsConvention conv = ImmutableCdsConvention.of("conv", EUR, ACT_360, Frequency.P3M, BUS_ADJ, CDS_SETTLE_STD);
+      CdsTemplate temp = DatesCdsTemplate.of(startDate, pillarDates[i], conv);
+      QuoteId id1 = QuoteId.of(StandardId.of("OG", "ABC" + pillarDates[i]));
+      QuoteId id2 = QuoteId.of(StandardId.of("OG", "DEF" + pillarDates[i]));
+      nodes1.add(CdsIsdaCreditCurveNode.ofParSpread(temp, id1, LEGAL_ENTITY));
+      nodes2.add(CdsIsdaCreditCurveNode.ofParSpread(temp, id2, legalEntity2));
+      builderCredit.addValue(id1, quotes[i]);
+      builderCredit.addValue(id2, 2d * quotes[i]);
+    }
+    ImmutableMarketData marketData = builderCredit.build();
+    IsdaCreditCurveDefinition curveDefinition1 = IsdaCreditCurveDefinition.of(
+        CurveName.of("cc1"), EUR, valuationDate, ACT_365F, nodes1, true, false);
+    IsdaCreditCurveDefinition curveDefinition2 = IsdaCreditCurveDefinition.of(
+        CurveName.of("cc2"), EUR, valuationDate, ACT_365F, nodes2, false, true);
+    for (FastCreditCurveCalibrator builder : new FastCreditCurveCalibrator[] {
+        BUILDER_ISDA, BUILDER_MARKIT, BUILDER_ISDA.parallel(), BUILDER_MARKIT.parallel()}) {
+      ImmutableCreditRatesProvider computed = builder.calibrate(
+          ImmutableList.of(curveDefinition1, curveDefinition2), marketData, ratesProvider, REF_DATA);
+      assertEquals(
+          computed.survivalProbabilities(LEGAL_ENTITY, EUR),
+          builder.calibrate(curveDefinition1, marketData, ratesProvider, REF_DATA));
+      assertEquals(
+          computed.survivalProbabilities(legalEntity2, EUR),
+          builder.calibrate(curveDefinition2, marketData, ratesProvider, REF_DATA));
+      assertEquals(computed.survivalProbabilities(legalEntity3, EUR), existing);
+      assertEquals(computed.discountFactors(EUR), yc);
+    }
+    assertFalse(BUILDER_ISDA.isParallel());
+    assertTrue(BUILDER_ISDA.parallel().isParallel());
+    // duplicates are rejected before any calibration, which would fail for lack of quotes
+    assertThrowsIllegalArg(
+        () -> BUILDER_ISDA.calibrate(
+            ImmutableList.of(curveDefinition1, curveDefinition1),
+            ImmutableMarketData.empty(valuationDate),
+            ratesProvider,
+            REF_DATA),
+        "Duplicate curve definition.*");
+  }
+
 }
@@ -23,6 +23,7 @@ import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
@@ -284,6 +285,39 @@ public class IsdaCdsProductPricerTest {
     assertEquals(price, protPv - coupon * annuity, TOL);
   }
 
+  public void bulkTest() {
+    StandardId legalEntity = StandardId.of("OG", "DEF");
+    CreditDiscountFactors creditCurve =
+        IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, NODAL_CC.withYValues(RATE_CC.multipliedBy(1.5d)));
+    ImmutableCreditRatesProvider provider = RATES_PROVIDER.toBuilder()
+        .creditCurves(ImmutableMap.of(
+            Pair.of(LEGAL_ENTITY, USD), LegalEntitySurvivalProbabilities.of(LEGAL_ENTITY, CREDIT_CRVE),
+            Pair.of(legalEntity, USD), LegalEntitySurvivalProbabilities.of(legalEntity, creditCurve)))
+        .recoveryRateCurves(ImmutableMap.of(
+            LEGAL_ENTITY, RECOVERY_RATES,
+            legalEntity, ConstantRecoveryRates.of(legalEntity, VALUATION_DATE, 0.4)))
+        .build();
+    ResolvedCds product = Cds.of(SELL, legalEntity, USD, NOTIONAL,
+        LocalDate.of(2013, 12, 20), LocalDate.of(2021, 6, 20), Frequency.P3M, CALENDAR, 0.01).resolve(REF_DATA);
+    List<ResolvedCds> products = ImmutableList.of(
+        PRODUCT_NEXTDAY, product, PRODUCT_BEFORE, PRODUCT_AFTER, PRODUCT_NS_TODAY, PRODUCT_NS_STEPIN, PRODUCT_NS_BTW);
+    LocalDate settlementDate = PRODUCT_NEXTDAY.getSettlementDateOffset().adjust(VALUATION_DATE, REF_DATA);
+    for (IsdaCdsProductPricer pricer : new IsdaCdsProductPricer[] {PRICER, PRICER_FIX, PRICER_CORRECT}) {
+      for (PriceType priceType : PriceType.values()) {
+        List<CurrencyAmount> pvs = pricer.presentValue(products, provider, settlementDate, priceType, REF_DATA);
+        assertEquals(pvs.size(), products.size());
+        for (int i = 0; i < products.size(); ++i) {
+          assertEquals(pvs.get(i), pricer.presentValue(products.get(i), provider, settlementDate, priceType, REF_DATA));
+        }
+      }
+      DoubleArray spreads = pricer.parSpread(products, provider, settlementDate, REF_DATA);
+      assertEquals(spreads.size(), products.size());
+      for (int i = 0; i < products.size(); ++i) {
+        assertEquals(spreads.get(i), pricer.parSpread(products.get(i), provider, settlementDate, REF_DATA));
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void pvSensitivityTest() {
     PointSensitivityBuilder pointNext = PRICER.presentValueSensitivity(PRODUCT_NEXTDAY, RATES_PROVIDER,
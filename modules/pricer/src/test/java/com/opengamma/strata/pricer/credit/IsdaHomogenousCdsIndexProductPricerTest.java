@@ -197,6 +197,22 @@ public class IsdaHomogenousCdsIndexProductPricerTest {
     assertEquals(spread, -(1d - RECOVERY_RATE) * recovery01.getAmount() / rpv01.getAmount(), TOL);
   }
 
+  public void bulkTest() {
+    ResolvedCdsIndex product = CdsIndex.of(
+        SELL, INDEX_ID, LEGAL_ENTITIES, USD, NOTIONAL, START_DATE, LocalDate.of(2021, 6, 20), P3M, SAT_SUN, 0.01)
+        .resolve(REF_DATA);
+    List<ResolvedCdsIndex> products = ImmutableList.of(PRODUCT, product, PRODUCT_SELL);
+    for (CreditRatesProvider provider : new CreditRatesProvider[] {RATES_PROVIDER, RATES_PROVIDER_SINGLE}) {
+      for (PriceType priceType : PriceType.values()) {
+        List<CurrencyAmount> pvs = PRICER.presentValue(products, provider, SETTLEMENT_STD, priceType, REF_DATA);
+        assertEquals(pvs.size(), products.size());
+        for (int i = 0; i < products.size(); ++i) {
+          assertEquals(pvs.get(i), PRICER.presentValue(products.get(i), provider, SETTLEMENT_STD, priceType, REF_DATA));
+        }
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void pvSensitivityTest() {
     PointSensitivityBuilder point = PRICER.presentValueSensitivity(PRODUCT, RATES_PROVIDER, SETTLEMENT_STD, REF_DATA);
@@ -11,11 +11,13 @@ import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
 import static com.opengamma.strata.basics.date.HolidayCalendarIds.SAT_SUN;
 import static com.opengamma.strata.basics.schedule.Frequency.P3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.product.common.BuySell.BUY;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
@@ -288,6 +290,25 @@ public class SpreadSensitivityCalculatorTest {
   }
 
   //-------------------------------------------------------------------------
+  public void bulkCs01Test() {
+    List<ResolvedCdsTrade> trades = ImmutableList.of(CDS1, CDS2);
+    List<ResolvedCdsTrade> bucketCds = ImmutableList.copyOf(MARKET_CDS);
+    for (SpreadSensitivityCalculator calculator : new SpreadSensitivityCalculator[] {CS01_FD, CS01_AN}) {
+      List<CurrencyAmount> parallel = calculator.parallelCs01(trades, bucketCds, RATES_PROVIDER, REF_DATA);
+      List<CurrencyParameterSensitivity> bucketed =
+          calculator.bucketedCs01(trades, bucketCds, RATES_PROVIDER, REF_DATA);
+      assertEquals(parallel.size(), trades.size());
+      assertEquals(bucketed.size(), trades.size());
+      for (int i = 0; i < trades.size(); ++i) {
+        assertEquals(parallel.get(i), calculator.parallelCs01(trades.get(i), bucketCds, RATES_PROVIDER, REF_DATA));
+        assertEquals(bucketed.get(i), calculator.bucketedCs01(trades.get(i), bucketCds, RATES_PROVIDER, REF_DATA));
+      }
+    }
+    List<ResolvedCdsTrade> mixed = ImmutableList.of(CDS1, CDS_INDEX.toSingleNameCds());
+    assertThrowsIllegalArg(() -> CS01_FD.parallelCs01(mixed, bucketCds, RATES_PROVIDER, REF_DATA));
+    assertThrowsIllegalArg(() -> CS01_FD.bucketedCs01(mixed, bucketCds, RATES_PROVIDER, REF_DATA));
+  }
+
   public void parellelCs01IndexTest() {
     CurrencyAmount fdSingle = CS01_FD.parallelCs01(CDS2, ImmutableList.copyOf(MARKET_CDS), RATES_PROVIDER, REF_DATA);
     CurrencyAmount analyticSingle = CS01_AN.parallelCs01(CDS2, ImmutableList.copyOf(MARKET_CDS), RATES_PROVIDER, REF_DATA);
@@ -17,6 +17,7 @@ import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.US
 import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.USD_FIXED_1Y_FED_FUND_OIS;
 import static com.opengamma.strata.product.swap.type.IborIborSwapConventions.USD_LIBOR_3M_LIBOR_6M;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 import java.time.LocalDate;
 import java.time.Period;
@@ -46,6 +47,7 @@ import com.opengamma.strata.data.ImmutableMarketDataBuilder;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveGroupDefinition;
 import com.opengamma.strata.market.curve.CurveGroupName;
 import com.opengamma.strata.market.curve.CurveMetadata;
@@ -74,6 +76,7 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.sensitivity.MarketQuoteSensitivityCalculator;
 import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
 import com.opengamma.strata.product.ResolvedTrade;
+import com.opengamma.strata.product.ResolvedTradeCache;
 import com.opengamma.strata.product.common.BuySell;
 import com.opengamma.strata.product.deposit.ResolvedIborFixingDepositTrade;
 import com.opengamma.strata.product.deposit.ResolvedTermDepositTrade;
@@ -307,6 +310,7 @@ public class CalibrationZeroRateUsd3OisIrsBsTest {
   // Constants
   private static final double TOLERANCE_PV = 1.0E-6;
   private static final double TOLERANCE_PV_DELTA = 1.0E+3;
+  private static final double TOLERANCE_PARAM = 1.0E-8;
 
   private static final CurveGroupName CURVE_GROUP_NAME = CurveGroupName.of("USD-DSCON-LIBOR3M");
   private static final InterpolatedNodalCurveDefinition DSC_CURVE_DEFN =
@@ -375,6 +379,72 @@ public class CalibrationZeroRateUsd3OisIrsBsTest {
     assertPresentValue(result);
   }
   
+  public void calibration_resolvedTradeCache() {
+    ResolvedTradeCache cache = ResolvedTradeCache.ofMaximumSize(100);
+    CurveCalibrator calibrator = CALIBRATOR.withResolvedTradeCache(cache);
+    ImmutableRatesProvider result = calibrator.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA);
+    assertPresentValue(result);
+    long nodeCount = cache.stats().missCount();
+    assertEquals(cache.stats().hitCount(), 0);
+    // the second calibration resolves no trades
+    assertCurves(calibrator.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA), result);
+    assertEquals(cache.stats().missCount(), nodeCount);
+    assertEquals(cache.stats().hitCount(), nodeCount);
+  }
+
+  public void calibration_incremental_oneGroup() {
+    IncrementalCurveCalibrator test = CALIBRATOR.incremental(CURVE_GROUP_CONFIG, REF_DATA);
+    ImmutableRatesProvider result = test.calibrate(ALL_QUOTES);
+    assertPresentValue(result);
+    assertSame(test.calibrate(ALL_QUOTES), result);
+    // a quote change recalibrates from the previous result
+    MarketData shifted = shiftedQuotes(FWD3_ID_VALUE[3], FWD3_MARKET_QUOTES[3] + 1.0E-4);
+    assertCurves(test.calibrate(shifted), CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, shifted, REF_DATA));
+    // back to the original quotes
+    assertCurves(test.calibrate(ALL_QUOTES), result);
+    test.reset();
+    assertCurves(test.calibrate(ALL_QUOTES), result);
+  }
+
+  public void calibration_incremental_threeGroups() {
+    List<CurveGroupDefinition> groups = ImmutableList.of(GROUP_1, GROUP_2, GROUP_3);
+    IncrementalCurveCalibrator test = IncrementalCurveCalibrator.of(CALIBRATOR, groups, REF_DATA);
+    ImmutableRatesProvider result = test.calibrate(ALL_QUOTES);
+    assertPresentValue(result);
+    // a change to the last group only recalibrates that group
+    MarketData shiftedFwd6 = shiftedQuotes(FWD6_ID_VALUE[2], FWD6_MARKET_QUOTES[2] + 1.0E-4);
+    ImmutableRatesProvider resultFwd6 = test.calibrate(shiftedFwd6);
+    assertSame(resultFwd6.findData(DSCON_CURVE_NAME).get(), result.findData(DSCON_CURVE_NAME).get());
+    assertSame(resultFwd6.findData(FWD3_CURVE_NAME).get(), result.findData(FWD3_CURVE_NAME).get());
+    assertCurves(resultFwd6, CALIBRATOR.calibrate(groups, KNOWN_DATA, shiftedFwd6, REF_DATA));
+    // a change to the first group recalibrates all groups
+    MarketData shiftedDsc = shiftedQuotes(DSC_ID_VALUE[1], DSC_MARKET_QUOTES[1] + 1.0E-4);
+    assertCurves(test.calibrate(shiftedDsc), CALIBRATOR.calibrate(groups, KNOWN_DATA, shiftedDsc, REF_DATA));
+    // a change of valuation date is a full calibration
+    MarketData otherDate = ImmutableMarketData.of(VAL_DATE.plusDays(1), ALL_QUOTES.getValues());
+    ImmutableRatesProvider knownData = ImmutableRatesProvider.builder(VAL_DATE.plusDays(1)).build();
+    assertCurves(test.calibrate(otherDate), CALIBRATOR.calibrate(groups, knownData, otherDate, REF_DATA));
+  }
+
+  private static MarketData shiftedQuotes(String id, double value) {
+    Map<MarketDataId<?>, Object> map = new HashMap<>(ALL_QUOTES.getValues());
+    map.put(QuoteId.of(StandardId.of(SCHEME, id)), value);
+    return ImmutableMarketData.of(VAL_DATE, map);
+  }
+
+  private static void assertCurves(ImmutableRatesProvider computed, ImmutableRatesProvider expected) {
+    assertEquals(computed.getValuationDate(), expected.getValuationDate());
+    for (CurveName name : ImmutableList.of(DSCON_CURVE_NAME, FWD3_CURVE_NAME, FWD6_CURVE_NAME)) {
+      Curve curveComputed = computed.findData(name).get();
+      Curve curveExpected = expected.findData(name).get();
+      assertEquals(curveComputed.getParameterCount(), curveExpected.getParameterCount());
+      for (int i = 0; i < curveExpected.getParameterCount(); i++) {
+        assertEquals(
+            curveComputed.getParameter(i), curveExpected.getParameter(i), TOLERANCE_PARAM, name + " - node " + i);
+      }
+    }
+  }
+
   public void calibration_market_quote_sensitivity_one_group() {
     double shift = 1.0E-6;
     Function<MarketData, RatesProvider> f =
@@ -38,17 +38,21 @@ import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.data.FxRateId;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.ImmutableMarketDataBuilder;
 import com.opengamma.strata.data.MarketDataFxRateProvider;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveGroupDefinition;
 import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurveDefinition;
+import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
@@ -302,6 +306,7 @@ public class CalibrationZeroRateUsdOisIrsEurFxXCcyIrsTest {
   // Constants
   private static final double TOLERANCE_PV = 1.0E-6;
   private static final double TOLERANCE_PV_DELTA = 1.0E+3;
+  private static final double TOLERANCE_JACOBIAN = 1.0E-8;
 
   private static final CurveGroupName CURVE_GROUP_NAME = CurveGroupName.of("USD-DSCON-EUR-DSC");
   private static final InterpolatedNodalCurveDefinition USD_DSC_CURVE_DEFN =
@@ -383,6 +388,36 @@ public class CalibrationZeroRateUsdOisIrsEurFxXCcyIrsTest {
     assertPresentValue(result);
   }
 
+  public void calibration_jacobianWorkspace_threeGroups() {
+    List<CurveGroupDefinition> groups = ImmutableList.of(GROUP_1, GROUP_2, GROUP_3);
+    ImmutableRatesProvider expected = CALIBRATOR.calibrate(groups, ALL_QUOTES, REF_DATA);
+    ImmutableRatesProvider computed = CALIBRATOR.withJacobianWorkspace().calibrate(groups, ALL_QUOTES, REF_DATA);
+    assertPresentValue(computed);
+    List<Curve> expectedCurves = ImmutableList.<Curve>builder()
+        .addAll(expected.getDiscountCurves().values())
+        .addAll(expected.getIndexCurves().values())
+        .build();
+    for (Curve expectedCurve : expectedCurves) {
+      Curve computedCurve = computed.findData(expectedCurve.getName()).get();
+      assertEquals(computedCurve.getParameterCount(), expectedCurve.getParameterCount());
+      for (int i = 0; i < expectedCurve.getParameterCount(); i++) {
+        assertEquals(computedCurve.getParameter(i), expectedCurve.getParameter(i));
+      }
+      JacobianCalibrationMatrix expectedJacobian = expectedCurve.getMetadata().getInfo(CurveInfoType.JACOBIAN);
+      JacobianCalibrationMatrix computedJacobian = computedCurve.getMetadata().getInfo(CurveInfoType.JACOBIAN);
+      assertEquals(computedJacobian.getOrder(), expectedJacobian.getOrder());
+      DoubleMatrix expectedMatrix = expectedJacobian.getJacobianMatrix();
+      DoubleMatrix computedMatrix = computedJacobian.getJacobianMatrix();
+      assertEquals(computedMatrix.rowCount(), expectedMatrix.rowCount());
+      assertEquals(computedMatrix.columnCount(), expectedMatrix.columnCount());
+      for (int i = 0; i < expectedMatrix.rowCount(); i++) {
+        for (int j = 0; j < expectedMatrix.columnCount(); j++) {
+          assertEquals(computedMatrix.get(i, j), expectedMatrix.get(i, j), TOLERANCE_JACOBIAN);
+        }
+      }
+    }
+  }
+
   private void assertPresentValue(RatesProvider result) {
     // Test PV USD;
     List<ResolvedTrade> usdTrades = new ArrayList<>();
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.fxopt;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.pricer.fx.RatesProviderFxDataSets;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.common.LongShort;
+import com.opengamma.strata.product.fx.ResolvedFxSingle;
+import com.opengamma.strata.product.fxopt.ResolvedFxSingleBarrierOption;
+import com.opengamma.strata.product.fxopt.ResolvedFxVanillaOption;
+import com.opengamma.strata.product.option.BarrierType;
+import com.opengamma.strata.product.option.KnockType;
+import com.opengamma.strata.product.option.SimpleConstantContinuousBarrier;
+
+/**
+ * Test {@link ImpliedTrinomialTreeCache}.
+ */
+@Test
+public class ImpliedTrinomialTreeCacheTest {
+
+  private static final ZoneId ZONE = ZoneId.of("Z");
+  private static final LocalDate VAL_DATE = LocalDate.of(2011, 6, 13);
+  private static final ZonedDateTime VAL_DATETIME = VAL_DATE.atStartOfDay(ZONE);
+  private static final LocalDate PAY_DATE = LocalDate.of(2012, 9, 15);
+  private static final ZonedDateTime EXPIRY_DATETIME = LocalDate.of(2012, 9, 15).atStartOfDay(ZONE);
+  private static final BlackFxOptionSmileVolatilities VOLS =
+      FxVolatilitySmileDataSet.createVolatilitySmileProvider5(VAL_DATETIME);
+  private static final BlackFxOptionSmileVolatilities VOLS_MRKT =
+      FxVolatilitySmileDataSet.createVolatilitySmileProvider5Market(VAL_DATETIME);
+  private static final ImmutableRatesProvider RATE_PROVIDER =
+      RatesProviderFxDataSets.createProviderEurUsdFlat(VAL_DATE);
+  private static final double NOTIONAL = 100_000_000d;
+  private static final ResolvedFxSingle FX_PRODUCT = ResolvedFxSingle.of(
+      CurrencyAmount.of(EUR, NOTIONAL), CurrencyAmount.of(USD, -NOTIONAL * 1.35), PAY_DATE);
+  private static final ResolvedFxSingle FX_PRODUCT_LOW = ResolvedFxSingle.of(
+      CurrencyAmount.of(EUR, NOTIONAL), CurrencyAmount.of(USD, -NOTIONAL * 1.25), PAY_DATE);
+  private static final ResolvedFxVanillaOption CALL = ResolvedFxVanillaOption.builder()
+      .longShort(LongShort.LONG)
+      .expiry(EXPIRY_DATETIME)
+      .underlying(FX_PRODUCT)
+      .build();
+  private static final ResolvedFxVanillaOption CALL_LOW = ResolvedFxVanillaOption.builder()
+      .longShort(LongShort.LONG)
+      .expiry(EXPIRY_DATETIME)
+      .underlying(FX_PRODUCT_LOW)
+      .build();
+  private static final int NUM_STEPS = 39;
+
+  public void test_calibrate() {
+    ImpliedTrinomialTreeCache cache = ImpliedTrinomialTreeCache.ofMaximumSize(10);
+    ImpliedTrinomialTreeFxOptionCalibrator calibrator = new ImpliedTrinomialTreeFxOptionCalibrator(NUM_STEPS, cache);
+    assertEquals(calibrator.getCache().get(), cache);
+    RecombiningTrinomialTreeData expected =
+        new ImpliedTrinomialTreeFxOptionCalibrator(NUM_STEPS).calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS);
+    RecombiningTrinomialTreeData computed = calibrator.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS);
+    assertEquals(computed, expected);
+    assertEquals(cache.size(), 1);
+    assertEquals(cache.stats().missCount(), 1);
+    // same expiry with a different strike, and a different instance of the same rates
+    assertSame(calibrator.calibrateTrinomialTree(CALL_LOW, RATE_PROVIDER, VOLS), computed);
+    assertSame(calibrator.calibrateTrinomialTree(CALL, RATE_PROVIDER.toBuilder().build(), VOLS), computed);
+    assertEquals(cache.stats().hitCount(), 2);
+    // different volatilities and number of steps
+    calibrator.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS_MRKT);
+    new ImpliedTrinomialTreeFxOptionCalibrator(NUM_STEPS + 2, cache).calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS);
+    assertEquals(cache.size(), 3);
+    assertEquals(cache.stats().missCount(), 3);
+    assertTrue(cache.toString().startsWith("ImpliedTrinomialTreeCache[size=3"));
+    cache.invalidateAll();
+    assertEquals(cache.size(), 0);
+  }
+
+  public void test_pricer() {
+    ImpliedTrinomialTreeCache cache = ImpliedTrinomialTreeCache.ofMaximumSize(10);
+    ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer pricer =
+        new ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(NUM_STEPS);
+    ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer pricerCache =
+        new ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(NUM_STEPS, cache);
+    ResolvedFxSingleBarrierOption option1 = ResolvedFxSingleBarrierOption.of(
+        CALL, SimpleConstantContinuousBarrier.of(BarrierType.DOWN, KnockType.KNOCK_OUT, 1.25));
+    ResolvedFxSingleBarrierOption option2 = ResolvedFxSingleBarrierOption.of(
+        CALL_LOW, SimpleConstantContinuousBarrier.of(BarrierType.UP, KnockType.KNOCK_IN, 1.6));
+    for (ResolvedFxSingleBarrierOption option : new ResolvedFxSingleBarrierOption[] {option1, option2}) {
+      assertEquals(
+          pricerCache.presentValue(option, RATE_PROVIDER, VOLS),
+          pricer.presentValue(option, RATE_PROVIDER, VOLS));
+      assertEquals(
+          pricerCache.presentValueSensitivityRates(option, RATE_PROVIDER, VOLS),
+          pricer.presentValueSensitivityRates(option, RATE_PROVIDER, VOLS));
+    }
+    // one tree, the trees of the bumped rates are not cached
+    assertEquals(cache.size(), 1);
+    assertEquals(cache.stats().missCount(), 1);
+  }
+
+  public void test_of_negative() {
+    assertThrowsIllegalArg(() -> ImpliedTrinomialTreeCache.ofMaximumSize(-1));
+    assertThrowsIllegalArg(() -> new ImpliedTrinomialTreeFxOptionCalibrator(NUM_STEPS, null));
+  }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.random.NormalVectorGeneratorFactory;
+import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Test {@link HullWhiteOneFactorPathGenerator}.
+ */
+@Test
+public class HullWhiteOneFactorPathGeneratorTest {
+
+  private static final HullWhiteOneFactorPiecewiseConstantParameters PARAMETERS =
+      HullWhiteOneFactorPiecewiseConstantParameters.of(
+          0.01, DoubleArray.of(0.01, 0.011, 0.012, 0.013, 0.014), DoubleArray.of(0.5, 1d, 2d, 5d));
+  private static final double RATE = 0.02;
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+  private static final MonteCarloEngine ENGINE =
+      MonteCarloEngine.of(NormalVectorGeneratorFactory.sobol(), 100_000);
+
+  //-------------------------------------------------------------------------
+  public void test_generatePath() {
+    DoubleArray times = DoubleArray.of(1d, 3d);
+    HullWhiteOneFactorPathGenerator test = HullWhiteOneFactorPathGenerator.of(PARAMETERS, 5d, times);
+    assertEquals(test.getDimension(), 2);
+    assertEquals(test.getPathSize(), 2);
+    double[] path = new double[2];
+    test.generatePath(new double[] {1d, -1d}, path);
+    double beta1 = MODEL.beta(PARAMETERS, 0d, 1d);
+    double beta2 = MODEL.beta(PARAMETERS, 1d, 3d);
+    assertEquals(path[0], beta1, 1e-15);
+    assertEquals(path[1], beta1 - beta2, 1e-15);
+  }
+
+  public void test_bondRatio_martingale() {
+    double numeraireTime = 10d;
+    DoubleArray times = DoubleArray.of(1d, 2d, 5d);
+    HullWhiteOneFactorPathGenerator test = HullWhiteOneFactorPathGenerator.of(PARAMETERS, numeraireTime, times);
+    double maturity = 7d;
+    double initialRatio = discountFactor(maturity) / discountFactor(numeraireTime);
+    for (int i = 0; i < times.size(); i++) {
+      int index = i;
+      MonteCarloEstimate estimate = ENGINE.simulate(test, path -> test.bondRatio(path, index, maturity, initialRatio));
+      assertEquals(estimate.getMean(), initialRatio, 1e-6);
+    }
+  }
+
+  public void test_bondOption() {
+    // call on a zero-coupon bond, using the bond as numeraire
+    double expiry = 2d;
+    double maturity = 5d;
+    double strike = 0.94;
+    HullWhiteOneFactorPathGenerator test =
+        HullWhiteOneFactorPathGenerator.of(PARAMETERS, maturity, DoubleArray.of(expiry));
+    double initialRatio = discountFactor(expiry) / discountFactor(maturity);
+    MonteCarloEstimate estimate = ENGINE.simulate(
+        test, path -> Math.max(1d - strike * test.bondRatio(path, 0, expiry, initialRatio), 0d));
+    double price = discountFactor(maturity) * estimate.getMean();
+    // the inverse bond ratio is log-normal, thus the option is priced by the Black formula
+    double alpha = Math.abs(MODEL.alpha(PARAMETERS, 0d, expiry, maturity, expiry));
+    double expected = discountFactor(maturity) * strike *
+        BlackFormulaRepository.price(initialRatio, 1d / strike, 1d, alpha, false);
+    assertEquals(price, expected, 1e-6);
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorPathGenerator.of(PARAMETERS, 5d, DoubleArray.of()));
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorPathGenerator.of(PARAMETERS, 5d, DoubleArray.of(2d, 1d)));
+  }
+
+  //-------------------------------------------------------------------------
+  private static double discountFactor(double time) {
+    return Math.exp(-RATE * time);
+  }
+
+}
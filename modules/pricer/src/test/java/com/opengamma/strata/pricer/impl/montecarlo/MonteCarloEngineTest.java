@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.function.ToDoubleFunction;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.random.NormalVectorGeneratorFactory;
+import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+
+/**
+ * Test {@link MonteCarloEngine} and {@link BlackFxPathGenerator}.
+ */
+@Test
+public class MonteCarloEngineTest {
+
+  private static final double FORWARD = 1.2;
+  private static final double STRIKE = 1.25;
+  private static final double EXPIRY = 1.5;
+  private static final double VOLATILITY = 0.15;
+  private static final BlackFxPathGenerator EUROPEAN_GENERATOR = BlackFxPathGenerator.of(
+      DoubleArray.of(EXPIRY), DoubleArray.of(FORWARD), DoubleArray.of(VOLATILITY));
+  private static final ToDoubleFunction<double[]> CALL = path -> Math.max(path[0] - STRIKE, 0d);
+  private static final double EXPECTED = BlackFormulaRepository.price(FORWARD, STRIKE, EXPIRY, VOLATILITY, true);
+  private static final int PATH_COUNT = 100_000;
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    MonteCarloEngine test = MonteCarloEngine.of(NormalVectorGeneratorFactory.sobol(), PATH_COUNT);
+    assertEquals(test.getPathCount(), PATH_COUNT);
+    assertEquals(test.getBlockSize(), 1024);
+    assertFalse(test.isAntithetic());
+    assertTrue(test.isParallel());
+    MonteCarloEngine modified = test.withBlockSize(100).withAntithetic(true).withParallel(false);
+    assertEquals(modified.getBlockSize(), 100);
+    assertTrue(modified.isAntithetic());
+    assertFalse(modified.isParallel());
+  }
+
+  public void test_pseudoRandom() {
+    MonteCarloEngine engine = MonteCarloEngine.of(NormalVectorGeneratorFactory.pseudoRandom(1L), PATH_COUNT);
+    MonteCarloEstimate test = engine.simulate(EUROPEAN_GENERATOR, CALL);
+    assertEquals(test.getSampleCount(), PATH_COUNT);
+    assertEquals(test.getMean(), EXPECTED, 4d * test.getStandardError());
+  }
+
+  public void test_antithetic() {
+    MonteCarloEngine engine = MonteCarloEngine.of(NormalVectorGeneratorFactory.pseudoRandom(1L), PATH_COUNT);
+    MonteCarloEstimate plain = engine.simulate(EUROPEAN_GENERATOR, CALL);
+    MonteCarloEstimate test = engine.withAntithetic(true).simulate(EUROPEAN_GENERATOR, CALL);
+    assertEquals(test.getSampleCount(), PATH_COUNT / 2);
+    assertEquals(test.getMean(), EXPECTED, 4d * test.getStandardError());
+    assertTrue(test.getStandardError() < plain.getStandardError());
+  }
+
+  public void test_sobol() {
+    MonteCarloEngine engine = MonteCarloEngine.of(NormalVectorGeneratorFactory.sobol(), PATH_COUNT);
+    MonteCarloEstimate test = engine.simulate(EUROPEAN_GENERATOR, CALL);
+    assertEquals(test.getMean(), EXPECTED, EXPECTED * 1e-3);
+  }
+
+  public void test_parallelMatchesSequential() {
+    MonteCarloEngine engine = MonteCarloEngine.of(NormalVectorGeneratorFactory.pseudoRandom(2L), 20_000)
+        .withBlockSize(100);
+    MonteCarloEstimate parallel = engine.simulate(EUROPEAN_GENERATOR, CALL);
+    MonteCarloEstimate sequential = engine.withParallel(false).simulate(EUROPEAN_GENERATOR, CALL);
+    assertEquals(parallel.getMean(), sequential.getMean());
+    assertEquals(parallel.getStandardError(), sequential.getStandardError());
+    assertEquals(engine.simulate(EUROPEAN_GENERATOR, CALL).getMean(), parallel.getMean());
+  }
+
+  public void test_standardError_largeMean() {
+    // the variance is not lost to cancellation when the mean is large compared to the spread
+    MonteCarloEngine engine = MonteCarloEngine.of(NormalVectorGeneratorFactory.pseudoRandom(3L), PATH_COUNT);
+    MonteCarloEstimate base = engine.simulate(EUROPEAN_GENERATOR, CALL);
+    MonteCarloEstimate shifted = engine.simulate(EUROPEAN_GENERATOR, path -> 1e9 + CALL.applyAsDouble(path));
+    assertEquals(shifted.getMean(), 1e9 + base.getMean(), 1e-4);
+    assertEquals(shifted.getStandardError(), base.getStandardError(), base.getStandardError() * 1e-3);
+  }
+
+  public void test_blackFx_forwards() {
+    DoubleArray times = DoubleArray.of(0.5, 1d, 2d);
+    DoubleArray forwards = DoubleArray.of(1.21, 1.22, 1.24);
+    DoubleArray volatilities = DoubleArray.of(0.12, 0.13, 0.15);
+    BlackFxPathGenerator generator = BlackFxPathGenerator.of(times, forwards, volatilities);
+    assertEquals(generator.getDimension(), 3);
+    assertEquals(generator.getPathSize(), 3);
+    MonteCarloEngine engine = MonteCarloEngine.of(NormalVectorGeneratorFactory.sobol(), PATH_COUNT);
+    for (int i = 0; i < times.size(); i++) {
+      int index = i;
+      // the FX rate on each time is a martingale, with the price of an option as per the Black formula
+      assertEquals(engine.simulate(generator, path -> path[index]).getMean(), forwards.get(i), 1e-4);
+      double expected = BlackFormulaRepository.price(
+          forwards.get(i), STRIKE, times.get(i), volatilities.get(i), false);
+      double strike = STRIKE;
+      assertEquals(engine.simulate(generator, path -> Math.max(strike - path[index], 0d)).getMean(), expected, 1e-4);
+    }
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> MonteCarloEngine.of(NormalVectorGeneratorFactory.sobol(), 0));
+    assertThrowsIllegalArg(() -> MonteCarloEngine.of(NormalVectorGeneratorFactory.sobol(), 11).withAntithetic(true));
+    assertThrowsIllegalArg(() -> MonteCarloEngine.of(NormalVectorGeneratorFactory.sobol(), 10).withBlockSize(0));
+    assertThrowsIllegalArg(() -> BlackFxPathGenerator.of(
+        DoubleArray.of(1d, 0.5), DoubleArray.of(1d, 1d), DoubleArray.of(0.1, 0.1)));
+    assertThrowsIllegalArg(() -> BlackFxPathGenerator.of(
+        DoubleArray.of(1d, 2d), DoubleArray.of(1d, 1d), DoubleArray.of(0.2, 0.1)));
+    assertThrowsIllegalArg(() -> BlackFxPathGenerator.of(
+        DoubleArray.of(1d), DoubleArray.of(1d, 1d), DoubleArray.of(0.1)));
+  }
+
+}
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.pricer.impl.option;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.product.common.PutCall.CALL;
 import static com.opengamma.strata.product.common.PutCall.PUT;
 import static org.testng.Assert.assertEquals;
@@ -8845,4 +8846,67 @@ public class BlackFormulaRepositoryTest {
     assertEquals(bsD2[1][2], bsD2[2][1], TOLERANCE_1, "AD Second order: 2nd - str-vol");
   }
 
+  //-------------------------------------------------------------------------
+  // options in the regular region of the formula, and on each of its boundaries
+  private static final double[] BATCH_FORWARDS = {104, 104, 0.02, 104, 104, 104, 1e14, 1e14, 104, 0d};
+  private static final double[] BATCH_STRIKES = {85, 120, 0.025, 104, 104, 104, 1e14, 0.5, 0d, 90};
+  private static final double[] BATCH_EXPIRIES = {4.5, 0.5, 10d, 1d, 0d, 1d, 1d, 1d, 1d, 1d};
+  private static final double[] BATCH_VOLS = {0.2, 0.3, 0.5, 0.2, 0.2, 0d, 0.2, 0.2, 0.2, 0.2};
+  private static final boolean[] BATCH_IS_CALL = {true, false, true, false, true, false, true, true, false, true};
+
+  public void batchTest() {
+    int size = BATCH_FORWARDS.length;
+    double[] prices = new double[size];
+    double[] deltas = new double[size];
+    double[] vegas = new double[size];
+    BlackFormulaRepository.price(BATCH_FORWARDS, BATCH_STRIKES, BATCH_EXPIRIES, BATCH_VOLS, BATCH_IS_CALL, prices);
+    BlackFormulaRepository.delta(BATCH_FORWARDS, BATCH_STRIKES, BATCH_EXPIRIES, BATCH_VOLS, BATCH_IS_CALL, deltas);
+    BlackFormulaRepository.vega(BATCH_FORWARDS, BATCH_STRIKES, BATCH_EXPIRIES, BATCH_VOLS, vegas);
+    for (int i = 0; i < size; i++) {
+      double forward = BATCH_FORWARDS[i];
+      double strike = BATCH_STRIKES[i];
+      double expiry = BATCH_EXPIRIES[i];
+      double vol = BATCH_VOLS[i];
+      boolean isCall = BATCH_IS_CALL[i];
+      assertEquals(prices[i], BlackFormulaRepository.price(forward, strike, expiry, vol, isCall));
+      assertEquals(deltas[i], BlackFormulaRepository.delta(forward, strike, expiry, vol, isCall));
+      assertEquals(vegas[i], BlackFormulaRepository.vega(forward, strike, expiry, vol));
+    }
+  }
+
+  public void batchImpliedVolatilityTest() {
+    int size = 3;
+    double[] forwards = new double[size];
+    double[] strikes = new double[size];
+    double[] expiries = new double[size];
+    boolean[] isCall = new boolean[size];
+    System.arraycopy(BATCH_FORWARDS, 0, forwards, 0, size);
+    System.arraycopy(BATCH_STRIKES, 0, strikes, 0, size);
+    System.arraycopy(BATCH_EXPIRIES, 0, expiries, 0, size);
+    System.arraycopy(BATCH_IS_CALL, 0, isCall, 0, size);
+    double[] vols = {0.2, 0.3, 0.5};
+    double[] prices = new double[size];
+    BlackFormulaRepository.price(forwards, strikes, expiries, vols, isCall, prices);
+    double[] computed = new double[size];
+    BlackFormulaRepository.impliedVolatility(prices, forwards, strikes, expiries, isCall, computed);
+    for (int i = 0; i < size; i++) {
+      double expected =
+          BlackFormulaRepository.impliedVolatility(prices[i], forwards[i], strikes[i], expiries[i], isCall[i]);
+      assertEquals(computed[i], expected);
+      assertEquals(computed[i], vols[i], 1e-6);
+    }
+  }
+
+  public void batchErrorTest() {
+    double[] result = new double[2];
+    double[] valid = {1d, 1d};
+    boolean[] isCall = {true, false};
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.price(valid, valid, valid, new double[1], isCall, result));
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.price(valid, valid, valid, valid, new boolean[1], result));
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.vega(valid, valid, valid, valid, new double[3]));
+    double[] invalid = {1d, -1d};
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.price(valid, invalid, valid, valid, isCall, result));
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.delta(valid, valid, valid, invalid, isCall, result));
+  }
+
 }
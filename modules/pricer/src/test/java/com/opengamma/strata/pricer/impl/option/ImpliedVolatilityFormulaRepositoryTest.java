@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.product.common.PutCall.CALL;
+import static com.opengamma.strata.product.common.PutCall.PUT;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Test {@link ImpliedVolatilityFormulaRepository}.
+ */
+@Test
+public class ImpliedVolatilityFormulaRepositoryTest {
+
+  private static final double FORWARD = 0.04;
+  private static final double[] STRIKES = {0.0001, 0.01, 0.02, 0.035, 0.0399999, 0.04, 0.045, 0.06, 0.1, 0.5};
+  private static final double[] EXPIRIES = {0.01, 0.25, 1d, 5d, 30d};
+  private static final double[] BLACK_VOLS = {0.005, 0.05, 0.2, 0.5, 1d};
+  private static final double[] NORMAL_VOLS = {0.00001, 0.0005, 0.005, 0.02, 0.1};
+  // the region where the existing solvers are reliable
+  private static final double[] SOLVER_STRIKES = {0.02, 0.035, 0.04, 0.045, 0.06};
+  private static final double[] SOLVER_EXPIRIES = {0.25, 1d, 5d};
+  private static final double NUMERAIRE = 0.95;
+  private static final double TOL = 1e-10;
+
+  //-------------------------------------------------------------------------
+  public void test_black_roundTrip() {
+    for (double strike : STRIKES) {
+      for (double expiry : EXPIRIES) {
+        for (double vol : BLACK_VOLS) {
+          // out-of-the-money options have the most accurate time value
+          boolean isCall = strike >= FORWARD;
+          double price = BlackFormulaRepository.price(FORWARD, strike, expiry, vol, isCall);
+          double otmPrice = price - Math.max(0d, (isCall ? 1 : -1) * (FORWARD - strike));
+          // the volatility cannot be recovered from a price that has underflowed or reached its upper bound
+          if (otmPrice < 1e-250 || otmPrice > Math.min(FORWARD, strike) * (1d - 1e-12)) {
+            continue;
+          }
+          double computed = ImpliedVolatilityFormulaRepository.blackImpliedVolatility(
+              price, FORWARD, strike, expiry, isCall);
+          assertEquals(computed, vol, vol * TOL);
+        }
+      }
+    }
+  }
+
+  public void test_black_inTheMoney() {
+    double strike = 0.035;
+    double expiry = 2d;
+    double vol = 0.3;
+    double price = BlackFormulaRepository.price(FORWARD, strike, expiry, vol, true);
+    double computed = ImpliedVolatilityFormulaRepository.blackImpliedVolatility(price, FORWARD, strike, expiry, true);
+    assertEquals(computed, vol, 1e-12);
+  }
+
+  public void test_black_existingSolver() {
+    for (double strike : SOLVER_STRIKES) {
+      for (double expiry : SOLVER_EXPIRIES) {
+        for (double vol : new double[] {0.1, 0.3, 0.6}) {
+          boolean isCall = strike >= FORWARD;
+          double price = BlackFormulaRepository.price(FORWARD, strike, expiry, vol, isCall);
+          if (price < 1e-12) {
+            continue;
+          }
+          double expected = BlackFormulaRepository.impliedVolatility(price, FORWARD, strike, expiry, isCall);
+          double computed = ImpliedVolatilityFormulaRepository.blackImpliedVolatility(
+              price, FORWARD, strike, expiry, isCall);
+          assertEquals(computed, expected, 1e-7);
+        }
+      }
+    }
+  }
+
+  public void test_black_zero() {
+    assertEquals(ImpliedVolatilityFormulaRepository.blackImpliedVolatility(0d, FORWARD, 0.05, 1d, true), 0d);
+    assertEquals(ImpliedVolatilityFormulaRepository.blackImpliedVolatility(0.01, FORWARD, 0.03, 1d, true), 0d);
+    assertEquals(ImpliedVolatilityFormulaRepository.blackImpliedVolatility(FORWARD, FORWARD, 0d, 1d, true), 0d);
+    assertEquals(ImpliedVolatilityFormulaRepository.blackImpliedVolatility(0.01, FORWARD, 0.03, 0d, true), 0d);
+  }
+
+  public void test_black_invalid() {
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatility(
+        -0.01, FORWARD, 0.05, 1d, true));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatility(
+        0.01, -1d, 0.05, 1d, true));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatility(
+        0.01, FORWARD, -1d, 1d, true));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatility(
+        0.01, FORWARD, 0.05, -1d, true));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatility(
+        0.01, FORWARD, Double.POSITIVE_INFINITY, 1d, true));
+    // below intrinsic value
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatility(
+        0.001, FORWARD, 0.03, 1d, true));
+    // above the upper bound
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatility(
+        FORWARD, FORWARD, 0.05, 1d, true));
+    // price above intrinsic value with zero expiry
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatility(
+        0.001, FORWARD, 0.05, 0d, true));
+  }
+
+  public void test_black_batch() {
+    int size = STRIKES.length;
+    double[] prices = new double[size];
+    double[] forwards = new double[size];
+    double[] expiries = new double[size];
+    boolean[] isCall = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      forwards[i] = FORWARD;
+      expiries[i] = EXPIRIES[i % EXPIRIES.length];
+      isCall[i] = STRIKES[i] >= FORWARD;
+      prices[i] = BlackFormulaRepository.price(FORWARD, STRIKES[i], expiries[i], 0.4, isCall[i]);
+    }
+    double[] computed = new double[size];
+    ImpliedVolatilityFormulaRepository.blackImpliedVolatility(prices, forwards, STRIKES, expiries, isCall, computed);
+    for (int i = 0; i < size; i++) {
+      double expected = ImpliedVolatilityFormulaRepository.blackImpliedVolatility(
+          prices[i], FORWARD, STRIKES[i], expiries[i], isCall[i]);
+      assertEquals(computed[i], expected);
+    }
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatility(
+        prices, forwards, STRIKES, expiries, new boolean[1], computed));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatility(
+        prices, forwards, STRIKES, expiries, isCall, new double[1]));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_normal_roundTrip() {
+    for (double strike : STRIKES) {
+      for (double expiry : EXPIRIES) {
+        for (double vol : NORMAL_VOLS) {
+          PutCall putCall = strike >= FORWARD ? CALL : PUT;
+          double price = NUMERAIRE * NormalFormulaRepository.price(FORWARD, strike, expiry, vol, putCall);
+          if (price < 1e-250) {
+            continue;
+          }
+          double computed = ImpliedVolatilityFormulaRepository.normalImpliedVolatility(
+              price, FORWARD, strike, expiry, NUMERAIRE, putCall);
+          assertEquals(computed, vol, vol * TOL);
+        }
+      }
+    }
+  }
+
+  public void test_normal_negativeRates() {
+    double forward = -0.002;
+    double strike = -0.001;
+    double vol = 0.006;
+    double price = NormalFormulaRepository.price(forward, strike, 2d, vol, CALL);
+    double computed = ImpliedVolatilityFormulaRepository.normalImpliedVolatility(price, forward, strike, 2d, 1d, CALL);
+    assertEquals(computed, vol, 1e-14);
+  }
+
+  public void test_normal_existingSolver() {
+    for (double strike : SOLVER_STRIKES) {
+      for (double expiry : SOLVER_EXPIRIES) {
+        for (double vol : new double[] {0.002, 0.008, 0.015}) {
+          PutCall putCall = strike >= FORWARD ? CALL : PUT;
+          double price = NUMERAIRE * NormalFormulaRepository.price(FORWARD, strike, expiry, vol, putCall);
+          if (price < 1e-12) {
+            continue;
+          }
+          double expected = NormalFormulaRepository.impliedVolatility(
+              price, FORWARD, strike, expiry, 0.01, NUMERAIRE, putCall);
+          double computed = ImpliedVolatilityFormulaRepository.normalImpliedVolatility(
+              price, FORWARD, strike, expiry, NUMERAIRE, putCall);
+          assertEquals(computed, expected, 1e-10);
+        }
+      }
+    }
+  }
+
+  public void test_normal_zero() {
+    double intrinsic = NUMERAIRE * (FORWARD - 0.03);
+    assertEquals(ImpliedVolatilityFormulaRepository.normalImpliedVolatility(
+        intrinsic, FORWARD, 0.03, 1d, NUMERAIRE, CALL), 0d);
+    assertEquals(
+        ImpliedVolatilityFormulaRepository.normalImpliedVolatility(0d, FORWARD, 0.05, 1d, NUMERAIRE, CALL), 0d);
+  }
+
+  public void test_normal_invalid() {
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.normalImpliedVolatility(
+        0.001, FORWARD, 0.03, 1d, NUMERAIRE, CALL));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.normalImpliedVolatility(
+        0.001, FORWARD, 0.05, 0d, NUMERAIRE, CALL));
+  }
+
+  public void test_normal_batch() {
+    int size = STRIKES.length;
+    double[] prices = new double[size];
+    double[] forwards = new double[size];
+    double[] expiries = new double[size];
+    double[] numeraires = new double[size];
+    PutCall[] putCalls = new PutCall[size];
+    for (int i = 0; i < size; i++) {
+      forwards[i] = FORWARD;
+      expiries[i] = EXPIRIES[i % EXPIRIES.length];
+      numeraires[i] = NUMERAIRE;
+      putCalls[i] = i % 2 == 0 ? CALL : PUT;
+      prices[i] = NUMERAIRE * NormalFormulaRepository.price(FORWARD, STRIKES[i], expiries[i], 0.01, putCalls[i]);
+    }
+    double[] computed = new double[size];
+    ImpliedVolatilityFormulaRepository.normalImpliedVolatility(
+        prices, forwards, STRIKES, expiries, numeraires, putCalls, computed);
+    for (int i = 0; i < size; i++) {
+      double expected = ImpliedVolatilityFormulaRepository.normalImpliedVolatility(
+          prices[i], FORWARD, STRIKES[i], expiries[i], NUMERAIRE, putCalls[i]);
+      assertEquals(computed[i], expected);
+    }
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.normalImpliedVolatility(
+        prices, forwards, STRIKES, expiries, numeraires, new PutCall[1], computed));
+  }
+
+}
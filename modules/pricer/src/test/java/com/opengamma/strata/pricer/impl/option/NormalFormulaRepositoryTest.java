@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.product.common.PutCall.CALL;
+import static com.opengamma.strata.product.common.PutCall.PUT;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Test {@link NormalFormulaRepository}.
+ */
+@Test
+public class NormalFormulaRepositoryTest {
+
+  // options in the regular region of the formula, and with zero volatility or expiry
+  private static final double[] FORWARDS = {0.01, 0.01, -0.002, 0.015, 0.01, 0.01};
+  private static final double[] STRIKES = {0.005, 0.02, 0.001, 0.015, 0.005, 0.02};
+  private static final double[] EXPIRIES = {1d, 5d, 0.25, 2d, 0d, 1d};
+  private static final double[] VOLS = {0.01, 0.008, 0.005, 0.01, 0.01, 0d};
+  private static final PutCall[] PUT_CALLS = {CALL, PUT, PUT, CALL, CALL, PUT};
+
+  //-------------------------------------------------------------------------
+  public void test_batch() {
+    int size = FORWARDS.length;
+    double[] prices = new double[size];
+    double[] deltas = new double[size];
+    double[] vegas = new double[size];
+    NormalFormulaRepository.price(FORWARDS, STRIKES, EXPIRIES, VOLS, PUT_CALLS, prices);
+    NormalFormulaRepository.delta(FORWARDS, STRIKES, EXPIRIES, VOLS, PUT_CALLS, deltas);
+    NormalFormulaRepository.vega(FORWARDS, STRIKES, EXPIRIES, VOLS, vegas);
+    for (int i = 0; i < size; i++) {
+      double forward = FORWARDS[i];
+      double strike = STRIKES[i];
+      double expiry = EXPIRIES[i];
+      double vol = VOLS[i];
+      PutCall putCall = PUT_CALLS[i];
+      assertEquals(prices[i], NormalFormulaRepository.price(forward, strike, expiry, vol, putCall));
+      assertEquals(deltas[i], NormalFormulaRepository.delta(forward, strike, expiry, vol, putCall));
+      assertEquals(vegas[i], NormalFormulaRepository.vega(forward, strike, expiry, vol, putCall));
+    }
+  }
+
+  public void test_batch_impliedVolatility() {
+    int size = 4;
+    double[] forwards = new double[size];
+    double[] strikes = new double[size];
+    double[] expiries = new double[size];
+    double[] vols = new double[size];
+    PutCall[] putCalls = new PutCall[size];
+    System.arraycopy(FORWARDS, 0, forwards, 0, size);
+    System.arraycopy(STRIKES, 0, strikes, 0, size);
+    System.arraycopy(EXPIRIES, 0, expiries, 0, size);
+    System.arraycopy(VOLS, 0, vols, 0, size);
+    System.arraycopy(PUT_CALLS, 0, putCalls, 0, size);
+    double[] prices = new double[size];
+    NormalFormulaRepository.price(forwards, strikes, expiries, vols, putCalls, prices);
+    double[] initialVols = {0.01, 0.01, 0.01, 0.01};
+    double[] numeraires = {1d, 1d, 1d, 1d};
+    double[] computed = new double[size];
+    NormalFormulaRepository.impliedVolatility(
+        prices, forwards, strikes, expiries, initialVols, numeraires, putCalls, computed);
+    for (int i = 0; i < size; i++) {
+      assertEquals(computed[i], vols[i], 1e-8);
+    }
+  }
+
+  public void test_batch_invalid() {
+    double[] result = new double[2];
+    double[] valid = {0.01, 0.01};
+    PutCall[] putCalls = {CALL, PUT};
+    assertThrowsIllegalArg(() -> NormalFormulaRepository.price(valid, valid, valid, new double[1], putCalls, result));
+    assertThrowsIllegalArg(() -> NormalFormulaRepository.delta(valid, valid, valid, valid, new PutCall[1], result));
+    assertThrowsIllegalArg(() -> NormalFormulaRepository.vega(valid, valid, valid, valid, new double[3]));
+  }
+
+}
@@ -13,11 +13,13 @@ import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
 import com.opengamma.strata.product.common.PutCall;
+import com.opengamma.strata.product.option.BarrierType;
 
 /**
  * Test {@link TrinomialTree}.
@@ -82,4 +84,98 @@ public class TrinomialTreeTest {
     }
   }
 
+  /**
+   * Test the rollback of several options together, including an option function using the default methods.
+   */
+  public void test_trinomialTree_batch() {
+    int nSteps = 91;
+    double interest = 0.02;
+    double vol = 0.15;
+    RecombiningTrinomialTreeData treeData = treeData(nSteps, interest, vol);
+    EuropeanVanillaOptionFunction call = EuropeanVanillaOptionFunction.of(97d, TIME, PutCall.CALL, nSteps);
+    EuropeanVanillaOptionFunction put = EuropeanVanillaOptionFunction.of(114d, TIME, PutCall.PUT, nSteps);
+    ConstantContinuousSingleBarrierKnockoutFunction barrier = ConstantContinuousSingleBarrierKnockoutFunction.of(
+        105.1, TIME, PutCall.CALL, nSteps, BarrierType.UP, 128d, DoubleArray.filled(nSteps + 1, 1.5));
+    OptionFunction defaultCall = new OptionFunction() {
+      @Override
+      public double getTimeToExpiry() {
+        return call.getTimeToExpiry();
+      }
+
+      @Override
+      public int getNumberOfSteps() {
+        return call.getNumberOfSteps();
+      }
+
+      @Override
+      public DoubleArray getPayoffAtExpiryTrinomial(DoubleArray stateValue) {
+        return call.getPayoffAtExpiryTrinomial(stateValue);
+      }
+    };
+    List<OptionFunction> functions = ImmutableList.of(call, put, barrier, defaultCall);
+    DoubleArray prices = TRINOMIAL_TREE.optionPrice(functions, treeData);
+    List<ValueDerivatives> pricesAdjoint = TRINOMIAL_TREE.optionPriceAdjoint(functions, treeData);
+    assertEquals(prices.size(), functions.size());
+    assertEquals(pricesAdjoint.size(), functions.size());
+    for (int k = 0; k < functions.size(); ++k) {
+      OptionFunction function = functions.get(k);
+      assertEquals(prices.get(k), TRINOMIAL_TREE.optionPrice(function, treeData));
+      assertEquals(pricesAdjoint.get(k), TRINOMIAL_TREE.optionPriceAdjoint(function, treeData));
+      assertEquals(pricesAdjoint.get(k).getValue(), prices.get(k));
+    }
+    assertEquals(prices.get(3), prices.get(0));
+    assertEquals(pricesAdjoint.get(3), pricesAdjoint.get(0));
+    LatticeSpecification lattice = new CoxRossRubinsteinLatticeSpecification();
+    assertEquals(
+        TRINOMIAL_TREE.optionPrice(defaultCall, lattice, SPOT, vol, interest, 0d),
+        TRINOMIAL_TREE.optionPrice(call, lattice, SPOT, vol, interest, 0d));
+  }
+
+  /**
+   * Test the barrier option on a uniform lattice, which computes the state values node by node.
+   */
+  public void test_trinomialTree_barrierLattice() {
+    int nSteps = 91;
+    double interest = 0.02;
+    double vol = 0.15;
+    RecombiningTrinomialTreeData treeData = treeData(nSteps, interest, vol);
+    LatticeSpecification lattice = new CoxRossRubinsteinLatticeSpecification();
+    DoubleArray rebate = DoubleArray.filled(nSteps + 1, 1.5);
+    for (PutCall putCall : new PutCall[] {PutCall.CALL, PutCall.PUT}) {
+      for (double strike : STRIKES) {
+        OptionFunction up = ConstantContinuousSingleBarrierKnockoutFunction.of(
+            strike, TIME, putCall, nSteps, BarrierType.UP, 128d, rebate);
+        OptionFunction down = ConstantContinuousSingleBarrierKnockoutFunction.of(
+            strike, TIME, putCall, nSteps, BarrierType.DOWN, 90d, rebate);
+        assertEquals(
+            TRINOMIAL_TREE.optionPrice(up, lattice, SPOT, vol, interest, 0d),
+            TRINOMIAL_TREE.optionPrice(up, treeData));
+        assertEquals(
+            TRINOMIAL_TREE.optionPrice(down, lattice, SPOT, vol, interest, 0d),
+            TRINOMIAL_TREE.optionPrice(down, treeData));
+      }
+    }
+  }
+
+  private static RecombiningTrinomialTreeData treeData(int nSteps, double interest, double vol) {
+    double dt = TIME / nSteps;
+    LatticeSpecification lattice = new CoxRossRubinsteinLatticeSpecification();
+    double[] params = lattice.getParametersTrinomial(vol, interest, dt).toArray();
+    DoubleArray time = DoubleArray.of(nSteps + 1, i -> dt * i);
+    DoubleArray df = DoubleArray.of(nSteps, i -> Math.exp(-interest * dt));
+    double[][] stateValue = new double[nSteps + 1][];
+    stateValue[0] = new double[] {SPOT };
+    List<DoubleMatrix> prob = new ArrayList<DoubleMatrix>();
+    double[] probs = new double[] {params[5], params[4], params[3] };
+    for (int i = 0; i < nSteps; ++i) {
+      int index = i;
+      stateValue[i + 1] = DoubleArray.of(2 * i + 3,
+          j -> SPOT * Math.pow(params[2], index + 1 - j) * Math.pow(params[1], j)).toArray();
+      double[][] probMatrix = new double[2 * i + 1][];
+      Arrays.fill(probMatrix, probs);
+      prob.add(DoubleMatrix.ofUnsafe(probMatrix));
+    }
+    return RecombiningTrinomialTreeData.of(DoubleMatrix.ofUnsafe(stateValue), prob, df, time);
+  }
+
 }
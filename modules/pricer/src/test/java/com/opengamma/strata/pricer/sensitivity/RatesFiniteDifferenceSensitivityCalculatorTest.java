@@ -7,6 +7,7 @@ package com.opengamma.strata.pricer.sensitivity;
 
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -94,6 +95,33 @@ public class RatesFiniteDifferenceSensitivityCalculatorTest {
     }
   }
 
+  @Test
+  public void sensitivity_multi_curve_central_backward() {
+    CurrencyParameterSensitivities expected = FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn);
+    CurrencyParameterSensitivities central = RatesFiniteDifferenceSensitivityCalculator.ofCentralDifference(1.0E-4)
+        .sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn);
+    CurrencyParameterSensitivities backward = RatesFiniteDifferenceSensitivityCalculator.ofBackwardDifference(1.0E-4)
+        .sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn);
+    assertTrue(central.equalWithTolerance(expected, TOLERANCE_DELTA));
+    assertTrue(backward.equalWithTolerance(expected, TOLERANCE_DELTA));
+  }
+
+  @Test
+  public void sensitivity_multi_curve_parallel() {
+    RatesFiniteDifferenceSensitivityCalculator[] calculators = {
+        FD_CALCULATOR,
+        RatesFiniteDifferenceSensitivityCalculator.ofCentralDifference(1.0E-4),
+        RatesFiniteDifferenceSensitivityCalculator.ofBackwardDifference(1.0E-4)};
+    for (RatesFiniteDifferenceSensitivityCalculator calculator : calculators) {
+      assertEquals(
+          calculator.parallel().sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn),
+          calculator.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn));
+      assertEquals(
+          calculator.parallel().sensitivity(LegalEntityDiscountingProviderDataSets.ISSUER_REPO_ZERO, this::fn),
+          calculator.sensitivity(LegalEntityDiscountingProviderDataSets.ISSUER_REPO_ZERO, this::fn));
+    }
+  }
+
   // private function for testing. Returns the sum of rates multiplied by time
   private CurrencyAmount fn(ImmutableRatesProvider provider) {
     double result = 0.0;
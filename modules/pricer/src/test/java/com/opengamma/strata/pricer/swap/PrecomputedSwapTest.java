@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.Tenor.TENOR_10Y;
+import static com.opengamma.strata.basics.date.Tenor.TENOR_5Y;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.pricer.datasets.RatesProviderDataSets.MULTI_GBP_USD;
+import static com.opengamma.strata.pricer.datasets.RatesProviderDataSets.MULTI_GBP_USD_SIMPLE;
+import static com.opengamma.strata.pricer.datasets.RatesProviderDataSets.multiGbpUsd;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.FIXED_CMP_FLAT_SWAP_LEG_PAY_GBP;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.FIXED_CMP_NONE_SWAP_LEG_PAY_GBP;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.FIXED_FX_RESET_SWAP_LEG_PAY_GBP;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.IBOR_SWAP_LEG_REC_GBP;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.KNOWN_AMOUNT_SWAP_LEG;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.SWAP;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.SWAP_CROSS_CURRENCY;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.SWAP_INFLATION;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
+import static com.opengamma.strata.product.swap.type.IborIborSwapConventions.USD_LIBOR_3M_LIBOR_6M;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+
+/**
+ * Test {@link PrecomputedSwap}.
+ */
+@Test
+public class PrecomputedSwapTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final DiscountingSwapProductPricer PRICER = DiscountingSwapProductPricer.DEFAULT;
+  private static final double TOLERANCE_PV = 1.0e-6;
+
+  private static final LocalDate TRADE_DATE = MULTI_GBP_USD.getValuationDate();
+  private static final ResolvedSwap SWAP_USD_FIXED_6M_LIBOR_3M_10Y = USD_FIXED_6M_LIBOR_3M
+      .createTrade(TRADE_DATE, TENOR_10Y, BUY, 1_000_000d, 0.015, REF_DATA)
+      .getProduct().resolve(REF_DATA);
+  private static final ResolvedSwap SWAP_USD_LIBOR_3M_LIBOR_6M_5Y = USD_LIBOR_3M_LIBOR_6M
+      .createTrade(TRADE_DATE, TENOR_5Y, BUY, 1_000_000d, 0.0010, REF_DATA)
+      .getProduct().resolve(REF_DATA);
+  private static final ResolvedSwap SWAP_CMP_NONE =
+      ResolvedSwap.of(IBOR_SWAP_LEG_REC_GBP, FIXED_CMP_NONE_SWAP_LEG_PAY_GBP);
+  private static final ResolvedSwap SWAP_KNOWN_AMOUNT = ResolvedSwap.of(KNOWN_AMOUNT_SWAP_LEG, IBOR_SWAP_LEG_REC_GBP);
+  private static final List<ResolvedSwap> SWAPS = ImmutableList.of(
+      SWAP, SWAP_CROSS_CURRENCY, SWAP_CMP_NONE, SWAP_KNOWN_AMOUNT,
+      SWAP_USD_FIXED_6M_LIBOR_3M_10Y, SWAP_USD_LIBOR_3M_LIBOR_6M_5Y);
+
+  // providers on the first fixing date, and after the second fixing with a time-series
+  private static final RatesProvider PROVIDER_FIXING_DATE = multiGbpUsd(date(2014, 6, 30));
+  private static final RatesProvider PROVIDER_AFTER_FIXING = multiGbpUsd(date(2014, 10, 3)).toBuilder()
+      .timeSeries(GBP_LIBOR_3M, LocalDateDoubleTimeSeries.builder()
+          .put(date(2014, 6, 30), 0.0123)
+          .put(date(2014, 9, 30), 0.0125)
+          .build())
+      .build();
+  private static final List<RatesProvider> PROVIDERS = ImmutableList.of(MULTI_GBP_USD, MULTI_GBP_USD_SIMPLE);
+
+  //-------------------------------------------------------------------------
+  public void test_isSupported() {
+    assertTrue(PrecomputedSwap.isSupported(SWAP));
+    assertTrue(PrecomputedSwap.isSupported(SWAP_CROSS_CURRENCY));
+    assertTrue(PrecomputedSwap.isSupported(SWAP_CMP_NONE));
+    assertTrue(PrecomputedSwap.isSupported(SWAP_KNOWN_AMOUNT));
+    assertTrue(PrecomputedSwap.isSupported(SWAP_USD_FIXED_6M_LIBOR_3M_10Y));
+    assertFalse(PrecomputedSwap.isSupported(SWAP_INFLATION));
+    assertFalse(PrecomputedSwap.isSupported(ResolvedSwap.of(IBOR_SWAP_LEG_REC_GBP, FIXED_CMP_FLAT_SWAP_LEG_PAY_GBP)));
+    assertFalse(PrecomputedSwap.isSupported(ResolvedSwap.of(IBOR_SWAP_LEG_REC_GBP, FIXED_FX_RESET_SWAP_LEG_PAY_GBP)));
+  }
+
+  public void test_of_notSupported() {
+    assertThrowsIllegalArg(() -> PrecomputedSwap.of(SWAP_INFLATION));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_presentValue() {
+    for (ResolvedSwap swap : SWAPS) {
+      PrecomputedSwap test = PrecomputedSwap.of(swap);
+      for (RatesProvider provider : PROVIDERS) {
+        assertMultiCurrencyAmount(test.presentValue(provider), PRICER.presentValue(swap, provider));
+      }
+    }
+  }
+
+  public void test_presentValue_fixingDate() {
+    PrecomputedSwap test = PrecomputedSwap.of(SWAP);
+    MultiCurrencyAmount expected = PRICER.presentValue(SWAP, PROVIDER_FIXING_DATE);
+    assertMultiCurrencyAmount(test.presentValue(PROVIDER_FIXING_DATE), expected);
+  }
+
+  public void test_presentValue_afterFixing() {
+    PrecomputedSwap test = PrecomputedSwap.of(SWAP);
+    MultiCurrencyAmount expected = PRICER.presentValue(SWAP, PROVIDER_AFTER_FIXING);
+    assertMultiCurrencyAmount(test.presentValue(PROVIDER_AFTER_FIXING), expected);
+  }
+
+  public void test_presentValue_afterPayment() {
+    RatesProvider provider = multiGbpUsd(date(2015, 2, 1));
+    PrecomputedSwap test = PrecomputedSwap.of(SWAP);
+    assertMultiCurrencyAmount(test.presentValue(provider), PRICER.presentValue(SWAP, provider));
+  }
+
+  public void test_presentValue_scenarios() {
+    List<RatesProvider> providers = ImmutableList.<RatesProvider>builder()
+        .addAll(PROVIDERS)
+        .add(PROVIDER_FIXING_DATE)
+        .add(PROVIDER_AFTER_FIXING)
+        .add(MULTI_GBP_USD)
+        .build();
+    for (ResolvedSwap swap : ImmutableList.of(SWAP, SWAP_CROSS_CURRENCY)) {
+      PrecomputedSwap test = PrecomputedSwap.of(swap);
+      MultiCurrencyScenarioArray computed = test.presentValue(providers.size(), providers::get);
+      assertEquals(computed.getScenarioCount(), providers.size());
+      for (int i = 0; i < providers.size(); i++) {
+        assertMultiCurrencyAmount(computed.get(i), PRICER.presentValue(swap, providers.get(i)));
+      }
+    }
+  }
+
+  public void test_presentValue_scenarios_empty() {
+    MultiCurrencyScenarioArray computed = PrecomputedSwap.of(SWAP_CROSS_CURRENCY).presentValue(0, i -> MULTI_GBP_USD);
+    assertEquals(computed.getScenarioCount(), 0);
+    assertEquals(computed.getCurrencies(), ImmutableSet.of(GBP, USD));
+  }
+
+  //-------------------------------------------------------------------------
+  private static void assertMultiCurrencyAmount(MultiCurrencyAmount computed, MultiCurrencyAmount expected) {
+    assertEquals(computed.getCurrencies(), expected.getCurrencies());
+    for (Currency currency : expected.getCurrencies()) {
+      assertEquals(computed.getAmount(currency).getAmount(), expected.getAmount(currency).getAmount(), TOLERANCE_PV);
+    }
+  }
+
+}
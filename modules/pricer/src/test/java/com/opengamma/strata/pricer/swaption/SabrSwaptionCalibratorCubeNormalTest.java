@@ -13,12 +13,16 @@ import static com.opengamma.strata.pricer.swaption.SwaptionCubeData.MONEYNESS;
 import static com.opengamma.strata.pricer.swaption.SwaptionCubeData.TENORS;
 import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.EUR_FIXED_1Y_EURIBOR_6M;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Optional;
 
 import org.testng.annotations.Test;
 
@@ -88,21 +92,111 @@ public class SabrSwaptionCalibratorCubeNormalTest {
       SabrSwaptionDefinition.of(NAME_SABR, EUR_FIXED_1Y_EURIBOR_6M, DAY_COUNT, INTERPOLATOR_2D);
 
   private static final double TOLERANCE_PRICE_CALIBRATION_LS = 5.0E-4; // Calibration Least Square; result not exact
+  private static final double TOLERANCE_PARAMETERS_WARM_START = 1.0E-4;
+
+  private static final double BETA = 0.50;
+  private static final Surface BETA_SURFACE = ConstantSurface.of("Beta", BETA)
+      .withMetadata(DefaultSurfaceMetadata.builder()
+          .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
+          .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
+  private static final double SHIFT = 0.0300;
+  private static final Surface SHIFT_SURFACE = ConstantSurface.of("Shift", SHIFT)
+      .withMetadata(DefaultSurfaceMetadata.builder()
+          .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
 
   @Test
   public void normal_cube() {
-    double beta = 0.50;
-    Surface betaSurface = ConstantSurface.of("Beta", beta)
-        .withMetadata(DefaultSurfaceMetadata.builder()
-            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
-            .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
-    double shift = 0.0300;
-    Surface shiftSurface = ConstantSurface.of("Shift", shift)
-        .withMetadata(DefaultSurfaceMetadata.builder()
-            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
     SabrParametersSwaptionVolatilities calibrated = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
-        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface);
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE);
+    checkCalibration(calibrated);
+  }
+
+  @Test
+  public void normal_cube_parallel() {
+    SabrParametersSwaptionVolatilities calibrated = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE);
+    SabrParametersSwaptionVolatilities calibratedParallel = SABR_CALIBRATION.parallel().calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE);
+    assertEquals(calibratedParallel, calibrated);
+  }
+
+  @Test
+  public void normal_cube_warmStart() {
+    SabrSwaptionCalibrationResult cold = SABR_CALIBRATION.calibrateWithMetrics(
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE, true, Optional.empty());
+    checkCalibration(cold.getVolatilities());
+    int nbNodes = 0;
+    for (int looptenor = 0; looptenor < TENORS.size(); looptenor++) {
+      for (int loopexpiry = 0; loopexpiry < EXPIRIES.size(); loopexpiry++) {
+        double[] smile = DATA_ARRAY_SPARSE[looptenor][loopexpiry];
+        nbNodes += Arrays.stream(smile).allMatch(Double::isNaN) ? 0 : 1;
+      }
+    }
+    assertEquals(cold.getNodeMetrics().size(), nbNodes);
+    for (SabrSwaptionNodeMetrics metrics : cold.getNodeMetrics()) {
+      assertTrue(metrics.isCalibrated());
+      assertFalse(metrics.isWarmStarted());
+      assertEquals(metrics.getFitCount(), 4);
+      assertFalse(metrics.getCalibrationTime().isNegative());
+    }
+    // recalibration to the same data starts from the previous parameters
+    SabrSwaptionCalibrationResult warm = SABR_CALIBRATION.parallel().calibrateWithMetrics(
+        DEFINITION,
+        CALIBRATION_TIME,
+        DATA_SPARSE,
+        MULTICURVE,
+        BETA_SURFACE,
+        SHIFT_SURFACE,
+        true,
+        Optional.of(cold.getVolatilities()));
+    checkCalibration(warm.getVolatilities());
+    assertEquals(warm.getNodeMetrics().size(), nbNodes);
+    int nbWarmStarted = 0;
+    int nbFitsCold = 0;
+    int nbFitsWarm = 0;
+    for (int i = 0; i < nbNodes; i++) {
+      SabrSwaptionNodeMetrics coldMetrics = cold.getNodeMetrics().get(i);
+      SabrSwaptionNodeMetrics warmMetrics = warm.getNodeMetrics().get(i);
+      assertEquals(warmMetrics.getExpiry(), coldMetrics.getExpiry());
+      assertEquals(warmMetrics.getTenor(), coldMetrics.getTenor());
+      assertTrue(warmMetrics.isCalibrated());
+      assertTrue(warmMetrics.getChiSquare() <= coldMetrics.getChiSquare() * (1d + 1e-6) + 1e-10);
+      if (warmMetrics.isWarmStarted()) {
+        nbWarmStarted++;
+        // the standard starting points are not used if the fit is within the error of the data
+        int looptenor = TENORS.indexOf(warmMetrics.getTenor());
+        int loopexpiry = EXPIRIES.indexOf(warmMetrics.getExpiry());
+        double[] smile = DATA_ARRAY_SPARSE[looptenor][loopexpiry];
+        long nbData = Arrays.stream(smile).filter(v -> !Double.isNaN(v)).count();
+        if (warmMetrics.getChiSquare() <= nbData) {
+          assertEquals(warmMetrics.getFitCount(), 1);
+        }
+      }
+      nbFitsCold += coldMetrics.getFitCount();
+      nbFitsWarm += warmMetrics.getFitCount();
+    }
+    assertTrue(nbWarmStarted > 0);
+    assertTrue(nbFitsWarm < nbFitsCold);
+    // the warm start finds the same parameters
+    checkParameters(
+        warm.getVolatilities().getParameters().getAlphaSurface(),
+        cold.getVolatilities().getParameters().getAlphaSurface());
+    checkParameters(
+        warm.getVolatilities().getParameters().getRhoSurface(),
+        cold.getVolatilities().getParameters().getRhoSurface());
+    checkParameters(
+        warm.getVolatilities().getParameters().getNuSurface(),
+        cold.getVolatilities().getParameters().getNuSurface());
+  }
+
+  private void checkParameters(Surface computed, Surface expected) {
+    assertEquals(computed.getParameterCount(), expected.getParameterCount());
+    for (int i = 0; i < expected.getParameterCount(); i++) {
+      assertEquals(computed.getParameter(i), expected.getParameter(i), TOLERANCE_PARAMETERS_WARM_START);
+    }
+  }
 
+  private void checkCalibration(SabrParametersSwaptionVolatilities calibrated) {
     for (int looptenor = 0; looptenor < TENORS.size(); looptenor++) {
       double tenor = TENORS.get(looptenor).get(ChronoUnit.YEARS);
       for (int loopexpiry = 0; loopexpiry < EXPIRIES.size(); loopexpiry++) {
@@ -119,8 +213,8 @@ public class SabrSwaptionCalibratorCubeNormalTest {
           if (!Double.isNaN(DATA_ARRAY_SPARSE[looptenor][loopexpiry][loopmoney])) {
             double strike = parRate + MONEYNESS.get(loopmoney);
             double volBlack = calibrated.volatility(expiryDateTime, tenor, strike, parRate);
-            double priceComputed = BlackFormulaRepository.price(parRate + shift, parRate + MONEYNESS.get(loopmoney) + shift,
-                time, volBlack, true);
+            double priceComputed = BlackFormulaRepository.price(
+                parRate + SHIFT, parRate + MONEYNESS.get(loopmoney) + SHIFT, time, volBlack, true);
             double priceNormal = NormalFormulaRepository.price(parRate, parRate + MONEYNESS.get(loopmoney),
                 time, DATA_ARRAY_SPARSE[looptenor][loopexpiry][loopmoney], PutCall.CALL);
             assertEquals(priceComputed, priceNormal, TOLERANCE_PRICE_CALIBRATION_LS);
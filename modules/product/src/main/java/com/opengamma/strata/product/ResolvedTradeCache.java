@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.product;
+
+import java.util.function.ToIntFunction;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * A bounded cache of resolved trades.
+ * <p>
+ * Resolving a trade, see {@link ResolvableTrade#resolve(ReferenceData)}, can be expensive,
+ * typically involving the generation of schedules and the application of holiday calendars.
+ * This cache allows the result to be reused when the same trade is resolved again,
+ * for example when the same portfolio is valued repeatedly.
+ * <p>
+ * The cache is keyed by the trade, compared using {@code equals}, and the reference data, compared by identity.
+ * The identity of the reference data acts as a version stamp, a new instance of reference data
+ * never matches trades resolved using an earlier instance. As such, applications should keep
+ * and reuse the same instance of {@code ReferenceData} until the underlying data changes.
+ * Entries resolved with an older instance are discarded by normal eviction.
+ * <p>
+ * The number of entries is bounded, either by count or by weight, with the least recently used
+ * entries evicted first. Statistics are recorded, see {@link #stats()}.
+ * <p>
+ * This class is thread-safe. If two threads resolve the same trade at the same time,
+ * the trade may be resolved twice, with the same result.
+ */
+public final class ResolvedTradeCache {
+
+  /**
+   * The underlying cache.
+   */
+  private final Cache<Key, ResolvedTrade> cache;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that holds up to the specified number of resolved trades.
+   *
+   * @param maximumSize  the maximum number of resolved trades
+   * @return the cache
+   */
+  public static ResolvedTradeCache ofMaximumSize(long maximumSize) {
+    ArgChecker.notNegative(maximumSize, "maximumSize");
+    return new ResolvedTradeCache(CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build());
+  }
+
+  /**
+   * Obtains an instance that holds resolved trades up to the specified total weight.
+   * <p>
+   * The weight of each resolved trade is determined by the weigher when it is added to the cache.
+   * For example, the weight of a resolved swap might be the number of payment periods.
+   *
+   * @param maximumWeight  the maximum total weight of the resolved trades
+   * @param weigher  the function providing the weight of a resolved trade, which must not be negative
+   * @return the cache
+   */
+  public static ResolvedTradeCache ofMaximumWeight(long maximumWeight, ToIntFunction<? super ResolvedTrade> weigher) {
+    ArgChecker.notNegative(maximumWeight, "maximumWeight");
+    ArgChecker.notNull(weigher, "weigher");
+    return new ResolvedTradeCache(CacheBuilder.newBuilder()
+        .maximumWeight(maximumWeight)
+        .<Key, ResolvedTrade>weigher((key, resolved) -> weigher.applyAsInt(resolved))
+        .recordStats()
+        .build());
+  }
+
+  // restricted constructor
+  private ResolvedTradeCache(Cache<Key, ResolvedTrade> cache) {
+    this.cache = cache;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Resolves the trade, using the cached result if available.
+   * <p>
+   * The result is the same as {@link ResolvableTrade#resolve(ReferenceData)}.
+   * Any exception thrown when resolving the trade is propagated, and nothing is cached.
+   *
+   * @param <T>  the type of the resolved trade
+   * @param trade  the trade to resolve
+   * @param refData  the reference data to use when resolving
+   * @return the resolved trade
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends ResolvedTrade> T resolve(ResolvableTrade<T> trade, ReferenceData refData) {
+    ArgChecker.notNull(trade, "trade");
+    ArgChecker.notNull(refData, "refData");
+    Key key = new Key(trade, refData);
+    ResolvedTrade cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return (T) cached;
+    }
+    T resolved = trade.resolve(refData);
+    cache.put(key, resolved);
+    return resolved;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the approximate number of resolved trades in the cache.
+   *
+   * @return the number of resolved trades
+   */
+  public long size() {
+    return cache.size();
+  }
+
+  /**
+   * Gets the statistics of the cache.
+   * <p>
+   * This includes the number of hits, misses and evictions.
+   *
+   * @return the statistics
+   */
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  /**
+   * Removes all resolved trades from the cache.
+   * <p>
+   * The statistics are not reset.
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("ResolvedTradeCache[size={}, {}]", cache.size(), cache.stats());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The cache key, matching the trade by equality and the reference data by identity.
+   */
+  private static final class Key {
+    private final ResolvableTrade<?> trade;
+    private final ReferenceData refData;
+    private final int hashCode;
+
+    private Key(ResolvableTrade<?> trade, ReferenceData refData) {
+      this.trade = trade;
+      this.refData = refData;
+      this.hashCode = trade.hashCode() * 31 + System.identityHashCode(refData);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (obj instanceof Key) {
+        Key other = (Key) obj;
+        return refData == other.refData && trade.equals(other.trade);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+}
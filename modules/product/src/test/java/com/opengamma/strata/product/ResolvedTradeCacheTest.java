@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.product;
+
+import static com.opengamma.strata.basics.date.Tenor.TENOR_10Y;
+import static com.opengamma.strata.basics.date.Tenor.TENOR_5Y;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ImmutableReferenceData;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.ReferenceDataNotFoundException;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+import com.opengamma.strata.product.swap.SwapTrade;
+
+/**
+ * Test {@link ResolvedTradeCache}.
+ */
+@Test
+public class ResolvedTradeCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate TRADE_DATE = date(2017, 6, 1);
+  private static final SwapTrade TRADE_5Y =
+      USD_FIXED_6M_LIBOR_3M.createTrade(TRADE_DATE, TENOR_5Y, BUY, 1_000_000d, 0.015, REF_DATA);
+  private static final SwapTrade TRADE_10Y =
+      USD_FIXED_6M_LIBOR_3M.createTrade(TRADE_DATE, TENOR_10Y, BUY, 1_000_000d, 0.015, REF_DATA);
+
+  //-------------------------------------------------------------------------
+  public void test_resolve() {
+    ResolvedTradeCache test = ResolvedTradeCache.ofMaximumSize(10);
+    ResolvedSwapTrade resolved = test.resolve(TRADE_5Y, REF_DATA);
+    assertEquals(resolved, TRADE_5Y.resolve(REF_DATA));
+    assertEquals(test.stats().missCount(), 1);
+    assertEquals(test.stats().hitCount(), 0);
+    // an equal trade hits the cache
+    SwapTrade equalTrade = USD_FIXED_6M_LIBOR_3M.createTrade(TRADE_DATE, TENOR_5Y, BUY, 1_000_000d, 0.015, REF_DATA);
+    assertSame(test.resolve(equalTrade, REF_DATA), resolved);
+    assertEquals(test.stats().hitCount(), 1);
+    // a different trade misses the cache
+    assertEquals(test.resolve(TRADE_10Y, REF_DATA), TRADE_10Y.resolve(REF_DATA));
+    assertEquals(test.stats().missCount(), 2);
+    assertEquals(test.size(), 2);
+    assertTrue(test.toString().startsWith("ResolvedTradeCache[size=2"));
+  }
+
+  public void test_resolve_newReferenceData() {
+    ResolvedTradeCache test = ResolvedTradeCache.ofMaximumSize(10);
+    ResolvedSwapTrade resolved = test.resolve(TRADE_5Y, REF_DATA);
+    ReferenceData newRefData = ImmutableReferenceData.empty().combinedWith(REF_DATA);
+    ResolvedSwapTrade resolvedNew = test.resolve(TRADE_5Y, newRefData);
+    assertNotSame(resolvedNew, resolved);
+    assertEquals(resolvedNew, resolved);
+    assertEquals(test.stats().missCount(), 2);
+    assertSame(test.resolve(TRADE_5Y, newRefData), resolvedNew);
+  }
+
+  public void test_resolve_failure() {
+    ResolvedTradeCache test = ResolvedTradeCache.ofMaximumSize(10);
+    assertThrows(() -> test.resolve(TRADE_5Y, ReferenceData.empty()), ReferenceDataNotFoundException.class);
+    assertEquals(test.size(), 0);
+  }
+
+  public void test_evictionBySize() {
+    ResolvedTradeCache test = ResolvedTradeCache.ofMaximumSize(1);
+    test.resolve(TRADE_5Y, REF_DATA);
+    test.resolve(TRADE_10Y, REF_DATA);
+    assertEquals(test.size(), 1);
+    assertEquals(test.stats().evictionCount(), 1);
+  }
+
+  public void test_evictionByWeight() {
+    ResolvedTradeCache test = ResolvedTradeCache.ofMaximumWeight(
+        30, resolved -> ((ResolvedSwapTrade) resolved).getProduct().getLegs().get(0).getPaymentPeriods().size());
+    test.resolve(TRADE_5Y, REF_DATA);  // weight 10
+    test.resolve(TRADE_10Y, REF_DATA);  // weight 20
+    TradeInfo info = TradeInfo.builder().id(StandardId.of("OG-Trade", "1")).tradeDate(TRADE_DATE).build();
+    test.resolve(TRADE_10Y.toBuilder().info(info).build(), REF_DATA);  // weight 20
+    assertTrue(test.stats().evictionCount() > 0);
+  }
+
+  public void test_invalidateAll() {
+    ResolvedTradeCache test = ResolvedTradeCache.ofMaximumSize(10);
+    test.resolve(TRADE_5Y, REF_DATA);
+    test.invalidateAll();
+    assertEquals(test.size(), 0);
+    test.resolve(TRADE_5Y, REF_DATA);
+    assertEquals(test.stats().missCount(), 2);
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> ResolvedTradeCache.ofMaximumSize(-1));
+    assertThrowsIllegalArg(() -> ResolvedTradeCache.ofMaximumWeight(-1, resolved -> 1));
+    assertThrowsIllegalArg(() -> ResolvedTradeCache.ofMaximumWeight(10, null));
+  }
+
+}
@@ -8,8 +8,11 @@ package com.opengamma.strata.report.framework.expression;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.joda.beans.Bean;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.MetaProperty;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -38,9 +41,24 @@ import com.opengamma.strata.market.amount.LegAmounts;
  * the remaining tokens do not include the property token. If the token doesn't match the property, the property value
  * is returned but the token isn't consumed. i.e. the remaining tokens returned from {@link #evaluate} include
  * the first token.
+ * <p>
+ * The property matching a token is cached for each type of immutable bean, as the properties are fixed.
+ * Only tokens that match a property are cached, so the cache is bounded by the properties of the bean types.
+ * The cache is held in a {@link ClassValue}, so it does not prevent bean classes from being unloaded.
  */
 public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
 
+  /**
+   * The cache of properties matching each token, keyed by the type of the immutable bean.
+   */
+  private static final ClassValue<ConcurrentHashMap<String, MetaProperty<?>>> PROPERTIES =
+      new ClassValue<ConcurrentHashMap<String, MetaProperty<?>>>() {
+        @Override
+        protected ConcurrentHashMap<String, MetaProperty<?>> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
   @Override
   public Class<Bean> getTargetType() {
     return Bean.class;
@@ -69,12 +87,10 @@ public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
       String firstToken,
       List<String> remainingTokens) {
 
-    Optional<String> propertyName = bean.propertyNames().stream()
-        .filter(p -> p.equalsIgnoreCase(firstToken))
-        .findFirst();
+    Optional<MetaProperty<?>> property = matchingProperty(bean, firstToken);
 
-    if (propertyName.isPresent()) {
-      Object propertyValue = bean.property(propertyName.get()).get();
+    if (property.isPresent()) {
+      Object propertyValue = property.get().get(bean);
 
       return propertyValue != null ?
           EvaluationResult.success(propertyValue, remainingTokens) :
@@ -95,4 +111,28 @@ public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
     return invalidTokenFailure(bean, firstToken);
   }
 
+  // finds the property matching the token, using the cache for immutable beans
+  private static Optional<MetaProperty<?>> matchingProperty(Bean bean, String token) {
+    if (!(bean instanceof ImmutableBean)) {
+      return findProperty(bean, token);
+    }
+    // only matching tokens are cached, invalid tokens are looked up each time
+    ConcurrentHashMap<String, MetaProperty<?>> properties = PROPERTIES.get(bean.getClass());
+    MetaProperty<?> cached = properties.get(token);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    Optional<MetaProperty<?>> property = findProperty(bean, token);
+    property.ifPresent(metaProperty -> properties.putIfAbsent(token, metaProperty));
+    return property;
+  }
+
+  // finds the property matching the token, ignoring case
+  private static Optional<MetaProperty<?>> findProperty(Bean bean, String token) {
+    return bean.propertyNames().stream()
+        .filter(p -> p.equalsIgnoreCase(token))
+        .findFirst()
+        .<MetaProperty<?>>map(name -> bean.metaBean().metaProperty(name));
+  }
+
 }
@@ -11,6 +11,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.IntStream;
 
 import com.google.common.base.Joiner;
@@ -36,6 +37,9 @@ import com.opengamma.strata.report.ReportCalculationResults;
  *   <li>{@code IborIndex.getName()} returning the index name</li>
  * </ul>
  * The result of evaluating the expression is the index name.
+ * <p>
+ * The value path is split into tokens once, and the rows of the results are evaluated in parallel.
+ * The evaluator used for each type of object, and the bean property matching each token, are cached.
  */
 public final class ValuePathEvaluator {
 
@@ -52,6 +56,11 @@ public final class ValuePathEvaluator {
       new SecurityTokenEvaluator(),
       new BeanTokenEvaluator(),
       new IterableTokenEvaluator());
+  /**
+   * The cache of evaluators by target type.
+   */
+  private static final ConcurrentHashMap<Class<?>, Optional<TokenEvaluator<Object>>> EVALUATOR_CACHE =
+      new ConcurrentHashMap<>();
 
   //-------------------------------------------------------------------------
   /**
@@ -93,6 +102,7 @@ public final class ValuePathEvaluator {
     CalculationFunctions functions = results.getCalculationFunctions();
     int rowCount = results.getCalculationResults().getRowCount();
     return IntStream.range(0, rowCount)
+        .parallel()
         .mapToObj(rowIndex -> evaluate(functions, tokens, RootEvaluator.INSTANCE, new ResultsRow(results, rowIndex)))
         .collect(toImmutableList());
   }
@@ -143,8 +153,12 @@ public final class ValuePathEvaluator {
     return ImmutableList.copyOf(tokens);
   }
 
-  @SuppressWarnings("unchecked")
   private static Optional<TokenEvaluator<Object>> getEvaluator(Class<?> targetClass) {
+    return EVALUATOR_CACHE.computeIfAbsent(targetClass, ValuePathEvaluator::findEvaluator);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Optional<TokenEvaluator<Object>> findEvaluator(Class<?> targetClass) {
     return EVALUATORS.stream()
         .filter(e -> e.getTargetType().isAssignableFrom(targetClass))
         .map(e -> (TokenEvaluator<Object>) e)
@@ -13,6 +13,8 @@ import java.util.Map;
 
 /**
  * Formatter for double amounts.
+ * <p>
+ * This class is thread-safe, the underlying formats are held per thread.
  */
 final class DoubleValueFormatter
     implements ValueFormatter<Double> {
@@ -23,14 +25,14 @@ final class DoubleValueFormatter
   static final DoubleValueFormatter INSTANCE = new DoubleValueFormatter();
 
   /**
-   * The decimal format.
+   * The decimal format, held per thread as the format is not thread-safe.
    */
-  private static final DecimalFormat FULL_AMOUNT_FORMAT =
-      new DecimalFormat("#.##########", new DecimalFormatSymbols(Locale.ENGLISH));
+  private static final ThreadLocal<DecimalFormat> FULL_AMOUNT_FORMAT =
+      ThreadLocal.withInitial(() -> new DecimalFormat("#.##########", new DecimalFormatSymbols(Locale.ENGLISH)));
   /**
-   * The format cache.
+   * The format cache, held per thread as the formats are not thread-safe.
    */
-  private final Map<Integer, DecimalFormat> displayFormatCache = new HashMap<Integer, DecimalFormat>();
+  private final ThreadLocal<Map<Integer, DecimalFormat>> displayFormatCache = ThreadLocal.withInitial(HashMap::new);
 
   // restricted constructor
   private DoubleValueFormatter() {
@@ -39,7 +41,7 @@ final class DoubleValueFormatter
   //-------------------------------------------------------------------------
   @Override
   public String formatForCsv(Double amount) {
-    return FULL_AMOUNT_FORMAT.format(amount.doubleValue());
+    return FULL_AMOUNT_FORMAT.get().format(amount.doubleValue());
   }
 
   @Override
@@ -61,14 +63,12 @@ final class DoubleValueFormatter
 
   //-------------------------------------------------------------------------
   private DecimalFormat getDecimalPlacesFormat(int decimalPlaces) {
-    if (!displayFormatCache.containsKey(decimalPlaces)) {
+    return displayFormatCache.get().computeIfAbsent(decimalPlaces, dp -> {
       DecimalFormat format = new DecimalFormat("#,##0;(#,##0)", new DecimalFormatSymbols(Locale.ENGLISH));
-      format.setMinimumFractionDigits(decimalPlaces);
-      format.setMaximumFractionDigits(decimalPlaces);
-      displayFormatCache.put(decimalPlaces, format);
+      format.setMinimumFractionDigits(dp);
+      format.setMaximumFractionDigits(dp);
       return format;
-    }
-    return displayFormatCache.get(decimalPlaces);
+    });
   }
 
 }
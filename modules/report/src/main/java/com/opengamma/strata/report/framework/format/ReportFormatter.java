@@ -24,11 +24,18 @@ import com.opengamma.strata.report.Report;
 
 /**
  * Common base class for formatting reports into ASCII tables or CSV format.
+ * <p>
+ * Rows are formatted in parallel, so subclasses must implement {@link #formatData} in a thread-safe manner.
  * 
  * @param <R>  the report type
  */
 public abstract class ReportFormatter<R extends Report> {
 
+  /**
+   * The number of rows formatted in parallel before being written as CSV.
+   */
+  private static final int CSV_ROW_CHUNK_SIZE = 1000;
+
   /**
    * The default format settings, used if there are no settings for a data type.
    */
@@ -50,6 +57,8 @@ public abstract class ReportFormatter<R extends Report> {
   //-------------------------------------------------------------------------
   /**
    * Outputs the report table in CSV format.
+   * <p>
+   * The rows are formatted in parallel, in chunks, and written in order.
    * 
    * @param report  the report
    * @param out  the output stream to write to
@@ -59,14 +68,18 @@ public abstract class ReportFormatter<R extends Report> {
     OutputStreamWriter outputWriter = new OutputStreamWriter(out, StandardCharsets.UTF_8);
     CsvOutput csvOut = new CsvOutput(outputWriter);
     csvOut.writeLine(report.getColumnHeaders());
-    IntStream.range(0, report.getRowCount())
-        .mapToObj(rowIdx -> formatRow(report, rowIdx, ReportOutputFormat.CSV))
-        .forEach(csvOut::writeLine);
+    int rowCount = report.getRowCount();
+    for (int startRow = 0; startRow < rowCount; startRow += CSV_ROW_CHUNK_SIZE) {
+      int endRow = Math.min(startRow + CSV_ROW_CHUNK_SIZE, rowCount);
+      formatRows(report, startRow, endRow, ReportOutputFormat.CSV).forEach(csvOut::writeLine);
+    }
     Unchecked.wrap(outputWriter::flush);
   }
 
   /**
    * Outputs the report as an ASCII table.
+   * <p>
+   * The rows are formatted in parallel.
    * 
    * @param report  the report
    * @param out  the output stream to write to
@@ -77,7 +90,8 @@ public abstract class ReportFormatter<R extends Report> {
         .mapToObj(i -> calculateAlignment(columnTypes.get(i)))
         .collect(toImmutableList());
     List<String> headers = report.getColumnHeaders();
-    ImmutableList<ImmutableList<String>> cells = formatAsciiTable(report);
+    ImmutableList<ImmutableList<String>> cells =
+        formatRows(report, 0, report.getRowCount(), ReportOutputFormat.ASCII_TABLE);
     String asciiTable = AsciiTable.generate(headers, alignments, cells);
     PrintWriter pw = new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
     pw.println(asciiTable);
@@ -92,13 +106,17 @@ public abstract class ReportFormatter<R extends Report> {
     return isNumeric ? AsciiTableAlignment.RIGHT : AsciiTableAlignment.LEFT;
   }
 
-  // formats the ASCII table
-  private ImmutableList<ImmutableList<String>> formatAsciiTable(R report) {
-    ImmutableList.Builder<ImmutableList<String>> table = ImmutableList.builder();
-    for (int rowIdx = 0; rowIdx < report.getRowCount(); rowIdx++) {
-      table.add(formatRow(report, rowIdx, ReportOutputFormat.ASCII_TABLE));
-    }
-    return table.build();
+  // formats a range of rows in parallel, retaining the order of the rows
+  private ImmutableList<ImmutableList<String>> formatRows(
+      R report,
+      int startRow,
+      int endRow,
+      ReportOutputFormat format) {
+
+    return IntStream.range(startRow, endRow)
+        .parallel()
+        .mapToObj(rowIdx -> formatRow(report, rowIdx, format))
+        .collect(toImmutableList());
   }
 
   // formats a single row
@@ -123,6 +141,10 @@ public abstract class ReportFormatter<R extends Report> {
 
   /**
    * Formats a piece of data for display.
+   * <p>
+   * This is called concurrently for different rows, so implementations must be thread-safe.
+   * The ASCII table and CSV outputs format their rows in parallel using the common fork-join pool,
+   * thus any state shared between calls, including state held by the report, must be safe for concurrent access.
    * 
    * @param report the report containing the data
    * @param rowIdx  the row index of the data
@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.trade;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.calc.runner.CalculationListener;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
+import com.opengamma.strata.collect.io.CsvOutput;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.report.ReportCalculationResults;
+import com.opengamma.strata.report.framework.format.ReportOutputFormat;
+
+/**
+ * Calculation listener that writes a trade report in CSV format as the calculations complete.
+ * <p>
+ * The standard approach, {@link TradeReport#writeCsv(OutputStream)}, requires the results of every trade
+ * to be held in memory before the report is written. By contrast, this listener writes each row of the report
+ * as soon as all the results for the trade, and for the trades before it, have been received.
+ * Once a row is written, the results are discarded, thus the memory used does not depend on the size
+ * of the portfolio. The output is the same as that of {@link TradeReport#writeCsv(OutputStream)}.
+ * <p>
+ * The columns passed to the calculation runner must be those of the report requirements,
+ * see {@link TradeReportRunner#requirements(TradeReportTemplate)}.
+ * As with the standard report, if there are no such columns, no rows are written.
+ * For example:
+ * <pre>
+ *  List&lt;Column&gt; columns = TradeReportRunner.INSTANCE.requirements(template).getTradeMeasureRequirements();
+ *  TradeReportCsvListener listener = TradeReportCsvListener.of(template, valuationDate, functions, refData, out);
+ *  runner.calculateAsync(rules, trades, columns, marketData, refData, listener);
+ *  int rowCount = listener.result();
+ * </pre>
+ * <p>
+ * The output stream is flushed when the calculations are complete, but not closed.
+ * As with other listeners, an instance must not be used for more than one set of calculations.
+ */
+public final class TradeReportCsvListener
+    implements CalculationListener {
+
+  /**
+   * The report template.
+   */
+  private final TradeReportTemplate template;
+  /**
+   * The valuation date.
+   */
+  private final LocalDate valuationDate;
+  /**
+   * The calculation functions, used to evaluate the report columns.
+   */
+  private final CalculationFunctions functions;
+  /**
+   * The reference data, used to evaluate the report columns.
+   */
+  private final ReferenceData refData;
+  /**
+   * The writer.
+   */
+  private final OutputStreamWriter writer;
+  /**
+   * The CSV output.
+   */
+  private final CsvOutput csvOutput;
+  /**
+   * A future providing the number of rows written.
+   */
+  private final CompletableFuture<Integer> future = new CompletableFuture<>();
+  /**
+   * The rows that have not been written, keyed by row index.
+   * This contains rows that are incomplete, or complete but after a row that is incomplete.
+   */
+  private final Map<Integer, PendingRow> pendingRows = new HashMap<>();
+  /**
+   * The calculation targets.
+   */
+  private List<CalculationTarget> targets;
+  /**
+   * The calculation columns.
+   */
+  private List<Column> columns;
+  /**
+   * The headers of the calculation columns.
+   */
+  private List<ColumnHeader> columnHeaders;
+  /**
+   * The index of the next row to be written.
+   */
+  private int nextRowIndex;
+  /**
+   * The exception thrown when writing, null if none.
+   */
+  private RuntimeException failure;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that writes to the specified output stream.
+   *
+   * @param template  the report template
+   * @param valuationDate  the valuation date
+   * @param functions  the calculation functions used in the calculations
+   * @param refData  the reference data used in the calculations
+   * @param out  the output stream to write to
+   * @return the listener
+   */
+  public static TradeReportCsvListener of(
+      TradeReportTemplate template,
+      LocalDate valuationDate,
+      CalculationFunctions functions,
+      ReferenceData refData,
+      OutputStream out) {
+
+    return new TradeReportCsvListener(template, valuationDate, functions, refData, out);
+  }
+
+  // restricted constructor
+  private TradeReportCsvListener(
+      TradeReportTemplate template,
+      LocalDate valuationDate,
+      CalculationFunctions functions,
+      ReferenceData refData,
+      OutputStream out) {
+
+    this.template = ArgChecker.notNull(template, "template");
+    this.valuationDate = ArgChecker.notNull(valuationDate, "valuationDate");
+    this.functions = ArgChecker.notNull(functions, "functions");
+    this.refData = ArgChecker.notNull(refData, "refData");
+    this.writer = new OutputStreamWriter(ArgChecker.notNull(out, "out"), StandardCharsets.UTF_8);
+    this.csvOutput = new CsvOutput(writer);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the number of rows written, blocking until the calculations are complete.
+   *
+   * <p>
+   * If the thread is interrupted while waiting, the interrupt flag is restored before the exception is thrown.
+   *
+   * @return the number of rows written
+   * @throws RuntimeException if the report could not be written, or the thread was interrupted
+   */
+  public int result() {
+    try {
+      return future.get();
+    } catch (InterruptedException ex) {
+      // restore the interrupt flag so that the caller can see the interrupt
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while waiting for the report to be written", ex);
+    } catch (ExecutionException ex) {
+      throw new RuntimeException("Exception writing report", ex);
+    }
+  }
+
+  /**
+   * A future providing asynchronous notification when the report has been written.
+   * <p>
+   * The value is the number of rows written.
+   * The future completes exceptionally if the report could not be written.
+   *
+   * @return a future providing asynchronous notification when the report has been written
+   */
+  public CompletableFuture<Integer> getFuture() {
+    return future;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+    this.targets = ImmutableList.copyOf(targets);
+    this.columns = ImmutableList.copyOf(columns);
+    this.columnHeaders = columns.stream().map(Column::toHeader).collect(toImmutableList());
+    write(() -> {
+      List<String> headers = template.getColumns().stream()
+          .map(TradeReportColumn::getHeader)
+          .collect(toImmutableList());
+      csvOutput.writeLine(headers);
+    });
+  }
+
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult result) {
+    if (failure != null) {
+      return;
+    }
+    int rowIndex = result.getRowIndex();
+    PendingRow row = pendingRows.computeIfAbsent(rowIndex, i -> new PendingRow(columns.size()));
+    row.add(result.getColumnIndex(), result.getResult());
+    write(() -> {
+      while (pendingRows.containsKey(nextRowIndex) && pendingRows.get(nextRowIndex).isComplete()) {
+        writeRow(nextRowIndex, pendingRows.remove(nextRowIndex));
+      }
+    });
+  }
+
+  @Override
+  public void calculationsComplete() {
+    write(() -> Unchecked.wrap(writer::flush));
+    if (failure != null) {
+      future.completeExceptionally(failure);
+    } else if (!pendingRows.isEmpty()) {
+      future.completeExceptionally(new IllegalStateException("Calculations completed without results for all rows"));
+    } else {
+      future.complete(nextRowIndex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // performs a write, recording the first failure and skipping writes after a failure
+  private void write(Runnable action) {
+    if (failure != null) {
+      return;
+    }
+    try {
+      action.run();
+    } catch (RuntimeException ex) {
+      failure = ex;
+      pendingRows.clear();
+    }
+  }
+
+  // writes a single row, evaluating the report columns against the results of the row
+  private void writeRow(int rowIndex, PendingRow row) {
+    Results rowResults = Results.of(columnHeaders, Arrays.asList(row.results));
+    ReportCalculationResults reportResults = ReportCalculationResults.of(
+        valuationDate, ImmutableList.of(targets.get(rowIndex)), columns, rowResults, functions, refData);
+    TradeReport report = TradeReportRunner.INSTANCE.runReport(reportResults, template);
+    List<String> cells = IntStream.range(0, report.getColumnCount())
+        .mapToObj(colIdx -> TradeReportFormatter.INSTANCE.formatData(report, 0, colIdx, ReportOutputFormat.CSV))
+        .collect(toImmutableList());
+    csvOutput.writeLine(cells);
+    nextRowIndex = rowIndex + 1;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The results of a row that has not been written.
+   */
+  private static final class PendingRow {
+    private final Result<?>[] results;
+    private int received;
+
+    private PendingRow(int columnCount) {
+      this.results = new Result<?>[columnCount];
+    }
+
+    private void add(int columnIndex, Result<?> result) {
+      if (results[columnIndex] == null) {
+        received++;
+      }
+      results[columnIndex] = result;
+    }
+
+    private boolean isComplete() {
+      return received == results.length;
+    }
+  }
+
+}
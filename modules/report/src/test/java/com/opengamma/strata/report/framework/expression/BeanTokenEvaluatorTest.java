@@ -45,6 +45,18 @@ public class BeanTokenEvaluatorTest {
     assertThat(notional2.getResult()).hasValue(1_000_000d);
   }
 
+  public void evaluate_sameTypeRepeated() {
+    BeanTokenEvaluator evaluator = new BeanTokenEvaluator();
+    Fra bean1 = (Fra) bean();
+    Fra bean2 = bean1.toBuilder().notional(2_000_000).build();
+
+    for (int i = 0; i < 2; i++) {
+      assertThat(evaluator.evaluate(bean1, FUNCTIONS, "NOTIONAL", ImmutableList.of()).getResult()).hasValue(1_000_000d);
+      assertThat(evaluator.evaluate(bean2, FUNCTIONS, "notional", ImmutableList.of()).getResult()).hasValue(2_000_000d);
+      assertThat(evaluator.evaluate(bean2, FUNCTIONS, "foo", ImmutableList.of()).getResult()).isFailure();
+    }
+  }
+
   public void tokens() {
     Bean bean = bean();
     BeanTokenEvaluator evaluator = new BeanTokenEvaluator();
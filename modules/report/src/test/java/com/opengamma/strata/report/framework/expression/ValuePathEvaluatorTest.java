@@ -6,13 +6,16 @@
 package com.opengamma.strata.report.framework.expression;
 
 import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static com.opengamma.strata.product.common.BuySell.BUY;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import org.testng.annotations.Test;
 
@@ -122,6 +125,25 @@ public class ValuePathEvaluatorTest {
     assertThat(counterpartyResults).isEqualTo(expectedCounterparties);
   }
 
+  public void productPath_manyRows() {
+    int rowCount = 2000;
+    List<Trade> trades = IntStream.range(0, rowCount)
+        .mapToObj(i -> trade("cpty" + i, i + 1))
+        .collect(toImmutableList());
+    List<? extends Result<?>> resultValues =
+        Collections.nCopies(rowCount, Result.success(CurrencyAmount.of(Currency.GBP, 1d)));
+    Column column = Column.of(Measure.of("PresentValue"));
+    Results results = Results.of(ImmutableList.of(column.toHeader()), resultValues);
+    ReportCalculationResults reportResults =
+        ReportCalculationResults.of(LocalDate.now(ZoneOffset.UTC), trades, ImmutableList.of(column), results);
+
+    List<Result<?>> notionalResults = ValuePathEvaluator.evaluate("Trade.Product.Notional", reportResults);
+    List<Result<?>> expectedNotionals = IntStream.range(0, rowCount)
+        .<Result<?>>mapToObj(i -> Result.success((double) (i + 1)))
+        .collect(toImmutableList());
+    assertThat(notionalResults).isEqualTo(expectedNotionals);
+  }
+
   //--------------------------------------------------------------------------------------------------
 
   private static ReportCalculationResults reportResults() {
@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.trade;
+
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.AdjustableDate;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.product.TradeInfo;
+import com.opengamma.strata.product.fra.Fra;
+import com.opengamma.strata.product.fra.FraTrade;
+import com.opengamma.strata.report.ReportCalculationResults;
+
+/**
+ * Test {@link TradeReportCsvListener}.
+ */
+@Test
+public class TradeReportCsvListenerTest {
+
+  private static final LocalDate VAL_DATE = date(2016, 6, 30);
+  private static final CalculationFunctions FUNCTIONS = StandardComponents.calculationFunctions();
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final TradeReportTemplate TEMPLATE = TradeReportTemplate.builder()
+      .columns(
+          TradeReportColumn.builder().header("Counterparty").value("Trade.Counterparty.Value").build(),
+          TradeReportColumn.builder().header("Notional").value("Product.Notional").build(),
+          TradeReportColumn.builder().header("PV").value("Measures.PresentValue").build(),
+          TradeReportColumn.builder().header("Par Rate").value("Measures.ParRate").build(),
+          TradeReportColumn.builder().header("Empty").build())
+      .build();
+  private static final List<Column> COLUMNS =
+      TradeReportRunner.INSTANCE.requirements(TEMPLATE).getTradeMeasureRequirements();
+  private static final int ROW_COUNT = 5;
+  private static final List<CalculationTarget> TARGETS = IntStream.range(0, ROW_COUNT)
+      .mapToObj(i -> trade("cpty" + i, (i + 1) * 1_000_000d))
+      .collect(toImmutableList());
+
+  //-------------------------------------------------------------------------
+  public void test_inOrder() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportCsvListener test = TradeReportCsvListener.of(TEMPLATE, VAL_DATE, FUNCTIONS, REF_DATA, out);
+    test.calculationsStarted(TARGETS, COLUMNS);
+    for (int row = 0; row < ROW_COUNT; row++) {
+      for (int col = 0; col < COLUMNS.size(); col++) {
+        test.resultReceived(TARGETS.get(row), CalculationResult.of(row, col, result(row, col)));
+      }
+    }
+    test.calculationsComplete();
+    assertThat(test.result()).isEqualTo(ROW_COUNT);
+    assertThat(toString(out)).isEqualTo(expectedCsv());
+  }
+
+  public void test_outOfOrder() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportCsvListener test = TradeReportCsvListener.of(TEMPLATE, VAL_DATE, FUNCTIONS, REF_DATA, out);
+    test.calculationsStarted(TARGETS, COLUMNS);
+    // rows 1 to 4 complete, row 0 incomplete, nothing but the header can be written
+    for (int row = ROW_COUNT - 1; row > 0; row--) {
+      for (int col = 0; col < COLUMNS.size(); col++) {
+        test.resultReceived(TARGETS.get(row), CalculationResult.of(row, col, result(row, col)));
+      }
+    }
+    test.resultReceived(TARGETS.get(0), CalculationResult.of(0, 1, result(0, 1)));
+    assertThat(test.getFuture().isDone()).isFalse();
+    // completing row 0 writes all the rows
+    test.resultReceived(TARGETS.get(0), CalculationResult.of(0, 0, result(0, 0)));
+    test.calculationsComplete();
+    assertThat(test.result()).isEqualTo(ROW_COUNT);
+    assertThat(toString(out)).isEqualTo(expectedCsv());
+  }
+
+  public void test_noTargets() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportCsvListener test = TradeReportCsvListener.of(TEMPLATE, VAL_DATE, FUNCTIONS, REF_DATA, out);
+    test.calculationsStarted(ImmutableList.of(), COLUMNS);
+    test.calculationsComplete();
+    assertThat(test.result()).isEqualTo(0);
+    assertThat(toString(out)).startsWith("Counterparty,Notional,PV,Par Rate,Empty");
+  }
+
+  public void test_result_interrupted() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportCsvListener test = TradeReportCsvListener.of(TEMPLATE, VAL_DATE, FUNCTIONS, REF_DATA, out);
+    test.calculationsStarted(TARGETS, COLUMNS);
+    Thread.currentThread().interrupt();
+    try {
+      assertThrows(() -> test.result(), RuntimeException.class);
+      assertThat(Thread.currentThread().isInterrupted()).isTrue();
+    } finally {
+      // clear the flag so that it does not affect other tests
+      Thread.interrupted();
+    }
+  }
+
+  public void test_noColumns() {
+    TradeReportTemplate template = TradeReportTemplate.builder()
+        .columns(TradeReportColumn.builder().header("Counterparty").value("Trade.Counterparty.Value").build())
+        .build();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportCsvListener test = TradeReportCsvListener.of(template, VAL_DATE, FUNCTIONS, REF_DATA, out);
+    test.calculationsStarted(TARGETS, ImmutableList.of());
+    test.calculationsComplete();
+    assertThat(test.result()).isEqualTo(0);
+    Results results = Results.of(ImmutableList.of(), ImmutableList.of());
+    ReportCalculationResults reportResults =
+        ReportCalculationResults.of(VAL_DATE, TARGETS, ImmutableList.of(), results, FUNCTIONS, REF_DATA);
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    TradeReport.of(reportResults, template).writeCsv(expected);
+    assertThat(toString(out)).isEqualTo(toString(expected));
+  }
+
+  public void test_missingResults() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportCsvListener test = TradeReportCsvListener.of(TEMPLATE, VAL_DATE, FUNCTIONS, REF_DATA, out);
+    test.calculationsStarted(TARGETS, COLUMNS);
+    test.resultReceived(TARGETS.get(0), CalculationResult.of(0, 0, result(0, 0)));
+    test.calculationsComplete();
+    assertThat(test.getFuture().isCompletedExceptionally()).isTrue();
+  }
+
+  public void test_writeFailure() throws InterruptedException {
+    OutputStream out = new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        throw new IOException("Disk full");
+      }
+    };
+    TradeReportCsvListener test = TradeReportCsvListener.of(TEMPLATE, VAL_DATE, FUNCTIONS, REF_DATA, out);
+    test.calculationsStarted(TARGETS, COLUMNS);
+    for (int row = 0; row < ROW_COUNT; row++) {
+      for (int col = 0; col < COLUMNS.size(); col++) {
+        test.resultReceived(TARGETS.get(row), CalculationResult.of(row, col, result(row, col)));
+      }
+    }
+    test.calculationsComplete();
+    try {
+      test.getFuture().get();
+      throw new AssertionError("Expected exception");
+    } catch (ExecutionException ex) {
+      assertThat(ex.getCause()).isInstanceOf(RuntimeException.class);
+    }
+  }
+
+  public void test_of_invalid() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertThrowsIllegalArg(() -> TradeReportCsvListener.of(null, VAL_DATE, FUNCTIONS, REF_DATA, out));
+    assertThrowsIllegalArg(() -> TradeReportCsvListener.of(TEMPLATE, VAL_DATE, FUNCTIONS, REF_DATA, null));
+  }
+
+  //-------------------------------------------------------------------------
+  // the CSV written by the standard report
+  private static String expectedCsv() {
+    List<Result<?>> resultValues = IntStream.range(0, ROW_COUNT)
+        .boxed()
+        .flatMap(row -> IntStream.range(0, COLUMNS.size()).mapToObj(col -> result(row, col)))
+        .collect(toImmutableList());
+    Results results = Results.of(
+        COLUMNS.stream().map(Column::toHeader).collect(toImmutableList()),
+        resultValues);
+    ReportCalculationResults reportResults =
+        ReportCalculationResults.of(VAL_DATE, TARGETS, COLUMNS, results, FUNCTIONS, REF_DATA);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReport.of(reportResults, TEMPLATE).writeCsv(out);
+    return toString(out);
+  }
+
+  private static Result<?> result(int row, int col) {
+    if (col == 0) {
+      return Result.success(CurrencyAmount.of(Currency.GBP, row * 10.5d));
+    }
+    return row == 2 ? Result.failure(FailureReason.ERROR, "Failed") : Result.success(0.01d * row);
+  }
+
+  private static String toString(ByteArrayOutputStream out) {
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static FraTrade trade(String counterparty, double notional) {
+    TradeInfo tradeInfo = TradeInfo.builder()
+        .counterparty(StandardId.of("cpty", counterparty))
+        .build();
+    Fra fra = Fra.builder()
+        .buySell(BUY)
+        .notional(notional)
+        .startDate(date(2016, 8, 5))
+        .endDate(date(2016, 11, 5))
+        .paymentDate(AdjustableDate.of(date(2016, 8, 7)))
+        .fixedRate(0.25d)
+        .index(GBP_LIBOR_3M)
+        .build();
+    return FraTrade.builder()
+        .info(tradeInfo)
+        .product(fra)
+        .build();
+  }
+
+}
@@ -5,15 +5,20 @@
  */
 package com.opengamma.strata.report.trade;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import org.testng.annotations.Test;
 
+import com.google.common.base.Splitter;
 import com.google.common.collect.ArrayTable;
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.collect.result.FailureReason;
@@ -62,6 +67,26 @@ public class TradeReportFormatterTest {
     assertThat(columnTypes).isEqualTo(ImmutableList.of(Object.class, Object.class));
   }
 
+  public void writeCsv_manyRows() {
+    int rowCount = 2500;
+    ImmutableList<Integer> rows = IntStream.range(0, rowCount).boxed().collect(toImmutableList());
+    ArrayTable<Integer, Integer, Result<?>> table = ArrayTable.create(rows, INDICES);
+    for (int i = 0; i < rowCount; i++) {
+      table.put(i, 0, Result.success(i + 0.5d));
+      table.put(i, 1, Result.success("r" + i));
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportFormatter.INSTANCE.writeCsv(report(table), out);
+
+    List<String> lines = Splitter.onPattern("\\r?\\n").omitEmptyStrings()
+        .splitToList(new String(out.toByteArray(), StandardCharsets.UTF_8));
+    assertThat(lines).hasSize(rowCount + 1);
+    assertThat(lines.get(0)).isEqualTo("col0,col1");
+    for (int i = 0; i < rowCount; i++) {
+      assertThat(lines.get(i + 1)).isEqualTo(i + ".5,r" + i);
+    }
+  }
+
   private TradeReport report(ArrayTable<Integer, Integer, Result<?>> table) {
     return TradeReport.builder()
         .columns(